@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.bpmn.converter.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.bpmn.converter.BpmnXMLConverter;
+import org.flowable.bpmn.model.BpmnModel;
+import org.flowable.engine.common.api.io.InputStreamProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing BPMN XML with the {@link BpmnXMLConverter}, with and without schema validation, for generated models
+ * of 10, 200 and 2000 flow elements (a start event, a sequence of user tasks and an end event, connected with sequence flows).
+ *
+ * Only compiled with the benchmark profile: <code>mvn test-compile exec:exec -Pbenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BpmnXMLConverterBenchmark {
+
+    @Param({ "10", "200", "2000" })
+    protected int elementCount;
+
+    protected byte[] bpmnXml;
+
+    @Setup
+    public void createModel() {
+        bpmnXml = createProcessXml(elementCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public BpmnModel parseAndValidate() {
+        return new BpmnXMLConverter().convertToBpmnModel(new BytesInputStreamProvider(bpmnXml), true, false);
+    }
+
+    @Benchmark
+    public BpmnModel parseAndValidateSafeXml() {
+        return new BpmnXMLConverter().convertToBpmnModel(new BytesInputStreamProvider(bpmnXml), true, true);
+    }
+
+    @Benchmark
+    public BpmnModel parse() {
+        return new BpmnXMLConverter().convertToBpmnModel(new BytesInputStreamProvider(bpmnXml), false, false);
+    }
+
+    protected static String createProcessXml(int elementCount) {
+        // start and end event, the other flow elements are split between user tasks and the sequence flows connecting them
+        int userTaskCount = Math.max(1, (elementCount - 1) / 2);
+
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:flowable=\"http://flowable.org/bpmn\" ");
+        xml.append("targetNamespace=\"http://flowable.org/benchmark\">\n");
+        xml.append("  <process id=\"benchmarkProcess\" name=\"Benchmark process\" isExecutable=\"true\">\n");
+        xml.append("    <startEvent id=\"start\" />\n");
+
+        String previousId = "start";
+        for (int i = 1; i <= userTaskCount; i++) {
+            String taskId = "task" + i;
+            xml.append("    <sequenceFlow id=\"flow").append(i).append("\" sourceRef=\"").append(previousId).append("\" targetRef=\"").append(taskId).append("\" />\n");
+            xml.append("    <userTask id=\"").append(taskId).append("\" name=\"Task ").append(i).append("\" flowable:assignee=\"kermit\" />\n");
+            previousId = taskId;
+        }
+
+        xml.append("    <sequenceFlow id=\"flowEnd\" sourceRef=\"").append(previousId).append("\" targetRef=\"end\" />\n");
+        xml.append("    <endEvent id=\"end\" />\n");
+        xml.append("  </process>\n");
+        xml.append("</definitions>\n");
+        return xml.toString();
+    }
+
+    protected static class BytesInputStreamProvider implements InputStreamProvider {
+
+        protected byte[] bytes;
+
+        public BytesInputStreamProvider(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+}
@@ -13,12 +13,16 @@
 
 package org.flowable.rest.api;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.query.Query;
 import org.flowable.engine.common.api.query.QueryProperty;
+import org.flowable.engine.common.api.query.SeekableQuery;
+
+import com.fasterxml.jackson.core.Base64Variants;
 
 /**
  * @author Tijs Rademakers
@@ -28,6 +32,9 @@ public abstract class AbstractPaginateList {
     /**
      * Uses the pagination parameters form the request and makes sure to order the result and set all pagination attributes for the response to render.
      *
+     * When a continuation token is given (an empty one for the first page), the page starts right after the last result of the previous page instead of at
+     * the start index, see {@link #seekList(Query, String, int, boolean, DataResponse)}.
+     *
      * @param requestParams
      *            The request containing the pagination parameters
      * @param paginateRequest
@@ -61,6 +68,14 @@ public abstract class AbstractPaginateList {
             paginateRequest.setSort(requestParams.get("sort"));
         }
 
+        if (paginateRequest.getContinuationToken() == null) {
+            paginateRequest.setContinuationToken(requestParams.get("continuationToken"));
+        }
+
+        if (paginateRequest.getIncludeTotal() == null) {
+            paginateRequest.setIncludeTotal(RequestUtil.getBoolean(requestParams, "includeTotal", false));
+        }
+
         // Use defaults for paging, if not set in the PaginationRequest, nor in the URL
         Integer start = paginateRequest.getStart();
         if (start == null || start < 0) {
@@ -110,11 +125,17 @@ public abstract class AbstractPaginateList {
         Query queryObject = (Query) query;
 
         // Get result and set pagination parameters
-        List list = processList(queryObject.listPage(start, size));
-        if (start == 0 && list.size() < size) {
-            response.setTotal(list.size());
+        List list = null;
+        if (paginateRequest.getContinuationToken() != null) {
+            response.setStart(0);
+            list = seekList(queryObject, paginateRequest.getContinuationToken(), size, paginateRequest.getIncludeTotal(), response);
         } else {
-            response.setTotal(queryObject.count());
+            list = processList(queryObject.listPage(start, size));
+            if (start == 0 && list.size() < size) {
+                response.setTotal(list.size());
+            } else {
+                response.setTotal(queryObject.count());
+            }
         }
 
         response.setSize(list.size());
@@ -140,6 +161,47 @@ public abstract class AbstractPaginateList {
         return paginateList(requestParams, null, query, defaultSort, properties);
     }
 
+    /**
+     * Gets the page following the result identified by the continuation token, by seeking past that result instead of skipping all results of the previous
+     * pages. One result more than the page size is fetched to know whether there is a next page, for which a new continuation token is set on the response.
+     * The total number of results is only counted when asked for, it is -1 otherwise.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected List seekList(Query queryObject, String continuationToken, int size, boolean includeTotal, DataResponse response) {
+        if (!(queryObject instanceof SeekableQuery)) {
+            throw new FlowableIllegalArgumentException("Param 'continuationToken' is not supported for this list");
+        }
+        SeekableQuery seekableQuery = (SeekableQuery) queryObject;
+
+        if (includeTotal) {
+            // counting before seeking, as the query keeps its seek key
+            response.setTotal(queryObject.count());
+        } else {
+            response.setTotal(-1);
+        }
+
+        String seekKey = null;
+        if (!continuationToken.isEmpty()) {
+            try {
+                seekKey = new String(Base64Variants.MODIFIED_FOR_URL.decode(continuationToken), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new FlowableIllegalArgumentException("Value for param 'continuationToken' is not valid : '" + continuationToken + "'", e);
+            }
+        }
+
+        List results = seekableQuery.listPageAfter(seekKey, size + 1);
+        if (results.size() > size) {
+            results = results.subList(0, size);
+            if (size > 0) {
+                String nextSeekKey = seekableQuery.getSeekKey(results.get(size - 1));
+                response.setContinuationToken(Base64Variants.MODIFIED_FOR_URL.encode(nextSeekKey.getBytes(StandardCharsets.UTF_8)));
+            } else {
+                response.setContinuationToken(continuationToken);
+            }
+        }
+        return processList(results);
+    }
+
     @SuppressWarnings("rawtypes")
     protected abstract List processList(List list);
 }
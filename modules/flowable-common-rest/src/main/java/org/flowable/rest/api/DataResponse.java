@@ -13,6 +13,8 @@
 
 package org.flowable.rest.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * @author Tijs Rademakers
  */
@@ -24,6 +26,7 @@ public class DataResponse {
     String sort;
     String order;
     int size;
+    String continuationToken;
 
     public Object getData() {
         return data;
@@ -73,4 +76,17 @@ public class DataResponse {
     public void setSize(int size) {
         this.size = size;
     }
+
+    /**
+     * @return the token to get the next page with, when the list was paged with a continuation token and there are more results. The total is -1 in that case,
+     *         unless it was requested explicitly.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public void setContinuationToken(String continuationToken) {
+        this.continuationToken = continuationToken;
+    }
 }
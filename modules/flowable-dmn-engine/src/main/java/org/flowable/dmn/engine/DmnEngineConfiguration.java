@@ -192,6 +192,14 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
      */
     protected boolean strictMode = true;
 
+    /**
+     * Set this to true to build an index on the input entries of a decision table when it is deployed. Rules with simple equality or range
+     * input entries (for example == "GOLD" or < 10) are then only evaluated when the input value can match them, instead of evaluating every rule.
+     *
+     * The decision results are the same as without the index, but the audit trail only contains the rules that were evaluated.
+     */
+    protected boolean decisionTableIndexEnabled;
+
     public static DmnEngineConfiguration createDmnEngineConfigurationFromResourceDefault() {
         return createDmnEngineConfigurationFromResource("flowable.dmn.cfg.xml", "dmnEngineConfiguration");
     }
@@ -929,6 +937,15 @@ public class DmnEngineConfiguration extends AbstractEngineConfiguration implemen
         return this;
     }
 
+    public boolean isDecisionTableIndexEnabled() {
+        return decisionTableIndexEnabled;
+    }
+
+    public DmnEngineConfiguration setDecisionTableIndexEnabled(boolean decisionTableIndexEnabled) {
+        this.decisionTableIndexEnabled = decisionTableIndexEnabled;
+        return this;
+    }
+
     public DmnEngineConfiguration setClock(Clock clock) {
         this.clock = clock;
         return this;
@@ -14,6 +14,9 @@ package org.flowable.dmn.engine.impl;
 
 import java.util.Map;
 
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
+import org.flowable.dmn.engine.impl.mvel.MvelCompiledDecisionTable;
+
 public class ExecuteDecisionInfo {
 
     protected String decisionKey;
@@ -25,6 +28,8 @@ public class ExecuteDecisionInfo {
     protected String activityId;
     protected Map<String, Object> variables;
     protected String tenantId;
+    protected MvelCompiledDecisionTable compiledDecisionTable;
+    protected DecisionTableIndex decisionTableIndex;
     
     public String getDecisionKey() {
         return decisionKey;
@@ -80,4 +85,16 @@ public class ExecuteDecisionInfo {
     public void setTenantId(String tenantId) {
         this.tenantId = tenantId;
     }
+    public MvelCompiledDecisionTable getCompiledDecisionTable() {
+        return compiledDecisionTable;
+    }
+    public void setCompiledDecisionTable(MvelCompiledDecisionTable compiledDecisionTable) {
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
+    public DecisionTableIndex getDecisionTableIndex() {
+        return decisionTableIndex;
+    }
+    public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+        this.decisionTableIndex = decisionTableIndex;
+    }
 }
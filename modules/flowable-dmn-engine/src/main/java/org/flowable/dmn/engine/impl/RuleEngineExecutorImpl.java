@@ -27,6 +27,8 @@ import org.flowable.dmn.engine.impl.hitpolicy.ComposeDecisionResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ComposeRuleResultBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.ContinueEvaluatingBehavior;
 import org.flowable.dmn.engine.impl.hitpolicy.EvaluateRuleValidityBehavior;
+import org.flowable.dmn.engine.impl.hitpolicy.SkipInvalidRulesBehavior;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
 import org.flowable.dmn.engine.impl.mvel.ExecutionVariableFactory;
 import org.flowable.dmn.engine.impl.mvel.MvelExecutionContext;
 import org.flowable.dmn.engine.impl.mvel.MvelExecutionContextBuilder;
@@ -87,6 +89,8 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         // create execution context and audit trail
         MvelExecutionContext executionContext = MvelExecutionContextBuilder.build(decision, executeDecisionInfo.getVariables(),
             customExpressionFunctions, propertyHandlers);
+        executionContext.setCompiledDecisionTable(executeDecisionInfo.getCompiledDecisionTable());
+        executionContext.setDecisionTableIndex(executeDecisionInfo.getDecisionTableIndex());
 
         try {
             sanityCheckDecisionTable(currentDecisionTable);
@@ -150,7 +154,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
             // evaluate rule conditions
             Map<Integer, List<RuleOutputClauseContainer>> validRuleOutputEntries = new HashMap<>();
 
-            for (DecisionRule rule : decisionTable.getRules()) {
+            for (DecisionRule rule : getRulesToEvaluate(decisionTable, executionContext)) {
                 boolean ruleResult = executeRule(rule, executionContext);
 
                 if (ruleResult) {
@@ -192,6 +196,25 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
         LOGGER.debug("End table evaluation: {}", decisionTable.getId());
     }
 
+    /**
+     * Returns the rules of the decision table that need to be evaluated, in rule order.
+     * When the decision table is indexed, rules that can't be valid for the input variables are left out.
+     */
+    protected List<DecisionRule> getRulesToEvaluate(DecisionTable decisionTable, MvelExecutionContext executionContext) {
+        DecisionTableIndex decisionTableIndex = executionContext.getDecisionTableIndex();
+
+        // a hit policy that isn't marked, like a custom one, could stop evaluating on an invalid rule, so it always evaluates all rules
+        if (decisionTableIndex != null && getHitPolicyBehavior(decisionTable.getHitPolicy()) instanceof SkipInvalidRulesBehavior) {
+            List<DecisionRule> candidateRules = decisionTableIndex.getCandidateRules(executionContext);
+            if (candidateRules != null) {
+                LOGGER.debug("Evaluating {} of {} rules of table {}", candidateRules.size(), decisionTable.getRules().size(), decisionTable.getId());
+                return candidateRules;
+            }
+        }
+
+        return decisionTable.getRules();
+    }
+
     protected boolean executeRule(DecisionRule rule, MvelExecutionContext executionContext) {
         if (rule == null) {
             throw new FlowableException("rule cannot be null");
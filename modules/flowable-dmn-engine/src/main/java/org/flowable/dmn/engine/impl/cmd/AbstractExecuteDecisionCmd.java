@@ -96,6 +96,8 @@ public abstract class AbstractExecuteDecisionCmd implements Serializable {
 
         DecisionTableCacheEntry decisionTableCacheEntry = deploymentManager.resolveDecisionTable(decisionTable);
         Decision decision = decisionTableCacheEntry.getDecision();
+        executeDecisionInfo.setCompiledDecisionTable(decisionTableCacheEntry.getCompiledDecisionTable());
+        executeDecisionInfo.setDecisionTableIndex(decisionTableCacheEntry.getDecisionTableIndex());
 
         return decision;
     }
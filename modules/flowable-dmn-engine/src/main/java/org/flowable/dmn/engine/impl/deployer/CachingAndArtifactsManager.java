@@ -13,12 +13,15 @@
 package org.flowable.dmn.engine.impl.deployer;
 
 import org.flowable.dmn.engine.DmnEngineConfiguration;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
+import org.flowable.dmn.engine.impl.mvel.MvelCompiledDecisionTable;
 import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
 import org.flowable.dmn.engine.impl.util.CommandContextUtil;
 import org.flowable.dmn.model.Decision;
+import org.flowable.dmn.model.DecisionTable;
 import org.flowable.dmn.model.DmnDefinition;
 
 /**
@@ -28,6 +31,7 @@ public class CachingAndArtifactsManager {
 
     /**
      * Ensures that the decision table is cached in the appropriate places, including the deployment's collection of deployed artifacts and the deployment manager's cache.
+     * The MVEL expressions of the decision table are compiled once here and cached together with the decision table.
      */
     public void updateCachingAndArtifacts(ParsedDeployment parsedDeployment) {
         final DmnEngineConfiguration dmnEngineConfiguration = CommandContextUtil.getDmnEngineConfiguration();
@@ -37,7 +41,17 @@ public class CachingAndArtifactsManager {
         for (DecisionTableEntity decisionTable : parsedDeployment.getAllDecisionTables()) {
             DmnDefinition dmnDefinition = parsedDeployment.getDmnDefinitionForDecisionTable(decisionTable);
             Decision decision = parsedDeployment.getDecisionForDecisionTable(decisionTable);
-            DecisionTableCacheEntry cacheEntry = new DecisionTableCacheEntry(decisionTable, dmnDefinition, decision);
+            MvelCompiledDecisionTable compiledDecisionTable = null;
+            DecisionTableIndex decisionTableIndex = null;
+            if (decision.getExpression() instanceof DecisionTable) {
+                compiledDecisionTable = MvelCompiledDecisionTable.compile((DecisionTable) decision.getExpression(),
+                        dmnEngineConfiguration.getCustomExpressionFunctions());
+                if (dmnEngineConfiguration.isDecisionTableIndexEnabled()) {
+                    decisionTableIndex = DecisionTableIndex.build((DecisionTable) decision.getExpression(), compiledDecisionTable);
+                }
+            }
+            DecisionTableCacheEntry cacheEntry = new DecisionTableCacheEntry(decisionTable, dmnDefinition, decision, compiledDecisionTable);
+            cacheEntry.setDecisionTableIndex(decisionTableIndex);
             decisionTableCache.add(decisionTable.getId(), cacheEntry);
 
             // Add to deployment for further usage
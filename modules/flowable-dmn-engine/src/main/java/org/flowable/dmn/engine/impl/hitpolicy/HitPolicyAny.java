@@ -24,7 +24,7 @@ import org.flowable.engine.common.api.FlowableException;
 /**
  * @author Yvo Swillens
  */
-public class HitPolicyAny extends AbstractHitPolicy implements ComposeDecisionResultBehavior {
+public class HitPolicyAny extends AbstractHitPolicy implements ComposeDecisionResultBehavior, SkipInvalidRulesBehavior {
 
     @Override
     public String getHitPolicyName() {
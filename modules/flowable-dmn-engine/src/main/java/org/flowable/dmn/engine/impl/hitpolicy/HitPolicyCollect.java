@@ -27,7 +27,7 @@ import org.flowable.dmn.model.HitPolicy;
 /**
  * @author Yvo Swillens
  */
-public class HitPolicyCollect extends AbstractHitPolicy implements ComposeDecisionResultBehavior {
+public class HitPolicyCollect extends AbstractHitPolicy implements ComposeDecisionResultBehavior, SkipInvalidRulesBehavior {
 
     @Override
     public String getHitPolicyName() {
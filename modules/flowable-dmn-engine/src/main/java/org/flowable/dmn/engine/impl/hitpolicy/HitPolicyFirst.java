@@ -17,7 +17,7 @@ import org.flowable.dmn.model.HitPolicy;
 /**
  * @author Yvo Swillens
  */
-public class HitPolicyFirst extends AbstractHitPolicy implements ContinueEvaluatingBehavior {
+public class HitPolicyFirst extends AbstractHitPolicy implements ContinueEvaluatingBehavior, SkipInvalidRulesBehavior {
 
     @Override
     public String getHitPolicyName() {
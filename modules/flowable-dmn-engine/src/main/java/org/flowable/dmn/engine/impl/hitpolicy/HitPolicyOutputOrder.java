@@ -27,7 +27,7 @@ import org.flowable.engine.common.api.FlowableException;
 /**
  * @author Yvo Swillens
  */
-public class HitPolicyOutputOrder extends AbstractHitPolicy implements ComposeDecisionResultBehavior {
+public class HitPolicyOutputOrder extends AbstractHitPolicy implements ComposeDecisionResultBehavior, SkipInvalidRulesBehavior {
 
     @Override
     public String getHitPolicyName() {
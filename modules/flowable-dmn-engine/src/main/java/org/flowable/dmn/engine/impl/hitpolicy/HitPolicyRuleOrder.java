@@ -17,7 +17,7 @@ import org.flowable.dmn.model.HitPolicy;
 /**
  * @author Yvo Swillens
  */
-public class HitPolicyRuleOrder extends AbstractHitPolicy implements ComposeDecisionResultBehavior {
+public class HitPolicyRuleOrder extends AbstractHitPolicy implements ComposeDecisionResultBehavior, SkipInvalidRulesBehavior {
 
     @Override
     public String getHitPolicyName() {
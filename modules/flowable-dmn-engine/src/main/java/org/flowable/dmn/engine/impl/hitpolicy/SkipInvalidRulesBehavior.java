@@ -0,0 +1,21 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.hitpolicy;
+
+/**
+ * Marks a hit policy behavior whose outcome only depends on the valid rules, so the rules that the
+ * {@link org.flowable.dmn.engine.impl.index.DecisionTableIndex} leaves out don't need to be evaluated.
+ * Hit policy behaviors that don't implement it, like custom ones, always evaluate all rules.
+ */
+public interface SkipInvalidRulesBehavior {
+}
@@ -0,0 +1,145 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.dmn.engine.impl.mvel.MvelCompiledDecisionTable;
+import org.flowable.dmn.engine.impl.mvel.MvelExecutionContext;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+
+/**
+ * Index on the rules of a decision table, used to only evaluate the rules that can be valid for the input variables of an execution.
+ *
+ * The index is built when the decision table is deployed and is not changed afterwards, so it can be shared by all threads executing the decision table.
+ * The candidate rules are returned in rule order and still need to be evaluated, so the outcome for every hit policy is the same as evaluating all rules.
+ * Rules that are excluded by the index are not part of the audit trail.
+ *
+ * @see org.flowable.dmn.engine.DmnEngineConfiguration#setDecisionTableIndexEnabled(boolean)
+ */
+public class DecisionTableIndex {
+
+    protected static final Pattern VARIABLE_PATTERN = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+
+    protected List<DecisionRule> rules;
+    protected List<InputClauseIndex> inputClauseIndexes = new ArrayList<>();
+    protected Set<String> inputExpressions = new HashSet<>();
+
+    protected DecisionTableIndex(List<DecisionRule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Builds the index for the decision table. Returns null when the decision table has no input entries that can be indexed,
+     * or when it is not valid, as errors in the decision table must be reported on every execution.
+     */
+    public static DecisionTableIndex build(DecisionTable decisionTable, MvelCompiledDecisionTable compiledDecisionTable) {
+        if (decisionTable == null || decisionTable.getRules() == null || decisionTable.getRules().isEmpty()
+                || compiledDecisionTable == null || compiledDecisionTable.hasCompilationFailures()) {
+            return null;
+        }
+
+        List<DecisionRule> rules = decisionTable.getRules();
+        DecisionTableIndex index = new DecisionTableIndex(rules);
+
+        for (InputClause inputClause : decisionTable.getInputs()) {
+            if (inputClause.getInputExpression() == null) {
+                return null;
+            }
+
+            String inputExpression = inputClause.getInputExpression().getText();
+            InputClauseIndex inputClauseIndex = new InputClauseIndex(inputExpression);
+            boolean indexable = StringUtils.isNotEmpty(inputExpression) && VARIABLE_PATTERN.matcher(inputExpression).matches();
+            boolean hasIndexedEntries = false;
+
+            for (int i = 0; i < rules.size(); i++) {
+                RuleInputClauseContainer inputContainer = getInputEntry(rules.get(i), inputClause);
+                if (inputContainer == null || inputContainer.getInputEntry() == null) {
+                    inputClauseIndex.addUnindexedRule(i);
+                    continue;
+                }
+
+                String inputEntry = inputContainer.getInputEntry().getText();
+                if (StringUtils.isNotEmpty(inputEntry) && !"-".equals(inputEntry)) {
+                    index.inputExpressions.add(inputExpression);
+                }
+
+                if (indexable && StringUtils.isNotEmpty(inputEntry) && !"-".equals(inputEntry)) {
+                    hasIndexedEntries |= inputClauseIndex.addInputEntry(i, inputEntry, inputClause.getInputExpression().getTypeRef());
+                } else {
+                    inputClauseIndex.addUnindexedRule(i);
+                }
+            }
+
+            if (hasIndexedEntries) {
+                inputClauseIndex.build();
+                index.inputClauseIndexes.add(inputClauseIndex);
+            }
+        }
+
+        if (index.inputClauseIndexes.isEmpty()) {
+            return null;
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the rules that can be valid for the variables of the execution context, in rule order.
+     *
+     * Returns null when the index can't be used, for example when an input variable is missing.
+     * All rules need to be evaluated in that case, so the error is reported like it is without the index.
+     */
+    public List<DecisionRule> getCandidateRules(MvelExecutionContext executionContext) {
+        for (String inputExpression : inputExpressions) {
+            if (!executionContext.hasExecutionContextVariable(inputExpression)) {
+                return null;
+            }
+        }
+
+        Map<String, Object> variables = executionContext.getStackVariables();
+        BitSet candidates = new BitSet(rules.size());
+        candidates.set(0, rules.size());
+        for (InputClauseIndex inputClauseIndex : inputClauseIndexes) {
+            BitSet inputClauseCandidates = inputClauseIndex.getCandidateRules(variables.get(inputClauseIndex.getInputVariable()));
+            if (inputClauseCandidates != null) {
+                candidates.and(inputClauseCandidates);
+            }
+        }
+
+        List<DecisionRule> candidateRules = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            candidateRules.add(rules.get(i));
+        }
+        return candidateRules;
+    }
+
+    protected static RuleInputClauseContainer getInputEntry(DecisionRule rule, InputClause inputClause) {
+        for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+            if (inputContainer.getInputClause() == inputClause) {
+                return inputContainer;
+            }
+        }
+        return null;
+    }
+}
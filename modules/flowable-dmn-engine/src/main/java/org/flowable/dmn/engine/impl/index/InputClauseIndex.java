@@ -0,0 +1,276 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Index on the input entries of one input clause of a decision table.
+ *
+ * Only input entries that are an equality check against a string, number or boolean literal, or a comparison with a number literal
+ * are indexed. All other entries, like empty entries, expressions or date checks, are unindexed and their rules are always a candidate.
+ *
+ * The index is conservative: a rule is only excluded when its input entry can't be true for the given input value.
+ * The candidate rules still need to be evaluated.
+ */
+public class InputClauseIndex {
+
+    protected static final Pattern NUMBER_PATTERN = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    // largest long value that can be represented exactly as a double
+    protected static final long MAX_EXACT_LONG = 1L << 53;
+
+    protected String inputVariable;
+    protected BitSet unindexedRules = new BitSet();
+
+    protected BitSet stringRules = new BitSet();
+    protected Map<String, BitSet> stringEntries = new HashMap<>();
+
+    protected BitSet booleanRules = new BitSet();
+    protected Map<Boolean, BitSet> booleanEntries = new HashMap<>();
+
+    protected BitSet numberRules = new BitSet();
+    protected Map<Double, BitSet> numberEntries = new HashMap<>();
+    protected List<NumberBound> lessThanEntries = new ArrayList<>();
+    protected List<NumberBound> lessThanOrEqualEntries = new ArrayList<>();
+    protected List<NumberBound> greaterThanEntries = new ArrayList<>();
+    protected List<NumberBound> greaterThanOrEqualEntries = new ArrayList<>();
+
+    protected NumberBound[] lessThanBounds;
+    protected NumberBound[] lessThanOrEqualBounds;
+    protected NumberBound[] greaterThanBounds;
+    protected NumberBound[] greaterThanOrEqualBounds;
+
+    public InputClauseIndex(String inputVariable) {
+        this.inputVariable = inputVariable;
+    }
+
+    /**
+     * Adds the input entry of the rule at the given position. Returns true if the entry could be indexed.
+     */
+    public boolean addInputEntry(int rulePosition, String inputEntry, String inputVariableType) {
+        if (StringUtils.isEmpty(inputEntry) || "date".equals(inputVariableType)) {
+            unindexedRules.set(rulePosition);
+            return false;
+        }
+
+        String operator = "==";
+        String literal = inputEntry.trim();
+        if (inputEntry.length() >= 2) {
+            for (String candidateOperator : new String[] { ">=", "<=", "==", "!=", "<", ">" }) {
+                if (inputEntry.startsWith(candidateOperator)) {
+                    operator = candidateOperator;
+                    literal = inputEntry.substring(candidateOperator.length()).trim();
+                    break;
+                }
+            }
+        }
+
+        if ("==".equals(operator) && isStringLiteral(literal)) {
+            stringRules.set(rulePosition);
+            addEntry(stringEntries, literal.substring(1, literal.length() - 1), rulePosition);
+            return true;
+
+        } else if ("==".equals(operator) && ("true".equals(literal) || "false".equals(literal))) {
+            booleanRules.set(rulePosition);
+            addEntry(booleanEntries, Boolean.valueOf(literal), rulePosition);
+            return true;
+
+        } else if (NUMBER_PATTERN.matcher(literal).matches() && !"!=".equals(operator)) {
+            double bound = normalize(Double.parseDouble(literal));
+            numberRules.set(rulePosition);
+            if ("==".equals(operator)) {
+                addEntry(numberEntries, bound, rulePosition);
+            } else if ("<".equals(operator)) {
+                lessThanEntries.add(new NumberBound(bound, rulePosition));
+            } else if ("<=".equals(operator)) {
+                lessThanOrEqualEntries.add(new NumberBound(bound, rulePosition));
+            } else if (">".equals(operator)) {
+                greaterThanEntries.add(new NumberBound(bound, rulePosition));
+            } else {
+                greaterThanOrEqualEntries.add(new NumberBound(bound, rulePosition));
+            }
+            return true;
+        }
+
+        unindexedRules.set(rulePosition);
+        return false;
+    }
+
+    /**
+     * Adds the rule at the given position that has no input entry for this input clause.
+     */
+    public void addUnindexedRule(int rulePosition) {
+        unindexedRules.set(rulePosition);
+    }
+
+    /**
+     * Sorts the range entries, must be called after all entries are added.
+     */
+    public void build() {
+        lessThanBounds = sortedBounds(lessThanEntries);
+        lessThanOrEqualBounds = sortedBounds(lessThanOrEqualEntries);
+        greaterThanBounds = sortedBounds(greaterThanEntries);
+        greaterThanOrEqualBounds = sortedBounds(greaterThanOrEqualEntries);
+        lessThanEntries = null;
+        lessThanOrEqualEntries = null;
+        greaterThanEntries = null;
+        greaterThanOrEqualEntries = null;
+    }
+
+    /**
+     * Returns the positions of the rules of which the input entry can be true for the given value,
+     * or null if the value can't be used to look up rules in this index.
+     */
+    public BitSet getCandidateRules(Object value) {
+        BitSet candidates = (BitSet) unindexedRules.clone();
+        if (value instanceof String) {
+            candidates.or(booleanRules);
+            candidates.or(numberRules);
+            addEntries(stringEntries.get(value), candidates);
+
+        } else if (value instanceof Boolean) {
+            candidates.or(stringRules);
+            candidates.or(numberRules);
+            addEntries(booleanEntries.get(value), candidates);
+
+        } else if (isIndexableNumber(value)) {
+            candidates.or(stringRules);
+            candidates.or(booleanRules);
+
+            double number = normalize(((Number) value).doubleValue());
+            addEntries(numberEntries.get(number), candidates);
+
+            // rules where value < bound, value <= bound, value > bound and value >= bound
+            addBoundsFrom(lessThanBounds, firstBoundAbove(lessThanBounds, number, false), candidates);
+            addBoundsFrom(lessThanOrEqualBounds, firstBoundAbove(lessThanOrEqualBounds, number, true), candidates);
+            addBoundsUntil(greaterThanBounds, firstBoundAbove(greaterThanBounds, number, true), candidates);
+            addBoundsUntil(greaterThanOrEqualBounds, firstBoundAbove(greaterThanOrEqualBounds, number, false), candidates);
+
+        } else {
+            return null;
+        }
+
+        return candidates;
+    }
+
+    public String getInputVariable() {
+        return inputVariable;
+    }
+
+    protected boolean isStringLiteral(String literal) {
+        if (literal.length() < 2) {
+            return false;
+        }
+
+        char quote = literal.charAt(0);
+        if ((quote != '"' && quote != '\'') || literal.charAt(literal.length() - 1) != quote) {
+            return false;
+        }
+
+        String content = literal.substring(1, literal.length() - 1);
+        return !StringUtils.containsAny(content, '"', '\'', '\\');
+    }
+
+    protected boolean isIndexableNumber(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        } else if (value instanceof Long) {
+            long longValue = ((Long) value).longValue();
+            return longValue <= MAX_EXACT_LONG && longValue >= -MAX_EXACT_LONG;
+        } else if (value instanceof Double) {
+            return !((Double) value).isNaN();
+        }
+        return false;
+    }
+
+    protected double normalize(double number) {
+        // makes -0.0 and 0.0 the same key
+        return number + 0.0;
+    }
+
+    protected <T> void addEntry(Map<T, BitSet> entries, T key, int rulePosition) {
+        BitSet rules = entries.get(key);
+        if (rules == null) {
+            rules = new BitSet();
+            entries.put(key, rules);
+        }
+        rules.set(rulePosition);
+    }
+
+    protected void addEntries(BitSet rules, BitSet candidates) {
+        if (rules != null) {
+            candidates.or(rules);
+        }
+    }
+
+    protected NumberBound[] sortedBounds(List<NumberBound> bounds) {
+        NumberBound[] sortedBounds = bounds.toArray(new NumberBound[bounds.size()]);
+        Arrays.sort(sortedBounds);
+        return sortedBounds;
+    }
+
+    /**
+     * Returns the index of the first bound that is above the number, or above or equal to it when inclusive is true.
+     */
+    protected int firstBoundAbove(NumberBound[] bounds, double number, boolean inclusive) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            double bound = bounds[middle].bound;
+            if (bound > number || (inclusive && bound == number)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    protected void addBoundsFrom(NumberBound[] bounds, int fromIndex, BitSet candidates) {
+        for (int i = fromIndex; i < bounds.length; i++) {
+            candidates.set(bounds[i].rulePosition);
+        }
+    }
+
+    protected void addBoundsUntil(NumberBound[] bounds, int toIndex, BitSet candidates) {
+        for (int i = 0; i < toIndex; i++) {
+            candidates.set(bounds[i].rulePosition);
+        }
+    }
+
+    protected static class NumberBound implements Comparable<NumberBound> {
+
+        protected double bound;
+        protected int rulePosition;
+
+        public NumberBound(double bound, int rulePosition) {
+            this.bound = bound;
+            this.rulePosition = rulePosition;
+        }
+
+        @Override
+        public int compareTo(NumberBound other) {
+            return Double.compare(bound, other.bound);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.impl.mvel;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
+import org.flowable.dmn.model.InputClause;
+import org.flowable.dmn.model.LiteralExpression;
+import org.flowable.dmn.model.RuleInputClauseContainer;
+import org.flowable.dmn.model.RuleOutputClauseContainer;
+import org.flowable.dmn.model.UnaryTests;
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the pre-parsed and compiled MVEL expressions of the input and output entries of a {@link DecisionTable}.
+ *
+ * Instances are created once when the decision table is put in the deployment cache and are never modified afterwards,
+ * so they can be shared by all threads executing the decision table. The entries are keyed on the identity of the model elements
+ * of the cached {@link DecisionTable}.
+ */
+public class MvelCompiledDecisionTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MvelCompiledDecisionTable.class);
+
+    protected Map<UnaryTests, String> parsedInputEntries = new IdentityHashMap<>();
+    protected Map<UnaryTests, Serializable> compiledInputEntries = new IdentityHashMap<>();
+    protected Map<LiteralExpression, Serializable> compiledOutputEntries = new IdentityHashMap<>();
+    protected boolean compilationFailures;
+
+    public static MvelCompiledDecisionTable compile(DecisionTable decisionTable, Map<String, Method> customExpressionFunctions) {
+        MvelCompiledDecisionTable compiledDecisionTable = new MvelCompiledDecisionTable();
+        if (decisionTable == null || decisionTable.getRules() == null) {
+            return compiledDecisionTable;
+        }
+
+        ParserContext parserContext = MvelExecutionContextBuilder.createParserContext(customExpressionFunctions);
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer inputContainer : rule.getInputEntries()) {
+                compiledDecisionTable.compileInputEntry(inputContainer.getInputClause(), inputContainer.getInputEntry(), parserContext);
+            }
+            for (RuleOutputClauseContainer outputContainer : rule.getOutputEntries()) {
+                compiledDecisionTable.compileOutputEntry(outputContainer.getOutputEntry(), parserContext);
+            }
+        }
+
+        return compiledDecisionTable;
+    }
+
+    protected void compileInputEntry(InputClause inputClause, UnaryTests inputEntry, ParserContext parserContext) {
+        if (inputEntry == null || StringUtils.isEmpty(inputEntry.getText()) || "-".equals(inputEntry.getText())) {
+            return;
+        }
+
+        if (inputClause == null || inputClause.getInputExpression() == null) {
+            compilationFailures = true;
+            return;
+        }
+
+        String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText(), inputClause.getInputExpression().getTypeRef());
+        parsedInputEntries.put(inputEntry, parsedExpression);
+
+        // expressions that can't be compiled are compiled again on execution, so the error ends up in the audit trail
+        try {
+            compiledInputEntries.put(inputEntry, MVEL.compileExpression(parsedExpression, parserContext));
+        } catch (Exception e) {
+            LOGGER.debug("Could not compile input entry {}", parsedExpression, e);
+            compilationFailures = true;
+        }
+    }
+
+    protected void compileOutputEntry(LiteralExpression outputEntry, ParserContext parserContext) {
+        if (outputEntry == null || StringUtils.isEmpty(outputEntry.getText())) {
+            return;
+        }
+
+        try {
+            compiledOutputEntries.put(outputEntry, MVEL.compileExpression(outputEntry.getText(), parserContext));
+        } catch (Exception e) {
+            LOGGER.debug("Could not compile output entry {}", outputEntry.getText(), e);
+            compilationFailures = true;
+        }
+    }
+
+    public String getParsedInputEntry(UnaryTests inputEntry) {
+        return parsedInputEntries.get(inputEntry);
+    }
+
+    public Serializable getCompiledInputEntry(UnaryTests inputEntry) {
+        return compiledInputEntries.get(inputEntry);
+    }
+
+    public Serializable getCompiledOutputEntry(LiteralExpression outputEntry) {
+        return compiledOutputEntries.get(outputEntry);
+    }
+
+    public boolean hasCompilationFailures() {
+        return compilationFailures;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
 import org.flowable.dmn.model.BuiltinAggregator;
 import org.flowable.engine.common.api.FlowableException;
 import org.mvel2.ParserContext;
@@ -36,6 +37,8 @@ public class MvelExecutionContext {
     protected DecisionExecutionAuditContainer auditContainer;
     protected Map<String, List<Object>> outputValues = new HashMap<>();
     protected BuiltinAggregator aggregator;
+    protected MvelCompiledDecisionTable compiledDecisionTable;
+    protected DecisionTableIndex decisionTableIndex;
 
     public void checkExecutionContext(String variableId) {
 
@@ -58,6 +61,17 @@ public class MvelExecutionContext {
         }
     }
 
+    public boolean hasExecutionContextVariable(String variableId) {
+        if (StringUtils.isEmpty(variableId) || stackVariables == null || stackVariables.isEmpty()) {
+            return false;
+        }
+
+        if (variableId.contains(".")) {
+            return stackVariables.containsKey(variableId.substring(0, variableId.indexOf('.')));
+        }
+        return stackVariables.containsKey(variableId);
+    }
+
     public void addRuleResult(int ruleNumber, String outputName, Object outputValue) {
         Map<String, Object> ruleResult;
         if (ruleResults.containsKey(ruleNumber)) {
@@ -124,4 +138,20 @@ public class MvelExecutionContext {
     public void setAggregator(BuiltinAggregator aggregator) {
         this.aggregator = aggregator;
     }
+
+    public MvelCompiledDecisionTable getCompiledDecisionTable() {
+        return compiledDecisionTable;
+    }
+
+    public void setCompiledDecisionTable(MvelCompiledDecisionTable compiledDecisionTable) {
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
+
+    public DecisionTableIndex getDecisionTableIndex() {
+        return decisionTableIndex;
+    }
+
+    public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+        this.decisionTableIndex = decisionTableIndex;
+    }
 }
@@ -44,16 +44,7 @@ public class MvelExecutionContextBuilder {
         // initialize audit trail
         executionContext.setAuditContainer(DecisionExecutionAuditUtil.initializeRuleExecutionAudit(decision, inputVariables));
 
-        ParserContext parserContext = new ParserContext();
-
-        // add custom functions to context
-        if (customExpressionFunctions != null && !customExpressionFunctions.isEmpty()) {
-            for (Map.Entry<String, Method> config : customExpressionFunctions.entrySet()) {
-                parserContext.addImport(config.getKey(), config.getValue());
-            }
-        }
-
-        executionContext.setParserContext(parserContext);
+        executionContext.setParserContext(createParserContext(customExpressionFunctions));
 
         // add property handlers to context
         if (propertyHandlers != null) {
@@ -88,6 +79,19 @@ public class MvelExecutionContextBuilder {
         return executionContext;
     }
 
+    public static ParserContext createParserContext(Map<String, Method> customExpressionFunctions) {
+        ParserContext parserContext = new ParserContext();
+
+        // add custom functions to context
+        if (customExpressionFunctions != null && !customExpressionFunctions.isEmpty()) {
+            for (Map.Entry<String, Method> config : customExpressionFunctions.entrySet()) {
+                parserContext.addImport(config.getKey(), config.getValue());
+            }
+        }
+
+        return parserContext;
+    }
+
     protected static void preProcessInputVariables(DecisionTable decisionTable, Map<String, Object> inputVariables) {
 
         if (inputVariables == null) {
@@ -52,11 +52,24 @@ public class MvelExpressionExecutor {
         // check if variable is present MVEL execution context
         executionContext.checkExecutionContext(inputClause.getInputExpression().getText());
 
-        // pre parse expression
-        String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText(), inputClause.getInputExpression().getTypeRef());
+        // use the expression compiled at deployment time when available
+        String parsedExpression = null;
+        Serializable compiledExpression = null;
+        MvelCompiledDecisionTable compiledDecisionTable = executionContext.getCompiledDecisionTable();
+        if (compiledDecisionTable != null) {
+            parsedExpression = compiledDecisionTable.getParsedInputEntry(inputEntry);
+            compiledExpression = compiledDecisionTable.getCompiledInputEntry(inputEntry);
+        }
+
+        if (parsedExpression == null) {
+            // pre parse expression
+            parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText(), inputClause.getInputExpression().getTypeRef());
+        }
 
-        // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(parsedExpression, executionContext.getParserContext());
+        if (compiledExpression == null) {
+            // compile MVEL expression
+            compiledExpression = MVEL.compileExpression(parsedExpression, executionContext.getParserContext());
+        }
 
         // execute MVEL expression
         Boolean result;
@@ -82,8 +95,16 @@ public class MvelExpressionExecutor {
             throw new IllegalArgumentException("execution context is required");
         }
 
-        // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(outputEntry.getText(), executionContext.getParserContext());
+        // use the expression compiled at deployment time when available
+        Serializable compiledExpression = null;
+        if (executionContext.getCompiledDecisionTable() != null) {
+            compiledExpression = executionContext.getCompiledDecisionTable().getCompiledOutputEntry(outputEntry);
+        }
+
+        if (compiledExpression == null) {
+            // compile MVEL expression
+            compiledExpression = MVEL.compileExpression(outputEntry.getText(), executionContext.getParserContext());
+        }
 
         // execute MVEL expression
         Object result = null;
@@ -14,6 +14,8 @@ package org.flowable.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
 
+import org.flowable.dmn.engine.impl.index.DecisionTableIndex;
+import org.flowable.dmn.engine.impl.mvel.MvelCompiledDecisionTable;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.flowable.dmn.model.Decision;
 import org.flowable.dmn.model.DmnDefinition;
@@ -28,6 +30,8 @@ public class DecisionTableCacheEntry implements Serializable {
     protected DecisionTableEntity decisionTableEntity;
     protected DmnDefinition dmnDefinition;
     protected Decision decision;
+    protected transient MvelCompiledDecisionTable compiledDecisionTable;
+    protected transient DecisionTableIndex decisionTableIndex;
 
     public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision) {
         this.decisionTableEntity = decisionTableEntity;
@@ -35,6 +39,12 @@ public class DecisionTableCacheEntry implements Serializable {
         this.decision = decision;
     }
 
+    public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision,
+            MvelCompiledDecisionTable compiledDecisionTable) {
+        this(decisionTableEntity, dmnDefinition, decision);
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
+
     public DecisionTableEntity getDecisionTableEntity() {
         return decisionTableEntity;
     }
@@ -58,4 +68,20 @@ public class DecisionTableCacheEntry implements Serializable {
     public void setDecision(Decision decision) {
         this.decision = decision;
     }
+
+    public MvelCompiledDecisionTable getCompiledDecisionTable() {
+        return compiledDecisionTable;
+    }
+
+    public void setCompiledDecisionTable(MvelCompiledDecisionTable compiledDecisionTable) {
+        this.compiledDecisionTable = compiledDecisionTable;
+    }
+
+    public DecisionTableIndex getDecisionTableIndex() {
+        return decisionTableIndex;
+    }
+
+    public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+        this.decisionTableIndex = decisionTableIndex;
+    }
 }
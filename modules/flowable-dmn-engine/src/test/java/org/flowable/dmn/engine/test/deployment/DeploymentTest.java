@@ -18,13 +18,18 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Map;
 
 import org.flowable.dmn.api.DmnDecisionTable;
 import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.impl.mvel.MvelCompiledDecisionTable;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.flowable.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.flowable.dmn.engine.impl.persistence.entity.DmnDeploymentEntity;
 import org.flowable.dmn.engine.test.AbstractFlowableDmnTest;
 import org.flowable.dmn.engine.test.DmnDeploymentAnnotation;
+import org.flowable.dmn.model.DecisionRule;
+import org.flowable.dmn.model.DecisionTable;
 import org.junit.Test;
 
 public class DeploymentTest extends AbstractFlowableDmnTest {
@@ -59,6 +64,40 @@ public class DeploymentTest extends AbstractFlowableDmnTest {
         assertEquals("decision", decision.getKey());
     }
 
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/flowable/dmn/engine/test/deployment/multiple_conclusions.dmn")
+    public void deploySingleDecisionAndValidateCompiledExpressions() {
+        DmnDecisionTable decision = repositoryService.createDecisionTableQuery()
+                .latestVersion()
+                .decisionTableKey("decision")
+                .singleResult();
+
+        DecisionTableCacheEntry cacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decision.getId());
+        MvelCompiledDecisionTable compiledDecisionTable = cacheEntry.getCompiledDecisionTable();
+        assertNotNull(compiledDecisionTable);
+
+        DecisionTable decisionTable = (DecisionTable) cacheEntry.getDecision().getExpression();
+        for (DecisionRule rule : decisionTable.getRules()) {
+            assertNotNull(compiledDecisionTable.getCompiledInputEntry(rule.getInputEntries().get(0).getInputEntry()));
+            assertNotNull(compiledDecisionTable.getCompiledOutputEntry(rule.getOutputEntries().get(0).getOutputEntry()));
+        }
+
+        // the compiled expressions are rebuilt when the decision table is put in the cache again
+        dmnEngineConfiguration.getDeploymentManager().getDecisionCache().clear();
+        Map<String, Object> result = ruleService.createExecuteDecisionBuilder()
+                .decisionKey("decision")
+                .variable("input1", 10)
+                .executeWithSingleResult();
+        assertEquals("test3", result.get("output1"));
+        assertNotNull(dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decision.getId()).getCompiledDecisionTable());
+
+        result = ruleService.createExecuteDecisionBuilder()
+                .decisionKey("decision")
+                .variable("input1", 5)
+                .executeWithSingleResult();
+        assertEquals("test2", result.get("output1"));
+    }
+
     @Test
     @DmnDeploymentAnnotation(resources = "org/flowable/dmn/engine/test/deployment/multiple_conclusions.dmn")
     public void deploySingleDecisionAndValidateVersioning() {
@@ -0,0 +1,202 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.dmn.engine.test.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.dmn.api.DecisionExecutionAuditContainer;
+import org.flowable.dmn.api.DmnDecisionTable;
+import org.flowable.dmn.api.DmnDeployment;
+import org.flowable.dmn.engine.impl.hitpolicy.AbstractHitPolicy;
+import org.flowable.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
+import org.flowable.dmn.engine.test.AbstractFlowableDmnTest;
+import org.flowable.dmn.model.HitPolicy;
+import org.junit.After;
+import org.junit.Test;
+
+public class DecisionTableIndexTest extends AbstractFlowableDmnTest {
+
+    protected static final String RESOURCE_PREFIX = "org/flowable/dmn/engine/test/runtime/";
+
+    @After
+    public void resetDecisionTableIndex() {
+        dmnEngineConfiguration.setDecisionTableIndexEnabled(false);
+    }
+
+    @Test
+    public void indexedDecisionTable() {
+        List<Map<String, Object>> variables = new ArrayList<>();
+        for (String customerType : new String[] { "GOLD", "SILVER", "BRONZE", "PLATINUM", "OTHER" }) {
+            for (Object amount : new Object[] { 5, 10, 10.0, 50, 50L, 99.5, 100, 100.0, 500, 1000, 2000D }) {
+                Map<String, Object> executionVariables = new HashMap<>();
+                executionVariables.put("customerType", customerType);
+                executionVariables.put("amount", amount);
+                variables.add(executionVariables);
+            }
+        }
+
+        // input variables of other types and missing input variables are evaluated without the index
+        Map<String, Object> executionVariables = new HashMap<>();
+        executionVariables.put("customerType", "GOLD");
+        executionVariables.put("amount", "100");
+        variables.add(executionVariables);
+
+        executionVariables = new HashMap<>();
+        executionVariables.put("customerType", "GOLD");
+        variables.add(executionVariables);
+
+        List<DecisionExecutionAuditContainer> results = executeDecisions("DecisionTableIndexTest.indexedDecisionTable.dmn", variables, false);
+        List<DecisionExecutionAuditContainer> indexedResults = executeDecisions("DecisionTableIndexTest.indexedDecisionTable.dmn", variables, true);
+        assertSameResults(results, indexedResults);
+
+        assertEquals("gold large", results.get(7).getDecisionResult().get(0).get("outputVariable1"));
+        assertEquals("gold hundred", results.get(7).getDecisionResult().get(1).get("outputVariable1"));
+    }
+
+    @Test
+    public void decisionTableIndexIsBuiltOnDeployment() {
+        dmnEngineConfiguration.setDecisionTableIndexEnabled(true);
+        DmnDeployment deployment = repositoryService.createDeployment()
+                .addClasspathResource(RESOURCE_PREFIX + "DecisionTableIndexTest.indexedDecisionTable.dmn")
+                .deploy();
+
+        try {
+            DmnDecisionTable decisionTable = repositoryService.createDecisionTableQuery().deploymentId(deployment.getId()).singleResult();
+            DecisionTableCacheEntry cacheEntry = dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId());
+            assertNotNull(cacheEntry.getDecisionTableIndex());
+
+            // only the candidate rules end up in the audit trail
+            DecisionExecutionAuditContainer auditContainer = ruleService.createExecuteDecisionBuilder()
+                    .decisionKey("decision1")
+                    .variable("customerType", "BRONZE")
+                    .variable("amount", 50)
+                    .executeWithAuditTrail();
+            assertEquals(2, auditContainer.getRuleExecutions().size());
+            assertEquals("bronze fifty", auditContainer.getDecisionResult().get(0).get("outputVariable1"));
+
+        } finally {
+            repositoryService.deleteDeployment(deployment.getId());
+        }
+
+        dmnEngineConfiguration.setDecisionTableIndexEnabled(false);
+        deployment = repositoryService.createDeployment()
+                .addClasspathResource(RESOURCE_PREFIX + "DecisionTableIndexTest.indexedDecisionTable.dmn")
+                .deploy();
+
+        try {
+            DmnDecisionTable decisionTable = repositoryService.createDecisionTableQuery().deploymentId(deployment.getId()).singleResult();
+            assertNull(dmnEngineConfiguration.getDeploymentManager().getDecisionCache().get(decisionTable.getId()).getDecisionTableIndex());
+
+        } finally {
+            repositoryService.deleteDeployment(deployment.getId());
+        }
+    }
+
+    @Test
+    public void customHitPolicyEvaluatesAllRules() {
+        Map<String, AbstractHitPolicy> hitPolicyBehaviors = dmnEngineConfiguration.getHitPolicyBehaviors();
+        AbstractHitPolicy ruleOrderHitPolicyBehavior = hitPolicyBehaviors.get(HitPolicy.RULE_ORDER.getValue());
+
+        // behaves like the built-in RULE ORDER hit policy, but isn't marked to skip the invalid rules
+        hitPolicyBehaviors.put(HitPolicy.RULE_ORDER.getValue(), new AbstractHitPolicy() {
+
+            @Override
+            public String getHitPolicyName() {
+                return HitPolicy.RULE_ORDER.getValue();
+            }
+        });
+
+        try {
+            Map<String, Object> executionVariables = new HashMap<>();
+            executionVariables.put("customerType", "BRONZE");
+            executionVariables.put("amount", 50);
+            List<Map<String, Object>> variables = new ArrayList<>();
+            variables.add(executionVariables);
+
+            List<DecisionExecutionAuditContainer> results = executeDecisions("DecisionTableIndexTest.indexedDecisionTable.dmn", variables, false);
+            List<DecisionExecutionAuditContainer> indexedResults = executeDecisions("DecisionTableIndexTest.indexedDecisionTable.dmn", variables, true);
+            assertSameResults(results, indexedResults);
+            assertEquals(8, results.get(0).getRuleExecutions().size());
+            assertEquals(8, indexedResults.get(0).getRuleExecutions().size());
+
+        } finally {
+            hitPolicyBehaviors.put(HitPolicy.RULE_ORDER.getValue(), ruleOrderHitPolicyBehavior);
+        }
+    }
+
+    @Test
+    public void hitPolicies() {
+        List<Map<String, Object>> variables = new ArrayList<>();
+        for (Object value : new Object[] { -5, 0, 5, 9.99, 10, 10.0, 11, 15, 19.5, 20, 25, 29L }) {
+            Map<String, Object> executionVariables = new HashMap<>();
+            executionVariables.put("inputVariable1", value);
+            variables.add(executionVariables);
+        }
+
+        String[] resources = new String[] {
+                "HitPolicyFirstTest.firstHitPolicy.dmn",
+                "HitPolicyUniqueTest.uniqueHitPolicy.dmn",
+                "HitPolicyUniqueTest.uniqueHitPolicyViolated.dmn",
+                "HitPolicyPriorityTest.priorityHitPolicy.dmn",
+                "HitPolicyCollectTest.collectHitPolicySUM.dmn",
+                "HitPolicyCollectTest.collectHitPolicyNoAggregator.dmn",
+                "HitPolicyOutputOrderTest.outputOrderHitPolicy.dmn",
+                "HitPolicyRuleOrderTest.ruleOrderHitPolicy.dmn",
+                "HitPolicyAnyTest.anyHitPolicy.dmn",
+                "HitPolicyAnyTest.anyHitPolicyViolated.dmn"
+        };
+
+        for (String resource : resources) {
+            List<DecisionExecutionAuditContainer> results = executeDecisions(resource, variables, false);
+            List<DecisionExecutionAuditContainer> indexedResults = executeDecisions(resource, variables, true);
+            assertSameResults(results, indexedResults);
+        }
+    }
+
+    protected List<DecisionExecutionAuditContainer> executeDecisions(String resource, List<Map<String, Object>> variables, boolean decisionTableIndexEnabled) {
+        dmnEngineConfiguration.setDecisionTableIndexEnabled(decisionTableIndexEnabled);
+        DmnDeployment deployment = repositoryService.createDeployment()
+                .addClasspathResource(RESOURCE_PREFIX + resource)
+                .deploy();
+
+        try {
+            DmnDecisionTable decisionTable = repositoryService.createDecisionTableQuery().deploymentId(deployment.getId()).singleResult();
+            List<DecisionExecutionAuditContainer> results = new ArrayList<>();
+            for (Map<String, Object> executionVariables : variables) {
+                results.add(ruleService.createExecuteDecisionBuilder()
+                        .decisionKey(decisionTable.getKey())
+                        .variables(new HashMap<>(executionVariables))
+                        .executeWithAuditTrail());
+            }
+            return results;
+
+        } finally {
+            repositoryService.deleteDeployment(deployment.getId());
+        }
+    }
+
+    protected void assertSameResults(List<DecisionExecutionAuditContainer> expectedResults, List<DecisionExecutionAuditContainer> actualResults) {
+        assertEquals(expectedResults.size(), actualResults.size());
+        for (int i = 0; i < expectedResults.size(); i++) {
+            assertEquals(expectedResults.get(i).isFailed(), actualResults.get(i).isFailed());
+            assertEquals(expectedResults.get(i).getDecisionResult(), actualResults.get(i).getDecisionResult());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.api.delegate.event;
+
+import java.util.List;
+
+/**
+ * A {@link FlowableEventListener} that is not called on the engine thread while the event is dispatched, but receives the events in batches
+ * on a separate thread, after the transaction in which the events were dispatched is committed. Events dispatched in a transaction that is
+ * rolled back are not delivered.
+ * 
+ * {@link #onEvent(FlowableEvent)} is not called for these listeners, and as the transaction is already committed when the events are delivered,
+ * {@link #isFailOnException()} is ignored: exceptions thrown by {@link #onEvents(List)} are logged.
+ */
+public interface FlowableBatchEventListener extends FlowableEventListener {
+
+    /**
+     * Called with a batch of events, in the order in which they were queued.
+     * 
+     * @param events
+     *            the events
+     */
+    void onEvents(List<FlowableEvent> events);
+}
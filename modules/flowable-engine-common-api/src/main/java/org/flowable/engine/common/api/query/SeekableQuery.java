@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.flowable.engine.common.api.query;
+
+import java.util.List;
+
+/**
+ * Implemented by queries of which the results can be paged by seeking: a page starts right after the last result of the previous page, identified by its seek key,
+ * instead of skipping all results of the previous pages like {@link Query#listPage(int, int)} does.
+ *
+ * Seeking is only possible when the query is ordered by at most one of the properties supported by the query, the results are ordered by id as well in that case.
+ */
+public interface SeekableQuery<U extends Object> {
+
+    /**
+     * Executes the query and returns at most the given number of results, starting right after the result with the given seek key or with the first result when
+     * the seek key is null. The query keeps seeking from the given key when it is executed again afterwards.
+     *
+     * @throws org.flowable.engine.common.api.FlowableIllegalArgumentException
+     *             when the query is not ordered by a property supporting seeking or when the seek key doesn't belong to the order of the query.
+     */
+    List<U> listPageAfter(String seekKey, int maxResults);
+
+    /**
+     * @return the seek key of the given result of this query, to be passed to {@link #listPageAfter(String, int)} to get the results following it.
+     */
+    String getSeekKey(U result);
+}
@@ -47,6 +47,7 @@ import org.flowable.engine.common.impl.cfg.TransactionContextFactory;
 import org.flowable.engine.common.impl.db.CustomMyBatisTypeHandlerConfig;
 import org.flowable.engine.common.impl.db.CustomMybatisTypeAliasConfig;
 import org.flowable.engine.common.impl.db.DbSqlSessionFactory;
+import org.flowable.engine.common.impl.event.BatchingEventQueue;
 import org.flowable.engine.common.impl.event.EventDispatchAction;
 import org.flowable.engine.common.impl.interceptor.CommandConfig;
 import org.flowable.engine.common.impl.interceptor.CommandContextFactory;
@@ -151,6 +152,12 @@ public abstract class AbstractEngineConfiguration {
     protected Map<String, List<FlowableEventListener>> typedEventListeners;
     protected List<EventDispatchAction> additionalEventDispatchActions;
 
+    /**
+     * Queue delivering the events to {@link org.flowable.engine.common.api.delegate.event.FlowableBatchEventListener}s after the transaction is committed.
+     * When not set, a queue with the default settings is used.
+     */
+    protected BatchingEventQueue batchingEventQueue;
+
     protected boolean transactionsExternallyManaged;
 
     /**
@@ -437,6 +444,7 @@ public abstract class AbstractEngineConfiguration {
                 properties.put("limitBeforeNativeQuery", "");
                 properties.put("blobType", "BLOB");
                 properties.put("boolValue", "TRUE");
+                properties.put("skipLockedClause", "");
 
                 if (databaseType != null) {
                     properties.load(getResourceAsStream(pathToEngineDbProperties()));
@@ -1016,6 +1024,15 @@ public abstract class AbstractEngineConfiguration {
         return this;
     }
     
+    public BatchingEventQueue getBatchingEventQueue() {
+        return batchingEventQueue;
+    }
+
+    public AbstractEngineConfiguration setBatchingEventQueue(BatchingEventQueue batchingEventQueue) {
+        this.batchingEventQueue = batchingEventQueue;
+        return this;
+    }
+
     public List<EventDispatchAction> getAdditionalEventDispatchActions() {
         return additionalEventDispatchActions;
     }
@@ -14,6 +14,7 @@
 package org.flowable.engine.common.impl.db;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -24,7 +25,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.transaction.managed.ManagedTransaction;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableOptimisticLockingException;
 import org.flowable.engine.common.impl.Page;
@@ -56,6 +63,9 @@ public class DbSqlSession implements Session {
     protected Map<Class<? extends Entity>, Map<String, Entity>> deletedObjects = new HashMap<Class<? extends Entity>, Map<String, Entity>>();
     protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
     protected List<Entity> updatedObjects = new ArrayList<Entity>();
+
+    // The sql session doesn't know about statements executed in a batch, so commit and rollback need to be forced
+    protected boolean isBatchExecuted;
     
     public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
         this.dbSqlSessionFactory = dbSqlSessionFactory;
@@ -485,28 +495,67 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushUpdates() {
-        for (Entity updatedObject : updatedObjects) {
-            String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
-            updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-
-            if (updateStatement == null) {
-                throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+        if (isBatchFlush(updatedObjects)) {
+            flushBatchUpdates(updatedObjects);
+        } else {
+            for (Entity updatedObject : updatedObjects) {
+                flushRegularUpdate(updatedObject);
             }
+        }
+        updatedObjects.clear();
+    }
+
+    protected void flushRegularUpdate(Entity updatedObject) {
+        String updateStatement = getMappedUpdateStatement(updatedObject);
+
+        LOGGER.debug("updating: {}", updatedObject);
+
+        int updatedRecords = sqlSession.update(updateStatement, updatedObject);
+        if (updatedRecords == 0) {
+            throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+        }
+
+        // See https://activiti.atlassian.net/browse/ACT-1290
+        if (updatedObject instanceof HasRevision) {
+            ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+        }
+    }
 
-            LOGGER.debug("updating: {}", updatedObject);
-            
-            int updatedRecords = sqlSession.update(updateStatement, updatedObject);
-            if (updatedRecords == 0) {
-                throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+    protected void flushBatchUpdates(List<Entity> entitiesToUpdate) {
+        Map<String, List<Entity>> entitiesByStatement = new LinkedHashMap<String, List<Entity>>();
+        for (Entity updatedObject : entitiesToUpdate) {
+            String updateStatement = getMappedUpdateStatement(updatedObject);
+            if (!entitiesByStatement.containsKey(updateStatement)) {
+                entitiesByStatement.put(updateStatement, new ArrayList<Entity>());
             }
-            
-            // See https://activiti.atlassian.net/browse/ACT-1290
-            if (updatedObject instanceof HasRevision) {
-                ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+            entitiesByStatement.get(updateStatement).add(updatedObject);
+        }
+
+        for (BatchResult batchResult : executeBatch(entitiesByStatement)) {
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            int[] updateCounts = batchResult.getUpdateCounts();
+            for (int i = 0; i < parameterObjects.size(); i++) {
+                Entity updatedObject = (Entity) parameterObjects.get(i);
+                if (updateCounts[i] == 0) {
+                    throw new FlowableOptimisticLockingException(updatedObject + " was updated by another transaction concurrently");
+                }
+
+                // See https://activiti.atlassian.net/browse/ACT-1290
+                if (updatedObject instanceof HasRevision) {
+                    ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+                }
             }
+        }
+    }
 
+    protected String getMappedUpdateStatement(Entity updatedObject) {
+        String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+        updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+        if (updateStatement == null) {
+            throw new FlowableException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
         }
-        updatedObjects.clear();
+        return updateStatement;
     }
 
     protected void flushDeletes() {
@@ -545,12 +594,13 @@ public class DbSqlSession implements Session {
     }
 
     protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+        if (isBatchFlush(entitiesToDelete)) {
+            flushBatchDeleteEntities(entitiesToDelete);
+            return;
+        }
+
         for (Entity entity : entitiesToDelete) {
-            String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
-            deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-            if (deleteStatement == null) {
-                throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
-            }
+            String deleteStatement = getMappedDeleteStatement(entity);
 
             // It only makes sense to check for optimistic locking exceptions
             // for objects that actually have a revision
@@ -564,17 +614,100 @@ public class DbSqlSession implements Session {
             }
         }
     }
+
+    protected void flushBatchDeleteEntities(Collection<Entity> entitiesToDelete) {
+        Map<String, List<Entity>> entitiesByStatement = new LinkedHashMap<String, List<Entity>>();
+        for (Entity entity : entitiesToDelete) {
+            String deleteStatement = getMappedDeleteStatement(entity);
+            if (!entitiesByStatement.containsKey(deleteStatement)) {
+                entitiesByStatement.put(deleteStatement, new ArrayList<Entity>());
+            }
+            entitiesByStatement.get(deleteStatement).add(entity);
+        }
+
+        for (BatchResult batchResult : executeBatch(entitiesByStatement)) {
+            List<Object> parameterObjects = batchResult.getParameterObjects();
+            int[] updateCounts = batchResult.getUpdateCounts();
+            for (int i = 0; i < parameterObjects.size(); i++) {
+                // It only makes sense to check for optimistic locking exceptions
+                // for objects that actually have a revision
+                Entity entity = (Entity) parameterObjects.get(i);
+                if (entity instanceof HasRevision && updateCounts[i] == 0) {
+                    throw new FlowableOptimisticLockingException(entity + " was updated by another transaction concurrently");
+                }
+            }
+        }
+    }
+
+    protected String getMappedDeleteStatement(Entity entity) {
+        String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+        deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+        if (deleteStatement == null) {
+            throw new FlowableException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+        }
+        return deleteStatement;
+    }
+
+    // batch flush
+    // ////////////////////////////////////////////////////////////////////
+
+    protected boolean isBatchFlush(Collection<Entity> entities) {
+        return dbSqlSessionFactory.isBatchFlushEnabled() && entities.size() > 1;
+    }
+
+    /**
+     * Executes the statements through a MyBatis batch executor that shares the connection (and thus the transaction) of this session.
+     * 
+     * The batch executor only groups consecutive executions of the same mapped statement that result in the exact same sql into one JDBC batch.
+     * As update statements have dynamic set clauses, the entities are ordered by their generated sql first.
+     * 
+     * Drivers that report {@link java.sql.Statement#SUCCESS_NO_INFO} as update count can't be checked for optimistic locking.
+     */
+    protected List<BatchResult> executeBatch(Map<String, List<Entity>> entitiesByStatement) {
+        Configuration configuration = sqlSession.getConfiguration();
+
+        // Closing the executor must not close the connection of the regular session
+        Executor executor = configuration.newExecutor(new ManagedTransaction(sqlSession.getConnection(), false), ExecutorType.BATCH);
+        isBatchExecuted = true;
+        try {
+            for (String statement : entitiesByStatement.keySet()) {
+                MappedStatement mappedStatement = configuration.getMappedStatement(statement);
+
+                Map<String, List<Entity>> entitiesBySql = new LinkedHashMap<String, List<Entity>>();
+                for (Entity entity : entitiesByStatement.get(statement)) {
+                    String sql = mappedStatement.getBoundSql(entity).getSql();
+                    if (!entitiesBySql.containsKey(sql)) {
+                        entitiesBySql.put(sql, new ArrayList<Entity>());
+                    }
+                    entitiesBySql.get(sql).add(entity);
+                }
+
+                for (List<Entity> entities : entitiesBySql.values()) {
+                    for (Entity entity : entities) {
+                        LOGGER.debug("adding to batch {}: {}", statement, entity);
+                        executor.update(mappedStatement, entity);
+                    }
+                }
+            }
+            return executor.flushStatements();
+
+        } catch (SQLException e) {
+            throw new FlowableException("Could not execute batch of " + entitiesByStatement.keySet(), e);
+        } finally {
+            executor.close(false);
+        }
+    }
     
     public void close() {
         sqlSession.close();
     }
 
     public void commit() {
-        sqlSession.commit();
+        sqlSession.commit(isBatchExecuted);
     }
 
     public void rollback() {
-        sqlSession.rollback();
+        sqlSession.rollback(isBatchExecuted);
     }
     
     public <T> T getCustomMapper(Class<T> type) {
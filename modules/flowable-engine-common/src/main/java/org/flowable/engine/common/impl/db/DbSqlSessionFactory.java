@@ -59,6 +59,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     protected List<Class<? extends Entity>> deletionOrder = new ArrayList<Class<? extends Entity>>();
 
     protected boolean isDbHistoryUsed = true;
+    protected boolean isBatchFlushEnabled;
     
     protected Set<Class<? extends Entity>> bulkInserteableEntityClasses = new HashSet<>();
     protected Map<Class<?>, String> bulkInsertStatements = new ConcurrentHashMap<Class<?>, String>();
@@ -280,6 +281,14 @@ public class DbSqlSessionFactory implements SessionFactory {
         this.isDbHistoryUsed = isDbHistoryUsed;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return isBatchFlushEnabled;
+    }
+
+    public void setBatchFlushEnabled(boolean isBatchFlushEnabled) {
+        this.isBatchFlushEnabled = isBatchFlushEnabled;
+    }
+
     public void setDatabaseTablePrefix(String databaseTablePrefix) {
         this.databaseTablePrefix = databaseTablePrefix;
     }
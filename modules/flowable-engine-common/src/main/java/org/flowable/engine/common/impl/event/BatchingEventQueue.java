@@ -0,0 +1,387 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.event;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.delegate.event.FlowableBatchEventListener;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded queue delivering events to {@link FlowableBatchEventListener}s in batches, from one or more consumer threads.
+ *
+ * When the queue is full, the {@link OverflowPolicy} decides what happens with a new event. The queue depth, the lag of the queued events
+ * and the number of delivered and dropped events can be monitored through the getters of this class.
+ *
+ * With more than one consumer thread, batches for the same listener can be delivered concurrently and out of order.
+ *
+ * Events are added while holding the read lock of the state lock, and the queue is started and shut down while holding its write lock:
+ * an event is either queued before the shutdown, and delivered by the consumer threads or by the thread shutting down the queue,
+ * or it's delivered on the thread adding it.
+ */
+public class BatchingEventQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingEventQueue.class);
+
+    public enum OverflowPolicy {
+
+        /**
+         * Blocks the thread adding the event until there is space in the queue, for at most the block timeout. The event is dropped when the timeout expires.
+         */
+        BLOCK,
+
+        /**
+         * Drops the event that is added.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drops the oldest queued event to make space for the event that is added.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Delivers the event on the thread adding the event, bypassing the queue.
+         */
+        CALLER_RUNS
+    }
+
+    protected int capacity = 10000;
+    protected int maxBatchSize = 100;
+    protected int consumerThreadCount = 1;
+    protected OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    protected long blockTimeoutMillis = 1000L;
+    protected long shutdownTimeoutMillis = 5000L;
+
+    protected ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    protected BlockingQueue<QueuedEvent> queue;
+    protected List<Thread> consumerThreads;
+    protected volatile boolean active;
+    protected volatile boolean shutdown;
+
+    protected AtomicLong deliveredEventCount = new AtomicLong();
+    protected AtomicLong droppedEventCount = new AtomicLong();
+    protected volatile long lastDeliveryLagMillis;
+
+    public BatchingEventQueue() {
+    }
+
+    public BatchingEventQueue(int capacity, int maxBatchSize, int consumerThreadCount, OverflowPolicy overflowPolicy) {
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.consumerThreadCount = consumerThreadCount;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void start() {
+        stateLock.writeLock().lock();
+        try {
+            if (active || shutdown) {
+                return;
+            }
+            if (capacity < 1 || maxBatchSize < 1 || consumerThreadCount < 1) {
+                throw new FlowableIllegalArgumentException("Capacity, max batch size and consumer thread count of the event queue must be positive");
+            }
+
+            queue = new ArrayBlockingQueue<QueuedEvent>(capacity);
+            consumerThreads = new ArrayList<Thread>(consumerThreadCount);
+            active = true;
+            for (int i = 0; i < consumerThreadCount; i++) {
+                Thread consumerThread = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        consume();
+                    }
+                }, "flowable-batching-event-queue-" + (i + 1));
+                consumerThread.setDaemon(true);
+                consumerThread.start();
+                consumerThreads.add(consumerThread);
+            }
+
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops the consumer threads, after delivering the queued events (for at most the shutdown timeout).
+     * Events that are still queued when the consumer threads are stopped are delivered on the thread shutting down the queue.
+     * Events added after the shutdown are delivered on the thread adding them.
+     */
+    public void shutdown() {
+        List<Thread> threadsToStop = null;
+        stateLock.writeLock().lock();
+        try {
+            shutdown = true;
+            if (!active) {
+                return;
+            }
+            active = false;
+            threadsToStop = consumerThreads;
+
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        boolean consumersStopped = true;
+        for (Thread consumerThread : threadsToStop) {
+            try {
+                consumerThread.join(Math.max(1L, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            consumersStopped &= !consumerThread.isAlive();
+        }
+
+        if (consumersStopped) {
+            // A consumer thread can stop before an event that was being added when shutting down got queued
+            List<QueuedEvent> remainingEvents = new ArrayList<QueuedEvent>();
+            queue.drainTo(remainingEvents);
+            for (int i = 0; i < remainingEvents.size(); i += maxBatchSize) {
+                deliver(remainingEvents.subList(i, Math.min(i + maxBatchSize, remainingEvents.size())));
+            }
+
+        } else if (!queue.isEmpty()) {
+            LOGGER.warn("{} events were not delivered before the event queue was shut down", queue.size());
+        }
+    }
+
+    public void add(FlowableEvent event, FlowableBatchEventListener listener) {
+        if (!active && !shutdown) {
+            start();
+        }
+
+        boolean deliverOnCallerThread = false;
+        stateLock.readLock().lock();
+        try {
+            if (shutdown) {
+                deliverOnCallerThread = true;
+            } else {
+                deliverOnCallerThread = !enqueue(new QueuedEvent(event, listener));
+            }
+
+        } finally {
+            stateLock.readLock().unlock();
+        }
+
+        if (deliverOnCallerThread) {
+            deliver(listener, event);
+        }
+    }
+
+    /**
+     * Adds the event to the queue, applying the overflow policy when the queue is full.
+     * 
+     * @return false when the event needs to be delivered on the thread adding it
+     */
+    protected boolean enqueue(QueuedEvent queuedEvent) {
+        if (queue.offer(queuedEvent)) {
+            return true;
+        }
+
+        switch (overflowPolicy) {
+        case BLOCK:
+            try {
+                if (queue.offer(queuedEvent, blockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dropped(queuedEvent);
+            break;
+
+        case DROP_OLDEST:
+            QueuedEvent oldestEvent = queue.poll();
+            if (oldestEvent != null) {
+                dropped(oldestEvent);
+            }
+            if (!queue.offer(queuedEvent)) {
+                dropped(queuedEvent);
+            }
+            break;
+
+        case CALLER_RUNS:
+            return false;
+
+        default:
+            dropped(queuedEvent);
+        }
+        return true;
+    }
+
+    protected void consume() {
+        while (active || !queue.isEmpty()) {
+            try {
+                QueuedEvent queuedEvent = queue.poll(100L, TimeUnit.MILLISECONDS);
+                if (queuedEvent != null) {
+                    List<QueuedEvent> batch = new ArrayList<QueuedEvent>();
+                    batch.add(queuedEvent);
+                    queue.drainTo(batch, maxBatchSize - 1);
+                    deliver(batch);
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    protected void deliver(List<QueuedEvent> batch) {
+        lastDeliveryLagMillis = System.currentTimeMillis() - batch.get(0).queueTime;
+
+        Map<FlowableBatchEventListener, List<FlowableEvent>> eventsPerListener = new LinkedHashMap<FlowableBatchEventListener, List<FlowableEvent>>();
+        for (QueuedEvent queuedEvent : batch) {
+            List<FlowableEvent> events = eventsPerListener.get(queuedEvent.listener);
+            if (events == null) {
+                events = new ArrayList<FlowableEvent>();
+                eventsPerListener.put(queuedEvent.listener, events);
+            }
+            events.add(queuedEvent.event);
+        }
+
+        for (Map.Entry<FlowableBatchEventListener, List<FlowableEvent>> entry : eventsPerListener.entrySet()) {
+            deliver(entry.getKey(), entry.getValue());
+        }
+    }
+
+    protected void deliver(FlowableBatchEventListener listener, FlowableEvent event) {
+        List<FlowableEvent> events = new ArrayList<FlowableEvent>(1);
+        events.add(event);
+        deliver(listener, events);
+    }
+
+    protected void deliver(FlowableBatchEventListener listener, List<FlowableEvent> events) {
+        try {
+            listener.onEvents(events);
+        } catch (Throwable t) {
+            LOGGER.warn("Exception while executing batch event-listener, which was ignored", t);
+        }
+        deliveredEventCount.addAndGet(events.size());
+    }
+
+    protected void dropped(QueuedEvent queuedEvent) {
+        droppedEventCount.incrementAndGet();
+        LOGGER.debug("Event queue is full, dropped event {}", queuedEvent.event.getType());
+    }
+
+    /**
+     * @return the number of events waiting to be delivered
+     */
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * @return how long the oldest queued event is waiting to be delivered, in milliseconds
+     */
+    public long getLagMillis() {
+        QueuedEvent oldestEvent = queue != null ? queue.peek() : null;
+        return oldestEvent != null ? System.currentTimeMillis() - oldestEvent.queueTime : 0L;
+    }
+
+    /**
+     * @return how long the oldest event of the last delivered batch was queued, in milliseconds
+     */
+    public long getLastDeliveryLagMillis() {
+        return lastDeliveryLagMillis;
+    }
+
+    public long getDeliveredEventCount() {
+        return deliveredEventCount.get();
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEventCount.get();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getConsumerThreadCount() {
+        return consumerThreadCount;
+    }
+
+    public void setConsumerThreadCount(int consumerThreadCount) {
+        this.consumerThreadCount = consumerThreadCount;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getBlockTimeoutMillis() {
+        return blockTimeoutMillis;
+    }
+
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    protected static class QueuedEvent {
+
+        protected final FlowableEvent event;
+        protected final FlowableBatchEventListener listener;
+        protected final long queueTime;
+
+        public QueuedEvent(FlowableEvent event, FlowableBatchEventListener listener) {
+            this.event = event;
+            this.listener = listener;
+            this.queueTime = System.currentTimeMillis();
+        }
+    }
+}
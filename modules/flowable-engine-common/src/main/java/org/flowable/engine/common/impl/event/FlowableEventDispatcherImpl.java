@@ -74,6 +74,45 @@ public class FlowableEventDispatcherImpl implements FlowableEventDispatcher {
         }
     }
 
+    /**
+     * Allows to skip creating an event when nobody would be notified of it.
+     * 
+     * @param type
+     *            type of the event
+     * @return true, if at least one listener would be notified of an event of the given type when it is dispatched.
+     *         Additional {@link EventDispatchAction}s that aren't a {@link ListenerAwareEventDispatchAction} are assumed to have listeners.
+     */
+    public boolean hasListeners(FlowableEventType type) {
+        if (enabled && eventSupport.hasListeners(type)) {
+            return true;
+        }
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            AbstractEngineConfiguration engineConfiguration = commandContext.getCurrentEngineConfiguration();
+            if (engineConfiguration != null && engineConfiguration.getAdditionalEventDispatchActions() != null) {
+                for (EventDispatchAction eventDispatchAction : engineConfiguration.getAdditionalEventDispatchActions()) {
+                    if (!(eventDispatchAction instanceof ListenerAwareEventDispatchAction)
+                            || ((ListenerAwareEventDispatchAction) eventDispatchAction).hasListeners(type)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Same as {@link #hasListeners(FlowableEventType)} for the given dispatcher. Other {@link FlowableEventDispatcher} implementations
+     * can't tell whether a listener would be notified, so events always need to be created for them.
+     */
+    public static boolean hasListeners(FlowableEventDispatcher eventDispatcher, FlowableEventType type) {
+        if (eventDispatcher instanceof FlowableEventDispatcherImpl) {
+            return ((FlowableEventDispatcherImpl) eventDispatcher).hasListeners(type);
+        }
+        return true;
+    }
+
     public FlowableEventSupport getEventSupport() {
         return eventSupport;
     }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.common.impl.event;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,9 +21,14 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.delegate.event.FlowableBatchEventListener;
 import org.flowable.engine.common.api.delegate.event.FlowableEvent;
 import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
 import org.flowable.engine.common.api.delegate.event.FlowableEventType;
+import org.flowable.engine.common.impl.cfg.TransactionContext;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,12 +41,24 @@ public class FlowableEventSupport {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowableEventSupport.class);
 
+    protected static final FlowableEventListener[] NO_LISTENERS = new FlowableEventListener[0];
+
     protected List<FlowableEventListener> eventListeners;
     protected Map<FlowableEventType, List<FlowableEventListener>> typedListeners;
+    protected BatchingEventQueue batchingEventQueue;
+
+    /**
+     * The listeners to notify per event type: the global listeners followed by the typed listeners of the type.
+     * The map and the arrays are never modified, but replaced when a listener is added or removed.
+     */
+    protected volatile Map<FlowableEventType, FlowableEventListener[]> routingTable;
+    protected volatile FlowableEventListener[] globalListenersRoute;
 
     public FlowableEventSupport() {
         eventListeners = new CopyOnWriteArrayList<FlowableEventListener>();
         typedListeners = new HashMap<FlowableEventType, List<FlowableEventListener>>();
+        routingTable = Collections.emptyMap();
+        globalListenersRoute = NO_LISTENERS;
     }
 
     public synchronized void addEventListener(FlowableEventListener listenerToAdd) {
@@ -48,6 +67,7 @@ public class FlowableEventSupport {
         }
         if (!eventListeners.contains(listenerToAdd)) {
             eventListeners.add(listenerToAdd);
+            rebuildRoutingTable();
         }
     }
 
@@ -63,15 +83,24 @@ public class FlowableEventSupport {
             for (FlowableEventType type : types) {
                 addTypedEventListener(listenerToAdd, type);
             }
+            rebuildRoutingTable();
         }
     }
 
-    public void removeEventListener(FlowableEventListener listenerToRemove) {
+    public synchronized void removeEventListener(FlowableEventListener listenerToRemove) {
         eventListeners.remove(listenerToRemove);
 
         for (List<FlowableEventListener> listeners : typedListeners.values()) {
             listeners.remove(listenerToRemove);
         }
+        rebuildRoutingTable();
+    }
+
+    /**
+     * @return true, if at least one listener is notified of events of the given type.
+     */
+    public boolean hasListeners(FlowableEventType type) {
+        return getListeners(type).length > 0;
     }
 
     public void dispatchEvent(FlowableEvent event) {
@@ -83,23 +112,43 @@ public class FlowableEventSupport {
             throw new FlowableIllegalArgumentException("Event type cannot be null.");
         }
 
-        // Call global listeners
-        if (!eventListeners.isEmpty()) {
-            for (FlowableEventListener listener : eventListeners) {
-                dispatchEvent(event, listener);
-            }
+        // Call global listeners, followed by the typed listeners
+        for (FlowableEventListener listener : getListeners(event.getType())) {
+            dispatchEvent(event, listener);
         }
+    }
 
-        // Call typed listeners, if any
-        List<FlowableEventListener> typed = typedListeners.get(event.getType());
-        if (typed != null && !typed.isEmpty()) {
-            for (FlowableEventListener listener : typed) {
-                dispatchEvent(event, listener);
+    protected FlowableEventListener[] getListeners(FlowableEventType type) {
+        FlowableEventListener[] listeners = routingTable.get(type);
+        return listeners != null ? listeners : globalListenersRoute;
+    }
+
+    /**
+     * Replaces the routing table with one reflecting the currently registered listeners. Must be called while holding the lock on this instance.
+     */
+    protected void rebuildRoutingTable() {
+        FlowableEventListener[] globalListeners = eventListeners.toArray(NO_LISTENERS);
+
+        Map<FlowableEventType, FlowableEventListener[]> newRoutingTable = new HashMap<FlowableEventType, FlowableEventListener[]>();
+        for (Map.Entry<FlowableEventType, List<FlowableEventListener>> entry : typedListeners.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                List<FlowableEventListener> listeners = new ArrayList<FlowableEventListener>(globalListeners.length + entry.getValue().size());
+                Collections.addAll(listeners, globalListeners);
+                listeners.addAll(entry.getValue());
+                newRoutingTable.put(entry.getKey(), listeners.toArray(NO_LISTENERS));
             }
         }
+
+        routingTable = newRoutingTable;
+        globalListenersRoute = globalListeners;
     }
 
     protected void dispatchEvent(FlowableEvent event, FlowableEventListener listener) {
+        if (listener instanceof FlowableBatchEventListener) {
+            dispatchEventAfterCommit(event, (FlowableBatchEventListener) listener);
+            return;
+        }
+
         try {
             listener.onEvent(event);
         } catch (Throwable t) {
@@ -113,6 +162,53 @@ public class FlowableEventSupport {
         }
     }
 
+    /**
+     * Events for {@link FlowableBatchEventListener}s are collected per transaction and only added to the {@link BatchingEventQueue} when the transaction is committed.
+     * Events dispatched outside of a transaction are added immediately.
+     */
+    protected void dispatchEventAfterCommit(FlowableEvent event, FlowableBatchEventListener listener) {
+        BatchingEventQueue eventQueue = getBatchingEventQueue();
+        CommandContext commandContext = Context.getCommandContext();
+        TransactionContext transactionContext = commandContext != null ? Context.getTransactionContext() : null;
+        if (transactionContext == null) {
+            eventQueue.add(event, listener);
+            return;
+        }
+
+        String attributeName = "ctx.attribute.queueEventsOnCommit." + System.identityHashCode(eventQueue);
+        QueueEventsOnCommitTransactionListener transactionListener = (QueueEventsOnCommitTransactionListener) commandContext.getAttribute(attributeName);
+        if (transactionListener == null) {
+            transactionListener = new QueueEventsOnCommitTransactionListener(eventQueue);
+            commandContext.addAttribute(attributeName, transactionListener);
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, transactionListener);
+        }
+        transactionListener.addEvent(event, listener);
+    }
+
+    public synchronized BatchingEventQueue getBatchingEventQueue() {
+        if (batchingEventQueue == null) {
+            batchingEventQueue = new BatchingEventQueue();
+        }
+        return batchingEventQueue;
+    }
+
+    /**
+     * Shuts down the {@link BatchingEventQueue}, when it was created.
+     */
+    public void shutdownBatchingEventQueue() {
+        BatchingEventQueue eventQueue = null;
+        synchronized (this) {
+            eventQueue = batchingEventQueue;
+        }
+        if (eventQueue != null) {
+            eventQueue.shutdown();
+        }
+    }
+
+    public synchronized void setBatchingEventQueue(BatchingEventQueue batchingEventQueue) {
+        this.batchingEventQueue = batchingEventQueue;
+    }
+
     protected synchronized void addTypedEventListener(FlowableEventListener listener, FlowableEventType type) {
         List<FlowableEventListener> listeners = typedListeners.get(type);
         if (listeners == null) {
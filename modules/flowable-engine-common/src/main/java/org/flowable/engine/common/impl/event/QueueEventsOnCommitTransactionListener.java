@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.common.impl.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flowable.engine.common.api.delegate.event.FlowableBatchEventListener;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.impl.cfg.TransactionListener;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+
+/**
+ * Collects the events for {@link FlowableBatchEventListener}s dispatched in a transaction, and adds them to the {@link BatchingEventQueue}
+ * when the transaction is committed.
+ */
+public class QueueEventsOnCommitTransactionListener implements TransactionListener {
+
+    protected BatchingEventQueue batchingEventQueue;
+    protected List<FlowableEvent> events = new ArrayList<FlowableEvent>();
+    protected List<FlowableBatchEventListener> listeners = new ArrayList<FlowableBatchEventListener>();
+
+    public QueueEventsOnCommitTransactionListener(BatchingEventQueue batchingEventQueue) {
+        this.batchingEventQueue = batchingEventQueue;
+    }
+
+    public void addEvent(FlowableEvent event, FlowableBatchEventListener listener) {
+        events.add(event);
+        listeners.add(listener);
+    }
+
+    @Override
+    public void execute(CommandContext commandContext) {
+        for (int i = 0; i < events.size(); i++) {
+            batchingEventQueue.add(events.get(i), listeners.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,203 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.engine.impl.history.async.AsyncHistoryBinaryCodec;
+import org.flowable.engine.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures encoding and decoding async history data with the {@link AsyncHistoryBinaryCodec}, compared to the JSON encoding
+ * (plain and gzipped) used by the async history job handlers. The payload is the historic data of a transaction that starts a process
+ * instance and runs through a number of activities, each creating a task.
+ *
+ * Only compiled with the benchmark profile: <code>mvn test-compile exec:exec -Pbenchmark -Dbenchmark.include=AsyncHistoryBinaryCodecBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncHistoryBinaryCodecBenchmark {
+
+    @Param({ "1", "20" })
+    protected int activityCount;
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+    protected AsyncHistoryBinaryCodec binaryCodec;
+    protected AsyncHistoryBinaryCodec compressedBinaryCodec;
+
+    protected List<ObjectNode> historyNodes;
+    protected ArrayNode historyArrayNode;
+    protected byte[] json;
+    protected byte[] gzippedJson;
+    protected byte[] binary;
+    protected byte[] compressedBinary;
+
+    @Setup
+    public void createHistoryData() throws IOException {
+        binaryCodec = new AsyncHistoryBinaryCodec(objectMapper);
+        compressedBinaryCodec = new AsyncHistoryBinaryCodec(objectMapper);
+        compressedBinaryCodec.setCompressionEnabled(true);
+
+        historyNodes = createHistoryNodes(activityCount);
+        historyArrayNode = objectMapper.createArrayNode();
+        historyArrayNode.addAll(historyNodes);
+
+        json = objectMapper.writeValueAsBytes(historyArrayNode);
+        gzippedJson = gzip(json);
+        binary = binaryCodec.encode(historyNodes);
+        compressedBinary = compressedBinaryCodec.encode(historyNodes);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(historyArrayNode);
+    }
+
+    @Benchmark
+    public byte[] encodeGzippedJson() throws IOException {
+        return gzip(objectMapper.writeValueAsBytes(historyArrayNode));
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binaryCodec.encode(historyNodes);
+    }
+
+    @Benchmark
+    public byte[] encodeCompressedBinary() {
+        return compressedBinaryCodec.encode(historyNodes);
+    }
+
+    @Benchmark
+    public JsonNode decodeJson() throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    @Benchmark
+    public JsonNode decodeGzippedJson() throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedJson))) {
+            return objectMapper.readTree(inputStream);
+        }
+    }
+
+    @Benchmark
+    public List<ObjectNode> decodeBinary() {
+        return binaryCodec.decode(binary);
+    }
+
+    @Benchmark
+    public List<ObjectNode> decodeCompressedBinary() {
+        return compressedBinaryCodec.decode(compressedBinary);
+    }
+
+    protected List<ObjectNode> createHistoryNodes(int activityCount) {
+        List<ObjectNode> historyNodes = new ArrayList<ObjectNode>();
+        String processInstanceId = "12501";
+        String processDefinitionId = "benchmarkProcess:1:12504";
+        long time = System.currentTimeMillis();
+
+        ObjectNode processInstanceStart = createHistoryNode(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_START);
+        ObjectNode data = (ObjectNode) processInstanceStart.get(HistoryJsonConstants.DATA);
+        data.put(HistoryJsonConstants.ID, processInstanceId);
+        data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_KEY, "benchmarkProcess");
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_NAME, "Benchmark process");
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_VERSION, "1");
+        data.putNull(HistoryJsonConstants.BUSINESS_KEY);
+        data.put(HistoryJsonConstants.START_TIME, AsyncHistoryDateUtil.formatDate(new Date(time)));
+        data.put(HistoryJsonConstants.START_ACTIVITY_ID, "start");
+        data.put(HistoryJsonConstants.TENANT_ID, "");
+        data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time)));
+        historyNodes.add(processInstanceStart);
+
+        for (int i = 0; i < activityCount; i++) {
+            String activityId = "task" + i;
+            ObjectNode activity = createHistoryNode(HistoryJsonConstants.TYPE_ACTIVITY_FULL);
+            data = (ObjectNode) activity.get(HistoryJsonConstants.DATA);
+            data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+            data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+            data.put(HistoryJsonConstants.EXECUTION_ID, "12505");
+            data.put(HistoryJsonConstants.ACTIVITY_ID, activityId);
+            data.put(HistoryJsonConstants.ACTIVITY_NAME, "Task " + i);
+            data.put(HistoryJsonConstants.ACTIVITY_TYPE, "userTask");
+            data.put(HistoryJsonConstants.START_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            data.put(HistoryJsonConstants.END_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            data.put(HistoryJsonConstants.TENANT_ID, "");
+            data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            historyNodes.add(activity);
+
+            ObjectNode taskCreated = createHistoryNode(HistoryJsonConstants.TYPE_TASK_CREATED);
+            data = (ObjectNode) taskCreated.get(HistoryJsonConstants.DATA);
+            data.put(HistoryJsonConstants.ID, Integer.toString(12510 + i));
+            data.put(HistoryJsonConstants.NAME, "Task " + i);
+            data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+            data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+            data.put(HistoryJsonConstants.EXECUTION_ID, "12505");
+            data.put(HistoryJsonConstants.TASK_DEFINITION_KEY, activityId);
+            data.put(HistoryJsonConstants.PRIORITY, "50");
+            data.put(HistoryJsonConstants.CREATE_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            data.put(HistoryJsonConstants.ASSIGNEE, "kermit");
+            data.put(HistoryJsonConstants.TENANT_ID, "");
+            data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            historyNodes.add(taskCreated);
+        }
+
+        return historyNodes;
+    }
+
+    protected ObjectNode createHistoryNode(String type) {
+        ObjectNode historyNode = objectMapper.createObjectNode();
+        historyNode.put(HistoryJsonConstants.TYPE, type);
+        historyNode.putObject(HistoryJsonConstants.DATA);
+        return historyNode;
+    }
+
+    protected static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
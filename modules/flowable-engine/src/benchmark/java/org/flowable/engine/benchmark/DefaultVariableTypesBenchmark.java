@@ -0,0 +1,144 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.benchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.impl.bpmn.data.ItemInstance;
+import org.flowable.engine.impl.bpmn.webservice.MessageInstance;
+import org.flowable.engine.impl.variable.BooleanType;
+import org.flowable.engine.impl.variable.ByteArrayType;
+import org.flowable.engine.impl.variable.CustomObjectType;
+import org.flowable.engine.impl.variable.DateType;
+import org.flowable.engine.impl.variable.DefaultVariableTypes;
+import org.flowable.engine.impl.variable.DoubleType;
+import org.flowable.engine.impl.variable.IntegerType;
+import org.flowable.engine.impl.variable.JodaDateTimeType;
+import org.flowable.engine.impl.variable.JodaDateType;
+import org.flowable.engine.impl.variable.JsonType;
+import org.flowable.engine.impl.variable.LongJsonType;
+import org.flowable.engine.impl.variable.LongStringType;
+import org.flowable.engine.impl.variable.LongType;
+import org.flowable.engine.impl.variable.NullType;
+import org.flowable.engine.impl.variable.SerializableType;
+import org.flowable.engine.impl.variable.ShortType;
+import org.flowable.engine.impl.variable.StringType;
+import org.flowable.engine.impl.variable.UUIDType;
+import org.flowable.engine.impl.variable.VariableType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures finding the variable type of a value with {@link DefaultVariableTypes}, which only asks the candidate types of the value class,
+ * compared to asking every type in order. The types are the default types of the engine, in the same order.
+ *
+ * Only compiled with the benchmark profile: <code>mvn test-compile exec:exec -Pbenchmark -Dbenchmark.include=DefaultVariableTypesBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DefaultVariableTypesBenchmark {
+
+    protected static final int MAX_LENGTH_STRING = 4000;
+
+    @Param({ "string", "long", "date", "serializable" })
+    protected String valueKind;
+
+    protected List<VariableType> typesList;
+    protected DefaultVariableTypes variableTypes;
+    protected Object value;
+
+    @Setup
+    public void createVariableTypes() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        typesList = new ArrayList<VariableType>();
+        typesList.add(new NullType());
+        typesList.add(new StringType(MAX_LENGTH_STRING));
+        typesList.add(new LongStringType(MAX_LENGTH_STRING + 1));
+        typesList.add(new BooleanType());
+        typesList.add(new ShortType());
+        typesList.add(new IntegerType());
+        typesList.add(new LongType());
+        typesList.add(new DateType());
+        typesList.add(new JodaDateType());
+        typesList.add(new JodaDateTimeType());
+        typesList.add(new DoubleType());
+        typesList.add(new UUIDType());
+        typesList.add(new JsonType(MAX_LENGTH_STRING, objectMapper));
+        typesList.add(new LongJsonType(MAX_LENGTH_STRING + 1, objectMapper));
+        typesList.add(new ByteArrayType());
+        typesList.add(new SerializableType());
+        typesList.add(new CustomObjectType("item", ItemInstance.class));
+        typesList.add(new CustomObjectType("message", MessageInstance.class));
+
+        variableTypes = new DefaultVariableTypes();
+        variableTypes.setTypesList(typesList);
+
+        if ("string".equals(valueKind)) {
+            value = "kermit";
+        } else if ("long".equals(valueKind)) {
+            value = 12345L;
+        } else if ("date".equals(valueKind)) {
+            value = new Date();
+        } else {
+            value = new SerializableValue("gonzo");
+        }
+    }
+
+    @Benchmark
+    public VariableType findVariableType() {
+        return variableTypes.findVariableType(value);
+    }
+
+    @Benchmark
+    public VariableType askEveryType() {
+        for (VariableType type : typesList) {
+            if (type.isAbleToStore(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public static class SerializableValue implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected String name;
+
+        public SerializableValue(String name) {
+            this.name = name;
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.benchmark;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.impl.persistence.entity.VariableInstanceEntityImpl;
+import org.flowable.engine.impl.variable.ChangeTrackingVariable;
+import org.flowable.engine.impl.variable.SerializableType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the check at the end of a command whether a deserialized serializable variable was changed, for an unchanged value:
+ * serializing the value again and comparing the bytes, comparing while serializing with {@link SerializableType#isSerializedFormEqual},
+ * and asking a {@link ChangeTrackingVariable} value.
+ *
+ * Only compiled with the benchmark profile: <code>mvn test-compile exec:exec -Pbenchmark -Dbenchmark.include=SerializableTypeBenchmark</code>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializableTypeBenchmark {
+
+    @Param({ "10", "1000" })
+    protected int entryCount;
+
+    protected SerializableType type;
+    protected VariableInstanceEntityImpl variableInstance;
+    protected TrackedValue value;
+    protected byte[] bytes;
+
+    @Setup
+    public void createValue() {
+        type = new SerializableType(true);
+        variableInstance = new VariableInstanceEntityImpl();
+        variableInstance.setName("value");
+
+        TrackedValue originalValue = new TrackedValue();
+        for (int i = 0; i < entryCount; i++) {
+            originalValue.add("entry " + i);
+        }
+        bytes = type.serialize(originalValue, variableInstance);
+
+        // Deserialized, as at the start of a command, so the transient changed flag is not set
+        value = (TrackedValue) type.deserialize(bytes, variableInstance);
+    }
+
+    @Benchmark
+    public boolean serializeAndCompare() {
+        return Arrays.equals(bytes, type.serialize(value, variableInstance));
+    }
+
+    @Benchmark
+    public boolean compareWhileSerializing() {
+        return type.isSerializedFormEqual(value, bytes, variableInstance);
+    }
+
+    @Benchmark
+    public boolean changeTracking() {
+        return !value.isChanged() || type.isSerializedFormEqual(value, bytes, variableInstance);
+    }
+
+    public static class TrackedValue implements Serializable, ChangeTrackingVariable {
+
+        private static final long serialVersionUID = 1L;
+
+        protected List<String> entries = new ArrayList<String>();
+        protected transient boolean changed;
+
+        public void add(String entry) {
+            entries.add(entry);
+            changed = true;
+        }
+
+        @Override
+        public boolean isChanged() {
+            return changed;
+        }
+    }
+
+}
@@ -12,6 +12,13 @@
  */
 package org.flowable.engine.cfg;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+
 /**
  * @author Harsha Teja Kanna
  */
@@ -24,6 +31,16 @@ public class HttpClientConfig {
     protected int requestRetryLimit = 3;
     // https settings
     protected boolean disableCertVerify;
+    // max size of a response body, larger responses fail instead of being read into memory (0 = no limit)
+    protected long maxResponseBodySize;
+    // executor for the requests of http tasks that continue when the response arrives, a default one is used when not set
+    protected Executor asyncRequestExecutor;
+    // threads and queued requests of the default executor for the requests of http tasks that continue when the response arrives
+    protected int asyncRequestPoolSize = 10;
+    protected int asyncRequestQueueSize = 100;
+    protected ThreadPoolExecutor defaultAsyncRequestExecutor;
+    // time in milliseconds an execution waits for the response of an asynchronous request on top of the request timeout, before it fails
+    protected long asyncResponseTimeout = 300000L;
 
     public int getConnectTimeout() {
         return connectTimeout;
@@ -65,6 +82,74 @@ public class HttpClientConfig {
         this.disableCertVerify = disableCertVerify;
     }
 
+    public Executor getAsyncRequestExecutor() {
+        return asyncRequestExecutor;
+    }
+
+    public void setAsyncRequestExecutor(Executor asyncRequestExecutor) {
+        this.asyncRequestExecutor = asyncRequestExecutor;
+    }
+
+    public int getAsyncRequestPoolSize() {
+        return asyncRequestPoolSize;
+    }
+
+    public void setAsyncRequestPoolSize(int asyncRequestPoolSize) {
+        this.asyncRequestPoolSize = asyncRequestPoolSize;
+    }
+
+    public int getAsyncRequestQueueSize() {
+        return asyncRequestQueueSize;
+    }
+
+    public void setAsyncRequestQueueSize(int asyncRequestQueueSize) {
+        this.asyncRequestQueueSize = asyncRequestQueueSize;
+    }
+
+    public long getAsyncResponseTimeout() {
+        return asyncResponseTimeout;
+    }
+
+    public void setAsyncResponseTimeout(long asyncResponseTimeout) {
+        this.asyncResponseTimeout = asyncResponseTimeout;
+    }
+
+    public long getMaxResponseBodySize() {
+        return maxResponseBodySize;
+    }
+
+    public void setMaxResponseBodySize(long maxResponseBodySize) {
+        this.maxResponseBodySize = maxResponseBodySize;
+    }
+
+    /**
+     * Returns the configured async request executor, or otherwise the default one of the engine, which is created when it's first needed.
+     * The default executor has a bounded number of threads and queued requests, and rejects requests when both are used up.
+     */
+    public synchronized Executor getOrCreateAsyncRequestExecutor() {
+        if (asyncRequestExecutor != null) {
+            return asyncRequestExecutor;
+        }
+
+        if (defaultAsyncRequestExecutor == null) {
+            BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-http-async-request-%d").daemon(true).build();
+            defaultAsyncRequestExecutor = new ThreadPoolExecutor(asyncRequestPoolSize, asyncRequestPoolSize, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<Runnable>(asyncRequestQueueSize), threadFactory);
+            defaultAsyncRequestExecutor.allowCoreThreadTimeOut(true);
+        }
+        return defaultAsyncRequestExecutor;
+    }
+
+    /**
+     * Shuts down the default async request executor, called when the process engine is closed. A configured executor is left untouched.
+     */
+    public synchronized void close() {
+        if (defaultAsyncRequestExecutor != null) {
+            defaultAsyncRequestExecutor.shutdown();
+            defaultAsyncRequestExecutor = null;
+        }
+    }
+
     public void merge(HttpClientConfig other) {
         if (this.connectTimeout != other.getConnectTimeout()) {
             setConnectTimeout(other.getConnectTimeout());
@@ -85,5 +170,25 @@ public class HttpClientConfig {
         if (this.disableCertVerify != other.isDisableCertVerify()) {
             setDisableCertVerify(other.isDisableCertVerify());
         }
+
+        if (this.maxResponseBodySize != other.getMaxResponseBodySize()) {
+            setMaxResponseBodySize(other.getMaxResponseBodySize());
+        }
+
+        if (other.getAsyncRequestExecutor() != null) {
+            setAsyncRequestExecutor(other.getAsyncRequestExecutor());
+        }
+
+        if (this.asyncRequestPoolSize != other.getAsyncRequestPoolSize()) {
+            setAsyncRequestPoolSize(other.getAsyncRequestPoolSize());
+        }
+
+        if (this.asyncRequestQueueSize != other.getAsyncRequestQueueSize()) {
+            setAsyncRequestQueueSize(other.getAsyncRequestQueueSize());
+        }
+
+        if (this.asyncResponseTimeout != other.getAsyncResponseTimeout()) {
+            setAsyncResponseTimeout(other.getAsyncResponseTimeout());
+        }
     }
 }
@@ -12,11 +12,16 @@
  */
 package org.flowable.engine.delegate.event.impl;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.flowable.bpmn.model.BpmnModel;
 import org.flowable.engine.common.api.delegate.event.FlowableEntityEvent;
 import org.flowable.engine.common.api.delegate.event.FlowableEvent;
-import org.flowable.engine.common.impl.event.EventDispatchAction;
+import org.flowable.engine.common.api.delegate.event.FlowableEventType;
 import org.flowable.engine.common.impl.event.FlowableEventSupport;
+import org.flowable.engine.common.impl.event.ListenerAwareEventDispatchAction;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.impl.delegate.event.FlowableEngineEvent;
@@ -24,7 +29,36 @@ import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.repository.ProcessDefinition;
 
-public class BpmnModelEventDispatchAction implements EventDispatchAction {
+public class BpmnModelEventDispatchAction implements ListenerAwareEventDispatchAction {
+
+    /**
+     * The event types for which an event-listener is registered on the {@link BpmnModelEventSupport} of a parsed process definition.
+     * Events are only dispatched to the listeners of process definitions in the process definition cache (see {@link #extractBpmnModelFromEvent(FlowableEvent)}),
+     * and a process definition is parsed, which registers its event-listeners here, before it is added to the cache. So an event of another type has no
+     * listener to notify, also for a process definition that isn't parsed by this engine yet, e.g. after a restart or when another engine deployed it.
+     */
+    protected Set<FlowableEventType> listenedEventTypes = Collections.newSetFromMap(new ConcurrentHashMap<FlowableEventType, Boolean>());
+    protected volatile boolean listenedToAllEventTypes;
+
+    @Override
+    public boolean hasListeners(FlowableEventType type) {
+        return listenedToAllEventTypes || listenedEventTypes.contains(type);
+    }
+
+    /**
+     * Called when an event-listener is registered for the given event types, or for all event types when none are given.
+     */
+    public void addListenedEventTypes(FlowableEventType... types) {
+        if (types == null || types.length == 0) {
+            listenedToAllEventTypes = true;
+        } else {
+            for (FlowableEventType type : types) {
+                if (type != null) {
+                    listenedEventTypes.add(type);
+                }
+            }
+        }
+    }
 
     @Override
     public void dispatchEvent(CommandContext commandContext, FlowableEventSupport eventSupport, FlowableEvent event) {
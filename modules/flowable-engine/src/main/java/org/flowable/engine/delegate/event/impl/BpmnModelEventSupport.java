@@ -0,0 +1,43 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.delegate.event.impl;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEventListener;
+import org.flowable.engine.common.api.delegate.event.FlowableEventType;
+import org.flowable.engine.common.impl.event.FlowableEventSupport;
+
+/**
+ * Event support of a parsed {@link org.flowable.bpmn.model.BpmnModel}, which lets the {@link BpmnModelEventDispatchAction} know
+ * for which event types a listener is registered.
+ */
+public class BpmnModelEventSupport extends FlowableEventSupport {
+
+    protected BpmnModelEventDispatchAction eventDispatchAction;
+
+    public BpmnModelEventSupport(BpmnModelEventDispatchAction eventDispatchAction) {
+        this.eventDispatchAction = eventDispatchAction;
+    }
+
+    @Override
+    public synchronized void addEventListener(FlowableEventListener listenerToAdd) {
+        super.addEventListener(listenerToAdd);
+        eventDispatchAction.addListenedEventTypes();
+    }
+
+    @Override
+    public synchronized void addEventListener(FlowableEventListener listenerToAdd, FlowableEventType... types) {
+        super.addEventListener(listenerToAdd, types);
+        eventDispatchAction.addListenedEventTypes(types);
+    }
+
+}
@@ -13,6 +13,8 @@
 package org.flowable.engine.impl;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.ManagementService;
@@ -36,9 +38,16 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
 
     private static final long serialVersionUID = 1L;
 
+    protected static final String SEEK_ID_COLUMN = "RES.ID_";
+
     protected transient CommandExecutor commandExecutor;
     protected transient CommandContext commandContext;
 
+    protected String seekColumn;
+    protected boolean seekDescending;
+    protected Object seekValue;
+    protected String seekId;
+
     protected AbstractQuery() {
         parameter = this;
     }
@@ -163,4 +172,119 @@ public abstract class AbstractQuery<T extends Query<?, ?>, U> extends ListQueryP
         return null;
     }
 
+
+    // seeking ////////////////////////////////////////////////////////////
+
+    /**
+     * Executes the query like {@link #listPage(int, int)}, but only returns the results that come after the result with the given seek key (when not null).
+     * The query needs to be ordered by one of the given columns or by id, the results are ordered by id as well.
+     */
+    protected List<U> listPageAfterSeekKey(String seekKey, int maxResults, String... seekableColumns) {
+        checkQueryOk();
+        initializeSeekColumn(seekableColumns);
+        if (seekKey != null) {
+            applySeekKey(seekKey);
+        } else {
+            seekValue = null;
+            seekId = null;
+        }
+        return listPage(0, maxResults);
+    }
+
+    protected void initializeSeekColumn(String... seekableColumns) {
+        String[] order = super.getOrderByColumns().split(" ");
+        if (order.length != 2 || (!SEEK_ID_COLUMN.equals(order[0]) && !Arrays.asList(seekableColumns).contains(order[0]))) {
+            throw new FlowableIllegalArgumentException("Seeking is only supported when the query is ordered by id or by one of " + Arrays.asList(seekableColumns));
+        }
+        seekColumn = order[0];
+        seekDescending = SORTORDER_DESC.equals(order[1]);
+    }
+
+    /**
+     * Creates the seek key of a result of this query, holding the id of the result and its value of the column the query is ordered by.
+     */
+    protected String createSeekKey(String id, Object value) {
+        if (seekColumn == null) {
+            throw new FlowableIllegalArgumentException("The query needs to be executed with listPageAfter before creating seek keys for its results");
+        }
+
+        String type = null;
+        String encodedValue = null;
+        if (value instanceof Date) {
+            type = "D";
+            encodedValue = String.valueOf(((Date) value).getTime());
+        } else if (value instanceof Integer) {
+            type = "I";
+            encodedValue = value.toString();
+        } else if (value instanceof String) {
+            type = "S";
+            encodedValue = (String) value;
+        } else {
+            throw new FlowableException("Cannot create a seek key for result " + id + " having value " + value + " for " + seekColumn);
+        }
+
+        // the column and type don't contain a ':' and the length of the value separates the value from the id
+        return seekColumn + ":" + getSeekOrder() + ":" + type + ":" + encodedValue.length() + ":" + encodedValue + id;
+    }
+
+    protected void applySeekKey(String seekKey) {
+        String[] parts = seekKey.split(":", 5);
+        if (parts.length != 5 || !parts[0].equals(seekColumn) || !parts[1].equals(getSeekOrder())) {
+            throw new FlowableIllegalArgumentException("Seek key '" + seekKey + "' doesn't belong to a query ordered by " + seekColumn + " " + getSeekOrder());
+        }
+
+        try {
+            int valueLength = Integer.parseInt(parts[3]);
+            String encodedValue = parts[4].substring(0, valueLength);
+            String id = parts[4].substring(valueLength);
+            if (id.isEmpty()) {
+                throw new FlowableIllegalArgumentException("Seek key '" + seekKey + "' has no id");
+            }
+
+            if ("D".equals(parts[2])) {
+                seekValue = new Date(Long.parseLong(encodedValue));
+            } else if ("I".equals(parts[2])) {
+                seekValue = Integer.valueOf(encodedValue);
+            } else if ("S".equals(parts[2])) {
+                seekValue = encodedValue;
+            } else {
+                throw new FlowableIllegalArgumentException("Seek key '" + seekKey + "' has an unknown value type " + parts[2]);
+            }
+            seekId = id;
+
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new FlowableIllegalArgumentException("Invalid seek key '" + seekKey + "'", e);
+        }
+    }
+
+    protected String getSeekOrder() {
+        return seekDescending ? SORTORDER_DESC : SORTORDER_ASC;
+    }
+
+    @Override
+    public String getOrderByColumns() {
+        String orderByColumns = super.getOrderByColumns();
+        if (seekColumn != null && !SEEK_ID_COLUMN.equals(seekColumn)) {
+            // the id makes the order unique, so the seek predicate doesn't skip or repeat results with the same value
+            return orderByColumns + ", " + SEEK_ID_COLUMN + " " + getSeekOrder();
+        }
+        return orderByColumns;
+    }
+
+    public String getSeekColumn() {
+        return seekColumn;
+    }
+
+    public String getSeekOperator() {
+        return seekDescending ? "<" : ">";
+    }
+
+    public Object getSeekValue() {
+        return seekValue;
+    }
+
+    public String getSeekId() {
+        return seekId;
+    }
+
 }
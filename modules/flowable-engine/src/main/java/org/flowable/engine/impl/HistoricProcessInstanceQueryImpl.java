@@ -21,6 +21,7 @@ import java.util.Set;
 import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.query.SeekableQuery;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.history.HistoricProcessInstance;
@@ -40,7 +41,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Bernd Ruecker
  * @author Joram Barrez
  */
-public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<HistoricProcessInstanceQuery, HistoricProcessInstance> implements HistoricProcessInstanceQuery {
+public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<HistoricProcessInstanceQuery, HistoricProcessInstance> implements HistoricProcessInstanceQuery, SeekableQuery<HistoricProcessInstance> {
 
     private static final long serialVersionUID = 1L;
     protected String processInstanceId;
@@ -580,6 +581,26 @@ public class HistoricProcessInstanceQueryImpl extends AbstractVariableQueryImpl<
         return specialOrderBy;
     }
 
+    @Override
+    public List<HistoricProcessInstance> listPageAfter(String seekKey, int maxResults) {
+        return listPageAfterSeekKey(seekKey, maxResults, HistoricProcessInstanceQueryProperty.PROCESS_INSTANCE_ID_.getName(),
+                HistoricProcessInstanceQueryProperty.START_TIME.getName(), HistoricProcessInstanceQueryProperty.PROCESS_DEFINITION_ID.getName());
+    }
+
+    @Override
+    public String getSeekKey(HistoricProcessInstance historicProcessInstance) {
+        Object value = null;
+        if (HistoricProcessInstanceQueryProperty.START_TIME.getName().equals(seekColumn)) {
+            value = historicProcessInstance.getStartTime();
+        } else if (HistoricProcessInstanceQueryProperty.PROCESS_DEFINITION_ID.getName().equals(seekColumn)) {
+            value = historicProcessInstance.getProcessDefinitionId();
+        } else {
+            // the process instance id equals the id
+            value = historicProcessInstance.getId();
+        }
+        return createSeekKey(historicProcessInstance.getId(), value);
+    }
+
     public long executeCount(CommandContext commandContext) {
         checkQueryOk();
         ensureVariablesInitialized();
@@ -24,13 +24,17 @@ import org.flowable.engine.ProcessEngines;
 import org.flowable.engine.RepositoryService;
 import org.flowable.engine.RuntimeService;
 import org.flowable.engine.TaskService;
+import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
 import org.flowable.engine.common.impl.cfg.TransactionContextFactory;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.common.impl.interceptor.SessionFactory;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,6 +102,9 @@ public class ProcessEngineImpl implements ProcessEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isAutoActivate()) {
             asyncHistoryExecutor.start();
         }
+        if (processEngineConfiguration.getAsyncHistoryListener() instanceof AsyncHistoryJournalListener) {
+            ((AsyncHistoryJournalListener) processEngineConfiguration.getAsyncHistoryListener()).start(processEngineConfiguration);
+        }
     }
 
     public void close() {
@@ -108,6 +115,15 @@ public class ProcessEngineImpl implements ProcessEngine {
         if (asyncHistoryExecutor != null && asyncHistoryExecutor.isActive()) {
             asyncHistoryExecutor.shutdown();
         }
+        if (processEngineConfiguration.getAsyncHistoryListener() instanceof AsyncHistoryJournalListener) {
+            ((AsyncHistoryJournalListener) processEngineConfiguration.getAsyncHistoryListener()).shutdown();
+        }
+        if (processEngineConfiguration.getIdGenerator() instanceof PrefetchingDbIdGenerator) {
+            ((PrefetchingDbIdGenerator) processEngineConfiguration.getIdGenerator()).shutdown();
+        }
+        if (processEngineConfiguration.getHttpClientConfig() != null) {
+            processEngineConfiguration.getHttpClientConfig().close();
+        }
 
         Runnable closeRunnable = processEngineConfiguration.getProcessEngineCloseRunnable();
         if (closeRunnable != null) {
@@ -118,7 +134,13 @@ public class ProcessEngineImpl implements ProcessEngine {
             processEngineConfiguration.getProcessEngineLifecycleListener().onProcessEngineClosed(this);
         }
 
-        processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CLOSED));
+        FlowableEventDispatcher eventDispatcher = processEngineConfiguration.getEventDispatcher();
+        eventDispatcher.dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CLOSED));
+
+        // Delivers the events that are still queued for batch event listeners
+        if (eventDispatcher instanceof FlowableEventDispatcherImpl) {
+            ((FlowableEventDispatcherImpl) eventDispatcher).getEventSupport().shutdownBatchingEventQueue();
+        }
     }
 
     // getters and setters
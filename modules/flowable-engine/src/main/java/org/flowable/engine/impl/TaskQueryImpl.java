@@ -19,6 +19,7 @@ import java.util.List;
 import org.flowable.engine.DynamicBpmnConstants;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.api.query.SeekableQuery;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.context.BpmnOverrideContext;
@@ -38,7 +39,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
  * @author Falko Menge
  * @author Tijs Rademakers
  */
-public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> implements TaskQuery {
+public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> implements TaskQuery, SeekableQuery<Task> {
 
     private static final long serialVersionUID = 1L;
 
@@ -1282,6 +1283,26 @@ public class TaskQueryImpl extends AbstractVariableQueryImpl<TaskQuery, Task> im
         return specialOrderBy;
     }
 
+    // seeking ////////////////////////////////////////////////////////////////
+
+    @Override
+    public List<Task> listPageAfter(String seekKey, int maxResults) {
+        return listPageAfterSeekKey(seekKey, maxResults, TaskQueryProperty.CREATE_TIME.getName(), TaskQueryProperty.PRIORITY.getName());
+    }
+
+    @Override
+    public String getSeekKey(Task task) {
+        Object value = null;
+        if (TaskQueryProperty.CREATE_TIME.getName().equals(seekColumn)) {
+            value = task.getCreateTime();
+        } else if (TaskQueryProperty.PRIORITY.getName().equals(seekColumn)) {
+            value = task.getPriority();
+        } else {
+            value = task.getId();
+        }
+        return createSeekKey(task.getId(), value);
+    }
+
     // results ////////////////////////////////////////////////////////////////
 
     public List<Task> executeList(CommandContext commandContext) {
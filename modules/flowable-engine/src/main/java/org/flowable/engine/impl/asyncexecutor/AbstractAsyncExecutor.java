@@ -51,6 +51,9 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
 
     protected int maxTimerJobsPerAcquisition = 1;
     protected int maxAsyncJobsDuePerAcquisition = 1;
+    protected boolean bulkJobLocking;
+    protected int jobPartitionCount;
+    protected int jobPartitionLeaseTimeInMillis = 60 * 1000;
     protected int defaultTimerJobAcquireWaitTimeInMillis = 10 * 1000;
     protected int defaultAsyncJobAcquireWaitTimeInMillis = 10 * 1000;
     protected int defaultQueueSizeFullWaitTime;
@@ -253,6 +256,30 @@ public abstract class AbstractAsyncExecutor implements AsyncExecutor {
         this.maxAsyncJobsDuePerAcquisition = maxAsyncJobsDuePerAcquisition;
     }
 
+    public boolean isBulkJobLocking() {
+        return bulkJobLocking;
+    }
+
+    public void setBulkJobLocking(boolean bulkJobLocking) {
+        this.bulkJobLocking = bulkJobLocking;
+    }
+
+    public int getJobPartitionCount() {
+        return jobPartitionCount;
+    }
+
+    public void setJobPartitionCount(int jobPartitionCount) {
+        this.jobPartitionCount = jobPartitionCount;
+    }
+
+    public int getJobPartitionLeaseTimeInMillis() {
+        return jobPartitionLeaseTimeInMillis;
+    }
+
+    public void setJobPartitionLeaseTimeInMillis(int jobPartitionLeaseTimeInMillis) {
+        this.jobPartitionLeaseTimeInMillis = jobPartitionLeaseTimeInMillis;
+    }
+
     public int getDefaultTimerJobAcquireWaitTimeInMillis() {
         return defaultTimerJobAcquireWaitTimeInMillis;
     }
@@ -19,6 +19,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.flowable.engine.common.api.FlowableOptimisticLockingException;
 import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.cmd.AcquireJobsCmd;
+import org.flowable.engine.impl.persistence.entity.JobEntityManager;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntityManager;
 import org.slf4j.Logger;
@@ -35,6 +36,7 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     protected String name;
     protected final AsyncExecutor asyncExecutor;
     protected final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    protected final JobPartitionLeaseManager jobPartitionLeaseManager;
 
     protected volatile boolean isInterrupted;
     protected final Object MONITOR = new Object();
@@ -45,6 +47,9 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         this.name = name;
         this.asyncExecutor = asyncExecutor;
         this.jobEntityManager = jobEntityManager;
+
+        // Only the async jobs are partitioned
+        this.jobPartitionLeaseManager = jobEntityManager instanceof JobEntityManager ? new JobPartitionLeaseManager(asyncExecutor) : null;
     }
 
     public synchronized void run() {
@@ -75,12 +80,21 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
                 sleep(millisToWait);
             }
         }
+
+        if (jobPartitionLeaseManager != null) {
+            jobPartitionLeaseManager.releaseLeases(commandExecutor);
+        }
         LOGGER.info("stopped async job due acquisition");
     }
 
     protected long acquireAndExecuteJobs(CommandExecutor commandExecutor, int remainingCapacity) {
         try {
-            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager));
+            List<Integer> partitions = null;
+            if (jobPartitionLeaseManager != null && asyncExecutor.getJobPartitionCount() > 0) {
+                partitions = jobPartitionLeaseManager.getOwnedPartitions(commandExecutor);
+            }
+
+            AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, remainingCapacity, jobEntityManager, partitions));
 
             List<JobInfoEntity> rejectedJobs = offerJobs(acquiredJobs);
 
@@ -129,6 +143,17 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
         }
     }
 
+    /**
+     * Wakes up the acquisition thread when it's waiting, so jobs are acquired without waiting for the acquire wait time to pass.
+     */
+    public void wakeUp() {
+        synchronized (MONITOR) {
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
     protected void sleep(long millisToWait) {
         if (millisToWait > 0) {
             try {
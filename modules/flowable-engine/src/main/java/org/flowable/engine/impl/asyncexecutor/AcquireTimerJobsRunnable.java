@@ -53,39 +53,7 @@ public class AcquireTimerJobsRunnable implements Runnable {
 
         while (!isInterrupted) {
 
-            try {
-                final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
-
-                commandExecutor.execute(new Command<Void>() {
-
-                    @Override
-                    public Void execute(CommandContext commandContext) {
-                        for (TimerJobEntity job : acquiredJobs.getJobs()) {
-                            jobManager.moveTimerJobToExecutableJob(job);
-                        }
-                        return null;
-                    }
-                });
-
-                // if all jobs were executed
-                millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
-                int jobsAcquired = acquiredJobs.size();
-                if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-                    millisToWait = 0;
-                }
-
-            } catch (FlowableOptimisticLockingException optimisticLockingException) {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
-                            + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
-                            + "This is expected behavior in a clustered environment. "
-                            + "You can ignore this message if you indeed have multiple timer executor acquisition threads running against the same database. " + "Exception message: {}",
-                            optimisticLockingException.getMessage());
-                }
-            } catch (Throwable e) {
-                LOGGER.error("exception during timer job acquisition: {}", e.getMessage(), e);
-                millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
-            }
+            acquireAndMoveTimerJobs(commandExecutor);
 
             if (millisToWait > 0) {
                 try {
@@ -115,6 +83,53 @@ public class AcquireTimerJobsRunnable implements Runnable {
         LOGGER.info("stopped async job due acquisition");
     }
 
+    /**
+     * Acquires the timer jobs that are due once, and moves them to the executable jobs.
+     * 
+     * @return the time to wait before acquiring timer jobs again
+     */
+    protected long acquireAndMoveTimerJobs(CommandExecutor commandExecutor) {
+        try {
+            final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+
+            moveTimerJobsToExecutableJobs(commandExecutor, acquiredJobs);
+
+            // if all jobs were executed
+            millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+            int jobsAcquired = acquiredJobs.size();
+            if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+                millisToWait = 0;
+            }
+
+        } catch (FlowableOptimisticLockingException optimisticLockingException) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
+                        + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
+                        + "This is expected behavior in a clustered environment. "
+                        + "You can ignore this message if you indeed have multiple timer executor acquisition threads running against the same database. " + "Exception message: {}",
+                        optimisticLockingException.getMessage());
+            }
+        } catch (Throwable e) {
+            LOGGER.error("exception during timer job acquisition: {}", e.getMessage(), e);
+            millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+        }
+
+        return millisToWait;
+    }
+
+    protected void moveTimerJobsToExecutableJobs(CommandExecutor commandExecutor, final AcquiredTimerJobEntities acquiredJobs) {
+        commandExecutor.execute(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                for (TimerJobEntity job : acquiredJobs.getJobs()) {
+                    jobManager.moveTimerJobToExecutableJob(job);
+                }
+                return null;
+            }
+        });
+    }
+
     public void stop() {
         synchronized (MONITOR) {
             isInterrupted = true;
@@ -81,6 +81,21 @@ public interface AsyncExecutor {
 
     void setMaxTimerJobsPerAcquisition(int maxJobs);
 
+    boolean isBulkJobLocking();
+
+    void setBulkJobLocking(boolean bulkJobLocking);
+
+    /**
+     * The number of partitions the async jobs are divided in. When larger than 0, the executor only acquires the jobs of the partitions it holds a lease for.
+     */
+    int getJobPartitionCount();
+
+    void setJobPartitionCount(int jobPartitionCount);
+
+    int getJobPartitionLeaseTimeInMillis();
+
+    void setJobPartitionLeaseTimeInMillis(int jobPartitionLeaseTimeInMillis);
+
     int getRetryWaitTimeInMillis();
 
     void setRetryWaitTimeInMillis(int retryWaitTimeInMillis);
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
+import org.flowable.engine.runtime.JobInfo;
+
+/**
+ * Bounded in-memory queue holding the jobs that are locked by an async executor, but couldn't be handed to its thread pool because the pool was saturated.
+ * The jobs are handed to the thread pool as soon as a job execution finishes, so they don't need to be acquired again from the database.
+ *
+ * The jobs of which the lock expires first are handed to the thread pool first, as they would be reset and acquired again by other executors otherwise.
+ */
+public class AsyncJobReadyQueue {
+
+    protected final int capacity;
+    protected final PriorityQueue<ReadyJob> queue;
+    protected long sequence;
+
+    public AsyncJobReadyQueue(int capacity) {
+        this.capacity = capacity;
+        this.queue = new PriorityQueue<ReadyJob>(Math.max(1, capacity), new ReadyJobComparator());
+    }
+
+    /**
+     * @return false when the queue is full, the job should then be unacquired so it can be picked up by the acquisition
+     */
+    public synchronized boolean offer(JobInfo job, Runnable runnable) {
+        if (queue.size() >= capacity) {
+            return false;
+        }
+        queue.offer(new ReadyJob(job, runnable, sequence++));
+        return true;
+    }
+
+    /**
+     * Puts back a job that was polled, but couldn't be handed to the thread pool. The capacity is not checked, as the job was in the queue before.
+     */
+    public synchronized void putBack(ReadyJob readyJob) {
+        queue.offer(readyJob);
+    }
+
+    public synchronized ReadyJob poll() {
+        return queue.poll();
+    }
+
+    public synchronized List<ReadyJob> pollAll() {
+        List<ReadyJob> readyJobs = new ArrayList<ReadyJob>(queue.size());
+        ReadyJob readyJob = queue.poll();
+        while (readyJob != null) {
+            readyJobs.add(readyJob);
+            readyJob = queue.poll();
+        }
+        return readyJobs;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public static class ReadyJob {
+
+        protected final JobInfo job;
+        protected final Runnable runnable;
+        protected final long sequence;
+
+        public ReadyJob(JobInfo job, Runnable runnable, long sequence) {
+            this.job = job;
+            this.runnable = runnable;
+            this.sequence = sequence;
+        }
+
+        public JobInfo getJob() {
+            return job;
+        }
+
+        public Runnable getRunnable() {
+            return runnable;
+        }
+
+        public Date getLockExpirationTime() {
+            return job instanceof JobInfoEntity ? ((JobInfoEntity) job).getLockExpirationTime() : null;
+        }
+    }
+
+    protected static class ReadyJobComparator implements Comparator<ReadyJob> {
+
+        @Override
+        public int compare(ReadyJob readyJob1, ReadyJob readyJob2) {
+            Date lockExpirationTime1 = readyJob1.getLockExpirationTime();
+            Date lockExpirationTime2 = readyJob2.getLockExpirationTime();
+            if (lockExpirationTime1 != null && lockExpirationTime2 != null) {
+                int result = lockExpirationTime1.compareTo(lockExpirationTime2);
+                if (result != 0) {
+                    return result;
+                }
+            } else if (lockExpirationTime1 != null) {
+                return -1;
+            } else if (lockExpirationTime2 != null) {
+                return 1;
+            }
+            return readyJob1.sequence < readyJob2.sequence ? -1 : (readyJob1.sequence == readyJob2.sequence ? 0 : 1);
+        }
+    }
+
+}
@@ -18,11 +18,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.flowable.engine.common.impl.context.Context;
 import org.flowable.engine.common.impl.interceptor.Command;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.asyncexecutor.AsyncJobReadyQueue.ReadyJob;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.engine.runtime.JobInfo;
 import org.slf4j.Logger;
@@ -59,6 +62,20 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     /** The size of the queue on which jobs to be executed are placed */
     protected int queueSize = 100;
 
+    /**
+     * The size of the in-memory queue holding the jobs locked by this executor (e.g. async jobs created by this engine) that were rejected by the thread pool.
+     * These jobs are handed to the thread pool when a job execution finishes, instead of being unacquired and acquired again from the database.
+     * When the ready queue is full, the job is unacquired, and the acquisition thread is woken up as soon as the thread pool has capacity again.
+     * Default value = 0 (disabled).
+     */
+    protected int readyQueueSize;
+
+    /** The queue holding the locked jobs that were rejected by the thread pool */
+    protected AsyncJobReadyQueue readyQueue;
+
+    /** Set when a job was unacquired because the thread pool and the ready queue were full */
+    protected AtomicBoolean jobsUnacquired = new AtomicBoolean();
+
     /** Whether to unlock jobs that are owned by this executor (have the same lockOwner) at startup */
     protected boolean unlockOwnedJobs;
 
@@ -74,39 +91,118 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     protected long secondsToWaitOnShutdown = 60L;
 
     protected boolean executeAsyncJob(final JobInfo job, Runnable runnable) {
+        if (readyQueue != null) {
+            return executeAsyncJobWithReadyQueue(job, runnable);
+        }
+
         try {
             executorService.execute(runnable);
             return true;
         } catch (RejectedExecutionException e) {
-
-            // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
-            // that are to be executed is full and can't store more.
-            // The job is now 'unlocked', meaning that the lock owner/time is set to null,
-            // so other executors can pick the job up (or this async executor, the next time the
-            // acquire query is executed.
-
-            // This can happen while already in a command context (for example in a transaction listener
-            // after the async executor has been hinted that a new async job is created)
-            // or not (when executed in the acquire thread runnable)
-
-            CommandContext commandContext = Context.getCommandContext();
-            if (commandContext != null) {
-                CommandContextUtil.getJobManager(commandContext).unacquire(job);
-
-            } else {
-                processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
-                    public Void execute(CommandContext commandContext) {
-                        CommandContextUtil.getJobManager(commandContext).unacquire(job);
-                        return null;
-                    }
-                });
-            }
+            unacquireRejectedJob(job);
 
             // Job queue full, returning true so (if wanted) the acquiring can be throttled
             return false;
         }
     }
 
+    protected boolean executeAsyncJobWithReadyQueue(final JobInfo job, Runnable runnable) {
+        if (!readyQueue.isEmpty()) {
+            // Jobs that are waiting in the ready queue go first
+            handOffReadyJobs();
+        }
+
+        if (readyQueue.isEmpty()) {
+            try {
+                executorService.execute(new ReadyQueueHandOffRunnable(runnable));
+                return true;
+            } catch (RejectedExecutionException e) {
+                // handled below
+            }
+        }
+
+        if (isLockedByThisExecutor(job) && readyQueue.offer(job, runnable)) {
+            LOGGER.debug("Thread pool is saturated, keeping job {} in the ready queue", job.getId());
+
+            // The pool could have freed up in the meantime
+            handOffReadyJobs();
+            return true;
+        }
+
+        unacquireRejectedJob(job);
+        jobsUnacquired.set(true);
+        return false;
+    }
+
+    protected boolean isLockedByThisExecutor(JobInfo job) {
+        return job instanceof JobInfoEntity && lockOwner.equals(((JobInfoEntity) job).getLockOwner());
+    }
+
+    /**
+     * Hands the jobs of the ready queue to the thread pool, until the thread pool is saturated. Called whenever a job execution finishes.
+     * When the ready queue is empty, and jobs had to be unacquired before, the acquisition thread is woken up to acquire them again.
+     */
+    protected void handOffReadyJobs() {
+        ExecutorService executorService = this.executorService;
+        if (executorService == null) {
+            return;
+        }
+
+        ReadyJob readyJob = readyQueue.poll();
+        while (readyJob != null) {
+            try {
+                executorService.execute(new ReadyQueueHandOffRunnable(readyJob.getRunnable()));
+            } catch (RejectedExecutionException e) {
+                readyQueue.putBack(readyJob);
+                return;
+            }
+            readyJob = readyQueue.poll();
+        }
+
+        if (jobsUnacquired.compareAndSet(true, false) && asyncJobsDueRunnable != null) {
+            asyncJobsDueRunnable.wakeUp();
+        }
+    }
+
+    protected void unacquireRejectedJob(final JobInfo job) {
+        // When a RejectedExecutionException is caught, this means that the queue for holding the jobs
+        // that are to be executed is full and can't store more.
+        // The job is now 'unlocked', meaning that the lock owner/time is set to null,
+        // so other executors can pick the job up (or this async executor, the next time the
+        // acquire query is executed.
+
+        // This can happen while already in a command context (for example in a transaction listener
+        // after the async executor has been hinted that a new async job is created)
+        // or not (when executed in the acquire thread runnable)
+
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            CommandContextUtil.getJobManager(commandContext).unacquire(job);
+
+        } else {
+            processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+                public Void execute(CommandContext commandContext) {
+                    CommandContextUtil.getJobManager(commandContext).unacquire(job);
+                    return null;
+                }
+            });
+        }
+    }
+
+    protected void unacquireReadyJobs() {
+        if (readyQueue == null) {
+            return;
+        }
+
+        for (ReadyJob readyJob : readyQueue.pollAll()) {
+            try {
+                unacquireRejectedJob(readyJob.getJob());
+            } catch (Exception e) {
+                LOGGER.warn("Could not unacquire job {} of the ready queue, it will be acquired again when its lock expires", readyJob.getJob().getId(), e);
+            }
+        }
+    }
+
     @Override
     protected void startAdditionalComponents() {
         if (!isMessageQueueMode) {
@@ -144,6 +240,11 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
             BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-async-job-executor-thread-%d").build();
             executorService = new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, TimeUnit.MILLISECONDS, threadPoolQueue, threadFactory);
         }
+
+        if (readyQueueSize > 0 && readyQueue == null) {
+            LOGGER.info("Creating ready queue of size {}", readyQueueSize);
+            readyQueue = new AsyncJobReadyQueue(readyQueueSize);
+        }
     }
 
     protected void stopExecutingAsyncJobs() {
@@ -163,6 +264,9 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
 
             executorService = null;
         }
+
+        // Jobs that couldn't be executed anymore, so other executors can pick them up
+        unacquireReadyJobs();
     }
 
     /** Starts the acquisition thread */
@@ -224,6 +328,27 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         }
     }
 
+    /**
+     * Executes a job, and hands the jobs waiting in the ready queue to the thread pool afterwards.
+     */
+    protected class ReadyQueueHandOffRunnable implements Runnable {
+
+        protected final Runnable runnable;
+
+        public ReadyQueueHandOffRunnable(Runnable runnable) {
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runnable.run();
+            } finally {
+                handOffReadyJobs();
+            }
+        }
+    }
+
     public Thread getTimerJobAcquisitionThread() {
         return timerJobAcquisitionThread;
     }
@@ -255,7 +380,9 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
     @Override
     public int getRemainingCapacity() {
         if (threadPoolQueue != null) {
-            return threadPoolQueue.remainingCapacity();
+            // The jobs in the ready queue are handed to the thread pool first
+            int readyJobCount = readyQueue != null ? readyQueue.size() : 0;
+            return Math.max(0, threadPoolQueue.remainingCapacity() - readyJobCount);
         } else {
             // return plenty of remaining capacity if there's no thread pool queue
             return 99;
@@ -298,6 +425,22 @@ public class DefaultAsyncJobExecutor extends AbstractAsyncExecutor {
         this.secondsToWaitOnShutdown = secondsToWaitOnShutdown;
     }
 
+    public int getReadyQueueSize() {
+        return readyQueueSize;
+    }
+
+    public void setReadyQueueSize(int readyQueueSize) {
+        this.readyQueueSize = readyQueueSize;
+    }
+
+    public AsyncJobReadyQueue getReadyQueue() {
+        return readyQueue;
+    }
+
+    public void setReadyQueue(AsyncJobReadyQueue readyQueue) {
+        this.readyQueue = readyQueue;
+    }
+
     public boolean isUnlockOwnedJobs() {
         return unlockOwnedJobs;
     }
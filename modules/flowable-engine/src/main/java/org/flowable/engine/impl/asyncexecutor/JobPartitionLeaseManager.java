@@ -0,0 +1,117 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.cmd.ReleaseJobPartitionLeasesCmd;
+import org.flowable.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the job partitions leased by an async executor, renewing the leases when half of the lease time has passed.
+ *
+ * When the leases can't be renewed (e.g. because another executor renewed its leases concurrently), the partitions are kept
+ * until the leases expire, and the renewal is retried on the next acquisition.
+ */
+public class JobPartitionLeaseManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobPartitionLeaseManager.class);
+
+    /**
+     * The maximum length of the lock owner used as node id; longer lock owners are replaced by their hash, to fit in the property name.
+     */
+    protected static final int MAX_NODE_ID_LENGTH = 40;
+
+    protected final AsyncExecutor asyncExecutor;
+
+    protected volatile List<Integer> ownedPartitions = Collections.emptyList();
+    protected volatile long leaseExpirationTime;
+    protected volatile long nextRenewalTime;
+    protected volatile boolean registered;
+
+    public JobPartitionLeaseManager(AsyncExecutor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * @return the partitions of which this executor holds a valid lease, which can be empty
+     */
+    public List<Integer> getOwnedPartitions(CommandExecutor commandExecutor) {
+        long now = getCurrentTime();
+        if (now >= nextRenewalTime) {
+            renewLeases(commandExecutor, now);
+        }
+
+        if (now >= leaseExpirationTime) {
+            return Collections.emptyList();
+        }
+        return ownedPartitions;
+    }
+
+    protected void renewLeases(CommandExecutor commandExecutor, long now) {
+        int leaseTimeInMillis = asyncExecutor.getJobPartitionLeaseTimeInMillis();
+        try {
+            registered = true;
+            ownedPartitions = commandExecutor.execute(new RenewJobPartitionLeasesCmd(getNodeId(), asyncExecutor.getJobPartitionCount(), leaseTimeInMillis));
+            leaseExpirationTime = now + leaseTimeInMillis;
+            nextRenewalTime = now + leaseTimeInMillis / 2;
+
+            LOGGER.debug("Job partition leases renewed, owned partitions: {}", ownedPartitions);
+
+        } catch (FlowableOptimisticLockingException e) {
+            LOGGER.debug("Job partition leases were changed concurrently by another async executor, retrying later: {}", e.getMessage());
+            nextRenewalTime = now + asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+
+        } catch (Throwable e) {
+            LOGGER.warn("Exception while renewing job partition leases: {}", e.getMessage(), e);
+            nextRenewalTime = now + asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+        }
+    }
+
+    /**
+     * Releases the leases of this executor, so they can be claimed by the other executors immediately.
+     */
+    public void releaseLeases(CommandExecutor commandExecutor) {
+        if (!registered) {
+            return;
+        }
+
+        ownedPartitions = Collections.emptyList();
+        leaseExpirationTime = 0L;
+        nextRenewalTime = 0L;
+        registered = false;
+        try {
+            commandExecutor.execute(new ReleaseJobPartitionLeasesCmd(getNodeId()));
+        } catch (Throwable e) {
+            LOGGER.warn("Exception while releasing job partition leases, they will be claimed by other async executors when they expire: {}", e.getMessage(), e);
+        }
+    }
+
+    protected String getNodeId() {
+        String lockOwner = asyncExecutor.getLockOwner();
+        if (lockOwner.length() <= MAX_NODE_ID_LENGTH) {
+            return lockOwner;
+        }
+        return Integer.toHexString(lockOwner.hashCode());
+    }
+
+    protected long getCurrentTime() {
+        return asyncExecutor.getProcessEngineConfiguration().getClock().getCurrentTime().getTime();
+    }
+
+}
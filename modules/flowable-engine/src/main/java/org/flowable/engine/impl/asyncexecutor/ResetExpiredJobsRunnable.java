@@ -57,28 +57,7 @@ public class ResetExpiredJobsRunnable implements Runnable {
 
         while (!isInterrupted) {
 
-            try {
-
-                List<? extends JobInfoEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
-                        .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize(), jobEntityManager));
-
-                List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
-                for (JobInfoEntity expiredJob : expiredJobs) {
-                    expiredJobIds.add(expiredJob.getId());
-                }
-
-                if (expiredJobIds.size() > 0) {
-                    asyncExecutor.getProcessEngineConfiguration().getCommandExecutor().execute(
-                            new ResetExpiredJobsCmd(expiredJobIds, jobEntityManager));
-                }
-
-            } catch (Throwable e) {
-                if (e instanceof FlowableOptimisticLockingException) {
-                    LOGGER.debug("Optimistic lock exception while resetting locked jobs", e);
-                } else {
-                    LOGGER.error("exception during resetting expired jobs: {}", e.getMessage(), e);
-                }
-            }
+            resetExpiredJobs();
 
             // Sleep
             try {
@@ -103,6 +82,34 @@ public class ResetExpiredJobsRunnable implements Runnable {
         LOGGER.info("stopped resetting expired jobs");
     }
 
+    /**
+     * Resets one page of expired jobs.
+     */
+    protected void resetExpiredJobs() {
+        try {
+
+            List<? extends JobInfoEntity> expiredJobs = asyncExecutor.getProcessEngineConfiguration().getCommandExecutor()
+                    .execute(new FindExpiredJobsCmd(asyncExecutor.getResetExpiredJobsPageSize(), jobEntityManager));
+
+            List<String> expiredJobIds = new ArrayList<String>(expiredJobs.size());
+            for (JobInfoEntity expiredJob : expiredJobs) {
+                expiredJobIds.add(expiredJob.getId());
+            }
+
+            if (expiredJobIds.size() > 0) {
+                asyncExecutor.getProcessEngineConfiguration().getCommandExecutor().execute(
+                        new ResetExpiredJobsCmd(expiredJobIds, jobEntityManager));
+            }
+
+        } catch (Throwable e) {
+            if (e instanceof FlowableOptimisticLockingException) {
+                LOGGER.debug("Optimistic lock exception while resetting locked jobs", e);
+            } else {
+                LOGGER.error("exception during resetting expired jobs: {}", e.getMessage(), e);
+            }
+        }
+    }
+
     public void stop() {
         synchronized (MONITOR) {
             isInterrupted = true;
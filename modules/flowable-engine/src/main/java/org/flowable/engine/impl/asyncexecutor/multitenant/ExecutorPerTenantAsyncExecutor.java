@@ -233,6 +233,36 @@ public class ExecutorPerTenantAsyncExecutor implements TenantAwareAsyncExecutor
         }
     }
 
+    public boolean isBulkJobLocking() {
+        return determineAsyncExecutor().isBulkJobLocking();
+    }
+
+    public void setBulkJobLocking(boolean bulkJobLocking) {
+        for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+            asyncExecutor.setBulkJobLocking(bulkJobLocking);
+        }
+    }
+
+    public int getJobPartitionCount() {
+        return determineAsyncExecutor().getJobPartitionCount();
+    }
+
+    public void setJobPartitionCount(int jobPartitionCount) {
+        for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+            asyncExecutor.setJobPartitionCount(jobPartitionCount);
+        }
+    }
+
+    public int getJobPartitionLeaseTimeInMillis() {
+        return determineAsyncExecutor().getJobPartitionLeaseTimeInMillis();
+    }
+
+    public void setJobPartitionLeaseTimeInMillis(int jobPartitionLeaseTimeInMillis) {
+        for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+            asyncExecutor.setJobPartitionLeaseTimeInMillis(jobPartitionLeaseTimeInMillis);
+        }
+    }
+
     public int getRetryWaitTimeInMillis() {
         return determineAsyncExecutor().getRetryWaitTimeInMillis();
     }
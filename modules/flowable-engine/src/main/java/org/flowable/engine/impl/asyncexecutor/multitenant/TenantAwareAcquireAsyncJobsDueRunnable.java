@@ -12,9 +12,13 @@
  */
 package org.flowable.engine.impl.asyncexecutor.multitenant;
 
+import java.util.List;
+
 import org.flowable.engine.impl.asyncexecutor.AcquireAsyncJobsDueRunnable;
+import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.cfg.multitenant.TenantInfoHolder;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 
 /**
  * Extends the default {@link AcquireAsyncJobsDueRunnable} by setting the 'tenant' context before executing.
@@ -25,6 +29,7 @@ public class TenantAwareAcquireAsyncJobsDueRunnable extends AcquireAsyncJobsDueR
 
     protected TenantInfoHolder tenantInfoHolder;
     protected String tenantId;
+    protected int acquiredJobCount;
 
     public TenantAwareAcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor, TenantInfoHolder tenantInfoHolder, String tenantId) {
         super("flowable-tenant-" + tenantId + "-acquire-jobs", asyncExecutor, asyncExecutor.getProcessEngineConfiguration().getJobEntityManager());
@@ -43,4 +48,47 @@ public class TenantAwareAcquireAsyncJobsDueRunnable extends AcquireAsyncJobsDueR
         tenantInfoHolder.clearCurrentTenantId();
     }
 
+    /**
+     * Acquires the async jobs of the tenant once, for when the jobs of all tenants are acquired by the threads of a {@link TenantMultiplexingAsyncExecutor}.
+     * The caller checks the remaining capacity of the async executor first.
+     * 
+     * @return the time to wait before acquiring the async jobs of the tenant again
+     */
+    public long acquireJobsOfTenant(int remainingCapacity) {
+        acquiredJobCount = 0;
+        tenantInfoHolder.setCurrentTenantId(tenantId);
+        try {
+            return acquireAndExecuteJobs(asyncExecutor.getProcessEngineConfiguration().getCommandExecutor(), remainingCapacity);
+        } finally {
+            tenantInfoHolder.clearCurrentTenantId();
+        }
+    }
+
+    /**
+     * Releases the job partitions leased by {@link #acquireJobsOfTenant(int)}, which is done at the end of {@link #run()} otherwise.
+     */
+    public void releaseJobPartitionLeases() {
+        if (jobPartitionLeaseManager != null) {
+            tenantInfoHolder.setCurrentTenantId(tenantId);
+            try {
+                jobPartitionLeaseManager.releaseLeases(asyncExecutor.getProcessEngineConfiguration().getCommandExecutor());
+            } finally {
+                tenantInfoHolder.clearCurrentTenantId();
+            }
+        }
+    }
+
+    @Override
+    protected List<JobInfoEntity> offerJobs(AcquiredJobEntities acquiredJobs) {
+        acquiredJobCount = acquiredJobs.size();
+        return super.offerJobs(acquiredJobs);
+    }
+
+    /**
+     * @return the number of async jobs acquired by the last {@link #acquireJobsOfTenant(int)}.
+     */
+    public int getAcquiredJobCount() {
+        return acquiredJobCount;
+    }
+
 }
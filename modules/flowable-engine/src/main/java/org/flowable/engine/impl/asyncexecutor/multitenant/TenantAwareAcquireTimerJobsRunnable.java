@@ -12,7 +12,9 @@
  */
 package org.flowable.engine.impl.asyncexecutor.multitenant;
 
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.impl.asyncexecutor.AcquireTimerJobsRunnable;
+import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.cfg.multitenant.TenantInfoHolder;
 
@@ -25,6 +27,7 @@ public class TenantAwareAcquireTimerJobsRunnable extends AcquireTimerJobsRunnabl
 
     protected TenantInfoHolder tenantInfoHolder;
     protected String tenantId;
+    protected int acquiredJobCount;
 
     public TenantAwareAcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, TenantInfoHolder tenantInfoHolder, String tenantId) {
 
@@ -44,4 +47,32 @@ public class TenantAwareAcquireTimerJobsRunnable extends AcquireTimerJobsRunnabl
         tenantInfoHolder.clearCurrentTenantId();
     }
 
+    /**
+     * Acquires the timer jobs of the tenant once, for when the jobs of all tenants are acquired by the threads of a {@link TenantMultiplexingAsyncExecutor}.
+     * 
+     * @return the time to wait before acquiring the timer jobs of the tenant again
+     */
+    public long acquireTimerJobsOfTenant() {
+        acquiredJobCount = 0;
+        tenantInfoHolder.setCurrentTenantId(tenantId);
+        try {
+            return acquireAndMoveTimerJobs(asyncExecutor.getProcessEngineConfiguration().getCommandExecutor());
+        } finally {
+            tenantInfoHolder.clearCurrentTenantId();
+        }
+    }
+
+    @Override
+    protected void moveTimerJobsToExecutableJobs(CommandExecutor commandExecutor, AcquiredTimerJobEntities acquiredJobs) {
+        acquiredJobCount = acquiredJobs.size();
+        super.moveTimerJobsToExecutableJobs(commandExecutor, acquiredJobs);
+    }
+
+    /**
+     * @return the number of timer jobs acquired by the last {@link #acquireTimerJobsOfTenant()}.
+     */
+    public int getAcquiredJobCount() {
+        return acquiredJobCount;
+    }
+
 }
@@ -41,4 +41,16 @@ public class TenantAwareResetExpiredJobsRunnable extends ResetExpiredJobsRunnabl
         tenantInfoHolder.clearCurrentTenantId();
     }
 
-}
\ No newline at end of file
+    /**
+     * Resets the expired jobs of the tenant once, for when the jobs of all tenants are handled by the threads of a {@link TenantMultiplexingAsyncExecutor}.
+     */
+    public void resetExpiredJobsOfTenant() {
+        tenantInfoHolder.setCurrentTenantId(tenantId);
+        try {
+            resetExpiredJobs();
+        } finally {
+            tenantInfoHolder.clearCurrentTenantId();
+        }
+    }
+
+}
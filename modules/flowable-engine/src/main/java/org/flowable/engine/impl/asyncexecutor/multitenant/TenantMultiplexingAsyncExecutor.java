@@ -0,0 +1,395 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.multitenant.TenantInfoHolder;
+import org.flowable.engine.impl.cmd.UnacquireOwnedJobsCmd;
+import org.flowable.engine.runtime.JobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi tenant {@link AsyncExecutor} that acquires the jobs of all tenants with a fixed number of threads, instead of with acquisition threads for each tenant.
+ *
+ * The timer job acquisition, async job acquisition and expired job reset of each tenant are tasks in one queue, ordered by the time they are due.
+ * An acquisition thread takes the task that has been due the longest, executes it for its tenant and puts it back in the queue for when it's due again,
+ * so all tenants get their turn. The job execution is done using one shared {@link ExecutorService}, as for the {@link SharedExecutorServiceAsyncExecutor}.
+ *
+ * A tenant that had no jobs the last time waits twice as long for its next acquisition, up to the {@link #setTenantIdleMaxWaitTimeInMillis(int)}, so idle tenants are polled less
+ * and less often. As soon as jobs are acquired for a tenant, it's back to the default acquire wait times. Note that this means that timer jobs of a tenant that was idle can be
+ * acquired up to the tenant idle max wait time later than they are due.
+ */
+public class TenantMultiplexingAsyncExecutor extends DefaultAsyncJobExecutor implements TenantAwareAsyncExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantMultiplexingAsyncExecutor.class);
+
+    protected static final int MAX_IDLE_COUNT = 20;
+
+    protected TenantInfoHolder tenantInfoHolder;
+
+    protected int acquisitionThreadCount = 2;
+    protected int tenantIdleMaxWaitTimeInMillis = 60 * 1000;
+
+    protected Map<String, TenantJobAcquisition> tenantJobAcquisitions = new ConcurrentHashMap<String, TenantJobAcquisition>();
+    protected DelayQueue<TenantAcquisitionTask> acquisitionTasks = new DelayQueue<TenantAcquisitionTask>();
+    protected List<Thread> acquisitionThreads = new ArrayList<Thread>();
+    protected volatile boolean acquisitionActive;
+    protected Random random = new Random();
+
+    public TenantMultiplexingAsyncExecutor(TenantInfoHolder tenantInfoHolder) {
+        this.tenantInfoHolder = tenantInfoHolder;
+
+        setExecuteAsyncRunnableFactory(new ExecuteAsyncRunnableFactory() {
+
+            @Override
+            public Runnable createExecuteAsyncRunnable(JobInfo job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+
+                // The runnable is created by the acquisition thread, which has set the current tenant id,
+                // but it is executed later on by the executorService, where it needs to be set again
+
+                return new TenantAwareExecuteAsyncRunnable(job, processEngineConfiguration,
+                        TenantMultiplexingAsyncExecutor.this.tenantInfoHolder,
+                        TenantMultiplexingAsyncExecutor.this.tenantInfoHolder.getCurrentTenantId());
+            }
+
+        });
+    }
+
+    @Override
+    public Set<String> getTenantIds() {
+        return tenantJobAcquisitions.keySet();
+    }
+
+    @Override
+    public void addTenantAsyncExecutor(String tenantId, boolean startExecutor) {
+        TenantJobAcquisition tenantJobAcquisition = new TenantJobAcquisition(tenantId,
+                new TenantAwareAcquireTimerJobsRunnable(this, tenantInfoHolder, tenantId),
+                new TenantAwareAcquireAsyncJobsDueRunnable(this, tenantInfoHolder, tenantId),
+                new TenantAwareResetExpiredJobsRunnable(this, tenantInfoHolder, tenantId));
+        tenantJobAcquisitions.put(tenantId, tenantJobAcquisition);
+
+        if (acquisitionActive) {
+            scheduleAcquisitionTasks(tenantJobAcquisition);
+        }
+    }
+
+    @Override
+    public void removeTenantAsyncExecutor(String tenantId) {
+        // The tasks of the tenant still in the queue are dropped when they are taken
+        TenantJobAcquisition tenantJobAcquisition = tenantJobAcquisitions.remove(tenantId);
+        if (tenantJobAcquisition != null) {
+            tenantJobAcquisition.getAsyncJobsRunnable().releaseJobPartitionLeases();
+        }
+    }
+
+    @Override
+    protected void unlockOwnedJobs() {
+        for (String tenantId : tenantJobAcquisitions.keySet()) {
+            tenantInfoHolder.setCurrentTenantId(tenantId);
+            processEngineConfiguration.getCommandExecutor().execute(new UnacquireOwnedJobsCmd(lockOwner, tenantId));
+            tenantInfoHolder.clearCurrentTenantId();
+        }
+    }
+
+    @Override
+    protected void initializeRunnables() {
+        // The jobs are acquired for each tenant by the acquisition threads of this executor
+    }
+
+    @Override
+    protected void startAdditionalComponents() {
+        if (!isMessageQueueMode) {
+            initAsyncJobExecutionThreadPool();
+        }
+
+        if (unlockOwnedJobs) {
+            unlockOwnedJobs();
+        }
+
+        startAcquisitionThreads();
+    }
+
+    @Override
+    protected void shutdownAdditionalComponents() {
+        stopAcquisitionThreads();
+        stopExecutingAsyncJobs();
+    }
+
+    protected void startAcquisitionThreads() {
+        acquisitionActive = true;
+        for (TenantJobAcquisition tenantJobAcquisition : tenantJobAcquisitions.values()) {
+            scheduleAcquisitionTasks(tenantJobAcquisition);
+        }
+
+        for (int i = 0; i < acquisitionThreadCount; i++) {
+            Thread acquisitionThread = new Thread(new AcquireJobsOfTenantsRunnable(), "flowable-acquire-tenant-jobs-" + (i + 1));
+            acquisitionThreads.add(acquisitionThread);
+            acquisitionThread.start();
+        }
+    }
+
+    protected void stopAcquisitionThreads() {
+        acquisitionActive = false;
+        for (int i = 0; i < acquisitionThreads.size(); i++) {
+            acquisitionTasks.offer(TenantAcquisitionTask.createStopTask());
+        }
+
+        for (Thread acquisitionThread : acquisitionThreads) {
+            try {
+                acquisitionThread.join();
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for the tenant job acquisition thread to terminate", e);
+            }
+        }
+        acquisitionThreads.clear();
+        acquisitionTasks.clear();
+
+        for (TenantJobAcquisition tenantJobAcquisition : tenantJobAcquisitions.values()) {
+            tenantJobAcquisition.getAsyncJobsRunnable().releaseJobPartitionLeases();
+        }
+    }
+
+    protected void scheduleAcquisitionTasks(TenantJobAcquisition tenantJobAcquisition) {
+        // Spreading the first acquisitions, so the queries of all tenants don't happen at the same time
+        if (timerRunnableNeeded) {
+            schedule(new TenantAcquisitionTask(TenantAcquisitionTask.TIMER_JOBS, tenantJobAcquisition),
+                    randomMillis(defaultTimerJobAcquireWaitTimeInMillis));
+        }
+        if (!isMessageQueueMode) {
+            schedule(new TenantAcquisitionTask(TenantAcquisitionTask.ASYNC_JOBS, tenantJobAcquisition),
+                    randomMillis(defaultAsyncJobAcquireWaitTimeInMillis));
+        }
+        schedule(new TenantAcquisitionTask(TenantAcquisitionTask.RESET_EXPIRED_JOBS, tenantJobAcquisition),
+                randomMillis(resetExpiredJobsInterval));
+    }
+
+    protected long randomMillis(int maxMillis) {
+        return maxMillis > 0 ? random.nextInt(maxMillis) : 0L;
+    }
+
+    protected void schedule(TenantAcquisitionTask task, long millisToWait) {
+        if (acquisitionActive) {
+            task.setDueTime(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millisToWait));
+            acquisitionTasks.offer(task);
+        }
+    }
+
+    protected void executeAcquisitionTask(TenantAcquisitionTask task) {
+        TenantJobAcquisition tenantJobAcquisition = task.getTenantJobAcquisition();
+
+        if (task.getType() == TenantAcquisitionTask.TIMER_JOBS) {
+            TenantAwareAcquireTimerJobsRunnable timerJobsRunnable = tenantJobAcquisition.getTimerJobsRunnable();
+            long millisToWait = timerJobsRunnable.acquireTimerJobsOfTenant();
+            scheduleAfterAcquisition(task, millisToWait, timerJobsRunnable.getAcquiredJobCount() > 0);
+
+        } else if (task.getType() == TenantAcquisitionTask.ASYNC_JOBS) {
+            int remainingCapacity = getRemainingCapacity();
+            if (remainingCapacity > 0) {
+                TenantAwareAcquireAsyncJobsDueRunnable asyncJobsRunnable = tenantJobAcquisition.getAsyncJobsRunnable();
+                long millisToWait = asyncJobsRunnable.acquireJobsOfTenant(remainingCapacity);
+                scheduleAfterAcquisition(task, millisToWait, asyncJobsRunnable.getAcquiredJobCount() > 0);
+            } else {
+                // The queue is full, which doesn't say anything about the jobs of the tenant
+                schedule(task, defaultAsyncJobAcquireWaitTimeInMillis);
+            }
+
+        } else {
+            tenantJobAcquisition.getResetExpiredJobsRunnable().resetExpiredJobsOfTenant();
+            schedule(task, resetExpiredJobsInterval);
+        }
+    }
+
+    protected void scheduleAfterAcquisition(TenantAcquisitionTask task, long millisToWait, boolean jobsAcquired) {
+        if (jobsAcquired || millisToWait <= 0) {
+            task.setIdleCount(0);
+            schedule(task, millisToWait);
+
+        } else {
+            int idleCount = Math.min(task.getIdleCount() + 1, MAX_IDLE_COUNT);
+            task.setIdleCount(idleCount);
+            long maxMillisToWait = Math.max(millisToWait, tenantIdleMaxWaitTimeInMillis);
+            schedule(task, Math.min(millisToWait << (idleCount - 1), maxMillisToWait));
+        }
+    }
+
+    protected class AcquireJobsOfTenantsRunnable implements Runnable {
+
+        public void run() {
+            LOGGER.info("starting to acquire jobs of tenants");
+
+            while (true) {
+                TenantAcquisitionTask task;
+                try {
+                    task = acquisitionTasks.take();
+                } catch (InterruptedException e) {
+                    LOGGER.debug("tenant job acquisition wait interrupted");
+                    if (!acquisitionActive) {
+                        break;
+                    }
+                    continue;
+                }
+
+                if (task.getType() == TenantAcquisitionTask.STOP) {
+                    break;
+                }
+
+                // Tasks of removed tenants are dropped
+                TenantJobAcquisition tenantJobAcquisition = task.getTenantJobAcquisition();
+                if (tenantJobAcquisitions.get(tenantJobAcquisition.getTenantId()) != tenantJobAcquisition) {
+                    continue;
+                }
+
+                try {
+                    executeAcquisitionTask(task);
+                } catch (Throwable e) {
+                    LOGGER.error("exception during job acquisition for tenant {}: {}", tenantJobAcquisition.getTenantId(), e.getMessage(), e);
+                    schedule(task, defaultAsyncJobAcquireWaitTimeInMillis);
+                }
+            }
+
+            LOGGER.info("stopped acquiring jobs of tenants");
+        }
+    }
+
+    /**
+     * The runnables of one tenant, which are not started as threads, but are used for one acquisition at a time.
+     */
+    protected static class TenantJobAcquisition {
+
+        protected final String tenantId;
+        protected final TenantAwareAcquireTimerJobsRunnable timerJobsRunnable;
+        protected final TenantAwareAcquireAsyncJobsDueRunnable asyncJobsRunnable;
+        protected final TenantAwareResetExpiredJobsRunnable resetExpiredJobsRunnable;
+
+        public TenantJobAcquisition(String tenantId, TenantAwareAcquireTimerJobsRunnable timerJobsRunnable,
+                TenantAwareAcquireAsyncJobsDueRunnable asyncJobsRunnable, TenantAwareResetExpiredJobsRunnable resetExpiredJobsRunnable) {
+            this.tenantId = tenantId;
+            this.timerJobsRunnable = timerJobsRunnable;
+            this.asyncJobsRunnable = asyncJobsRunnable;
+            this.resetExpiredJobsRunnable = resetExpiredJobsRunnable;
+        }
+
+        public String getTenantId() {
+            return tenantId;
+        }
+
+        public TenantAwareAcquireTimerJobsRunnable getTimerJobsRunnable() {
+            return timerJobsRunnable;
+        }
+
+        public TenantAwareAcquireAsyncJobsDueRunnable getAsyncJobsRunnable() {
+            return asyncJobsRunnable;
+        }
+
+        public TenantAwareResetExpiredJobsRunnable getResetExpiredJobsRunnable() {
+            return resetExpiredJobsRunnable;
+        }
+    }
+
+    protected static class TenantAcquisitionTask implements Delayed {
+
+        public static final int TIMER_JOBS = 1;
+        public static final int ASYNC_JOBS = 2;
+        public static final int RESET_EXPIRED_JOBS = 3;
+        public static final int STOP = 4;
+
+        protected final int type;
+        protected final TenantJobAcquisition tenantJobAcquisition;
+        protected long dueTime;
+        protected int idleCount;
+
+        public TenantAcquisitionTask(int type, TenantJobAcquisition tenantJobAcquisition) {
+            this.type = type;
+            this.tenantJobAcquisition = tenantJobAcquisition;
+        }
+
+        public static TenantAcquisitionTask createStopTask() {
+            // Before any task that is due, so the acquisition threads stop right away
+            TenantAcquisitionTask task = new TenantAcquisitionTask(STOP, null);
+            task.setDueTime(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+            return task;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueTime, ((TenantAcquisitionTask) other).dueTime);
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        public TenantJobAcquisition getTenantJobAcquisition() {
+            return tenantJobAcquisition;
+        }
+
+        public long getDueTime() {
+            return dueTime;
+        }
+
+        public void setDueTime(long dueTime) {
+            this.dueTime = dueTime;
+        }
+
+        public int getIdleCount() {
+            return idleCount;
+        }
+
+        public void setIdleCount(int idleCount) {
+            this.idleCount = idleCount;
+        }
+    }
+
+    public int getAcquisitionThreadCount() {
+        return acquisitionThreadCount;
+    }
+
+    /**
+     * Sets the number of threads that acquire the jobs of all tenants. 2 by default.
+     */
+    public void setAcquisitionThreadCount(int acquisitionThreadCount) {
+        this.acquisitionThreadCount = acquisitionThreadCount;
+    }
+
+    public int getTenantIdleMaxWaitTimeInMillis() {
+        return tenantIdleMaxWaitTimeInMillis;
+    }
+
+    /**
+     * Sets the maximum time between two acquisitions for a tenant that had no jobs the last times. 60 seconds by default.
+     */
+    public void setTenantIdleMaxWaitTimeInMillis(int tenantIdleMaxWaitTimeInMillis) {
+        this.tenantIdleMaxWaitTimeInMillis = tenantIdleMaxWaitTimeInMillis;
+    }
+
+}
@@ -13,7 +13,9 @@
 package org.flowable.engine.impl.bpmn.behavior;
 
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.flowable.engine.common.impl.context.Context;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
@@ -64,21 +66,15 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
 
         lockFirstParentScope(execution);
 
-        Collection<ExecutionEntity> allExecutions = executionEntityManager.findChildExecutionsByProcessInstanceId(execution.getProcessInstanceId());
-        Iterator<ExecutionEntity> executionIterator = allExecutions.iterator();
-        boolean oneExecutionCanReachGateway = false;
-        while (!oneExecutionCanReachGateway && executionIterator.hasNext()) {
-            ExecutionEntity executionEntity = executionIterator.next();
-            if (!executionEntity.getActivityId().equals(execution.getCurrentActivityId())) {
-                boolean canReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId());
-                if (canReachGateway) {
-                    oneExecutionCanReachGateway = true;
-                }
-            } else if (executionEntity.getActivityId().equals(execution.getCurrentActivityId()) && executionEntity.isActive()) {
-                // Special case: the execution has reached the inc gw, but the operation hasn't been executed yet for that execution
-                oneExecutionCanReachGateway = true;
-            }
+        boolean scopedJoin = isScopedJoin(execution);
+        Collection<ExecutionEntity> executionsToCheck = null;
+        if (scopedJoin) {
+            // An execution in a nested scope can only reach the gateway through its scope execution
+            executionsToCheck = executionEntityManager.findChildExecutionsByParentExecutionId(execution.getParentId());
+        } else {
+            executionsToCheck = executionEntityManager.findChildExecutionsByProcessInstanceId(execution.getProcessInstanceId());
         }
+        boolean oneExecutionCanReachGateway = canOneExecutionReachGateway(execution, executionsToCheck);
 
         // If no execution can reach the gateway, the gateway activates and executes fork behavior
         if (!oneExecutionCanReachGateway) {
@@ -86,10 +82,17 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
             LOGGER.debug("Inclusive gateway cannot be reached by any execution and is activated");
 
             // Kill all executions here (except the incoming)
-            Collection<ExecutionEntity> executionsInGateway = executionEntityManager
-                    .findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+            Collection<ExecutionEntity> executionsInGateway = null;
+            if (scopedJoin) {
+                executionsInGateway = executionEntityManager.findExecutionsByParentExecutionAndActivityIds(
+                        execution.getParentId(), Collections.singletonList(execution.getCurrentActivityId()));
+            } else {
+                executionsInGateway = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(
+                        execution.getCurrentActivityId(), execution.getProcessInstanceId());
+            }
+
             for (ExecutionEntity executionEntityInGateway : executionsInGateway) {
-                if (!executionEntityInGateway.getId().equals(execution.getId())) {
+                if (!executionEntityInGateway.getId().equals(execution.getId()) && !executionEntityInGateway.isActive()) {
                     CommandContextUtil.getHistoryManager(commandContext).recordActivityEnd(executionEntityInGateway, null);
                     executionEntityManager.deleteExecutionAndRelatedData(executionEntityInGateway, null, false);
                 }
@@ -100,4 +103,38 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
             CommandContextUtil.getAgenda(commandContext).planTakeOutgoingSequenceFlowsOperation(execution, true);
         }
     }
+
+    /**
+     * Returns true when one of the given executions can still reach the gateway, or has reached it but is still active.
+     */
+    protected boolean canOneExecutionReachGateway(ExecutionEntity execution, Collection<ExecutionEntity> executions) {
+        // Many executions can wait in the same activity, the reachability is only determined once per activity
+        Set<String> activityIdsNotReachingGateway = new HashSet<String>();
+        for (ExecutionEntity executionEntity : executions) {
+            if (!executionEntity.getActivityId().equals(execution.getCurrentActivityId())) {
+                if (activityIdsNotReachingGateway.contains(executionEntity.getActivityId())) {
+                    continue;
+                }
+
+                if (ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId())) {
+                    return true;
+                }
+                activityIdsNotReachingGateway.add(executionEntity.getActivityId());
+
+            } else if (executionEntity.isActive()) {
+                // Special case: the execution has reached the inc gw, but the operation hasn't been executed yet for that execution
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The scoped join only considers the executions of the same parent scope,
+     * which are all executions that can arrive through the sequence flows of the gateway.
+     */
+    protected boolean isScopedJoin(ExecutionEntity execution) {
+        return execution.getParentId() != null
+                && CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableInclusiveGatewayScopedJoin();
+    }
 }
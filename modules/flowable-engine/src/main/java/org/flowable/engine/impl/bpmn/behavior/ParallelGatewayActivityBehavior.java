@@ -15,6 +15,7 @@ package org.flowable.engine.impl.bpmn.behavior;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.flowable.bpmn.model.Activity;
@@ -68,19 +69,27 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
         lockFirstParentScope(execution);
 
-        DelegateExecution multiInstanceExecution = null;
-        if (hasMultiInstanceParent(parallelGateway)) {
-            multiInstanceExecution = findMultiInstanceParentExecution(execution);
-        }
-
         ExecutionEntityManager executionEntityManager = CommandContextUtil.getExecutionEntityManager();
-        Collection<ExecutionEntity> joinedExecutions = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
-        if (multiInstanceExecution != null) {
-            joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
+        Collection<ExecutionEntity> joinedExecutions = null;
+        int nbrOfExecutionsCurrentlyJoined = 0;
+        if (isArrivalCountJoin(execution)) {
+            // The joined executions are only fetched when the gateway activates
+            nbrOfExecutionsCurrentlyJoined = (int) executionEntityManager.countInactiveExecutionsByParentIdAndActivityId(execution.getParentId(), execution.getCurrentActivityId());
+
+        } else {
+            DelegateExecution multiInstanceExecution = null;
+            if (hasMultiInstanceParent(parallelGateway)) {
+                multiInstanceExecution = findMultiInstanceParentExecution(execution);
+            }
+
+            joinedExecutions = executionEntityManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(execution.getCurrentActivityId(), execution.getProcessInstanceId());
+            if (multiInstanceExecution != null) {
+                joinedExecutions = cleanJoinedExecutions(joinedExecutions, multiInstanceExecution);
+            }
+            nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
         }
 
         int nbrOfExecutionsToJoin = parallelGateway.getIncomingFlows().size();
-        int nbrOfExecutionsCurrentlyJoined = joinedExecutions.size();
 
         // Fork
 
@@ -96,6 +105,10 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
             if (parallelGateway.getIncomingFlows().size() > 1) {
 
+                if (joinedExecutions == null) {
+                    joinedExecutions = findJoinedExecutions(execution);
+                }
+
                 // All (now inactive) children are deleted.
                 for (ExecutionEntity joinedExecution : joinedExecutions) {
 
@@ -117,6 +130,27 @@ public class ParallelGatewayActivityBehavior extends GatewayActivityBehavior {
 
     }
 
+    /**
+     * Joining by counting the inactive executions in the gateway is only possible for executions in the same parent scope,
+     * which is the case for all executions arriving through the sequence flows of the gateway.
+     */
+    protected boolean isArrivalCountJoin(DelegateExecution execution) {
+        return execution.getParentId() != null
+                && CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableParallelGatewayArrivalCountJoin();
+    }
+
+    protected Collection<ExecutionEntity> findJoinedExecutions(DelegateExecution execution) {
+        List<ExecutionEntity> joinedExecutions = new ArrayList<ExecutionEntity>();
+        List<ExecutionEntity> executionsInGateway = CommandContextUtil.getExecutionEntityManager()
+                .findExecutionsByParentExecutionAndActivityIds(execution.getParentId(), Collections.singletonList(execution.getCurrentActivityId()));
+        for (ExecutionEntity executionInGateway : executionsInGateway) {
+            if (!executionInGateway.isActive()) {
+                joinedExecutions.add(executionInGateway);
+            }
+        }
+        return joinedExecutions;
+    }
+
     protected Collection<ExecutionEntity> cleanJoinedExecutions(Collection<ExecutionEntity> joinedExecutions, DelegateExecution multiInstanceExecution) {
         List<ExecutionEntity> cleanedExecutions = new ArrayList<ExecutionEntity>();
         for (ExecutionEntity executionEntity : joinedExecutions) {
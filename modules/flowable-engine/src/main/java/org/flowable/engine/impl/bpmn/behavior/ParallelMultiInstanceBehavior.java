@@ -31,6 +31,7 @@ import org.flowable.engine.common.impl.util.CollectionUtil;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.impl.bpmn.helper.ScopeUtil;
 import org.flowable.engine.impl.delegate.ActivityBehavior;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCompletionJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -104,6 +105,11 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
      */
     public void leave(DelegateExecution execution) {
 
+        if (isLazyCompletionEnabled()) {
+            leaveWithLazyCompletion(execution);
+            return;
+        }
+
         boolean zeroNrOfInstances = false;
         if (resolveNrOfInstances(execution) == 0) {
             // Empty collection, just leave.
@@ -148,30 +154,120 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
                     leavingExecution = executionEntity;
                 }
 
-                Activity activity = (Activity) execution.getCurrentFlowElement();
-                verifyCompensation(execution, leavingExecution, activity);
-                verifyCallActivity(leavingExecution, activity);
-                
-                if (isCompletionConditionSatisfied) {
-                    LinkedList<DelegateExecution> toVerify = new LinkedList<>(miRootExecution.getExecutions());
-                    while (!toVerify.isEmpty()) {
-                        DelegateExecution childExecution = toVerify.pop();
-                        if (((ExecutionEntity) childExecution).isInserted()) {
-                            childExecution.inactivate();
-                        }
-                        
-                        List<DelegateExecution> childExecutions = (List<DelegateExecution>) childExecution.getExecutions();
-                        if (childExecutions != null && !childExecutions.isEmpty()) {
-                            toVerify.addAll(childExecutions);
-                        }
-                    }
+                leaveMultiInstance(execution, miRootExecution, leavingExecution, isCompletionConditionSatisfied);
+            }
+
+        } else {
+            super.leave(execution);
+        }
+    }
+
+    protected void leaveMultiInstance(DelegateExecution execution, DelegateExecution miRootExecution, ExecutionEntity leavingExecution, boolean isCompletionConditionSatisfied) {
+        Activity activity = (Activity) execution.getCurrentFlowElement();
+        verifyCompensation(execution, leavingExecution, activity);
+        verifyCallActivity(leavingExecution, activity);
+        
+        if (isCompletionConditionSatisfied) {
+            LinkedList<DelegateExecution> toVerify = new LinkedList<>(miRootExecution.getExecutions());
+            while (!toVerify.isEmpty()) {
+                DelegateExecution childExecution = toVerify.pop();
+                if (((ExecutionEntity) childExecution).isInserted()) {
+                    childExecution.inactivate();
                 }
                 
-                super.leave(leavingExecution);
+                List<DelegateExecution> childExecutions = (List<DelegateExecution>) childExecution.getExecutions();
+                if (childExecutions != null && !childExecutions.isEmpty()) {
+                    toVerify.addAll(childExecutions);
+                }
             }
+        }
+        
+        super.leave(leavingExecution);
+    }
 
-        } else {
+    protected boolean isLazyCompletionEnabled() {
+        return CommandContextUtil.getProcessEngineConfiguration().getPerformanceSettings().isEnableLazyParallelMultiInstanceCompletion();
+    }
+
+    /**
+     * Handles the completion of one of the parallel instances when lazy completion is enabled: the instance only marks its own execution
+     * as inactive, the loop variables on the multi-instance root execution are not updated and the root execution is not locked.
+     * The number of completed instances is counted from the inactive child executions, and the root execution is only locked
+     * and updated when the multi-instance activity is left.
+     * 
+     * Instances completing concurrently in different transactions can each count the other one as still active.
+     * For that case, a job checks the count again once the transaction is committed, see {@link ParallelMultiInstanceCompletionJobHandler}.
+     */
+    protected void leaveWithLazyCompletion(DelegateExecution execution) {
+        if (resolveNrOfInstances(execution) == 0) {
             super.leave(execution);
+            CommandContextUtil.getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
+            callActivityEndListeners(execution);
+            return;
+        }
+
+        CommandContextUtil.getHistoryManager().recordActivityEnd((ExecutionEntity) execution, null);
+        callActivityEndListeners(execution);
+
+        ExecutionEntity executionEntity = (ExecutionEntity) execution;
+        ExecutionEntity miRootExecution = (ExecutionEntity) getMultiInstanceRootExecution(execution);
+        if (miRootExecution == null || executionEntity.getParent() == null) {
+            super.leave(execution);
+            return;
+        }
+
+        executionEntity.inactivate();
+
+        if (!completeIfFinished(miRootExecution)) {
+            ParallelMultiInstanceCompletionJobHandler.schedule(miRootExecution, CommandContextUtil.getCommandContext());
+        }
+    }
+
+    /**
+     * Counts the completed instances of the multi-instance root execution and leaves the multi-instance activity
+     * when all instances are completed or the completion condition is satisfied.
+     * 
+     * @return true if the multi-instance activity was left
+     */
+    public boolean completeIfFinished(ExecutionEntity miRootExecution) {
+        int nrOfInstances = getLoopVariable(miRootExecution, NUMBER_OF_INSTANCES);
+        int nrOfCompletedInstances = countCompletedInstances(miRootExecution);
+        int nrOfActiveInstances = nrOfInstances - nrOfCompletedInstances;
+
+        boolean isCompletionConditionSatisfied = completionConditionSatisfied(miRootExecution, nrOfCompletedInstances, nrOfActiveInstances);
+        if (nrOfCompletedInstances < nrOfInstances && !isCompletionConditionSatisfied) {
+            return false;
+        }
+
+        lockFirstParentScope(miRootExecution);
+        setLoopVariable(miRootExecution, NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+        setLoopVariable(miRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+        logLoopDetails(miRootExecution, "instances completed", 0, nrOfCompletedInstances, nrOfActiveInstances, nrOfInstances);
+
+        // the jobs scheduled to check the completion later on aren't needed anymore
+        ParallelMultiInstanceCompletionJobHandler.deletePendingJobs(miRootExecution, CommandContextUtil.getCommandContext());
+        leaveMultiInstance(miRootExecution, miRootExecution, miRootExecution, isCompletionConditionSatisfied);
+        return true;
+    }
+
+    protected int countCompletedInstances(ExecutionEntity miRootExecution) {
+        return (int) CommandContextUtil.getExecutionEntityManager().countInactiveExecutionsByParentIdAndActivityId(miRootExecution.getId(), activity.getId());
+    }
+
+    /**
+     * Evaluates the completion condition with the counted instances. The counts are only visible to the completion condition
+     * as transient variables, the stored loop variables are updated when the multi-instance activity is left.
+     */
+    protected boolean completionConditionSatisfied(ExecutionEntity miRootExecution, int nrOfCompletedInstances, int nrOfActiveInstances) {
+        miRootExecution.setTransientVariableLocal(NUMBER_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+        miRootExecution.setTransientVariableLocal(NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+        try {
+            return completionConditionSatisfied(miRootExecution);
+
+        } finally {
+            // the transient variables would otherwise hide the stored loop variables, also when deleting the execution
+            miRootExecution.removeTransientVariableLocal(NUMBER_OF_COMPLETED_INSTANCES);
+            miRootExecution.removeTransientVariableLocal(NUMBER_OF_ACTIVE_INSTANCES);
         }
     }
 
@@ -86,6 +86,10 @@ public class BpmnDeployer implements Deployer {
             setProcessDefinitionVersionsAndIds(parsedDeployment, mapOfNewProcessDefinitionToPreviousVersion);
             persistProcessDefinitionsAndAuthorizations(parsedDeployment);
             updateTimersAndEvents(parsedDeployment, mapOfNewProcessDefinitionToPreviousVersion);
+
+            if (!parsedDeployment.getAllProcessDefinitions().isEmpty()) {
+                CommandContextUtil.getProcessEngineConfiguration().getDeploymentManager().invalidateLatestProcessDefinitionCache();
+            }
         } else {
             makeProcessDefinitionsConsistentWithPersistedVersions(parsedDeployment);
         }
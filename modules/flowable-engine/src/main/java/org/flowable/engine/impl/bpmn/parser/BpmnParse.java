@@ -36,11 +36,14 @@ import org.flowable.bpmn.model.SequenceFlow;
 import org.flowable.bpmn.model.SubProcess;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.event.EventDispatchAction;
 import org.flowable.engine.common.impl.event.FlowableEventSupport;
 import org.flowable.engine.common.impl.util.io.InputStreamSource;
 import org.flowable.engine.common.impl.util.io.StreamSource;
 import org.flowable.engine.common.impl.util.io.StringStreamSource;
 import org.flowable.engine.common.impl.util.io.UrlStreamSource;
+import org.flowable.engine.delegate.event.impl.BpmnModelEventDispatchAction;
+import org.flowable.engine.delegate.event.impl.BpmnModelEventSupport;
 import org.flowable.engine.impl.bpmn.parser.factory.ActivityBehaviorFactory;
 import org.flowable.engine.impl.bpmn.parser.factory.ListenerFactory;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -187,7 +190,7 @@ public class BpmnParse implements BpmnXMLConstants {
             }
 
             bpmnModel.setSourceSystemId(sourceSystemId);
-            bpmnModel.setEventSupport(new FlowableEventSupport());
+            bpmnModel.setEventSupport(createEventSupport(processEngineConfiguration));
 
             // Validation successful (or no validation)
 
@@ -210,6 +213,17 @@ public class BpmnParse implements BpmnXMLConstants {
         return this;
     }
 
+    protected FlowableEventSupport createEventSupport(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        if (processEngineConfiguration != null && processEngineConfiguration.getAdditionalEventDispatchActions() != null) {
+            for (EventDispatchAction eventDispatchAction : processEngineConfiguration.getAdditionalEventDispatchActions()) {
+                if (eventDispatchAction instanceof BpmnModelEventDispatchAction) {
+                    return new BpmnModelEventSupport((BpmnModelEventDispatchAction) eventDispatchAction);
+                }
+            }
+        }
+        return new FlowableEventSupport();
+    }
+
     public BpmnParse name(String name) {
         this.name = name;
         return this;
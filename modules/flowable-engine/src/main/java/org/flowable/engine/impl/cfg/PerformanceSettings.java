@@ -53,6 +53,47 @@ public class PerformanceSettings {
      */
     protected boolean enableLocalization = true;
 
+    /**
+     * If true, deleting process instances with their history (for example when deleting a deployment with cascade) removes the runtime data of
+     * the process instances with a delete statement per table for a batch of process instances, instead of fetching and deleting every execution,
+     * task, job, variable, etc. one by one. Process instances with call activities or sub tasks, and process instances of process definitions
+     * with task delete listeners, are always deleted one by one.
+     * 
+     * The delete events (ENTITY_DELETED, JOB_CANCELED, ...) are still dispatched, but the runtime data of a batch is then fetched with a query per
+     * table before it is deleted. Task delete listeners are not called and the activity cancelled events are only dispatched for user tasks, so this
+     * is disabled by default.
+     */
+    protected boolean enableBulkProcessInstanceDelete;
+
+    /**
+     * The number of process instances that are deleted with one set of delete statements (see <code>enableBulkProcessInstanceDelete</code>).
+     * Kept below 1000, as some databases limit the number of elements in an in clause.
+     */
+    protected int bulkProcessInstanceDeleteBatchSize = 500;
+
+    /**
+     * Experimental. If true, a completed instance of a parallel multi-instance activity only marks its own execution as inactive,
+     * instead of locking the multi-instance root execution and updating the nrOfCompletedInstances and nrOfActiveInstances variables on it.
+     * This avoids optimistic locking exceptions when many instances complete at the same time (for example with async activities).
+     * The number of completed instances is counted when checking whether the multi-instance activity can be left,
+     * so while the activity is active, the loop variables are only up to date for the completion condition.
+     */
+    protected boolean enableLazyParallelMultiInstanceCompletion;
+
+    /**
+     * If true, a joining parallel gateway counts the inactive executions of the same parent scope that are waiting in the gateway,
+     * instead of fetching all inactive executions of the process instance in the gateway for every arriving execution.
+     * The waiting executions are only fetched when the gateway activates.
+     */
+    protected boolean enableParallelGatewayArrivalCountJoin;
+
+    /**
+     * If true, a joining inclusive gateway only checks whether an execution of the same parent scope can still reach the gateway,
+     * instead of every execution of the process instance. The gateway doesn't activate on the number of waiting executions,
+     * as several of them can have arrived through the same incoming sequence flow.
+     */
+    protected boolean enableInclusiveGatewayScopedJoin;
+
     public boolean isEnableEagerExecutionTreeFetching() {
         return enableEagerExecutionTreeFetching;
     }
@@ -101,4 +142,44 @@ public class PerformanceSettings {
         this.enableLocalization = enableLocalization;
     }
 
+    public boolean isEnableBulkProcessInstanceDelete() {
+        return enableBulkProcessInstanceDelete;
+    }
+
+    public void setEnableBulkProcessInstanceDelete(boolean enableBulkProcessInstanceDelete) {
+        this.enableBulkProcessInstanceDelete = enableBulkProcessInstanceDelete;
+    }
+
+    public int getBulkProcessInstanceDeleteBatchSize() {
+        return bulkProcessInstanceDeleteBatchSize;
+    }
+
+    public void setBulkProcessInstanceDeleteBatchSize(int bulkProcessInstanceDeleteBatchSize) {
+        this.bulkProcessInstanceDeleteBatchSize = bulkProcessInstanceDeleteBatchSize;
+    }
+
+    public boolean isEnableLazyParallelMultiInstanceCompletion() {
+        return enableLazyParallelMultiInstanceCompletion;
+    }
+
+    public void setEnableLazyParallelMultiInstanceCompletion(boolean enableLazyParallelMultiInstanceCompletion) {
+        this.enableLazyParallelMultiInstanceCompletion = enableLazyParallelMultiInstanceCompletion;
+    }
+
+    public boolean isEnableParallelGatewayArrivalCountJoin() {
+        return enableParallelGatewayArrivalCountJoin;
+    }
+
+    public void setEnableParallelGatewayArrivalCountJoin(boolean enableParallelGatewayArrivalCountJoin) {
+        this.enableParallelGatewayArrivalCountJoin = enableParallelGatewayArrivalCountJoin;
+    }
+
+    public boolean isEnableInclusiveGatewayScopedJoin() {
+        return enableInclusiveGatewayScopedJoin;
+    }
+
+    public void setEnableInclusiveGatewayScopedJoin(boolean enableInclusiveGatewayScopedJoin) {
+        this.enableInclusiveGatewayScopedJoin = enableInclusiveGatewayScopedJoin;
+    }
+
 }
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.cfg;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.Reader;
 import java.net.URL;
@@ -189,12 +190,17 @@ import org.flowable.engine.impl.form.StringFormType;
 import org.flowable.engine.impl.history.DefaultHistoryManager;
 import org.flowable.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.history.HistoryManager;
+import org.flowable.engine.impl.history.async.AsyncHistoryBinaryCodec;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobBinaryHandler;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobHandler;
 import org.flowable.engine.impl.history.async.AsyncHistoryJobZippedHandler;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournal;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalListener;
 import org.flowable.engine.impl.history.async.AsyncHistoryListener;
 import org.flowable.engine.impl.history.async.AsyncHistoryManager;
 import org.flowable.engine.impl.history.async.AsyncHistorySession;
 import org.flowable.engine.impl.history.async.AsyncHistorySessionFactory;
+import org.flowable.engine.impl.history.async.BinaryAsyncHistoryJobProducer;
 import org.flowable.engine.impl.history.async.DefaultAsyncHistoryJobExecutor;
 import org.flowable.engine.impl.history.async.DefaultAsyncHistoryJobProducer;
 import org.flowable.engine.impl.interceptor.BpmnOverrideContextInterceptor;
@@ -202,19 +208,24 @@ import org.flowable.engine.impl.interceptor.CommandInvoker;
 import org.flowable.engine.impl.interceptor.DelegateInterceptor;
 import org.flowable.engine.impl.interceptor.LoggingExecutionTreeCommandInvoker;
 import org.flowable.engine.impl.jobexecutor.AsyncContinuationJobHandler;
+import org.flowable.engine.impl.jobexecutor.AsyncTriggerJobHandler;
 import org.flowable.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.flowable.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.flowable.engine.impl.jobexecutor.HistoryJobHandler;
 import org.flowable.engine.impl.jobexecutor.JobHandler;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCompletionJobHandler;
 import org.flowable.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerActivateProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.flowable.engine.impl.jobexecutor.TimerSuspendProcessDefinitionHandler;
 import org.flowable.engine.impl.jobexecutor.TriggerTimerEventJobHandler;
+import org.flowable.engine.impl.persistence.deploy.DbLatestProcessDefinitionCacheInvalidator;
 import org.flowable.engine.impl.persistence.deploy.DefaultDeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.Deployer;
 import org.flowable.engine.impl.persistence.deploy.DeploymentCache;
 import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.LatestProcessDefinitionCache;
+import org.flowable.engine.impl.persistence.deploy.LatestProcessDefinitionCacheInvalidator;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.flowable.engine.impl.persistence.deploy.ProcessDefinitionInfoCache;
 import org.flowable.engine.impl.persistence.entity.AttachmentEntityManager;
@@ -463,8 +474,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected boolean isAsyncHistoryJsonGzipCompressionEnabled;
     protected boolean isAsyncHistoryJsonGroupingEnabled;
     protected int asyncHistoryJsonGroupingThreshold = 10;
+
+    /**
+     * Whether to encode the historic data of a transaction in one history job with the compact binary encoding of the {@link AsyncHistoryBinaryCodec},
+     * instead of as JSON. Only used when no {@link #asyncHistoryListener} is configured.
+     *
+     * Default value = false.
+     */
+    protected boolean isAsyncHistoryBinaryEncodingEnabled;
+
+    /**
+     * Whether to compress the binary encoded historic data, with a preset dictionary of common names and values.
+     * Only used when {@link #isAsyncHistoryBinaryEncodingEnabled} is true.
+     *
+     * Default value = false.
+     */
+    protected boolean isAsyncHistoryBinaryCompressionEnabled;
     protected AsyncHistoryListener asyncHistoryListener;
 
+    /**
+     * When set, and no {@link #asyncHistoryListener} is configured, the historic data is appended to a journal in this directory on the local disk
+     * instead of being inserted as history jobs. The journal is applied to the history tables in batches by a dedicated thread,
+     * see {@link AsyncHistoryJournalListener}. The directory should not be shared with other engines.
+     *
+     * Default value = null (disabled).
+     */
+    protected String asyncHistoryJournalDirectory;
+
+    /**
+     * Required when {@link #asyncHistoryJournalDirectory} is set. The position up to which the journal is applied is stored in the database
+     * with this name, so it needs to be unique for the engines sharing a database and stay the same when the engine is restarted.
+     * At most 30 characters.
+     */
+    protected String asyncHistoryJournalName;
+
     // Job Manager
 
     protected JobManager jobManager;
@@ -499,6 +542,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     protected int processDefinitionInfoCacheLimit = -1; // By default, no limit
     protected ProcessDefinitionInfoCache processDefinitionInfoCache;
 
+    /**
+     * Caches the id of the latest process definition version per key and tenant, so starting a process instance by key
+     * doesn't need to query the latest version. Engines sharing the database see new versions within the poll interval
+     * of the {@link LatestProcessDefinitionCacheInvalidator}, which by default checks a version stamp in the database.
+     *
+     * Disabled by default: until the stamp is checked again, an engine can start process instances of a version that another engine
+     * has replaced or deleted. Only enable it when a single engine deploys, or when that delay is acceptable.
+     */
+    protected boolean enableLatestProcessDefinitionCache;
+    protected long latestProcessDefinitionCachePollInterval = 5000L;
+    protected LatestProcessDefinitionCache latestProcessDefinitionCache;
+    protected LatestProcessDefinitionCacheInvalidator latestProcessDefinitionCacheInvalidator;
+
     protected int knowledgeBaseCacheLimit = -1;
     protected DeploymentCache<Object> knowledgeBaseCache;
 
@@ -552,6 +608,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorThreadPoolQueueSize = 100;
 
+    /**
+     * The size of the in-memory queue holding the jobs that are locked by the async executor (like the async jobs created by this engine), but were rejected because the thread pool queue was full.
+     * These jobs are executed as soon as a thread becomes available, instead of being unacquired and acquired again by polling the database.
+     * When this queue is full too, the job is unacquired, and the acquisition thread is woken up as soon as there's capacity again.
+     *
+     * Default value = 0 (disabled). (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorReadyQueueSize;
+
     /**
      * The queue onto which jobs will be placed before they are actually executed. Threads form the async executor threadpool will take work from this queue.
      *
@@ -639,6 +704,37 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int asyncExecutorAsyncJobLockTimeInMillis = 5 * 60 * 1000;
 
+    /**
+     * When true, the acquisition threads of the async executor lock all jobs of one acquisition page with a single set-based update statement, instead of one update per job.
+     * Jobs that were locked concurrently by another executor are simply skipped, so no optimistic locking exceptions are thrown during acquisition.
+     * On databases that support it (PostgreSQL), the jobs are selected with 'for update skip locked' so concurrent executors don't compete for the same rows.
+     *
+     * Mostly useful in combination with a high {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} and {@link #asyncExecutorMaxTimerJobsPerAcquisition}. Default value = false.
+     *
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected boolean asyncExecutorBulkJobLocking;
+
+    /**
+     * The number of partitions the async jobs are divided in. Every new async job gets a partition, derived from its process instance id.
+     * The partitions are leased by the running async executors (the leases are stored in the property table and renewed periodically),
+     * and each async executor only acquires the jobs of the partitions it holds. When an executor stops, or its leases expire, its partitions
+     * are taken over by the other executors. This avoids that all executors compete for the same jobs in a cluster.
+     *
+     * Jobs without a partition (e.g. created before partitioning was enabled) can be acquired by every executor. Default value = 0 (disabled).
+     *
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorJobPartitionCount;
+
+    /**
+     * The amount of time (in milliseconds) a lease on a job partition is valid. The leases are renewed when half of this time has passed.
+     * Default value = 60 seconds.
+     *
+     * (This property is only applicable when using the {@link DefaultAsyncJobExecutor}).
+     */
+    protected int asyncExecutorJobPartitionLeaseTimeInMillis = 60 * 1000;
+
     /**
      * The amount of time (in milliseconds) that is between two consecutive checks of 'expired jobs'. Expired jobs are jobs that were locked (a lock owner + time was written by some executor, but the
      * job was never completed).
@@ -791,6 +887,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
      */
     protected int maxNrOfStatementsInBulkInsert = 100;
 
+    /**
+     * If set to true, the updates and deletes of one flush are grouped per statement and sent to the database as JDBC batches, instead of one round trip per entity.
+     * Optimistic locking failures are still detected per entity, using the update counts returned by the batch.
+     * Only enable this when the JDBC driver returns update counts for batched statements (some older Oracle drivers don't). Default false.
+     */
+    protected boolean isBatchFlushEnabled;
+
     public int DEFAULT_MAX_NR_OF_STATEMENTS_BULK_INSERT_SQL_SERVER = 70; // currently Execution has most params (28). 2000 / 28 = 71.
 
     protected ObjectMapper objectMapper = new ObjectMapper();
@@ -882,6 +985,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         initBpmnParser();
         initProcessDefinitionCache();
         initProcessDefinitionInfoCache();
+        initLatestProcessDefinitionCache();
         initAppResourceCache();
         initKnowledgeBaseCache();
         initJobHandlers();
@@ -1299,6 +1403,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
         dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
         dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
+        dbSqlSessionFactory.setBatchFlushEnabled(isBatchFlushEnabled);
         
         initDbSqlSessionFactoryEntitySettings();
         
@@ -1339,6 +1444,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
 
     protected void initDefaultAsyncHistoryListener() {
+        if (asyncHistoryJournalDirectory != null) {
+            if (asyncHistoryJournalName == null) {
+                throw new FlowableException("asyncHistoryJournalName is required when asyncHistoryJournalDirectory is set");
+            }
+            asyncHistoryListener = new AsyncHistoryJournalListener(new AsyncHistoryJournal(new File(asyncHistoryJournalDirectory)), asyncHistoryJournalName);
+            return;
+        }
+        if (isAsyncHistoryBinaryEncodingEnabled) {
+            BinaryAsyncHistoryJobProducer binaryAsyncHistoryJobProducer = new BinaryAsyncHistoryJobProducer();
+            binaryAsyncHistoryJobProducer.setCompressionEnabled(isAsyncHistoryBinaryCompressionEnabled);
+            asyncHistoryListener = binaryAsyncHistoryJobProducer;
+            return;
+        }
+
         DefaultAsyncHistoryJobProducer asyncHistoryJobProducer = new DefaultAsyncHistoryJobProducer();
         //asyncHistoryJobProducer.setJsonGzipCompressionEnabled(isAsyncHistoryJsonGzipCompressionEnabled);
         //asyncHistoryJobProducer.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
@@ -1447,6 +1566,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         }
     }
 
+    public void initLatestProcessDefinitionCache() {
+        if (enableLatestProcessDefinitionCache) {
+            if (latestProcessDefinitionCache == null) {
+                latestProcessDefinitionCache = new LatestProcessDefinitionCache();
+            }
+            if (latestProcessDefinitionCacheInvalidator == null) {
+                latestProcessDefinitionCacheInvalidator = new DbLatestProcessDefinitionCacheInvalidator(latestProcessDefinitionCachePollInterval);
+            }
+        }
+    }
+
     public void initAppResourceCache() {
         if (appResourceCache == null) {
             if (appResourceCacheLimit <= 0) {
@@ -1485,6 +1615,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
             deploymentManager.setProcessDefinitionCache(processDefinitionCache);
             deploymentManager.setProcessDefinitionInfoCache(processDefinitionInfoCache);
+            deploymentManager.setLatestProcessDefinitionCache(latestProcessDefinitionCache);
+            deploymentManager.setLatestProcessDefinitionCacheInvalidator(latestProcessDefinitionCacheInvalidator);
             deploymentManager.setAppResourceCache(appResourceCache);
             deploymentManager.setKnowledgeBaseCache(knowledgeBaseCache);
             deploymentManager.setProcessEngineConfiguration(this);
@@ -1691,6 +1823,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         TriggerTimerEventJobHandler triggerTimerEventJobHandler = new TriggerTimerEventJobHandler();
         jobHandlers.put(triggerTimerEventJobHandler.getType(), triggerTimerEventJobHandler);
 
+        AsyncTriggerJobHandler asyncTriggerJobHandler = new AsyncTriggerJobHandler();
+        jobHandlers.put(asyncTriggerJobHandler.getType(), asyncTriggerJobHandler);
+
         TimerStartEventJobHandler timerStartEvent = new TimerStartEventJobHandler();
         jobHandlers.put(timerStartEvent.getType(), timerStartEvent);
 
@@ -1703,6 +1838,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
         jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+        ParallelMultiInstanceCompletionJobHandler parallelMultiInstanceCompletionJobHandler = new ParallelMultiInstanceCompletionJobHandler();
+        jobHandlers.put(parallelMultiInstanceCompletionJobHandler.getType(), parallelMultiInstanceCompletionJobHandler);
+
         // if we have custom job handlers, register them
         if (getCustomJobHandlers() != null) {
             for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1724,6 +1862,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             asyncHistoryJobZippedHandler.initDefaultTransformers();
             asyncHistoryJobZippedHandler.setAsyncHistoryJsonGroupingEnabled(isAsyncHistoryJsonGroupingEnabled);
             historyJobHandlers.put(asyncHistoryJobZippedHandler.getType(), asyncHistoryJobZippedHandler);
+
+            AsyncHistoryJobBinaryHandler asyncHistoryJobBinaryHandler = new AsyncHistoryJobBinaryHandler();
+            asyncHistoryJobBinaryHandler.initDefaultTransformers();
+            historyJobHandlers.put(asyncHistoryJobBinaryHandler.getType(), asyncHistoryJobBinaryHandler);
     
             if (getCustomHistoryJobHandlers() != null) {
                 for (HistoryJobHandler customJobHandler : getCustomHistoryJobHandlers()) {
@@ -1756,6 +1898,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
                 defaultAsyncExecutor.setThreadPoolQueue(asyncExecutorThreadPoolQueue);
             }
             defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
+            defaultAsyncExecutor.setReadyQueueSize(asyncExecutorReadyQueueSize);
 
             // Acquisition wait time
             defaultAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(asyncExecutorDefaultTimerJobAcquireWaitTime);
@@ -1767,6 +1910,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             // Job locking
             defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
             defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
+            defaultAsyncExecutor.setBulkJobLocking(asyncExecutorBulkJobLocking);
+            defaultAsyncExecutor.setJobPartitionCount(asyncExecutorJobPartitionCount);
+            defaultAsyncExecutor.setJobPartitionLeaseTimeInMillis(asyncExecutorJobPartitionLeaseTimeInMillis);
             if (asyncExecutorLockOwner != null) {
                 defaultAsyncExecutor.setLockOwner(asyncExecutorLockOwner);
             }
@@ -1811,6 +1957,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
             // Job locking
             defaultAsyncHistoryExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
+            defaultAsyncHistoryExecutor.setBulkJobLocking(asyncExecutorBulkJobLocking);
             if (asyncExecutorLockOwner != null) {
                 defaultAsyncHistoryExecutor.setLockOwner(asyncExecutorLockOwner);
             }
@@ -1850,6 +1997,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
             dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
             idGenerator = dbIdGenerator;
+
+        } else if (idGenerator instanceof DbIdGenerator) {
+            // Configured db id generators, like the PrefetchingDbIdGenerator, get the engine settings they don't have yet
+            DbIdGenerator dbIdGenerator = (DbIdGenerator) idGenerator;
+            if (dbIdGenerator.getIdBlockSize() <= 0) {
+                dbIdGenerator.setIdBlockSize(idBlockSize);
+            }
+            if (dbIdGenerator.getCommandExecutor() == null) {
+                dbIdGenerator.setCommandExecutor(getCommandExecutor());
+            }
+            if (dbIdGenerator.getCommandConfig() == null) {
+                dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
+            }
         }
     }
 
@@ -2071,6 +2231,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
         this.eventDispatcher.setEnabled(enableEventDispatcher);
 
+        if (batchingEventQueue != null && this.eventDispatcher instanceof FlowableEventDispatcherImpl) {
+            ((FlowableEventDispatcherImpl) this.eventDispatcher).getEventSupport().setBatchingEventQueue(batchingEventQueue);
+        }
+
         if (eventListeners != null) {
             for (FlowableEventListener listenerToAdd : eventListeners) {
                 this.eventDispatcher.addEventListener(listenerToAdd);
@@ -2880,6 +3044,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isEnableLatestProcessDefinitionCache() {
+        return enableLatestProcessDefinitionCache;
+    }
+
+    public ProcessEngineConfigurationImpl setEnableLatestProcessDefinitionCache(boolean enableLatestProcessDefinitionCache) {
+        this.enableLatestProcessDefinitionCache = enableLatestProcessDefinitionCache;
+        return this;
+    }
+
+    public long getLatestProcessDefinitionCachePollInterval() {
+        return latestProcessDefinitionCachePollInterval;
+    }
+
+    public ProcessEngineConfigurationImpl setLatestProcessDefinitionCachePollInterval(long latestProcessDefinitionCachePollInterval) {
+        this.latestProcessDefinitionCachePollInterval = latestProcessDefinitionCachePollInterval;
+        return this;
+    }
+
+    public LatestProcessDefinitionCache getLatestProcessDefinitionCache() {
+        return latestProcessDefinitionCache;
+    }
+
+    public ProcessEngineConfigurationImpl setLatestProcessDefinitionCache(LatestProcessDefinitionCache latestProcessDefinitionCache) {
+        this.latestProcessDefinitionCache = latestProcessDefinitionCache;
+        return this;
+    }
+
+    public LatestProcessDefinitionCacheInvalidator getLatestProcessDefinitionCacheInvalidator() {
+        return latestProcessDefinitionCacheInvalidator;
+    }
+
+    public ProcessEngineConfigurationImpl setLatestProcessDefinitionCacheInvalidator(LatestProcessDefinitionCacheInvalidator latestProcessDefinitionCacheInvalidator) {
+        this.latestProcessDefinitionCacheInvalidator = latestProcessDefinitionCacheInvalidator;
+        return this;
+    }
+
     public int getKnowledgeBaseCacheLimit() {
         return knowledgeBaseCacheLimit;
     }
@@ -3012,6 +3212,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isBatchFlushEnabled() {
+        return isBatchFlushEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setBatchFlushEnabled(boolean isBatchFlushEnabled) {
+        this.isBatchFlushEnabled = isBatchFlushEnabled;
+        return this;
+    }
+
     public int getMaxNrOfStatementsInBulkInsert() {
         return maxNrOfStatementsInBulkInsert;
     }
@@ -3591,6 +3800,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
     
+    public boolean isAsyncHistoryBinaryEncodingEnabled() {
+        return isAsyncHistoryBinaryEncodingEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryBinaryEncodingEnabled(boolean isAsyncHistoryBinaryEncodingEnabled) {
+        this.isAsyncHistoryBinaryEncodingEnabled = isAsyncHistoryBinaryEncodingEnabled;
+        return this;
+    }
+
+    public boolean isAsyncHistoryBinaryCompressionEnabled() {
+        return isAsyncHistoryBinaryCompressionEnabled;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryBinaryCompressionEnabled(boolean isAsyncHistoryBinaryCompressionEnabled) {
+        this.isAsyncHistoryBinaryCompressionEnabled = isAsyncHistoryBinaryCompressionEnabled;
+        return this;
+    }
+
     public boolean isAsyncHistoryJsonGroupingEnabled() {
         return isAsyncHistoryJsonGroupingEnabled;
     }
@@ -3617,6 +3844,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public String getAsyncHistoryJournalDirectory() {
+        return asyncHistoryJournalDirectory;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryJournalDirectory(String asyncHistoryJournalDirectory) {
+        this.asyncHistoryJournalDirectory = asyncHistoryJournalDirectory;
+        return this;
+    }
+
+    public String getAsyncHistoryJournalName() {
+        return asyncHistoryJournalName;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncHistoryJournalName(String asyncHistoryJournalName) {
+        this.asyncHistoryJournalName = asyncHistoryJournalName;
+        return this;
+    }
+
     public JobManager getJobManager() {
         return jobManager;
     }
@@ -3845,6 +4090,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public int getAsyncExecutorReadyQueueSize() {
+        return asyncExecutorReadyQueueSize;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorReadyQueueSize(int asyncExecutorReadyQueueSize) {
+        this.asyncExecutorReadyQueueSize = asyncExecutorReadyQueueSize;
+        return this;
+    }
+
     public BlockingQueue<Runnable> getAsyncExecutorThreadPoolQueue() {
         return asyncExecutorThreadPoolQueue;
     }
@@ -3935,6 +4189,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         return this;
     }
 
+    public boolean isAsyncExecutorBulkJobLocking() {
+        return asyncExecutorBulkJobLocking;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorBulkJobLocking(boolean asyncExecutorBulkJobLocking) {
+        this.asyncExecutorBulkJobLocking = asyncExecutorBulkJobLocking;
+        return this;
+    }
+
+    public int getAsyncExecutorJobPartitionCount() {
+        return asyncExecutorJobPartitionCount;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorJobPartitionCount(int asyncExecutorJobPartitionCount) {
+        this.asyncExecutorJobPartitionCount = asyncExecutorJobPartitionCount;
+        return this;
+    }
+
+    public int getAsyncExecutorJobPartitionLeaseTimeInMillis() {
+        return asyncExecutorJobPartitionLeaseTimeInMillis;
+    }
+
+    public ProcessEngineConfigurationImpl setAsyncExecutorJobPartitionLeaseTimeInMillis(int asyncExecutorJobPartitionLeaseTimeInMillis) {
+        this.asyncExecutorJobPartitionLeaseTimeInMillis = asyncExecutorJobPartitionLeaseTimeInMillis;
+        return this;
+    }
+
     public int getAsyncExecutorResetExpiredJobsInterval() {
         return asyncExecutorResetExpiredJobsInterval;
     }
@@ -27,6 +27,7 @@ import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.ExecutorPerTenantAsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.SharedExecutorServiceAsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.TenantAwareAsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.multitenant.TenantMultiplexingAsyncExecutor;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.db.DbIdGenerator;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -48,10 +49,11 @@ import org.slf4j.LoggerFactory;
  * 
  * - Adding tenants (also after boot!) is done using the {@link #registerTenant(String, DataSource)} operations.
  * 
- * - Currently, this config does not work with the 'old' {@link JobExecutor}, but only with the newer {@link AsyncExecutor}. There are two different implementations: - The
+ * - Currently, this config does not work with the 'old' {@link JobExecutor}, but only with the newer {@link AsyncExecutor}. There are three different implementations: - The
  * {@link ExecutorPerTenantAsyncExecutor}: creates one full {@link AsyncExecutor} for each tenant. - The {@link SharedExecutorServiceAsyncExecutor}: created acquisition threads for each tenant, but
- * the job execution is done using a process engine shared {@link ExecutorService}. The {@link AsyncExecutor} needs to be injected using the {@link #setAsyncExecutor(AsyncExecutor)} method on this
- * class.
+ * the job execution is done using a process engine shared {@link ExecutorService}. - The {@link TenantMultiplexingAsyncExecutor}: a fixed number of acquisition threads acquire the jobs of all
+ * tenants in turn, and the job execution is done using a process engine shared {@link ExecutorService}. The {@link AsyncExecutor} needs to be injected using the
+ * {@link #setAsyncExecutor(AsyncExecutor)} method on this class.
  * 
  * databasetype
  * 
@@ -13,6 +13,7 @@
 package org.flowable.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -21,6 +22,7 @@ import org.flowable.engine.common.impl.interceptor.Command;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
 import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.persistence.entity.JobEntityManager;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
 import org.flowable.engine.impl.persistence.entity.JobInfoEntityManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
@@ -33,25 +35,56 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
     private final AsyncExecutor asyncExecutor;
     private final int remainingCapacity;
     private final JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager;
+    private final List<Integer> partitions;
     
     public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = Integer.MAX_VALUE;
         this.jobEntityManager = asyncExecutor.getProcessEngineConfiguration().getJobEntityManager(); // backwards compatibility
+        this.partitions = null;
     }
 
     public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager) {
+        this(asyncExecutor, remainingCapacity, jobEntityManager, null);
+    }
+
+    /**
+     * @param partitions
+     *            the job partitions to acquire jobs from (jobs without partition are always acquired), or null to acquire jobs of all partitions.
+     *            Only applicable when the job entity manager is a {@link JobEntityManager}.
+     */
+    public AcquireJobsCmd(AsyncExecutor asyncExecutor, int remainingCapacity, JobInfoEntityManager<? extends JobInfoEntity> jobEntityManager, List<Integer> partitions) {
         this.asyncExecutor = asyncExecutor;
         this.remainingCapacity = remainingCapacity;
         this.jobEntityManager = jobEntityManager;
+        this.partitions = partitions;
     }
 
     public AcquiredJobEntities execute(CommandContext commandContext) {
         int maxResults = Math.min(remainingCapacity, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
-
-        List<? extends JobInfoEntity> jobs = jobEntityManager.findJobsToExecute(new Page(0, maxResults)); 
         AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
 
+        if (asyncExecutor.isBulkJobLocking()) {
+            Date lockExpirationTime = calculateLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis());
+            List<? extends JobInfoEntity> lockedJobs = null;
+            if (partitions != null && jobEntityManager instanceof JobEntityManager) {
+                lockedJobs = ((JobEntityManager) jobEntityManager).lockJobsToExecute(partitions, new Page(0, maxResults), asyncExecutor.getLockOwner(), lockExpirationTime);
+            } else {
+                lockedJobs = jobEntityManager.lockJobsToExecute(new Page(0, maxResults), asyncExecutor.getLockOwner(), lockExpirationTime);
+            }
+            for (JobInfoEntity job : lockedJobs) {
+                acquiredJobs.addJob(job);
+            }
+            return acquiredJobs;
+        }
+
+        List<? extends JobInfoEntity> jobs = null;
+        if (partitions != null && jobEntityManager instanceof JobEntityManager) {
+            jobs = ((JobEntityManager) jobEntityManager).findJobsToExecute(partitions, new Page(0, maxResults));
+        } else {
+            jobs = jobEntityManager.findJobsToExecute(new Page(0, maxResults));
+        }
+
         for (JobInfoEntity job : jobs) {
             lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
             acquiredJobs.addJob(job);
@@ -61,10 +94,14 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
     }
 
     protected void lockJob(CommandContext commandContext, JobInfoEntity job, int lockTimeInMillis) {
+        job.setLockOwner(asyncExecutor.getLockOwner());
+        job.setLockExpirationTime(calculateLockExpirationTime(commandContext, lockTimeInMillis));
+    }
+
+    protected Date calculateLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(CommandContextUtil.getProcessEngineConfiguration(commandContext).getClock().getCurrentTime());
         gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-        job.setLockOwner(asyncExecutor.getLockOwner());
-        job.setLockExpirationTime(gregorianCalendar.getTime());
+        return gregorianCalendar.getTime();
     }
 }
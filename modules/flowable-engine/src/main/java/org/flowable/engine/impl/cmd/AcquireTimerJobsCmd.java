@@ -13,6 +13,7 @@
 package org.flowable.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -37,6 +38,17 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
     public AcquiredTimerJobEntities execute(CommandContext commandContext) {
         AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
+
+        if (asyncExecutor.isBulkJobLocking()) {
+            Date lockExpirationTime = calculateLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis());
+            List<TimerJobEntity> lockedTimerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
+                    .lockTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()), asyncExecutor.getLockOwner(), lockExpirationTime);
+            for (TimerJobEntity job : lockedTimerJobs) {
+                acquiredJobs.addJob(job);
+            }
+            return acquiredJobs;
+        }
+
         List<TimerJobEntity> timerJobs = CommandContextUtil.getTimerJobEntityManager(commandContext)
                 .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
 
@@ -53,10 +65,14 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
         // This will trigger an optimistic locking exception when two concurrent executors
         // try to lock, as the revision will not match.
 
+        job.setLockOwner(asyncExecutor.getLockOwner());
+        job.setLockExpirationTime(calculateLockExpirationTime(commandContext, lockTimeInMillis));
+    }
+
+    protected Date calculateLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
         GregorianCalendar gregorianCalendar = new GregorianCalendar();
         gregorianCalendar.setTime(CommandContextUtil.getProcessEngineConfiguration(commandContext).getClock().getCurrentTime());
         gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-        job.setLockOwner(asyncExecutor.getLockOwner());
-        job.setLockExpirationTime(gregorianCalendar.getTime());
+        return gregorianCalendar.getTime();
     }
 }
\ No newline at end of file
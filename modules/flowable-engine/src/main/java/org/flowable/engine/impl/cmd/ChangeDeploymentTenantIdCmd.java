@@ -80,6 +80,7 @@ public class ChangeDeploymentTenantIdCmd implements Command<Void>, Serializable
 
         // Clear process definition cache
         CommandContextUtil.getProcessEngineConfiguration(commandContext).getProcessDefinitionCache().clear();
+        CommandContextUtil.getProcessEngineConfiguration(commandContext).getDeploymentManager().invalidateLatestProcessDefinitionCache();
 
         return null;
 
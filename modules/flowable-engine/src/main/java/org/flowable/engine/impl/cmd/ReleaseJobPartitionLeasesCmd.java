@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+/**
+ * Releases the job partition leases of a stopping async executor, so the other async executors can take over its partitions without waiting for the leases to expire.
+ *
+ * @see RenewJobPartitionLeasesCmd
+ */
+public class ReleaseJobPartitionLeasesCmd implements Command<Void> {
+
+    protected String nodeId;
+
+    public ReleaseJobPartitionLeasesCmd(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public Void execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = CommandContextUtil.getPropertyEntityManager(commandContext);
+        for (PropertyEntity property : propertyEntityManager.findAll()) {
+            String name = property.getName();
+            if (name.equals(RenewJobPartitionLeasesCmd.NODE_PROPERTY_PREFIX + nodeId)) {
+                propertyEntityManager.delete(property);
+
+            } else if (name.startsWith(RenewJobPartitionLeasesCmd.LEASE_PROPERTY_PREFIX) && RenewJobPartitionLeasesCmd.isOwnedBy(property, nodeId)) {
+                property.setValue("");
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+/**
+ * Claims and renews the leases on the job partitions for one async executor, and returns the partitions it owns.
+ *
+ * Every async executor keeps a node row (with the expiration time of its heartbeat) in the ACT_GE_PROPERTY table, and every partition has a lease row
+ * holding the owning node and the expiration time of the lease. The partitions are divided evenly over the nodes with a live heartbeat:
+ * a node releases the partitions above its share, and claims free or expired partitions up to its share.
+ * Concurrent claims of the same partition are prevented by the optimistic locking of the property rows.
+ */
+public class RenewJobPartitionLeasesCmd implements Command<List<Integer>> {
+
+    public static final String LEASE_PROPERTY_PREFIX = "job.partition.lease.";
+    public static final String NODE_PROPERTY_PREFIX = "job.partition.node.";
+
+    protected String nodeId;
+    protected int partitionCount;
+    protected int leaseTimeInMillis;
+
+    public RenewJobPartitionLeasesCmd(String nodeId, int partitionCount, int leaseTimeInMillis) {
+        this.nodeId = nodeId;
+        this.partitionCount = partitionCount;
+        this.leaseTimeInMillis = leaseTimeInMillis;
+    }
+
+    @Override
+    public List<Integer> execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = CommandContextUtil.getPropertyEntityManager(commandContext);
+        long now = CommandContextUtil.getProcessEngineConfiguration(commandContext).getClock().getCurrentTime().getTime();
+        long expirationTime = now + leaseTimeInMillis;
+
+        Map<Integer, PropertyEntity> leases = new HashMap<Integer, PropertyEntity>();
+        TreeSet<String> activeNodeIds = new TreeSet<String>();
+        activeNodeIds.add(nodeId);
+        PropertyEntity ownNode = null;
+
+        for (PropertyEntity property : propertyEntityManager.findAll()) {
+            String name = property.getName();
+            if (name.startsWith(LEASE_PROPERTY_PREFIX)) {
+                leases.put(Integer.valueOf(name.substring(LEASE_PROPERTY_PREFIX.length())), property);
+
+            } else if (name.startsWith(NODE_PROPERTY_PREFIX)) {
+                String propertyNodeId = name.substring(NODE_PROPERTY_PREFIX.length());
+                if (nodeId.equals(propertyNodeId)) {
+                    ownNode = property;
+                } else if (Long.parseLong(property.getValue()) > now) {
+                    activeNodeIds.add(propertyNodeId);
+                } else {
+                    propertyEntityManager.delete(property);
+                }
+            }
+        }
+
+        if (ownNode != null) {
+            ownNode.setValue(Long.toString(expirationTime));
+        } else {
+            insertProperty(propertyEntityManager, NODE_PROPERTY_PREFIX + nodeId, Long.toString(expirationTime));
+        }
+
+        // The first nodes (in alphabetical order) get one extra partition when the partitions can't be divided evenly
+        int nodeIndex = activeNodeIds.headSet(nodeId).size();
+        int share = partitionCount / activeNodeIds.size() + (nodeIndex < partitionCount % activeNodeIds.size() ? 1 : 0);
+
+        List<Integer> ownedPartitions = new ArrayList<Integer>();
+        List<Integer> freePartitions = new ArrayList<Integer>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            PropertyEntity lease = leases.get(partition);
+            if (lease == null) {
+                leases.put(partition, insertProperty(propertyEntityManager, LEASE_PROPERTY_PREFIX + partition, ""));
+                freePartitions.add(partition);
+
+            } else if (isOwnedBy(lease, nodeId)) {
+                ownedPartitions.add(partition);
+
+            } else if (isFree(lease, now)) {
+                freePartitions.add(partition);
+            }
+        }
+
+        while (ownedPartitions.size() > share) {
+            Integer partition = ownedPartitions.remove(ownedPartitions.size() - 1);
+            leases.get(partition).setValue("");
+        }
+
+        for (int i = 0; i < freePartitions.size() && ownedPartitions.size() < share; i++) {
+            ownedPartitions.add(freePartitions.get(i));
+        }
+
+        for (Integer partition : ownedPartitions) {
+            leases.get(partition).setValue(nodeId + "," + expirationTime);
+        }
+
+        Collections.sort(ownedPartitions);
+        return ownedPartitions;
+    }
+
+    protected PropertyEntity insertProperty(PropertyEntityManager propertyEntityManager, String name, String value) {
+        PropertyEntity property = propertyEntityManager.create();
+        property.setName(name);
+        property.setValue(value);
+        propertyEntityManager.insert(property);
+        return property;
+    }
+
+    public static boolean isOwnedBy(PropertyEntity lease, String nodeId) {
+        String value = lease.getValue();
+        return value != null && value.startsWith(nodeId + ",");
+    }
+
+    protected boolean isFree(PropertyEntity lease, long now) {
+        String value = lease.getValue();
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        return Long.parseLong(value.substring(value.lastIndexOf(',') + 1)) <= now;
+    }
+
+}
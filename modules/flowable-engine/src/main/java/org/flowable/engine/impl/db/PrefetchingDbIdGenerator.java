@@ -0,0 +1,237 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.flowable.engine.common.impl.db.IdBlock;
+import org.flowable.engine.impl.cmd.GetNextIdBlockCmd;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DbIdGenerator} that hands out ids without locking and fetches the next id block before the current one is used up.
+ *
+ * When a given part of the current block is used ({@link #setPrefetchThreshold(double)}), the next block is fetched in the background while the threads keep using
+ * the current block. The block is fetched on the {@link #setPrefetchExecutor(Executor) prefetch executor} when one is set, otherwise on a single daemon thread
+ * owned by the generator, which stops when it's idle and is shut down with {@link #shutdown()} when the process engine is closed.
+ * When the executor rejects the prefetch, the thread that crossed the threshold fetches the block itself.
+ * Only when the prefetched block isn't there yet when the current block is used up, threads wait for it. A prefetch that hasn't been started by the executor yet
+ * is then run by the thread switching the block, so it never waits for a task that may not have been submitted.
+ *
+ * The size of the fetched blocks adapts to the consumption rate: it doubles (up to the max id block size) when a block is used up faster than half of the
+ * target block duration, and halves (down to the id block size) when it takes longer than twice the target block duration.
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrefetchingDbIdGenerator.class);
+
+    protected int maxIdBlockSize = 25000;
+    protected long targetBlockDuration = 10000L;
+    protected double prefetchThreshold = 0.75;
+    protected Executor prefetchExecutor;
+    protected ThreadPoolExecutor defaultPrefetchExecutor;
+
+    protected AtomicReference<Block> currentBlock = new AtomicReference<Block>(new Block(0, -1, 0));
+    protected AtomicReference<FutureTask<IdBlock>> prefetchedBlock = new AtomicReference<FutureTask<IdBlock>>();
+    protected volatile int currentIdBlockSize;
+    protected final Object blockSwitchLock = new Object();
+    protected final Object prefetchExecutorLock = new Object();
+
+    @Override
+    public String getNextId() {
+        while (true) {
+            Block block = currentBlock.get();
+            long id = block.nextId.getAndIncrement();
+            if (id <= block.lastId) {
+                if (id == block.prefetchId) {
+                    prefetchBlock(block);
+                }
+                return Long.toString(id);
+            }
+            switchBlock(block);
+        }
+    }
+
+    @Override
+    protected void getNewBlock() {
+        switchBlock(currentBlock.get());
+    }
+
+    protected void switchBlock(Block usedBlock) {
+        synchronized (blockSwitchLock) {
+            if (currentBlock.get() != usedBlock) {
+                // another thread already switched to a new block
+                return;
+            }
+
+            IdBlock idBlock = null;
+            FutureTask<IdBlock> prefetchTask = prefetchedBlock.getAndSet(null);
+            if (prefetchTask != null) {
+                try {
+                    // Runs the prefetch here when it isn't started yet (a no-op otherwise): it may not even be submitted to the executor yet,
+                    // and waiting for the executor to get to it would only delay the switch
+                    prefetchTask.run();
+                    idBlock = prefetchTask.get();
+                } catch (Exception e) {
+                    LOGGER.warn("Could not prefetch the next id block, fetching it now", e);
+                }
+            }
+
+            if (idBlock == null) {
+                adaptIdBlockSize(usedBlock);
+                idBlock = fetchBlock(getCurrentIdBlockSize());
+            }
+
+            currentBlock.set(new Block(idBlock.getNextId(), idBlock.getLastId(), prefetchThreshold));
+        }
+    }
+
+    protected void prefetchBlock(Block block) {
+        adaptIdBlockSize(block);
+        final int blockSize = getCurrentIdBlockSize();
+        FutureTask<IdBlock> prefetchTask = new FutureTask<IdBlock>(new Callable<IdBlock>() {
+
+            public IdBlock call() throws Exception {
+                return fetchBlock(blockSize);
+            }
+        });
+
+        if (!prefetchedBlock.compareAndSet(null, prefetchTask)) {
+            return;
+        }
+
+        try {
+            getOrCreatePrefetchExecutor().execute(prefetchTask);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Prefetch executor rejected the id block prefetch, fetching it in the current thread", e);
+            prefetchTask.run();
+        }
+    }
+
+    protected Executor getOrCreatePrefetchExecutor() {
+        if (prefetchExecutor != null) {
+            return prefetchExecutor;
+        }
+
+        // Not the block switch lock: a thread switching blocks can be waiting for the prefetch of the thread creating the executor
+        synchronized (prefetchExecutorLock) {
+            if (defaultPrefetchExecutor == null) {
+                // At most one prefetch is pending at any time, so one thread is enough
+                BasicThreadFactory threadFactory = new BasicThreadFactory.Builder().namingPattern("flowable-id-block-prefetch-thread-%d").daemon(true).build();
+                defaultPrefetchExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+                defaultPrefetchExecutor.allowCoreThreadTimeOut(true);
+            }
+            return defaultPrefetchExecutor;
+        }
+    }
+
+    /**
+     * Stops the prefetch thread of the generator, when it created one because no {@link #setPrefetchExecutor(Executor) prefetch executor} was set.
+     * Blocks fetched afterwards are fetched by the thread crossing the prefetch threshold.
+     */
+    public void shutdown() {
+        synchronized (prefetchExecutorLock) {
+            if (defaultPrefetchExecutor != null) {
+                defaultPrefetchExecutor.shutdown();
+            }
+        }
+    }
+
+    protected IdBlock fetchBlock(int blockSize) {
+        return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(blockSize));
+    }
+
+    /**
+     * Adapts the block size to the time it took to use the given part of the block.
+     */
+    protected void adaptIdBlockSize(Block block) {
+        long usedIds = Math.min(block.nextId.get(), block.lastId + 1) - block.firstId;
+        if (block.firstId > block.lastId || usedIds <= 0) {
+            return;
+        }
+
+        long blockSize = block.lastId - block.firstId + 1;
+        long expectedBlockDuration = (System.currentTimeMillis() - block.startTime) * blockSize / usedIds;
+        int blockSizeLimit = Math.max(idBlockSize, maxIdBlockSize);
+        int size = getCurrentIdBlockSize();
+        if (expectedBlockDuration < targetBlockDuration / 2 && size < blockSizeLimit) {
+            currentIdBlockSize = (int) Math.min((long) size * 2, blockSizeLimit);
+        } else if (expectedBlockDuration > targetBlockDuration * 2 && size > idBlockSize) {
+            currentIdBlockSize = Math.max(size / 2, idBlockSize);
+        }
+    }
+
+    protected int getCurrentIdBlockSize() {
+        return Math.max(currentIdBlockSize, idBlockSize);
+    }
+
+    public int getMaxIdBlockSize() {
+        return maxIdBlockSize;
+    }
+
+    public void setMaxIdBlockSize(int maxIdBlockSize) {
+        this.maxIdBlockSize = maxIdBlockSize;
+    }
+
+    public long getTargetBlockDuration() {
+        return targetBlockDuration;
+    }
+
+    public void setTargetBlockDuration(long targetBlockDuration) {
+        this.targetBlockDuration = targetBlockDuration;
+    }
+
+    public double getPrefetchThreshold() {
+        return prefetchThreshold;
+    }
+
+    public void setPrefetchThreshold(double prefetchThreshold) {
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    public void setPrefetchExecutor(Executor prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    protected static class Block {
+
+        protected final long firstId;
+        protected final long lastId;
+        protected final long prefetchId;
+        protected final long startTime;
+        protected final AtomicLong nextId;
+
+        public Block(long firstId, long lastId, double prefetchThreshold) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.nextId = new AtomicLong(firstId);
+            this.startTime = System.currentTimeMillis();
+
+            long prefetchOffset = (long) ((lastId - firstId + 1) * prefetchThreshold);
+            this.prefetchId = prefetchOffset > 0 ? firstId + prefetchOffset : -1;
+        }
+    }
+}
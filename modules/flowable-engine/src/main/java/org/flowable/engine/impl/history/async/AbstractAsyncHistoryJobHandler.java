@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.history.async;
 
+import java.io.IOException;
+
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.impl.jobexecutor.HistoryJobHandler;
@@ -33,7 +35,7 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
             try {
 
                 byte[] bytes = getJobBytes(job);
-                JsonNode historyNode = objectMapper.readTree(bytes);
+                JsonNode historyNode = readHistoryNode(objectMapper, bytes);
                 if (isAsyncHistoryJsonGroupingEnabled() && historyNode.isArray()) {
                     ArrayNode arrayNode = (ArrayNode) historyNode;
                     for (JsonNode jsonNode : arrayNode) {
@@ -58,6 +60,10 @@ public abstract class AbstractAsyncHistoryJobHandler implements HistoryJobHandle
         return job.getAdvancedJobHandlerConfigurationByteArrayRef().getBytes();
     }
 
+    protected JsonNode readHistoryNode(ObjectMapper objectMapper, byte[] bytes) throws IOException {
+        return objectMapper.readTree(bytes);
+    }
+
     protected abstract void processHistoryJson(CommandContext commandContext, HistoryJobEntity job, JsonNode historyNode);
 
     public boolean isAsyncHistoryJsonGroupingEnabled() {
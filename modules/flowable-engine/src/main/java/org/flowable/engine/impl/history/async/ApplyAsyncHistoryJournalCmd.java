@@ -0,0 +1,126 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Applies the next records of an {@link AsyncHistoryJournal} to the history tables, and stores the position after the last applied record
+ * in the same transaction. When the transaction fails, the records are applied again from the stored position.
+ * Returns the stored position, or null when there were no records to apply.
+ *
+ * When a dead letter journal is given, the records are not applied but appended to the dead letter journal, as they failed too many times.
+ * A record is appended before the transaction commits, so it can end up twice in the dead letter journal when the transaction fails.
+ */
+public class ApplyAsyncHistoryJournalCmd implements Command<AsyncHistoryJournalPosition> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApplyAsyncHistoryJournalCmd.class);
+
+    protected AsyncHistoryJournal journal;
+    protected String positionPropertyName;
+    protected int maxRecords;
+    protected AsyncHistoryJournal deadLetterJournal;
+
+    /** The position after the last record that was read, also set when applying the records fails afterwards */
+    protected AsyncHistoryJournalPosition readEndPosition;
+
+    public ApplyAsyncHistoryJournalCmd(AsyncHistoryJournal journal, String positionPropertyName, int maxRecords) {
+        this(journal, positionPropertyName, maxRecords, null);
+    }
+
+    public ApplyAsyncHistoryJournalCmd(AsyncHistoryJournal journal, String positionPropertyName, int maxRecords, AsyncHistoryJournal deadLetterJournal) {
+        this.journal = journal;
+        this.positionPropertyName = positionPropertyName;
+        this.maxRecords = maxRecords;
+        this.deadLetterJournal = deadLetterJournal;
+    }
+
+    @Override
+    public AsyncHistoryJournalPosition execute(CommandContext commandContext) {
+        PropertyEntityManager propertyEntityManager = CommandContextUtil.getPropertyEntityManager(commandContext);
+        PropertyEntity positionProperty = propertyEntityManager.findById(positionPropertyName);
+        AsyncHistoryJournalPosition position = positionProperty != null
+                ? AsyncHistoryJournalPosition.parse(positionProperty.getValue()) : AsyncHistoryJournalPosition.START;
+
+        List<AsyncHistoryJournalRecord> records = journal.read(position, maxRecords);
+        if (records.isEmpty()) {
+            return null;
+        }
+        AsyncHistoryJournalPosition nextPosition = records.get(records.size() - 1).getNextPosition();
+        readEndPosition = nextPosition;
+
+        if (deadLetterJournal != null) {
+            for (AsyncHistoryJournalRecord record : records) {
+                AsyncHistoryJournalPosition deadLetterPosition = deadLetterJournal.append(record.getData());
+                LOGGER.error("Moved async history journal record at position {} to position {} of the dead letter journal {}",
+                        record.getPosition(), deadLetterPosition, deadLetterJournal.getDirectory());
+            }
+        } else {
+            applyRecords(commandContext, records);
+        }
+
+        if (positionProperty == null) {
+            positionProperty = propertyEntityManager.create();
+            positionProperty.setName(positionPropertyName);
+            positionProperty.setValue(nextPosition.toString());
+            propertyEntityManager.insert(positionProperty);
+        } else {
+            positionProperty.setValue(nextPosition.toString());
+        }
+        return nextPosition;
+    }
+
+    protected void applyRecords(CommandContext commandContext, List<AsyncHistoryJournalRecord> records) {
+        AsyncHistoryJobHandler asyncHistoryJobHandler = (AsyncHistoryJobHandler) CommandContextUtil.getProcessEngineConfiguration(commandContext)
+                .getHistoryJobHandlers().get(AsyncHistoryJobHandler.JOB_TYPE);
+        if (asyncHistoryJobHandler == null) {
+            throw new FlowableException("No async history job handler found, async history needs to be enabled to apply the async history journal");
+        }
+
+        // Transient job, the transformers only use it for logging
+        HistoryJobEntity job = CommandContextUtil.getHistoryJobEntityManager(commandContext).create();
+        job.setJobHandlerType(AsyncHistoryJobHandler.JOB_TYPE);
+
+        for (AsyncHistoryJournalRecord record : records) {
+            job.setId(record.getPosition().toString());
+            JsonNode historyNodes;
+            try {
+                historyNodes = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().readTree(record.getData());
+            } catch (IOException e) {
+                throw new FlowableException("Could not deserialize async history journal record at position " + record.getPosition(), e);
+            }
+
+            for (JsonNode historyNode : historyNodes) {
+                asyncHistoryJobHandler.processHistoryJson(commandContext, job, historyNode);
+            }
+        }
+    }
+
+    public AsyncHistoryJournalPosition getReadEndPosition() {
+        return readEndPosition;
+    }
+
+}
@@ -0,0 +1,512 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.flowable.engine.common.api.FlowableException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Compact binary encoding of async history data, as an alternative to the JSON encoding.
+ *
+ * The field names are written once per type and payload: the first element of a type declares its fields, the next elements of
+ * that type with the same fields only refer to that declaration. The known types and field names are in a fixed dictionary, so they are
+ * written as a single byte. Values that are the string representation of a long or of a date (as formatted by {@link AsyncHistoryDateUtil})
+ * are written as zigzag varints. When the value dictionary is enabled, a string value that occurs again in the same payload
+ * (like the process instance id) is written as a reference to its first occurrence. When compression is enabled, the encoded data is
+ * deflated with a preset dictionary of common names and values, which works better than GZIP for the small payloads of a transaction.
+ *
+ * Decoding gives back the exact same type and data nodes as the JSON encoding, so the same {@link AsyncHistoryJobHandler} transformers can be used.
+ */
+public class AsyncHistoryBinaryCodec {
+
+    protected static final byte MAGIC = (byte) 0xFB;
+    protected static final byte VERSION = 1;
+
+    protected static final int FLAG_VALUE_DICTIONARY = 1;
+    protected static final int FLAG_COMPRESSED = 2;
+
+    protected static final int VALUE_NULL = 0;
+    protected static final int VALUE_STRING = 1;
+    protected static final int VALUE_STRING_REFERENCE = 2;
+    protected static final int VALUE_LONG = 3;
+    protected static final int VALUE_DATE = 4;
+    protected static final int VALUE_TRUE = 5;
+    protected static final int VALUE_FALSE = 6;
+    protected static final int VALUE_JSON = 7;
+
+    /** Strings shorter than this are written literally, as a reference wouldn't be smaller */
+    protected static final int MIN_DICTIONARY_STRING_LENGTH = 4;
+
+    /**
+     * The types and field names known by version 1 of the encoding. This list can't be changed, as the names are written as their index.
+     */
+    protected static final List<String> NAMES_V1 = Collections.unmodifiableList(Arrays.asList(
+            "process-instance-start", "subprocess-instance-start", "process-instance-property-changed", "set-process-definition",
+            "activity-start", "activity-end", "activity-full", "form-properties-submitted", "historic-detail-variable-update",
+            "identitylink-created", "identitylink-deleted", "task-created", "task-assignee-changed", "task-owner-changed",
+            "task-property-changed", "task-ended", "variable-created", "variable-updated", "variable-removed", "process-instance-end",
+            "process-instance-deleted", "process-instance-deleted-by-process-definition-id",
+            "id", "name", "description", "revision", "category", "executionId", "sourceExecutionId", "isMiRootExecution",
+            "processInstanceId", "taskId", "businessKey", "processDefinitionId", "processDefinitionKey", "processDefinitionName",
+            "processDefinitionVersion", "deploymentId", "startTime", "endTime", "createTime", "claimTime", "lastUpdatedTime",
+            "startUserId", "startActivityId", "activityId", "activityName", "activityType", "superProcessInstanceId", "deleteReason",
+            "parentTaskId", "assignee", "activityAssigneeHandled", "owner", "identityLinkType", "taskDefinitionKey", "formKey",
+            "priority", "dueDate", "property", "variableType", "variableTextValue", "variableTextValue2", "variableDoubleValue",
+            "variableLongValue", "variableBytesValue", "formPropertyId", "formPropertyValue", "userId", "groupId", "tenantId",
+            "__timeStamp"));
+
+    /**
+     * Preset dictionary for the compression, with common names and values. This can't be changed either, as the compressed data refers to it.
+     */
+    protected static final byte[] COMPRESSION_DICTIONARY_V1 = createCompressionDictionary("startEvent endEvent userTask serviceTask scriptTask sequenceFlow "
+            + "exclusiveGateway parallelGateway inclusiveGateway subProcess callActivity boundaryEvent intermediateCatchEvent string integer long double "
+            + "boolean serializable json date null candidate participant starter assignee owner", NAMES_V1);
+
+    protected ObjectMapper objectMapper;
+    protected boolean valueDictionaryEnabled = true;
+    protected boolean compressionEnabled;
+
+    public AsyncHistoryBinaryCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(List<? extends JsonNode> historyNodes) {
+        Encoder encoder = new Encoder(valueDictionaryEnabled);
+        encoder.writeVarint(historyNodes.size());
+        for (JsonNode historyNode : historyNodes) {
+            encoder.writeHistoryNode(historyNode);
+        }
+        byte[] body = encoder.toByteArray();
+        if (compressionEnabled) {
+            body = compress(body);
+        }
+
+        byte[] bytes = new byte[body.length + 3];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        bytes[2] = (byte) ((valueDictionaryEnabled ? FLAG_VALUE_DICTIONARY : 0) | (compressionEnabled ? FLAG_COMPRESSED : 0));
+        System.arraycopy(body, 0, bytes, 3, body.length);
+        return bytes;
+    }
+
+    public List<ObjectNode> decode(byte[] bytes) {
+        if (bytes.length < 3 || bytes[0] != MAGIC) {
+            throw new FlowableException("Invalid binary async history data");
+        }
+        if (bytes[1] != VERSION) {
+            throw new FlowableException("Unsupported binary async history data version " + bytes[1]);
+        }
+        byte[] body = Arrays.copyOfRange(bytes, 3, bytes.length);
+        if ((bytes[2] & FLAG_COMPRESSED) != 0) {
+            body = decompress(body);
+        }
+
+        Decoder decoder = new Decoder(body, (bytes[2] & FLAG_VALUE_DICTIONARY) != 0);
+        int count = decoder.readVarint();
+        List<ObjectNode> historyNodes = new ArrayList<ObjectNode>(count);
+        for (int i = 0; i < count; i++) {
+            historyNodes.add(decoder.readHistoryNode());
+        }
+        return historyNodes;
+    }
+
+    protected byte[] compress(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setDictionary(COMPRESSION_DICTIONARY_V1);
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return outputStream.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    protected byte[] decompress(byte[] bytes) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(COMPRESSION_DICTIONARY_V1);
+            inflater.setInput(bytes);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new FlowableException("Unexpected end of compressed binary async history data");
+                }
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } catch (DataFormatException e) {
+            throw new FlowableException("Invalid compressed binary async history data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    public boolean isValueDictionaryEnabled() {
+        return valueDictionaryEnabled;
+    }
+
+    public void setValueDictionaryEnabled(boolean valueDictionaryEnabled) {
+        this.valueDictionaryEnabled = valueDictionaryEnabled;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    protected static byte[] createCompressionDictionary(String values, List<String> names) {
+        StringBuilder dictionary = new StringBuilder(values);
+        for (String name : names) {
+            dictionary.append(' ').append(name);
+        }
+        return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    protected static boolean isLong(String value) {
+        int length = value.length();
+        if (length == 0 || length > 19) {
+            return false;
+        }
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        if (start == length || (value.charAt(start) == '0' && length > start + 1) || (start == 1 && length == 2 && value.charAt(1) == '0')) {
+            // No leading zeroes and no "-0", so the value is written back the same
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        if (length - start == 19) {
+            try {
+                Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static Date parseDate(String value) {
+        // Format of AsyncHistoryDateUtil: yyyy-MM-ddTHH:mm:ss.SSSZ
+        if (value.length() != 24 || value.charAt(10) != 'T' || value.charAt(23) != 'Z') {
+            return null;
+        }
+        Date date = AsyncHistoryDateUtil.parseDate(value);
+        if (date == null || !value.equals(AsyncHistoryDateUtil.formatDate(date))) {
+            return null;
+        }
+        return date;
+    }
+
+    protected class Encoder {
+
+        protected final boolean valueDictionary;
+        protected byte[] buffer = new byte[256];
+        protected int position;
+
+        protected Map<String, Integer> names = new HashMap<String, Integer>();
+        protected Map<String, Integer> shapes = new HashMap<String, Integer>();
+        protected Map<String, Integer> values = new HashMap<String, Integer>();
+
+        public Encoder(boolean valueDictionary) {
+            this.valueDictionary = valueDictionary;
+            for (String name : NAMES_V1) {
+                names.put(name, names.size());
+            }
+        }
+
+        public void writeHistoryNode(JsonNode historyNode) {
+            String type = historyNode.path(HistoryJsonConstants.TYPE).asText();
+            JsonNode dataNode = historyNode.path(HistoryJsonConstants.DATA);
+
+            List<String> fieldNames = new ArrayList<String>();
+            Iterator<String> fieldNameIterator = dataNode.fieldNames();
+            while (fieldNameIterator.hasNext()) {
+                fieldNames.add(fieldNameIterator.next());
+            }
+
+            // A shape is a type with its fields, declared the first time it occurs
+            String shapeKey = type + '\n' + fieldNames;
+            Integer shapeIndex = shapes.get(shapeKey);
+            if (shapeIndex != null) {
+                writeVarint(shapeIndex + 1);
+            } else {
+                shapes.put(shapeKey, shapes.size());
+                writeVarint(0);
+                writeName(type);
+                writeVarint(fieldNames.size());
+                for (String fieldName : fieldNames) {
+                    writeName(fieldName);
+                }
+            }
+
+            for (String fieldName : fieldNames) {
+                writeValue(dataNode.get(fieldName));
+            }
+        }
+
+        protected void writeName(String name) {
+            Integer nameIndex = names.get(name);
+            if (nameIndex != null) {
+                writeVarint(nameIndex + 1);
+            } else {
+                names.put(name, names.size());
+                writeVarint(0);
+                writeString(name);
+            }
+        }
+
+        protected void writeValue(JsonNode valueNode) {
+            if (valueNode == null || valueNode.isNull()) {
+                writeByte(VALUE_NULL);
+
+            } else if (valueNode.isTextual()) {
+                String value = valueNode.textValue();
+                Date date;
+                if ("true".equals(value)) {
+                    writeByte(VALUE_TRUE);
+                } else if ("false".equals(value)) {
+                    writeByte(VALUE_FALSE);
+                } else if (isLong(value)) {
+                    writeByte(VALUE_LONG);
+                    writeVarlong(zigzag(Long.parseLong(value)));
+                } else if ((date = parseDate(value)) != null) {
+                    writeByte(VALUE_DATE);
+                    writeVarlong(zigzag(date.getTime()));
+                } else {
+                    writeStringValue(value);
+                }
+
+            } else {
+                writeByte(VALUE_JSON);
+                writeString(valueNode.toString());
+            }
+        }
+
+        protected void writeStringValue(String value) {
+            if (valueDictionary && value.length() >= MIN_DICTIONARY_STRING_LENGTH) {
+                Integer valueIndex = values.get(value);
+                if (valueIndex != null) {
+                    writeByte(VALUE_STRING_REFERENCE);
+                    writeVarint(valueIndex);
+                    return;
+                }
+                values.put(value, values.size());
+            }
+            writeByte(VALUE_STRING);
+            writeString(value);
+        }
+
+        protected void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        protected long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+
+        protected void writeVarint(int value) {
+            writeVarlong(value & 0xFFFFFFFFL);
+        }
+
+        protected void writeVarlong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        protected void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        protected void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    protected class Decoder {
+
+        protected final byte[] bytes;
+        protected final boolean valueDictionary;
+        protected int position;
+
+        protected List<String> names = new ArrayList<String>(NAMES_V1);
+        protected List<String[]> shapes = new ArrayList<String[]>();
+        protected List<String> values = new ArrayList<String>();
+
+        public Decoder(byte[] bytes, boolean valueDictionary) {
+            this.bytes = bytes;
+            this.valueDictionary = valueDictionary;
+        }
+
+        public ObjectNode readHistoryNode() {
+            String[] shape;
+            int shapeReference = readVarint();
+            if (shapeReference > 0) {
+                shape = shapes.get(shapeReference - 1);
+            } else {
+                String type = readName();
+                int fieldCount = readVarint();
+                shape = new String[fieldCount + 1];
+                shape[0] = type;
+                for (int i = 1; i <= fieldCount; i++) {
+                    shape[i] = readName();
+                }
+                shapes.add(shape);
+            }
+
+            ObjectNode historyNode = objectMapper.createObjectNode();
+            historyNode.put(HistoryJsonConstants.TYPE, shape[0]);
+            ObjectNode dataNode = historyNode.putObject(HistoryJsonConstants.DATA);
+            for (int i = 1; i < shape.length; i++) {
+                readValue(dataNode, shape[i]);
+            }
+            return historyNode;
+        }
+
+        protected String readName() {
+            int nameReference = readVarint();
+            if (nameReference > 0) {
+                return names.get(nameReference - 1);
+            }
+            String name = readString();
+            names.add(name);
+            return name;
+        }
+
+        protected void readValue(ObjectNode dataNode, String fieldName) {
+            int valueType = readByte();
+            switch (valueType) {
+            case VALUE_NULL:
+                dataNode.putNull(fieldName);
+                break;
+            case VALUE_STRING:
+                String value = readString();
+                if (valueDictionary && value.length() >= MIN_DICTIONARY_STRING_LENGTH) {
+                    values.add(value);
+                }
+                dataNode.put(fieldName, value);
+                break;
+            case VALUE_STRING_REFERENCE:
+                dataNode.put(fieldName, values.get(readVarint()));
+                break;
+            case VALUE_LONG:
+                dataNode.put(fieldName, Long.toString(unzigzag(readVarlong())));
+                break;
+            case VALUE_DATE:
+                dataNode.put(fieldName, AsyncHistoryDateUtil.formatDate(new Date(unzigzag(readVarlong()))));
+                break;
+            case VALUE_TRUE:
+                dataNode.put(fieldName, "true");
+                break;
+            case VALUE_FALSE:
+                dataNode.put(fieldName, "false");
+                break;
+            case VALUE_JSON:
+                try {
+                    dataNode.set(fieldName, objectMapper.readTree(readString()));
+                } catch (IOException e) {
+                    throw new FlowableException("Could not read json value of field " + fieldName + " in binary async history data", e);
+                }
+                break;
+            default:
+                throw new FlowableException("Invalid value type " + valueType + " in binary async history data");
+            }
+        }
+
+        protected String readString() {
+            int length = readVarint();
+            if (position + length > bytes.length) {
+                throw new FlowableException("Unexpected end of binary async history data");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        protected long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        protected int readVarint() {
+            return (int) readVarlong();
+        }
+
+        protected long readVarlong() {
+            long value = 0L;
+            int shift = 0;
+            while (shift < 64) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+            throw new FlowableException("Invalid varint in binary async history data");
+        }
+
+        protected int readByte() {
+            if (position >= bytes.length) {
+                throw new FlowableException("Unexpected end of binary async history data");
+            }
+            return bytes[position++] & 0xFF;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+/**
+ * Handles the history jobs created by the {@link BinaryAsyncHistoryJobProducer}.
+ */
+public class AsyncHistoryJobBinaryHandler extends AsyncHistoryJobHandler {
+
+    public static final String JOB_TYPE = "async-history-binary";
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    protected JsonNode readHistoryNode(ObjectMapper objectMapper, byte[] bytes) {
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        arrayNode.addAll(new AsyncHistoryBinaryCodec(objectMapper).decode(bytes));
+        return arrayNode;
+    }
+
+    @Override
+    public boolean isAsyncHistoryJsonGroupingEnabled() {
+        // The historic data of a transaction is always grouped in one job
+        return true;
+    }
+
+}
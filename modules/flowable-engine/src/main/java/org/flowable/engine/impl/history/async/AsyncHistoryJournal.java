@@ -0,0 +1,352 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal on the local disk, split in segment files of a maximum size.
+ *
+ * Every record is written as its length, a CRC32 checksum and the data. A record that was only partially written when the JVM crashed
+ * is detected by its length or checksum, and is truncated when the journal is opened again.
+ *
+ * Records are appended one at a time, and can be read concurrently from any position. Segments that are completely consumed
+ * can be deleted with {@link #deleteSegmentsBefore(long)}.
+ *
+ * With {@link #syncOnAppend}, an append returns when its record is forced to the disk. The force is done outside of the append lock,
+ * so the records appended while one thread forces the segment are forced together by the next thread (group commit).
+ */
+public class AsyncHistoryJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryJournal.class);
+
+    public static final String SEGMENT_FILE_SUFFIX = ".journal";
+
+    protected static final int RECORD_HEADER_SIZE = 8;
+
+    protected final File directory;
+
+    /** Segments are rolled over when appending a record would make them larger than this size */
+    protected long maxSegmentSize = 64L * 1024L * 1024L;
+
+    /**
+     * Whether an append waits until its record is forced to the disk. Without it, records survive a JVM crash, but not an operating system crash.
+     * A single appending thread still waits for a force per record, concurrent appends share a force.
+     */
+    protected boolean syncOnAppend = true;
+
+    protected long currentSegment = -1L;
+    protected long currentSegmentSize;
+    protected RandomAccessFile currentSegmentFile;
+
+    /** The number of records appended to the journal, guarded by the journal itself */
+    protected long appendedRecordCount;
+
+    /** Held while forcing the current segment, never acquired while holding the journal lock */
+    protected final Object forceLock = new Object();
+
+    /** The number of appended records that are forced to the disk, guarded by {@link #forceLock} */
+    protected long forcedRecordCount;
+
+    public AsyncHistoryJournal(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the last segment for appending, truncating a partially written record at its end.
+     */
+    public synchronized void open() {
+        if (currentSegmentFile != null) {
+            return;
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new FlowableException("Could not create async history journal directory " + directory);
+        }
+
+        List<Long> segments = getSegments();
+        long segment = segments.isEmpty() ? 0L : segments.get(segments.size() - 1);
+        try {
+            openSegment(segment);
+            long validLength = getValidLength(currentSegmentFile);
+            if (validLength < currentSegmentFile.length()) {
+                LOGGER.warn("Truncating partially written record at the end of async history journal segment {} (from {} to {} bytes)",
+                        getSegmentFile(segment), currentSegmentFile.length(), validLength);
+                currentSegmentFile.setLength(validLength);
+            }
+            currentSegmentSize = validLength;
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not open async history journal segment " + getSegmentFile(segment), e);
+        }
+    }
+
+    public synchronized void close() {
+        if (currentSegmentFile != null) {
+            try {
+                // A thread waiting for its record to be forced relies on this when it finds the segment closed
+                if (syncOnAppend) {
+                    force(currentSegmentFile.getChannel());
+                }
+                currentSegmentFile.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close async history journal segment {}", getSegmentFile(currentSegment), e);
+            }
+            currentSegmentFile = null;
+            currentSegment = -1L;
+        }
+    }
+
+    /**
+     * @return the position of the appended record
+     */
+    public AsyncHistoryJournalPosition append(byte[] data) {
+        AsyncHistoryJournalPosition position = null;
+        long recordCount;
+        synchronized (this) {
+            open();
+            try {
+                if (currentSegmentSize > 0 && currentSegmentSize + RECORD_HEADER_SIZE + data.length > maxSegmentSize) {
+                    if (syncOnAppend) {
+                        force(currentSegmentFile.getChannel());
+                    }
+                    currentSegmentFile.close();
+                    openSegment(currentSegment + 1);
+                    currentSegmentSize = 0L;
+                }
+
+                position = new AsyncHistoryJournalPosition(currentSegment, currentSegmentSize);
+                ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length);
+                buffer.putInt(data.length);
+                buffer.putInt(checksum(data));
+                buffer.put(data);
+                buffer.flip();
+
+                FileChannel channel = currentSegmentFile.getChannel();
+                channel.position(currentSegmentSize);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+
+                currentSegmentSize += RECORD_HEADER_SIZE + data.length;
+                recordCount = ++appendedRecordCount;
+
+            } catch (IOException e) {
+                throw new FlowableException("Could not append to async history journal segment " + getSegmentFile(currentSegment), e);
+            }
+        }
+
+        if (syncOnAppend) {
+            forceAppendedRecords(recordCount);
+        }
+        return position;
+    }
+
+    /**
+     * Forces the first recordCount appended records to the disk. Only one thread forces at a time, and it forces all records appended
+     * before it started, so the threads that waited for it usually find their records forced already.
+     */
+    protected void forceAppendedRecords(long recordCount) {
+        synchronized (forceLock) {
+            if (forcedRecordCount >= recordCount) {
+                return;
+            }
+
+            long recordCountToForce;
+            FileChannel channel = null;
+            synchronized (this) {
+                recordCountToForce = appendedRecordCount;
+                if (currentSegmentFile != null) {
+                    channel = currentSegmentFile.getChannel();
+                }
+            }
+
+            // The earlier segments were forced when they were rolled over or closed
+            if (channel != null) {
+                try {
+                    force(channel);
+                } catch (ClosedByInterruptException e) {
+                    throw new FlowableException("Interrupted while forcing async history journal segment to the disk", e);
+                } catch (ClosedChannelException e) {
+                    // Rolled over or closed in the meantime, which forced the segment
+                } catch (IOException e) {
+                    throw new FlowableException("Could not force async history journal segment to the disk", e);
+                }
+            }
+            forcedRecordCount = recordCountToForce;
+        }
+    }
+
+    protected void force(FileChannel channel) throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Reads at most maxRecords complete records, starting at the given position and continuing in the next segments.
+     */
+    public List<AsyncHistoryJournalRecord> read(AsyncHistoryJournalPosition from, int maxRecords) {
+        List<AsyncHistoryJournalRecord> records = new ArrayList<AsyncHistoryJournalRecord>();
+        AsyncHistoryJournalPosition position = from;
+        while (records.size() < maxRecords) {
+            File segmentFile = getSegmentFile(position.getSegment());
+            if (!segmentFile.exists()) {
+                break;
+            }
+
+            position = readSegment(segmentFile, position, maxRecords - records.size(), records);
+            if (records.size() < maxRecords) {
+                // End of the segment: continue in the next one, if the writer rolled over to it
+                if (!getSegmentFile(position.getSegment() + 1).exists()) {
+                    break;
+                }
+                position = new AsyncHistoryJournalPosition(position.getSegment() + 1, 0L);
+            }
+        }
+        return records;
+    }
+
+    protected AsyncHistoryJournalPosition readSegment(File segmentFile, AsyncHistoryJournalPosition from, int maxRecords, List<AsyncHistoryJournalRecord> records) {
+        long offset = from.getOffset();
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile, "r")) {
+            long length = file.length();
+            int recordCount = 0;
+            while (recordCount < maxRecords && offset + RECORD_HEADER_SIZE <= length) {
+                file.seek(offset);
+                int dataLength = file.readInt();
+                int checksum = file.readInt();
+                if (dataLength < 0 || offset + RECORD_HEADER_SIZE + dataLength > length) {
+                    // Not completely written yet
+                    break;
+                }
+
+                byte[] data = new byte[dataLength];
+                file.readFully(data);
+                if (checksum(data) != checksum) {
+                    break;
+                }
+
+                long nextOffset = offset + RECORD_HEADER_SIZE + dataLength;
+                records.add(new AsyncHistoryJournalRecord(data, new AsyncHistoryJournalPosition(from.getSegment(), offset),
+                        new AsyncHistoryJournalPosition(from.getSegment(), nextOffset)));
+                offset = nextOffset;
+                recordCount++;
+            }
+
+        } catch (IOException e) {
+            throw new FlowableException("Could not read async history journal segment " + segmentFile, e);
+        }
+        return new AsyncHistoryJournalPosition(from.getSegment(), offset);
+    }
+
+    /**
+     * Deletes the segments with a lower number than the given segment, which are completely consumed.
+     */
+    public void deleteSegmentsBefore(long segment) {
+        for (Long existingSegment : getSegments()) {
+            if (existingSegment < segment) {
+                File segmentFile = getSegmentFile(existingSegment);
+                if (!segmentFile.delete()) {
+                    LOGGER.warn("Could not delete consumed async history journal segment {}", segmentFile);
+                }
+            }
+        }
+    }
+
+    public List<Long> getSegments() {
+        List<Long> segments = new ArrayList<Long>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(SEGMENT_FILE_SUFFIX)) {
+                    try {
+                        segments.add(Long.valueOf(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        LOGGER.debug("Ignoring file {} in async history journal directory", file);
+                    }
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    protected void openSegment(long segment) throws IOException {
+        currentSegmentFile = new RandomAccessFile(getSegmentFile(segment), "rw");
+        currentSegment = segment;
+    }
+
+    protected long getValidLength(RandomAccessFile file) throws IOException {
+        long length = file.length();
+        long offset = 0L;
+        while (offset + RECORD_HEADER_SIZE <= length) {
+            file.seek(offset);
+            int dataLength = file.readInt();
+            int checksum = file.readInt();
+            if (dataLength < 0 || offset + RECORD_HEADER_SIZE + dataLength > length) {
+                break;
+            }
+            byte[] data = new byte[dataLength];
+            file.readFully(data);
+            if (checksum(data) != checksum) {
+                break;
+            }
+            offset += RECORD_HEADER_SIZE + dataLength;
+        }
+        return offset;
+    }
+
+    protected File getSegmentFile(long segment) {
+        return new File(directory, String.format("%020d", segment) + SEGMENT_FILE_SUFFIX);
+    }
+
+    protected int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        return (int) crc.getValue();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    public boolean isSyncOnAppend() {
+        return syncOnAppend;
+    }
+
+    public void setSyncOnAppend(boolean syncOnAppend) {
+        this.syncOnAppend = syncOnAppend;
+    }
+
+}
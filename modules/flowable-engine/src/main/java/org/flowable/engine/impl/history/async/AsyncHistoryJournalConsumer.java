@@ -0,0 +1,304 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Thread that applies the records of an {@link AsyncHistoryJournal} to the history tables in batches, see {@link ApplyAsyncHistoryJournalCmd}.
+ *
+ * When a batch fails, the records are applied one by one, so only the failing record is retried. A record that keeps failing
+ * is moved to a dead letter journal after the configured number of retries, and logged as an error. The records of the dead letter journal
+ * can be inspected with {@link #getDeadLetterRecords(int)} and applied again with {@link #replayDeadLetterRecords()}, for example after
+ * fixing the cause of the failure.
+ */
+public class AsyncHistoryJournalConsumer implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncHistoryJournalConsumer.class);
+
+    public static final String POSITION_PROPERTY_PREFIX = "async.history.journal.";
+    public static final String DEAD_LETTER_POSITION_PROPERTY_SUFFIX = ".dead-letter";
+
+    /** The dead letter journal is kept in this subdirectory of the journal directory */
+    public static final String DEAD_LETTER_DIRECTORY_NAME = "dead-letter";
+
+    /** The maximum length of a property name in the ACT_GE_PROPERTY table */
+    protected static final int MAX_POSITION_PROPERTY_NAME_LENGTH = 64;
+
+    protected final ProcessEngineConfigurationImpl processEngineConfiguration;
+    protected final AsyncHistoryJournal journal;
+    protected final AsyncHistoryJournal deadLetterJournal;
+
+    /**
+     * Name of the journal, the position is stored per name. Needs to be unique for the engines sharing a database,
+     * and needs to stay the same when the engine is restarted to continue from the stored position.
+     */
+    protected final String name;
+
+    protected int maxBatchSize = 100;
+    protected long waitTimeInMillis = 1000L;
+    protected long retryWaitTimeInMillis = 5000L;
+    protected int numberOfRetries = 3;
+
+    protected Thread thread;
+    protected volatile boolean isInterrupted;
+    protected final Object MONITOR = new Object();
+    protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
+
+    /**
+     * The position after the last record of the batch that failed. The records are applied one by one until this position is passed,
+     * so the record that made the batch fail is found and the records after the batch are applied in batches again.
+     */
+    protected AsyncHistoryJournalPosition failedBatchEndPosition;
+    protected int failedAttempts;
+
+    public AsyncHistoryJournalConsumer(ProcessEngineConfigurationImpl processEngineConfiguration, AsyncHistoryJournal journal, String name) {
+        if (name == null || name.isEmpty()) {
+            throw new FlowableIllegalArgumentException("A name is required for the async history journal " + journal.getDirectory());
+        }
+        int maxNameLength = MAX_POSITION_PROPERTY_NAME_LENGTH - POSITION_PROPERTY_PREFIX.length() - DEAD_LETTER_POSITION_PROPERTY_SUFFIX.length();
+        if (name.length() > maxNameLength) {
+            throw new FlowableIllegalArgumentException("The name of the async history journal can have at most " + maxNameLength + " characters: " + name);
+        }
+        this.processEngineConfiguration = processEngineConfiguration;
+        this.journal = journal;
+        this.deadLetterJournal = new AsyncHistoryJournal(new File(journal.getDirectory(), DEAD_LETTER_DIRECTORY_NAME));
+        this.name = name;
+    }
+
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        isInterrupted = false;
+        thread = new Thread(this, "flowable-async-history-journal-" + name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        if (thread != null) {
+            synchronized (MONITOR) {
+                isInterrupted = true;
+                if (isWaiting.compareAndSet(true, false)) {
+                    MONITOR.notifyAll();
+                }
+            }
+            try {
+                thread.join(60000L);
+            } catch (InterruptedException e) {
+                LOGGER.warn("Interrupted while waiting for the async history journal consumer to stop", e);
+            }
+            thread = null;
+        }
+        deadLetterJournal.close();
+    }
+
+    @Override
+    public void run() {
+        LOGGER.info("starting to apply async history journal {}", journal.getDirectory());
+        while (!isInterrupted) {
+            long millisToWait = applyNextRecords();
+            if (millisToWait > 0) {
+                sleep(millisToWait);
+            }
+        }
+        LOGGER.info("stopped applying async history journal {}", journal.getDirectory());
+    }
+
+    /**
+     * @return the time to wait before applying the next records
+     */
+    public long applyNextRecords() {
+        ApplyAsyncHistoryJournalCmd applyCmd = new ApplyAsyncHistoryJournalCmd(journal, getPositionPropertyName(),
+                failedBatchEndPosition != null ? 1 : maxBatchSize);
+        try {
+            AsyncHistoryJournalPosition position = processEngineConfiguration.getCommandExecutor().execute(applyCmd);
+            failedAttempts = 0;
+
+            if (position == null) {
+                failedBatchEndPosition = null;
+                return waitTimeInMillis;
+            }
+            applied(position);
+            journal.deleteSegmentsBefore(position.getSegment());
+            return 0L;
+
+        } catch (Throwable e) {
+            return handleFailure(e, applyCmd);
+        }
+    }
+
+    protected void applied(AsyncHistoryJournalPosition position) {
+        if (failedBatchEndPosition != null && position.compareTo(failedBatchEndPosition) >= 0) {
+            LOGGER.debug("Applied the records of the failed async history journal batch, applying the records in batches again");
+            failedBatchEndPosition = null;
+        }
+    }
+
+    protected long handleFailure(Throwable exception, ApplyAsyncHistoryJournalCmd applyCmd) {
+        if (failedBatchEndPosition == null) {
+            if (applyCmd.getReadEndPosition() == null) {
+                // No records were read, so it isn't caused by a record
+                LOGGER.warn("Applying async history journal failed before reading the records", exception);
+                return retryWaitTimeInMillis;
+            }
+
+            LOGGER.debug("Applying async history journal batch failed, applying the records one by one up to position {}",
+                    applyCmd.getReadEndPosition(), exception);
+            failedBatchEndPosition = applyCmd.getReadEndPosition();
+            return 0L;
+        }
+
+        failedAttempts++;
+        if (failedAttempts <= numberOfRetries) {
+            LOGGER.warn("Applying async history journal record failed (attempt {} of {})", failedAttempts, numberOfRetries + 1, exception);
+            return retryWaitTimeInMillis;
+        }
+
+        LOGGER.error("Applying async history journal record failed {} times, moving it to the dead letter journal", failedAttempts, exception);
+        try {
+            AsyncHistoryJournalPosition position = processEngineConfiguration.getCommandExecutor().execute(
+                    new ApplyAsyncHistoryJournalCmd(journal, getPositionPropertyName(), 1, deadLetterJournal));
+            failedAttempts = 0;
+            if (position != null) {
+                applied(position);
+            }
+            return 0L;
+
+        } catch (Throwable e) {
+            LOGGER.warn("Could not move async history journal record to the dead letter journal", e);
+            return retryWaitTimeInMillis;
+        }
+    }
+
+    /**
+     * Applies the records of the dead letter journal to the history tables, one by one and in the order they failed.
+     * Stops at the first record that fails again, which is thrown, the records from that one on stay in the dead letter journal.
+     *
+     * @return the number of applied records
+     */
+    public int replayDeadLetterRecords() {
+        int appliedRecords = 0;
+        AsyncHistoryJournalPosition position;
+        while ((position = processEngineConfiguration.getCommandExecutor().execute(
+                new ApplyAsyncHistoryJournalCmd(deadLetterJournal, getDeadLetterPositionPropertyName(), 1))) != null) {
+            deadLetterJournal.deleteSegmentsBefore(position.getSegment());
+            appliedRecords++;
+        }
+        return appliedRecords;
+    }
+
+    /**
+     * @return at most maxRecords records of the dead letter journal that were not applied yet
+     */
+    public List<AsyncHistoryJournalRecord> getDeadLetterRecords(final int maxRecords) {
+        return processEngineConfiguration.getCommandExecutor().execute(new Command<List<AsyncHistoryJournalRecord>>() {
+
+            @Override
+            public List<AsyncHistoryJournalRecord> execute(CommandContext commandContext) {
+                PropertyEntity positionProperty = CommandContextUtil.getPropertyEntityManager(commandContext).findById(getDeadLetterPositionPropertyName());
+                AsyncHistoryJournalPosition position = positionProperty != null
+                        ? AsyncHistoryJournalPosition.parse(positionProperty.getValue()) : AsyncHistoryJournalPosition.START;
+                return deadLetterJournal.read(position, maxRecords);
+            }
+        });
+    }
+
+    public void wakeUp() {
+        synchronized (MONITOR) {
+            if (isWaiting.compareAndSet(true, false)) {
+                MONITOR.notifyAll();
+            }
+        }
+    }
+
+    protected void sleep(long millisToWait) {
+        try {
+            synchronized (MONITOR) {
+                if (!isInterrupted) {
+                    isWaiting.set(true);
+                    MONITOR.wait(millisToWait);
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("async history journal consumer wait interrupted");
+        } finally {
+            isWaiting.set(false);
+        }
+    }
+
+    public String getPositionPropertyName() {
+        return POSITION_PROPERTY_PREFIX + name;
+    }
+
+    public String getDeadLetterPositionPropertyName() {
+        return POSITION_PROPERTY_PREFIX + name + DEAD_LETTER_POSITION_PROPERTY_SUFFIX;
+    }
+
+    public AsyncHistoryJournal getJournal() {
+        return journal;
+    }
+
+    public AsyncHistoryJournal getDeadLetterJournal() {
+        return deadLetterJournal;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getWaitTimeInMillis() {
+        return waitTimeInMillis;
+    }
+
+    public void setWaitTimeInMillis(long waitTimeInMillis) {
+        this.waitTimeInMillis = waitTimeInMillis;
+    }
+
+    public long getRetryWaitTimeInMillis() {
+        return retryWaitTimeInMillis;
+    }
+
+    public void setRetryWaitTimeInMillis(long retryWaitTimeInMillis) {
+        this.retryWaitTimeInMillis = retryWaitTimeInMillis;
+    }
+
+    public int getNumberOfRetries() {
+        return numberOfRetries;
+    }
+
+    public void setNumberOfRetries(int numberOfRetries) {
+        this.numberOfRetries = numberOfRetries;
+    }
+
+}
@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.List;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * {@link AsyncHistoryListener} that appends the historic data of a transaction to an {@link AsyncHistoryJournal} on the local disk,
+ * instead of inserting history jobs in the database. The data is appended after the transaction has committed,
+ * and is written to the history tables in large batches by an {@link AsyncHistoryJournalConsumer}.
+ *
+ * Note that the historic data of a transaction is lost when the JVM crashes between the commit and the append.
+ */
+public class AsyncHistoryJournalListener implements AsyncHistoryListener {
+
+    protected AsyncHistoryJournal journal;
+    protected String journalName;
+    protected AsyncHistoryJournalConsumer consumer;
+
+    /**
+     * @param journalName
+     *            the name of the journal, see {@link AsyncHistoryJournalConsumer#getName()}
+     */
+    public AsyncHistoryJournalListener(AsyncHistoryJournal journal, String journalName) {
+        this.journal = journal;
+        this.journalName = journalName;
+    }
+
+    @Override
+    public void historyDataGenerated(List<ObjectNode> historyObjectNodes) {
+        CommandContext commandContext = Context.getCommandContext();
+        ArrayNode arrayNode = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().createArrayNode();
+        for (ObjectNode historyObjectNode : historyObjectNodes) {
+            arrayNode.add(historyObjectNode);
+        }
+
+        final byte[] bytes;
+        try {
+            bytes = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper().writeValueAsBytes(arrayNode);
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not serialize historic data for async history", e);
+        }
+
+        commandContext.getSession(AsyncHistorySession.class).addAsyncHistoryRunnableAfterCommit(new Runnable() {
+
+            @Override
+            public void run() {
+                journal.append(bytes);
+                if (consumer != null) {
+                    consumer.wakeUp();
+                }
+            }
+        });
+    }
+
+    /**
+     * Opens the journal and starts the consumer thread, which first applies the records that were not yet applied when the engine stopped.
+     */
+    public void start(ProcessEngineConfigurationImpl processEngineConfiguration) {
+        journal.open();
+        if (consumer == null) {
+            consumer = new AsyncHistoryJournalConsumer(processEngineConfiguration, journal, journalName);
+        }
+        consumer.start();
+    }
+
+    public void shutdown() {
+        if (consumer != null) {
+            consumer.stop();
+        }
+        journal.close();
+    }
+
+    public AsyncHistoryJournal getJournal() {
+        return journal;
+    }
+
+    public String getJournalName() {
+        return journalName;
+    }
+
+    public AsyncHistoryJournalConsumer getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(AsyncHistoryJournalConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+}
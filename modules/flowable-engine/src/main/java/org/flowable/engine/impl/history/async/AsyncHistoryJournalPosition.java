@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+
+/**
+ * A position in an {@link AsyncHistoryJournal}: the number of the segment and the offset of a record in that segment.
+ */
+public class AsyncHistoryJournalPosition implements Comparable<AsyncHistoryJournalPosition> {
+
+    public static final AsyncHistoryJournalPosition START = new AsyncHistoryJournalPosition(0L, 0L);
+
+    protected final long segment;
+    protected final long offset;
+
+    public AsyncHistoryJournalPosition(long segment, long offset) {
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    public static AsyncHistoryJournalPosition parse(String value) {
+        int separatorIndex = value != null ? value.indexOf(':') : -1;
+        if (separatorIndex < 0) {
+            throw new FlowableIllegalArgumentException("Invalid async history journal position: " + value);
+        }
+        return new AsyncHistoryJournalPosition(Long.parseLong(value.substring(0, separatorIndex)), Long.parseLong(value.substring(separatorIndex + 1)));
+    }
+
+    public long getSegment() {
+        return segment;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public int compareTo(AsyncHistoryJournalPosition other) {
+        if (segment != other.segment) {
+            return segment < other.segment ? -1 : 1;
+        }
+        return offset < other.offset ? -1 : (offset == other.offset ? 0 : 1);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AsyncHistoryJournalPosition)) {
+            return false;
+        }
+        AsyncHistoryJournalPosition otherPosition = (AsyncHistoryJournalPosition) other;
+        return segment == otherPosition.segment && offset == otherPosition.offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (segment * 31 + offset);
+    }
+
+    @Override
+    public String toString() {
+        return segment + ":" + offset;
+    }
+
+}
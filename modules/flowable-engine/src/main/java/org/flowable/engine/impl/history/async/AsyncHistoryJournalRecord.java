@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+/**
+ * A record read from an {@link AsyncHistoryJournal}.
+ */
+public class AsyncHistoryJournalRecord {
+
+    protected final byte[] data;
+    protected final AsyncHistoryJournalPosition position;
+    protected final AsyncHistoryJournalPosition nextPosition;
+
+    public AsyncHistoryJournalRecord(byte[] data, AsyncHistoryJournalPosition position, AsyncHistoryJournalPosition nextPosition) {
+        this.data = data;
+        this.position = position;
+        this.nextPosition = nextPosition;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public AsyncHistoryJournalPosition getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the position right after this record
+     */
+    public AsyncHistoryJournalPosition getNextPosition() {
+        return nextPosition;
+    }
+
+}
@@ -44,7 +44,8 @@ public class AsyncHistorySession implements Session {
         this.asyncHistoryListener = asyncHistoryJobListener;
         initCommandContextCloseListener();
         
-        if (CommandContextUtil.getProcessEngineConfiguration(commandContext).isAsyncHistoryExecutorIsMessageQueueMode()) {
+        if (CommandContextUtil.getProcessEngineConfiguration(commandContext).isAsyncHistoryExecutorIsMessageQueueMode()
+                || asyncHistoryJobListener instanceof AsyncHistoryJournalListener) {
             intitTransactionListener();
         }
     }
@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.history.async;
+
+import java.util.List;
+
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Creates one history job per transaction, with all historic data encoded by the {@link AsyncHistoryBinaryCodec}.
+ * The jobs are handled by the {@link AsyncHistoryJobBinaryHandler}.
+ */
+public class BinaryAsyncHistoryJobProducer extends DefaultAsyncHistoryJobProducer {
+
+    protected boolean valueDictionaryEnabled = true;
+    protected boolean compressionEnabled;
+
+    @Override
+    protected void createJobsWithHistoricalData(List<ObjectNode> historyObjectNodes, CommandContext commandContext) {
+        AsyncHistorySession asyncHistorySession = commandContext.getSession(AsyncHistorySession.class);
+        HistoryJobEntity jobEntity = createAndInsertJobEntity(commandContext, asyncHistorySession, AsyncHistoryJobBinaryHandler.JOB_TYPE);
+
+        AsyncHistoryBinaryCodec codec = new AsyncHistoryBinaryCodec(CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper());
+        codec.setValueDictionaryEnabled(valueDictionaryEnabled);
+        codec.setCompressionEnabled(compressionEnabled);
+        jobEntity.setAdvancedJobHandlerConfigurationBytes(codec.encode(historyObjectNodes));
+    }
+
+    public boolean isValueDictionaryEnabled() {
+        return valueDictionaryEnabled;
+    }
+
+    public void setValueDictionaryEnabled(boolean valueDictionaryEnabled) {
+        this.valueDictionaryEnabled = valueDictionaryEnabled;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+}
@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Triggers the execution of the job, like {@link org.flowable.engine.RuntimeService#trigger(String)} does, but with the retry handling of the async executor.
+ * Used by activities that wait for an external result, which is stored on the execution before the job is created.
+ * It can also be scheduled as a timer job, which triggers the execution when the result doesn't arrive in time.
+ *
+ * The configuration of the job is the id of the activity to trigger, the job does nothing when the execution has left that activity in the meantime.
+ */
+public class AsyncTriggerJobHandler implements JobHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncTriggerJobHandler.class);
+
+    public static final String TYPE = "async-trigger";
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        if (configuration != null && !configuration.equals(execution.getCurrentActivityId())) {
+            LOGGER.debug("Execution {} has left activity {}, not triggering it", execution.getId(), configuration);
+            return;
+        }
+
+        CommandContextUtil.getProcessEngineConfiguration(commandContext).getEventDispatcher().dispatchEvent(
+                FlowableEventBuilder.createSignalEvent(FlowableEngineEventType.ACTIVITY_SIGNALED, execution.getCurrentActivityId(), null,
+                        null, execution.getId(), execution.getProcessInstanceId(), execution.getProcessDefinitionId()));
+
+        CommandContextUtil.getAgenda(commandContext).planTriggerExecutionOperation(execution);
+    }
+
+}
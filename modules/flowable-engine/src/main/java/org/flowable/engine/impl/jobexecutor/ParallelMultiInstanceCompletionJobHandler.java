@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.jobexecutor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.flowable.bpmn.model.Activity;
+import org.flowable.bpmn.model.FlowElement;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+/**
+ * Leaves a parallel multi-instance activity with lazy completion when all instances are completed or the completion condition is satisfied.
+ * 
+ * Instances completing concurrently in different transactions don't see each other's completion, so none of them might leave the activity.
+ * Therefore a transaction that completes instances without leaving the activity schedules an exclusive job for the multi-instance root execution,
+ * at most one per root execution and transaction. The job only becomes visible once that transaction is committed, so it counts its completions.
+ * For the same reason, a job removes the other pending jobs of the root execution: the completions they were scheduled for are committed too.
+ * 
+ * The job belongs to the process instance execution and has the id of the multi-instance root execution as configuration,
+ * so the pending jobs don't hinder deleting the root execution when the activity is left.
+ */
+public class ParallelMultiInstanceCompletionJobHandler implements JobHandler {
+
+    public static final String TYPE = "parallel-multi-instance-completion";
+
+    protected static final String ATTRIBUTE_SCHEDULED_EXECUTION_IDS = "ctx.attribute.parallelMultiInstanceCompletionExecutionIds";
+
+    public String getType() {
+        return TYPE;
+    }
+
+    public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+        ExecutionEntity multiInstanceRootExecution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(configuration);
+        ParallelMultiInstanceBehavior multiInstanceBehavior = getMultiInstanceBehavior(multiInstanceRootExecution);
+
+        // if the multi-instance activity was left in the meantime, ignore
+        if (multiInstanceBehavior != null && !multiInstanceBehavior.completeIfFinished(multiInstanceRootExecution)) {
+            deletePendingJobs(multiInstanceRootExecution, commandContext);
+        }
+    }
+
+    /**
+     * Schedules the job for the multi-instance root execution, unless it was already scheduled in the current transaction.
+     * 
+     * The job is created unlocked, also when the async executor is active, and isn't passed on to the async executor directly:
+     * it is acquired like any other job once the transaction is committed. Only unlocked jobs can be removed by {@link #deletePendingJobs},
+     * so a job that is locked right away would never be de-duplicated.
+     * 
+     * @return the scheduled job, or null when the job was already scheduled in the current transaction
+     */
+    @SuppressWarnings("unchecked")
+    public static JobEntity schedule(ExecutionEntity multiInstanceRootExecution, CommandContext commandContext) {
+        Set<String> scheduledExecutionIds = (Set<String>) commandContext.getAttribute(ATTRIBUTE_SCHEDULED_EXECUTION_IDS);
+        if (scheduledExecutionIds == null) {
+            scheduledExecutionIds = new HashSet<String>();
+            commandContext.addAttribute(ATTRIBUTE_SCHEDULED_EXECUTION_IDS, scheduledExecutionIds);
+        }
+
+        if (!scheduledExecutionIds.add(multiInstanceRootExecution.getId())) {
+            return null;
+        }
+
+        JobEntity job = CommandContextUtil.getJobManager(commandContext).createAsyncJob(multiInstanceRootExecution.getProcessInstance(), true);
+        job.setJobHandlerType(TYPE);
+        job.setJobHandlerConfiguration(multiInstanceRootExecution.getId());
+        job.setLockOwner(null);
+        job.setLockExpirationTime(null);
+        CommandContextUtil.getJobEntityManager(commandContext).insert(job);
+        return job;
+    }
+
+    /**
+     * Deletes the jobs of the multi-instance root execution that are not locked by an executor yet.
+     */
+    public static void deletePendingJobs(ExecutionEntity multiInstanceRootExecution, CommandContext commandContext) {
+        CommandContextUtil.getJobEntityManager(commandContext).deleteUnlockedJobs(multiInstanceRootExecution.getProcessInstanceId(), TYPE, multiInstanceRootExecution.getId());
+    }
+
+    public static ParallelMultiInstanceBehavior getMultiInstanceBehavior(ExecutionEntity execution) {
+        if (execution == null || execution.isDeleted() || execution.isEnded() || !execution.isMultiInstanceRoot()) {
+            return null;
+        }
+
+        FlowElement flowElement = execution.getCurrentFlowElement();
+        if (flowElement instanceof Activity && ((Activity) flowElement).getBehavior() instanceof ParallelMultiInstanceBehavior) {
+            return (ParallelMultiInstanceBehavior) ((Activity) flowElement).getBehavior();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,97 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+
+/**
+ * Default {@link LatestProcessDefinitionCacheInvalidator}, using a version stamp in the ACT_GE_PROPERTY table.
+ * The stamp gets a new unique value whenever the latest process definition versions change, and it's read at most once per poll interval:
+ * other engines see a change within the poll interval, without querying the database on every cache lookup.
+ *
+ * The stamp is updated without the optimistic locking of the property entity, so concurrent deployments don't fail on it.
+ * Each change writes a value that was never used before, so a change is never hidden by a concurrent one writing the same value.
+ */
+public class DbLatestProcessDefinitionCacheInvalidator implements LatestProcessDefinitionCacheInvalidator {
+
+    public static final String VERSION_PROPERTY_NAME = "cache.procdef.version";
+
+    protected long pollInterval;
+    protected AtomicLong lastPollTime = new AtomicLong();
+    protected volatile String lastVersion;
+
+    /**
+     * @param pollInterval
+     *            the minimum time in milliseconds between two reads of the version stamp, 0 reads it on every cache lookup
+     */
+    public DbLatestProcessDefinitionCacheInvalidator(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public void latestProcessDefinitionsChanged(CommandContext commandContext) {
+        String version = UUID.randomUUID().toString();
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("name", VERSION_PROPERTY_NAME);
+        parameters.put("value", version);
+        int updatedRows = CommandContextUtil.getDbSqlSession(commandContext).update("updatePropertyValueWithoutRevisionCheck", parameters);
+
+        if (updatedRows == 0) {
+            // Databases created before the stamp was introduced, the property may already be inserted earlier in this transaction
+            PropertyEntityManager propertyEntityManager = CommandContextUtil.getPropertyEntityManager(commandContext);
+            PropertyEntity property = propertyEntityManager.findById(VERSION_PROPERTY_NAME);
+            if (property == null) {
+                property = propertyEntityManager.create();
+                property.setName(VERSION_PROPERTY_NAME);
+                property.setValue(version);
+                propertyEntityManager.insert(property);
+            } else {
+                property.setValue(version);
+            }
+        }
+    }
+
+    @Override
+    public boolean isCacheInvalidated(CommandContext commandContext) {
+        long now = System.currentTimeMillis();
+        long previousPollTime = lastPollTime.get();
+        if (now - previousPollTime < pollInterval || !lastPollTime.compareAndSet(previousPollTime, now)) {
+            // Polled recently or concurrently by another thread
+            return false;
+        }
+
+        PropertyEntity property = CommandContextUtil.getPropertyEntityManager(commandContext).findById(VERSION_PROPERTY_NAME);
+        String version = property != null ? property.getValue() : null;
+        String previousVersion = lastVersion;
+        lastVersion = version;
+        return version != null && !version.equals(previousVersion);
+    }
+
+    public long getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(long pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+}
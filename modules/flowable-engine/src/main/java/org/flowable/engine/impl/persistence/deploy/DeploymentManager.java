@@ -22,6 +22,11 @@ import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
 import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.impl.cfg.TransactionContext;
+import org.flowable.engine.common.impl.cfg.TransactionListener;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.ProcessDefinitionQueryImpl;
@@ -43,6 +48,8 @@ public class DeploymentManager {
 
     protected DeploymentCache<ProcessDefinitionCacheEntry> processDefinitionCache;
     protected ProcessDefinitionInfoCache processDefinitionInfoCache;
+    protected LatestProcessDefinitionCache latestProcessDefinitionCache;
+    protected LatestProcessDefinitionCacheInvalidator latestProcessDefinitionCacheInvalidator;
     protected DeploymentCache<Object> appResourceCache;
     protected DeploymentCache<Object> knowledgeBaseCache; // Needs to be object to avoid an import to Drools in this core class
     protected List<Deployer> deployers;
@@ -81,24 +88,97 @@ public class DeploymentManager {
     }
 
     public ProcessDefinition findDeployedLatestProcessDefinitionByKey(String processDefinitionKey) {
-        ProcessDefinition processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKey(processDefinitionKey);
+        ProcessDefinition processDefinition = getCachedLatestProcessDefinition(processDefinitionKey, null);
+        if (processDefinition != null) {
+            return processDefinition;
+        }
+
+        long cacheGeneration = latestProcessDefinitionCache != null ? latestProcessDefinitionCache.getGeneration() : 0;
+        processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKey(processDefinitionKey);
 
         if (processDefinition == null) {
             throw new FlowableObjectNotFoundException("no processes deployed with key '" + processDefinitionKey + "'", ProcessDefinition.class);
         }
         processDefinition = resolveProcessDefinition(processDefinition).getProcessDefinition();
+        cacheLatestProcessDefinition(processDefinitionKey, null, processDefinition, cacheGeneration);
         return processDefinition;
     }
 
     public ProcessDefinition findDeployedLatestProcessDefinitionByKeyAndTenantId(String processDefinitionKey, String tenantId) {
-        ProcessDefinition processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKeyAndTenantId(processDefinitionKey, tenantId);
+        ProcessDefinition processDefinition = getCachedLatestProcessDefinition(processDefinitionKey, tenantId);
+        if (processDefinition != null) {
+            return processDefinition;
+        }
+
+        long cacheGeneration = latestProcessDefinitionCache != null ? latestProcessDefinitionCache.getGeneration() : 0;
+        processDefinition = processDefinitionEntityManager.findLatestProcessDefinitionByKeyAndTenantId(processDefinitionKey, tenantId);
         if (processDefinition == null) {
             throw new FlowableObjectNotFoundException("no processes deployed with key '" + processDefinitionKey + "' for tenant identifier '" + tenantId + "'", ProcessDefinition.class);
         }
         processDefinition = resolveProcessDefinition(processDefinition).getProcessDefinition();
+        cacheLatestProcessDefinition(processDefinitionKey, tenantId, processDefinition, cacheGeneration);
         return processDefinition;
     }
 
+    /**
+     * Returns the latest process definition version for the key and tenant when it's known in the latest process definition cache
+     * and the process definition itself is in the process definition cache, null otherwise.
+     */
+    protected ProcessDefinition getCachedLatestProcessDefinition(String processDefinitionKey, String tenantId) {
+        if (latestProcessDefinitionCache == null || processDefinitionKey == null) {
+            return null;
+        }
+
+        String processDefinitionId = latestProcessDefinitionCache.get(processDefinitionKey, tenantId);
+        if (processDefinitionId == null) {
+            return null;
+        }
+
+        // Only checked on a cache hit, on a miss the latest version is queried anyway
+        if (latestProcessDefinitionCacheInvalidator != null && latestProcessDefinitionCacheInvalidator.isCacheInvalidated(CommandContextUtil.getCommandContext())) {
+            latestProcessDefinitionCache.clear();
+            return null;
+        }
+
+        ProcessDefinitionCacheEntry cacheEntry = processDefinitionCache.get(processDefinitionId);
+        return cacheEntry != null ? cacheEntry.getProcessDefinition() : null;
+    }
+
+    protected void cacheLatestProcessDefinition(String processDefinitionKey, String tenantId, ProcessDefinition processDefinition, long cacheGeneration) {
+        // Flowable 5 process definitions are resolved by the compatibility handler and are not in the process definition cache
+        if (latestProcessDefinitionCache != null && processDefinitionKey != null && processDefinitionCache.get(processDefinition.getId()) != null) {
+            latestProcessDefinitionCache.put(processDefinitionKey, tenantId, processDefinition.getId(), cacheGeneration);
+        }
+    }
+
+    /**
+     * Clears the latest process definition cache, to be called in the transaction that changes the latest process definition versions.
+     * The cache is cleared again when the transaction is committed, as lookups can find the old versions until then,
+     * and the {@link LatestProcessDefinitionCacheInvalidator} is notified so other engines clear their cache too.
+     */
+    public void invalidateLatestProcessDefinitionCache() {
+        if (latestProcessDefinitionCache == null) {
+            return;
+        }
+
+        latestProcessDefinitionCache.clear();
+
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+            transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+                @Override
+                public void execute(CommandContext commandContext) {
+                    latestProcessDefinitionCache.clear();
+                }
+            });
+        }
+
+        if (latestProcessDefinitionCacheInvalidator != null) {
+            latestProcessDefinitionCacheInvalidator.latestProcessDefinitionsChanged(CommandContextUtil.getCommandContext());
+        }
+    }
+
     public ProcessDefinition findDeployedProcessDefinitionByKeyAndVersionAndTenantId(String processDefinitionKey, Integer processDefinitionVersion, String tenantId) {
         ProcessDefinition processDefinition = (ProcessDefinitionEntity) processDefinitionEntityManager
                 .findProcessDefinitionByKeyAndVersionAndTenantId(processDefinitionKey, processDefinitionVersion, tenantId);
@@ -212,6 +292,10 @@ public class DeploymentManager {
             processDefinitionInfoCache.remove(processDefinition.getId());
         }
 
+        if (!processDefinitions.isEmpty()) {
+            invalidateLatestProcessDefinitionCache();
+        }
+
         appResourceCache.remove(deploymentId);
         knowledgeBaseCache.remove(deploymentId);
     }
@@ -235,6 +319,22 @@ public class DeploymentManager {
         this.processDefinitionCache = processDefinitionCache;
     }
 
+    public LatestProcessDefinitionCache getLatestProcessDefinitionCache() {
+        return latestProcessDefinitionCache;
+    }
+
+    public void setLatestProcessDefinitionCache(LatestProcessDefinitionCache latestProcessDefinitionCache) {
+        this.latestProcessDefinitionCache = latestProcessDefinitionCache;
+    }
+
+    public LatestProcessDefinitionCacheInvalidator getLatestProcessDefinitionCacheInvalidator() {
+        return latestProcessDefinitionCacheInvalidator;
+    }
+
+    public void setLatestProcessDefinitionCacheInvalidator(LatestProcessDefinitionCacheInvalidator latestProcessDefinitionCacheInvalidator) {
+        this.latestProcessDefinitionCacheInvalidator = latestProcessDefinitionCacheInvalidator;
+    }
+
     public ProcessDefinitionInfoCache getProcessDefinitionInfoCache() {
         return processDefinitionInfoCache;
     }
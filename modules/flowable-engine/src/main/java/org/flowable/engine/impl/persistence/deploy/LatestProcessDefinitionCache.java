@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of the id of the latest process definition version for a process definition key (and tenant),
+ * used by the {@link DeploymentManager} to avoid querying the latest version on every start of a process instance by key.
+ *
+ * Every {@link #clear()} starts a new generation: ids that were looked up before the clear (see {@link #getGeneration()})
+ * are not added anymore, so a lookup that ran concurrently with a new deployment can't put an outdated version in the cache.
+ */
+public class LatestProcessDefinitionCache {
+
+    protected Map<CacheKey, String> processDefinitionIds = new ConcurrentHashMap<CacheKey, String>();
+    protected AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param tenantId
+     *            null when looking up the latest version without tenant
+     */
+    public String get(String processDefinitionKey, String tenantId) {
+        return processDefinitionIds.get(new CacheKey(processDefinitionKey, tenantId));
+    }
+
+    public void put(String processDefinitionKey, String tenantId, String processDefinitionId, long lookupGeneration) {
+        CacheKey cacheKey = new CacheKey(processDefinitionKey, tenantId);
+        processDefinitionIds.put(cacheKey, processDefinitionId);
+
+        // A clear that happened in the meantime might have missed the put, so the entry is removed again
+        if (generation.get() != lookupGeneration) {
+            processDefinitionIds.remove(cacheKey);
+        }
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        processDefinitionIds.clear();
+    }
+
+    public int size() {
+        return processDefinitionIds.size();
+    }
+
+    protected static class CacheKey {
+
+        protected final String processDefinitionKey;
+        protected final String tenantId;
+
+        public CacheKey(String processDefinitionKey, String tenantId) {
+            this.processDefinitionKey = processDefinitionKey;
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * processDefinitionKey.hashCode() + (tenantId != null ? tenantId.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return processDefinitionKey.equals(other.processDefinitionKey)
+                    && (tenantId != null ? tenantId.equals(other.tenantId) : other.tenantId == null);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.deploy;
+
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+
+/**
+ * Keeps the {@link LatestProcessDefinitionCache} of the engines that share a database consistent.
+ * The engine that changes the latest process definition versions clears its own cache, this hook makes the other engines notice the change.
+ */
+public interface LatestProcessDefinitionCacheInvalidator {
+
+    /**
+     * Called in the transaction that changes the latest process definition versions, for example when deploying or deleting a deployment.
+     */
+    void latestProcessDefinitionsChanged(CommandContext commandContext);
+
+    /**
+     * Called before the cache is used. Returns true when another engine changed the latest process definition versions
+     * since the previous call, in which case the cache is cleared.
+     */
+    boolean isCacheInvalidated(CommandContext commandContext);
+
+}
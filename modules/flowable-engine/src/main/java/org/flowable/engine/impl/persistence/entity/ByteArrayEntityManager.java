@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.EntityManager;
@@ -32,4 +33,10 @@ public interface ByteArrayEntityManager extends EntityManager<ByteArrayEntity> {
      */
     void deleteByteArrayById(String byteArrayEntityId);
 
+    /**
+     * Deletes the byte arrays of the variables and jobs of the given process instances, without revision check.
+     * The deletes are executed when the session is flushed, so this needs to be called before the variables and jobs are deleted.
+     */
+    void deleteByteArraysByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
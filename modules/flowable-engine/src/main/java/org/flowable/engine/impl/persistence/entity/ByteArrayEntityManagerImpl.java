@@ -13,6 +13,8 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -47,6 +49,17 @@ public class ByteArrayEntityManagerImpl extends AbstractEntityManager<ByteArrayE
         byteArrayDataManager.deleteByteArrayNoRevisionCheck(byteArrayEntityId);
     }
 
+    @Override
+    public void deleteByteArraysByProcessInstanceIds(Collection<String> processInstanceIds) {
+        List<String> byteArrayIds = byteArrayDataManager.findByteArrayIdsByProcessInstanceIds(processInstanceIds);
+
+        // Process instances can have many variables, the ids are split to keep the in clause within database limits
+        int batchSize = getProcessEngineConfiguration().getPerformanceSettings().getBulkProcessInstanceDeleteBatchSize();
+        for (int i = 0; i < byteArrayIds.size(); i += batchSize) {
+            byteArrayDataManager.deleteByteArraysNoRevisionCheck(new ArrayList<String>(byteArrayIds.subList(i, Math.min(i + batchSize, byteArrayIds.size()))));
+        }
+    }
+
     public ByteArrayDataManager getByteArrayDataManager() {
         return byteArrayDataManager;
     }
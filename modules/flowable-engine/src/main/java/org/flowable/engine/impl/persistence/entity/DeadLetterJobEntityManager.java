@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -44,4 +45,8 @@ public interface DeadLetterJobEntityManager extends EntityManager<DeadLetterJobE
      * Changes the tenantId for all jobs related to a given {@link DeploymentEntity}.
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<DeadLetterJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
 }
\ No newline at end of file
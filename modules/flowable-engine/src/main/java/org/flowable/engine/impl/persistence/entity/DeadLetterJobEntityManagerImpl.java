@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
@@ -135,6 +136,16 @@ public class DeadLetterJobEntityManagerImpl extends AbstractEntityManager<DeadLe
         return newJobEntity;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteJobsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<DeadLetterJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return jobDataManager.findJobsByProcessInstanceIds(processInstanceIds);
+    }
+
     protected DeadLetterJobDataManager getDataManager() {
         return jobDataManager;
     }
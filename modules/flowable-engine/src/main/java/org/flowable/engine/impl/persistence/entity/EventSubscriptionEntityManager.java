@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -92,4 +93,8 @@ public interface EventSubscriptionEntityManager extends EntityManager<EventSubsc
 
     List<CompensateEventSubscriptionEntity> findCompensateEventSubscriptionsByProcessInstanceIdAndActivityId(String processInstanceId, String activityId);
 
+    void deleteEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 package org.flowable.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.bpmn.model.Signal;
@@ -302,6 +303,16 @@ public class EventSubscriptionEntityManagerImpl extends AbstractEntityManager<Ev
         return messageEventSubscriptionEntities;
     }
 
+    @Override
+    public void deleteEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        eventSubscriptionDataManager.deleteEventSubscriptionsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<EventSubscriptionEntity> findEventSubscriptionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return eventSubscriptionDataManager.findEventSubscriptionsByProcessInstanceIds(processInstanceIds);
+    }
+
     public EventSubscriptionDataManager getEventSubscriptionDataManager() {
         return eventSubscriptionDataManager;
     }
@@ -25,6 +25,7 @@ import org.flowable.bpmn.model.FlowableListener;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
@@ -538,7 +539,8 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
 
         // Dispatch event, if needed
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
-        if (processEngineConfiguration != null && processEngineConfiguration.getEventDispatcher().isEnabled()) {
+        if (processEngineConfiguration != null && processEngineConfiguration.getEventDispatcher().isEnabled()
+                && FlowableEventDispatcherImpl.hasListeners(processEngineConfiguration.getEventDispatcher(), FlowableEngineEventType.VARIABLE_CREATED)) {
             processEngineConfiguration
                     .getEventDispatcher()
                     .dispatchEvent(
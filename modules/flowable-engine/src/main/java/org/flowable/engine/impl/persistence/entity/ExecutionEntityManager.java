@@ -63,6 +63,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
     Collection<ExecutionEntity> findInactiveExecutionsByActivityIdAndProcessInstanceId(String activityId, String processInstanceId);
 
+    /**
+     * Counts the inactive child executions of the given parent execution in the given activity, without fetching the executions.
+     * Executions that were changed in the current command context are counted with their current state.
+     */
+    long countInactiveExecutionsByParentIdAndActivityId(String parentId, String activityId);
+
     List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap);
 
     List<ProcessInstance> findProcessInstanceByNativeQuery(Map<String, Object> parameterMap);
@@ -84,6 +90,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
     void deleteProcessInstancesByProcessDefinition(String processDefinitionId, String deleteReason, boolean cascade);
 
+    /**
+     * Deletes the given process instances. When the history is deleted too (cascade), the runtime data of the process instances is deleted
+     * in bulk when possible (see {@link org.flowable.engine.impl.cfg.PerformanceSettings#isEnableBulkProcessInstanceDelete()}).
+     */
+    void deleteProcessInstances(Collection<String> processInstanceIds, String deleteReason, boolean cascade);
+
     void deleteProcessInstance(String processInstanceId, String deleteReason, boolean cascade);
 
     void deleteProcessInstanceExecutionEntity(String processInstanceId, String currentFlowElementId,
@@ -16,16 +16,24 @@ package org.flowable.engine.impl.persistence.entity;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 import org.flowable.bpmn.model.BoundaryEvent;
 import org.flowable.bpmn.model.FlowElement;
+import org.flowable.bpmn.model.FlowableListener;
+import org.flowable.bpmn.model.Process;
+import org.flowable.bpmn.model.UserTask;
 import org.flowable.engine.common.api.FlowableObjectNotFoundException;
+import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
+import org.flowable.engine.delegate.TaskListener;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.history.DeleteReason;
@@ -36,8 +44,10 @@ import org.flowable.engine.impl.identity.Authentication;
 import org.flowable.engine.impl.persistence.CountingExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.data.ExecutionDataManager;
 import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.impl.util.ProcessDefinitionUtil;
 import org.flowable.engine.repository.ProcessDefinition;
 import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.Job;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.IdentityLinkType;
 import org.slf4j.Logger;
@@ -187,6 +197,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         return executionDataManager.findInactiveExecutionsByActivityIdAndProcessInstanceId(activityId, processInstanceId);
     }
 
+    @Override
+    public long countInactiveExecutionsByParentIdAndActivityId(String parentId, String activityId) {
+        return executionDataManager.countInactiveExecutionsByParentIdAndActivityId(parentId, activityId);
+    }
+
     @Override
     public List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap) {
         return executionDataManager.findExecutionsByNativeQuery(parameterMap);
@@ -247,7 +262,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         }
 
         // Fire events
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().isEnabled() && FlowableEventDispatcherImpl.hasListeners(getEventDispatcher(), FlowableEngineEventType.ENTITY_CREATED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, processInstanceExecution));
         }
 
@@ -279,8 +294,12 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
         }
 
         if (getEventDispatcher().isEnabled()) {
-            getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, childExecution));
-            getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, childExecution));
+            if (FlowableEventDispatcherImpl.hasListeners(getEventDispatcher(), FlowableEngineEventType.ENTITY_CREATED)) {
+                getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_CREATED, childExecution));
+            }
+            if (FlowableEventDispatcherImpl.hasListeners(getEventDispatcher(), FlowableEngineEventType.ENTITY_INITIALIZED)) {
+                getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_INITIALIZED, childExecution));
+            }
         }
 
         return childExecution;
@@ -350,13 +369,208 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     @Override
     public void deleteProcessInstancesByProcessDefinition(String processDefinitionId, String deleteReason, boolean cascade) {
         List<String> processInstanceIds = executionDataManager.findProcessInstanceIdsByProcessDefinitionId(processDefinitionId);
+        deleteProcessInstances(processInstanceIds, deleteReason, cascade, processDefinitionId);
+
+        if (cascade) {
+            getHistoryManager().recordDeleteHistoricProcessInstancesByProcessDefinitionId(processDefinitionId);
+        }
+    }
+
+    @Override
+    public void deleteProcessInstances(Collection<String> processInstanceIds, String deleteReason, boolean cascade) {
+        deleteProcessInstances(new ArrayList<String>(processInstanceIds), deleteReason, cascade, null);
+    }
+
+    /**
+     * Deletes the process instances in batches of {@link org.flowable.engine.impl.cfg.PerformanceSettings#getBulkProcessInstanceDeleteBatchSize()}.
+     * When a process definition id is given, all process instances belong to it and the caller deletes the history of the whole process definition,
+     * so the history of the process instances deleted in bulk isn't deleted here.
+     */
+    protected void deleteProcessInstances(List<String> processInstanceIds, String deleteReason, boolean cascade, String processDefinitionId) {
+        if (!cascade || !getProcessEngineConfiguration().getPerformanceSettings().isEnableBulkProcessInstanceDelete()) {
+            for (String processInstanceId : processInstanceIds) {
+                deleteProcessInstance(processInstanceId, deleteReason, cascade);
+            }
+            return;
+        }
+
+        int batchSize = getProcessEngineConfiguration().getPerformanceSettings().getBulkProcessInstanceDeleteBatchSize();
+        for (int i = 0; i < processInstanceIds.size(); i += batchSize) {
+            List<String> batch = new ArrayList<String>(processInstanceIds.subList(i, Math.min(i + batchSize, processInstanceIds.size())));
+
+            Collection<String> processDefinitionIds = processDefinitionId != null
+                    ? Collections.singletonList(processDefinitionId) : executionDataManager.findProcessDefinitionIdsByProcessInstanceIds(batch);
+            if (isBulkDeleteSupported(processDefinitionIds)) {
+                List<String> bulkDeletedProcessInstanceIds = bulkDeleteProcessInstances(batch, deleteReason, processDefinitionId);
+                if (processDefinitionId == null) {
+                    for (String processInstanceId : bulkDeletedProcessInstanceIds) {
+                        getHistoryManager().recordProcessInstanceDeleted(processInstanceId);
+                    }
+                }
+
+            } else {
+                for (String processInstanceId : batch) {
+                    deleteProcessInstance(processInstanceId, deleteReason, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Process instances can be deleted in bulk when their runtime data doesn't need to be looked at one by one:
+     * no task delete listeners need to be called.
+     */
+    protected boolean isBulkDeleteSupported(Collection<String> processDefinitionIds) {
+        for (String processDefinitionId : processDefinitionIds) {
+            Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
+            if (process == null) {
+                return false;
+            }
+
+            for (UserTask userTask : process.findFlowElementsOfType(UserTask.class, true)) {
+                for (FlowableListener taskListener : userTask.getTaskListeners()) {
+                    if (TaskListener.EVENTNAME_DELETE.equals(taskListener.getEvent()) || TaskListener.EVENTNAME_ALL_EVENTS.equals(taskListener.getEvent())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the runtime data of a batch of process instances with one delete statement per table.
+     * Process instances that are related to other process instances through a call activity, or that have sub tasks, are deleted one by one.
+     * 
+     * @return the ids of the process instances that were deleted in bulk, their history is not deleted by this method
+     */
+    protected List<String> bulkDeleteProcessInstances(List<String> processInstanceIds, String deleteReason, String processDefinitionId) {
+        if (deleteReason == null) {
+            deleteReason = DeleteReason.PROCESS_INSTANCE_DELETED;
+        }
+
+        List<String> batch = new ArrayList<String>(processInstanceIds);
+        List<String> singleDeleteProcessInstanceIds = new ArrayList<String>(executionDataManager.findProcessInstanceIdsWithSuperOrSubProcessInstances(batch));
+        singleDeleteProcessInstanceIds.addAll(getTaskEntityManager().findProcessInstanceIdsWithSubTasks(batch));
+        for (String processInstanceId : new LinkedHashSet<String>(singleDeleteProcessInstanceIds)) {
+            if (batch.remove(processInstanceId)) {
+                deleteProcessInstance(processInstanceId, deleteReason, true);
+            }
+        }
+
+        if (batch.isEmpty()) {
+            return batch;
+        }
+
+        if (getEventDispatcher().isEnabled()) {
+            dispatchBulkDeleteEvents(batch, deleteReason, processDefinitionId);
+        }
+
+        // The byte arrays are looked up now, the delete statements are executed in entity dependency order when the session is flushed
+        getByteArrayEntityManager().deleteByteArraysByProcessInstanceIds(batch);
+        getIdentityLinkEntityManager().deleteIdentityLinksByProcessInstanceIds(batch);
+        getVariableInstanceEntityManager().deleteVariableInstancesByProcessInstanceIds(batch);
+        getTaskEntityManager().deleteTasksByProcessInstanceIds(batch);
+        getJobEntityManager().deleteJobsByProcessInstanceIds(batch);
+        getTimerJobEntityManager().deleteJobsByProcessInstanceIds(batch);
+        getSuspendedJobEntityManager().deleteJobsByProcessInstanceIds(batch);
+        getDeadLetterJobEntityManager().deleteJobsByProcessInstanceIds(batch);
+        getEventSubscriptionEntityManager().deleteEventSubscriptionsByProcessInstanceIds(batch);
+        executionDataManager.deleteExecutionsByProcessInstanceIds(batch);
+
+        return batch;
+    }
+
+    /**
+     * Dispatches the events of the regular process instance delete for the runtime data of a batch of process instances that is deleted in bulk.
+     * The runtime data is fetched with one query per table for the whole batch, and only when a listener is registered for its events.
+     */
+    protected void dispatchBulkDeleteEvents(List<String> processInstanceIds, String deleteReason, String processDefinitionId) {
+        FlowableEventDispatcher eventDispatcher = getEventDispatcher();
+        boolean dispatchEntityDeleted = FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.ENTITY_DELETED);
+        boolean dispatchActivityCancelled = FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.ACTIVITY_CANCELLED);
+        boolean dispatchVariableDeleted = FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.VARIABLE_DELETED);
+        boolean dispatchJobCanceled = FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.JOB_CANCELED);
+        boolean dispatchMessageCancelled = FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED);
+
+        // The executions are fetched first, their process definition ids are needed for the other events
+        List<ExecutionEntity> executions = Collections.emptyList();
+        Map<String, String> processDefinitionIds = new HashMap<String, String>();
+        if (dispatchEntityDeleted || dispatchVariableDeleted) {
+            executions = executionDataManager.findExecutionsByProcessInstanceIds(processInstanceIds);
+            for (ExecutionEntity execution : executions) {
+                processDefinitionIds.put(execution.getProcessInstanceId(), execution.getProcessDefinitionId());
+            }
+        }
+
+        if (dispatchEntityDeleted || dispatchActivityCancelled) {
+            for (TaskEntity task : getTaskEntityManager().findTasksByProcessInstanceIds(processInstanceIds)) {
+                if (dispatchActivityCancelled) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createActivityCancelledEvent(task.getTaskDefinitionKey(), task.getName(),
+                            task.getExecutionId(), task.getProcessInstanceId(), task.getProcessDefinitionId(), "userTask", deleteReason));
+                }
+                if (dispatchEntityDeleted) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, task));
+                }
+            }
+        }
 
         for (String processInstanceId : processInstanceIds) {
-            deleteProcessInstance(processInstanceId, deleteReason, cascade);
+            eventDispatcher.dispatchEvent(FlowableEventBuilder.createCancelledEvent(processInstanceId, processInstanceId, processDefinitionId, deleteReason));
         }
 
-        if (cascade) {
-            getHistoryManager().recordDeleteHistoricProcessInstancesByProcessDefinitionId(processDefinitionId);
+        if (dispatchEntityDeleted) {
+            for (IdentityLinkEntity identityLink : getIdentityLinkEntityManager().findIdentityLinksByProcessInstanceIds(processInstanceIds)) {
+                eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, identityLink));
+            }
+        }
+
+        if (dispatchEntityDeleted || dispatchVariableDeleted) {
+            for (VariableInstanceEntity variableInstance : getVariableInstanceEntityManager().findVariableInstancesByProcessInstanceIds(processInstanceIds)) {
+                if (dispatchEntityDeleted) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, variableInstance));
+                }
+                if (dispatchVariableDeleted) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createVariableEvent(FlowableEngineEventType.VARIABLE_DELETED, variableInstance.getName(), null,
+                            variableInstance.getType(), variableInstance.getTaskId(), variableInstance.getExecutionId(), variableInstance.getProcessInstanceId(),
+                            processDefinitionIds.get(variableInstance.getProcessInstanceId())));
+                }
+            }
+        }
+
+        if (dispatchEntityDeleted || dispatchJobCanceled) {
+            List<Job> jobs = new ArrayList<Job>();
+            jobs.addAll(getJobEntityManager().findJobsByProcessInstanceIds(processInstanceIds));
+            jobs.addAll(getTimerJobEntityManager().findJobsByProcessInstanceIds(processInstanceIds));
+            jobs.addAll(getSuspendedJobEntityManager().findJobsByProcessInstanceIds(processInstanceIds));
+            jobs.addAll(getDeadLetterJobEntityManager().findJobsByProcessInstanceIds(processInstanceIds));
+            for (Job job : jobs) {
+                if (dispatchEntityDeleted) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, job));
+                }
+                if (dispatchJobCanceled) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.JOB_CANCELED, job));
+                }
+            }
+        }
+
+        if (dispatchEntityDeleted || dispatchMessageCancelled) {
+            for (EventSubscriptionEntity eventSubscription : getEventSubscriptionEntityManager().findEventSubscriptionsByProcessInstanceIds(processInstanceIds)) {
+                if (dispatchEntityDeleted) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, eventSubscription));
+                }
+                if (dispatchMessageCancelled && MessageEventSubscriptionEntity.EVENT_TYPE.equals(eventSubscription.getEventType())) {
+                    eventDispatcher.dispatchEvent(FlowableEventBuilder.createMessageEvent(FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED,
+                            eventSubscription.getActivityId(), eventSubscription.getEventName(), null, eventSubscription.getExecutionId(),
+                            eventSubscription.getProcessInstanceId(), eventSubscription.getProcessDefinitionId()));
+                }
+            }
+        }
+
+        if (dispatchEntityDeleted) {
+            for (ExecutionEntity execution : executions) {
+                eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, execution));
+            }
         }
     }
 
@@ -722,7 +936,7 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
             executionEntity.setBusinessKey(businessKey);
             getHistoryManager().updateProcessBusinessKeyInHistory(executionEntity);
 
-            if (getEventDispatcher().isEnabled()) {
+            if (getEventDispatcher().isEnabled() && FlowableEventDispatcherImpl.hasListeners(getEventDispatcher(), FlowableEngineEventType.ENTITY_UPDATED)) {
                 getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_UPDATED, executionEntity));
             }
 
@@ -69,4 +69,8 @@ public interface IdentityLinkEntityManager extends EntityManager<IdentityLinkEnt
 
     void deleteIdentityLinksByProcDef(String processDefId);
 
+    void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
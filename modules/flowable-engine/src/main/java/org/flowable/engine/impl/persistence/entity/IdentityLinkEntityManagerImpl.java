@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
@@ -83,7 +84,7 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
             }
         }
 
-        if (getEventDispatcher().isEnabled()) {
+        if (getEventDispatcher().isEnabled() && FlowableEventDispatcherImpl.hasListeners(getEventDispatcher(), FlowableEngineEventType.ENTITY_DELETED)) {
             getEventDispatcher().dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, identityLink));
         }
     }
@@ -266,6 +267,16 @@ public class IdentityLinkEntityManagerImpl extends AbstractEntityManager<Identit
         identityLinkDataManager.deleteIdentityLinksByProcDef(processDefId);
     }
 
+    @Override
+    public void deleteIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        identityLinkDataManager.deleteIdentityLinksByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<IdentityLinkEntity> findIdentityLinksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return identityLinkDataManager.findIdentityLinksByProcessInstanceIds(processInstanceIds);
+    }
+
     public IdentityLinkDataManager getIdentityLinkDataManager() {
         return identityLinkDataManager;
     }
@@ -20,4 +20,11 @@ package org.flowable.engine.impl.persistence.entity;
  */
 public interface JobEntity extends JobInfoEntity, AbstractRuntimeJobEntity {
 
+    /**
+     * @return the partition of the job, used by the async executor to only acquire the jobs of the partitions it owns. Null when partitioning is disabled.
+     */
+    Integer getPartition();
+
+    void setPartition(Integer partition);
+
 }
@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -32,6 +34,16 @@ public interface JobEntityManager extends EntityManager<JobEntity>, JobInfoEntit
      */
     boolean insertJobEntity(JobEntity jobEntity);
 
+    /**
+     * Same as {@link #findJobsToExecute(Page)}, but only returns the jobs of the given partitions and the jobs without partition.
+     */
+    List<JobEntity> findJobsToExecute(List<Integer> partitions, Page page);
+
+    /**
+     * Same as {@link #lockJobsToExecute(Page, String, Date)}, but only locks the jobs of the given partitions and the jobs without partition.
+     */
+    List<JobEntity> lockJobsToExecute(List<Integer> partitions, Page page, String lockOwner, Date lockExpirationTime);
+
     /**
      * Executes a {@link JobQueryImpl} and returns the matching {@link JobEntity} instances.
      */
@@ -42,4 +54,14 @@ public interface JobEntityManager extends EntityManager<JobEntity>, JobInfoEntit
      */
     long findJobCountByQueryCriteria(JobQueryImpl jobQuery);
 
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<JobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    /**
+     * Deletes the jobs of the process instance with the given handler type and configuration that are not locked by an executor.
+     * The jobs are deleted without optimistic locking when the session is flushed, jobs that got locked concurrently are not deleted.
+     */
+    void deleteUnlockedJobs(String processInstanceId, String jobHandlerType, String jobHandlerConfiguration);
+
 }
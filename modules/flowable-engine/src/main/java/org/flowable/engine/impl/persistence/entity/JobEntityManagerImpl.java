@@ -13,12 +13,17 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
 import org.flowable.engine.impl.JobQueryImpl;
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.CountingExecutionEntity;
 import org.flowable.engine.impl.persistence.entity.data.JobDataManager;
@@ -76,10 +81,38 @@ public class JobEntityManagerImpl extends JobInfoEntityManagerImpl<JobEntity> im
         }
 
         jobEntity.setCreateTime(getProcessEngineConfiguration().getClock().getCurrentTime());
+
+        if (jobEntity.getPartition() == null) {
+            AsyncExecutor asyncExecutor = getProcessEngineConfiguration().getAsyncExecutor();
+            if (asyncExecutor != null && asyncExecutor.getJobPartitionCount() > 0) {
+                jobEntity.setPartition(determinePartition(jobEntity, asyncExecutor.getJobPartitionCount()));
+            }
+        }
+
         super.insert(jobEntity, fireCreateEvent);
         return true;
     }
 
+    /**
+     * Jobs of the same process instance get the same partition, so they are acquired by the same async executor. Subclasses may override to provide custom implementations.
+     */
+    protected int determinePartition(JobEntity jobEntity, int partitionCount) {
+        if (jobEntity.getProcessInstanceId() != null) {
+            return (jobEntity.getProcessInstanceId().hashCode() & Integer.MAX_VALUE) % partitionCount;
+        }
+        return ThreadLocalRandom.current().nextInt(partitionCount);
+    }
+
+    @Override
+    public List<JobEntity> findJobsToExecute(List<Integer> partitions, Page page) {
+        return jobDataManager.findJobsToExecute(partitions, page);
+    }
+
+    @Override
+    public List<JobEntity> lockJobsToExecute(List<Integer> partitions, Page page, String lockOwner, Date lockExpirationTime) {
+        return jobDataManager.lockJobsToExecute(partitions, page, lockOwner, lockExpirationTime);
+    }
+
     @Override
     public List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery) {
         return jobDataManager.findJobsByQueryCriteria(jobQuery);
@@ -137,6 +170,21 @@ public class JobEntityManagerImpl extends JobInfoEntityManagerImpl<JobEntity> im
         }
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteJobsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<JobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return jobDataManager.findJobsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public void deleteUnlockedJobs(String processInstanceId, String jobHandlerType, String jobHandlerConfiguration) {
+        jobDataManager.deleteUnlockedJobs(processInstanceId, jobHandlerType, jobHandlerConfiguration);
+    }
+
     public JobDataManager getJobDataManager() {
         return jobDataManager;
     }
@@ -12,20 +12,10 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
-import java.util.Date;
-
 import org.flowable.engine.common.impl.db.HasRevision;
 import org.flowable.engine.common.impl.persistence.entity.Entity;
 import org.flowable.engine.runtime.JobInfo;
 
-public interface JobInfoEntity extends JobInfo, AbstractJobEntity, Entity, HasRevision {
-
-    String getLockOwner();
-
-    void setLockOwner(String claimedBy);
-
-    Date getLockExpirationTime();
+public interface JobInfoEntity extends JobInfo, LockableJobEntity, Entity, HasRevision {
 
-    void setLockExpirationTime(Date claimedUntil);
-    
 }
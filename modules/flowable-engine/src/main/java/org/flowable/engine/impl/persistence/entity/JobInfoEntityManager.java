@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -28,6 +29,13 @@ public interface JobInfoEntityManager <T extends JobInfoEntity> extends EntityMa
      */
     List<T> findJobsToExecute(Page page);
 
+    /**
+     * Finds the jobs that are eligible to be executed and locks them for the given owner, using one set-based update for the whole page instead of one update per job.
+     * 
+     * Only the jobs that were actually locked by this call are returned: jobs locked concurrently by another executor are left out, no optimistic locking exception is thrown for them.
+     */
+    List<T> lockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
     /**
      * Returns all {@link JobEntity} instances related to on {@link ExecutionEntity}.
      */
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -50,4 +51,7 @@ public interface SuspendedJobEntityManager extends EntityManager<SuspendedJobEnt
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<SuspendedJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
 }
@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
@@ -138,6 +139,16 @@ public class SuspendedJobEntityManagerImpl extends AbstractEntityManager<Suspend
         return newSuspendedJobEntity;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteJobsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<SuspendedJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return jobDataManager.findJobsByProcessInstanceIds(processInstanceIds);
+    }
+
     protected SuspendedJobDataManager getDataManager() {
         return jobDataManager;
     }
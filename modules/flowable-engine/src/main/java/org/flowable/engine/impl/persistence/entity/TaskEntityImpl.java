@@ -27,6 +27,7 @@ import org.flowable.bpmn.model.FlowableListener;
 import org.flowable.engine.ProcessEngineConfiguration;
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
@@ -185,7 +186,8 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Cou
         VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
         // Dispatch event, if needed
-        if (CommandContextUtil.getProcessEngineConfiguration() != null && CommandContextUtil.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+        if (CommandContextUtil.getProcessEngineConfiguration() != null && CommandContextUtil.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+                && FlowableEventDispatcherImpl.hasListeners(CommandContextUtil.getProcessEngineConfiguration().getEventDispatcher(), FlowableEngineEventType.VARIABLE_CREATED)) {
             CommandContextUtil.getProcessEngineConfiguration()
                     .getEventDispatcher()
                     .dispatchEvent(
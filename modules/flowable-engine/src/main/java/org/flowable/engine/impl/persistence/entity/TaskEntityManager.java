@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -51,4 +52,10 @@ public interface TaskEntityManager extends EntityManager<TaskEntity> {
 
     void deleteTask(TaskEntity task, String deleteReason, boolean cascade, boolean cancel, boolean fireEvents);
 
+    void deleteTasksByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<TaskEntity> findTasksByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<String> findProcessInstanceIdsWithSubTasks(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
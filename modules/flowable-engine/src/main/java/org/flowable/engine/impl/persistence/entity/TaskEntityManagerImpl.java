@@ -13,6 +13,7 @@
 
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -314,6 +315,21 @@ public class TaskEntityManagerImpl extends AbstractEntityManager<TaskEntity> imp
         taskDataManager.updateTaskTenantIdForDeployment(deploymentId, newTenantId);
     }
 
+    @Override
+    public void deleteTasksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        taskDataManager.deleteTasksByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<TaskEntity> findTasksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return taskDataManager.findTasksByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<String> findProcessInstanceIdsWithSubTasks(Collection<String> processInstanceIds) {
+        return taskDataManager.findProcessInstanceIdsWithSubTasks(processInstanceIds);
+    }
+
     public TaskDataManager getTaskDataManager() {
         return taskDataManager;
     }
@@ -12,21 +12,12 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
-import java.util.Date;
-
 /**
  * Stub of the common parts of a Job. You will normally work with a subclass of JobEntity, such as {@link TimerEntity} or {@link MessageEntity}.
  *
  * @author Tijs Rademakers
  * @author Joram Barrez
  */
-public interface TimerJobEntity extends AbstractRuntimeJobEntity {
-
-    String getLockOwner();
-
-    void setLockOwner(String claimedBy);
-
-    Date getLockExpirationTime();
+public interface TimerJobEntity extends AbstractRuntimeJobEntity, LockableJobEntity {
 
-    void setLockExpirationTime(Date claimedUntil);
 }
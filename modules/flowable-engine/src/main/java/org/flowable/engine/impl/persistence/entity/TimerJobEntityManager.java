@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.common.impl.Page;
@@ -40,6 +42,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+    /**
+     * Same as {@link #findTimerJobsToExecute(Page)}, but locks the returned {@link TimerJobEntity} instances for the given owner with one set-based update.
+     * Timer jobs that were locked concurrently by another executor are not returned.
+     */
+    List<TimerJobEntity> lockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
     /**
      * Returns the {@link TimerJobEntity} for a given process definition.
      * 
@@ -89,4 +97,8 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
      */
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
 
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<TimerJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
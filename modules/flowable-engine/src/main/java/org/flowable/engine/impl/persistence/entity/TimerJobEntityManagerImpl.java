@@ -14,6 +14,7 @@
 package org.flowable.engine.impl.persistence.entity;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -70,6 +71,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return jobDataManager.findTimerJobsToExecute(page);
     }
 
+    @Override
+    public List<TimerJobEntity> lockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        return jobDataManager.lockTimerJobsToExecute(page, lockOwner, lockExpirationTime);
+    }
+
     @Override
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
         return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
@@ -260,6 +266,16 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
         return businessCalendarName;
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        jobDataManager.deleteJobsByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<TimerJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return jobDataManager.findJobsByProcessInstanceIds(processInstanceIds);
+    }
+
     protected TimerJobDataManager getDataManager() {
         return jobDataManager;
     }
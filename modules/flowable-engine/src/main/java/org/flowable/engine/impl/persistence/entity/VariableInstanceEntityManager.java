@@ -44,4 +44,8 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
     void deleteVariableInstanceByTask(TaskEntity task);
 
+    void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.engine.delegate.event.FlowableEngineEventType;
 import org.flowable.engine.delegate.event.FlowableVariableEvent;
@@ -138,9 +139,12 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
 
         FlowableEventDispatcher eventDispatcher = getEventDispatcher();
         if (fireDeleteEvent && eventDispatcher.isEnabled()) {
-            eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, entity));
-
-            eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+            if (FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.ENTITY_DELETED)) {
+                eventDispatcher.dispatchEvent(FlowableEventBuilder.createEntityEvent(FlowableEngineEventType.ENTITY_DELETED, entity));
+            }
+            if (FlowableEventDispatcherImpl.hasListeners(eventDispatcher, FlowableEngineEventType.VARIABLE_DELETED)) {
+                eventDispatcher.dispatchEvent(createVariableDeleteEvent(entity));
+            }
         }
 
     }
@@ -175,6 +179,16 @@ public class VariableInstanceEntityManagerImpl extends AbstractEntityManager<Var
         }
     }
 
+    @Override
+    public void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        variableInstanceDataManager.deleteVariableInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
+    @Override
+    public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return variableInstanceDataManager.findVariableInstancesByProcessInstanceIds(processInstanceIds);
+    }
+
     public VariableInstanceDataManager getVariableInstanceDataManager() {
         return variableInstanceDataManager;
     }
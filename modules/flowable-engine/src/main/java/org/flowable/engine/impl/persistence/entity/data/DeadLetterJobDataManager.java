@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
@@ -31,4 +32,8 @@ public interface DeadLetterJobDataManager extends DataManager<DeadLetterJobEntit
     long findJobCountByQueryCriteria(DeadLetterJobQueryImpl jobQuery);
 
     void updateJobTenantIdForDeployment(String deploymentId, String newTenantId);
+
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<DeadLetterJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
 }
@@ -55,6 +55,8 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
     Collection<ExecutionEntity> findInactiveExecutionsByActivityIdAndProcessInstanceId(final String activityId, final String processInstanceId);
 
+    long countInactiveExecutionsByParentIdAndActivityId(String parentId, String activityId);
+
     List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId);
 
     List<Execution> findExecutionsByNativeQuery(Map<String, Object> parameterMap);
@@ -71,4 +73,12 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
 
     void clearProcessInstanceLockTime(String processInstanceId);
 
+    List<String> findProcessInstanceIdsWithSuperOrSubProcessInstances(Collection<String> processInstanceIds);
+
+    List<String> findProcessDefinitionIdsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    void deleteExecutionsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<ExecutionEntity> findExecutionsByProcessInstanceIds(Collection<String> processInstanceIds);
+
 }
@@ -12,8 +12,11 @@
  */
 package org.flowable.engine.impl.persistence.entity.data;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.flowable.engine.common.impl.Page;
 import org.flowable.engine.common.impl.persistence.entity.data.DataManager;
 import org.flowable.engine.impl.JobQueryImpl;
 import org.flowable.engine.impl.persistence.entity.JobEntity;
@@ -24,8 +27,18 @@ import org.flowable.engine.runtime.Job;
  */
 public interface JobDataManager extends DataManager<JobEntity>, JobInfoDataManager<JobEntity> {
 
+    List<JobEntity> findJobsToExecute(List<Integer> partitions, Page page);
+
+    List<JobEntity> lockJobsToExecute(List<Integer> partitions, Page page, String lockOwner, Date lockExpirationTime);
+
     List<Job> findJobsByQueryCriteria(JobQueryImpl jobQuery);
 
     long findJobCountByQueryCriteria(JobQueryImpl jobQuery);
 
+    void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    List<JobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds);
+
+    void deleteUnlockedJobs(String processInstanceId, String jobHandlerType, String jobHandlerConfiguration);
+
 }
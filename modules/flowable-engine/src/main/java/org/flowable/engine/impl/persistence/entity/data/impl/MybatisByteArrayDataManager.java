@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -50,4 +51,15 @@ public class MybatisByteArrayDataManager extends AbstractDataManager<ByteArrayEn
         getDbSqlSession().delete("deleteByteArrayNoRevisionCheck", byteArrayEntityId, ByteArrayEntityImpl.class);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findByteArrayIdsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectListNoCacheCheck("selectByteArrayIdsByProcessInstanceIds", processInstanceIds);
+    }
+
+    @Override
+    public void deleteByteArraysNoRevisionCheck(Collection<String> byteArrayEntityIds) {
+        getDbSqlSession().delete("bulkDeleteByteArraysNoRevisionCheck", byteArrayEntityIds, ByteArrayEntityImpl.class);
+    }
+
 }
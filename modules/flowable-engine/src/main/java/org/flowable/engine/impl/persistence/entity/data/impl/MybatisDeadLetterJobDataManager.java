@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -71,4 +72,15 @@ public class MybatisDeadLetterJobDataManager extends AbstractDataManager<DeadLet
         getDbSqlSession().update("updateDeadLetterJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteDeadLetterJobsByProcessInstanceIds", processInstanceIds, DeadLetterJobEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<DeadLetterJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectDeadLetterJobsByProcessInstanceIds", processInstanceIds);
+    }
+
 }
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.persistence.cache.CachedEntity;
 import org.flowable.engine.impl.ExecutionQueryImpl;
 import org.flowable.engine.impl.ProcessInstanceQueryImpl;
 import org.flowable.engine.impl.cfg.PerformanceSettings;
@@ -212,6 +213,32 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public long countInactiveExecutionsByParentIdAndActivityId(String parentId, String activityId) {
+        HashMap<String, Object> params = new HashMap<String, Object>(3);
+        params.put("parentId", parentId);
+        params.put("activityId", activityId);
+        params.put("isActive", false);
+        long count = (Long) getDbSqlSession().selectOne("selectInactiveExecutionCountByParentIdAndActivityId", params);
+
+        // Executions changed in the current command context aren't flushed yet: the stored state is replaced by the current state
+        for (CachedEntity cachedEntity : getEntityCache().findInCacheAsCachedObjects(ExecutionEntityImpl.class)) {
+            ExecutionEntity execution = (ExecutionEntity) cachedEntity.getEntity();
+
+            Map<String, Object> storedState = (Map<String, Object>) cachedEntity.getOriginalPersistentState();
+            if (!execution.isInserted() && storedState != null && parentId.equals(storedState.get("parentId"))
+                    && activityId.equals(storedState.get("activityId")) && Boolean.FALSE.equals(storedState.get("isActive"))) {
+                count--;
+            }
+
+            if (!execution.isDeleted() && parentId.equals(execution.getParentId()) && activityId.equals(execution.getActivityId()) && !execution.isActive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public List<String> findProcessInstanceIdsByProcessDefinitionId(String processDefinitionId) {
@@ -337,4 +364,32 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
         getDbSqlSession().update("clearProcessInstanceLockTime", params);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findProcessInstanceIdsWithSuperOrSubProcessInstances(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectListNoCacheCheck("selectProcessInstanceIdsWithSuperOrSubProcessInstances", processInstanceIds);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findProcessDefinitionIdsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectListNoCacheCheck("selectProcessDefinitionIdsByProcessInstanceIds", processInstanceIds);
+    }
+
+    @Override
+    public void deleteExecutionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        // The parent references between the executions are removed first, so the child executions can be deleted with one statement.
+        // It is queued with the deletes instead of executed right away: the operations of an entity class run in order when the session is flushed,
+        // after the inserts and updates, so an execution flushed in the meantime can't restore a parent reference.
+        getDbSqlSession().delete("clearParentIdsForProcessInstanceIds", processInstanceIds, ExecutionEntityImpl.class);
+        getDbSqlSession().delete("deleteChildExecutionsByProcessInstanceIds", processInstanceIds, ExecutionEntityImpl.class);
+        getDbSqlSession().delete("deleteProcessInstanceExecutionsByIds", processInstanceIds, ExecutionEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ExecutionEntity> findExecutionsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectExecutionsByProcessInstanceIds", processInstanceIds);
+    }
+
 }
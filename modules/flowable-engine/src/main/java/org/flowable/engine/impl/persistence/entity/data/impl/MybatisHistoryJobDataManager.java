@@ -25,6 +25,7 @@ import org.flowable.engine.impl.persistence.entity.HistoryJobEntity;
 import org.flowable.engine.impl.persistence.entity.HistoryJobEntityImpl;
 import org.flowable.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.flowable.engine.impl.persistence.entity.data.HistoryJobDataManager;
+import org.flowable.engine.impl.persistence.entity.data.impl.util.BulkJobLocker;
 import org.flowable.engine.runtime.HistoryJob;
 
 /**
@@ -32,6 +33,8 @@ import org.flowable.engine.runtime.HistoryJob;
  */
 public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJobEntity> implements HistoryJobDataManager {
 
+    protected BulkJobLocker<HistoryJobEntity> bulkJobLocker = new BulkJobLocker<HistoryJobEntity>("selectHistoryJobsToExecuteForBulkLock", "bulkLockHistoryJobs", "selectHistoryJobsByIdsAndLockOwner");
+
     public MybatisHistoryJobDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
         super(processEngineConfiguration);
     }
@@ -57,6 +60,15 @@ public class MybatisHistoryJobDataManager extends AbstractDataManager<HistoryJob
         return getDbSqlSession().selectList("selectHistoryJobsToExecute", params);
     }
 
+    @Override
+    public List<HistoryJobEntity> lockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        ListQueryParameterObject queryParams = new ListQueryParameterObject();
+        queryParams.setFirstResult(page.getFirstResult());
+        queryParams.setMaxResults(page.getMaxResults());
+        queryParams.setOrderByColumns("CREATE_TIME_ ASC");
+        return bulkJobLocker.lockJobs(getDbSqlSession(), queryParams, lockOwner, lockExpirationTime);
+    }
+
     @Override
     public List<HistoryJobEntity> findJobsByExecutionId(final String executionId) {
         return getDbSqlSession().selectList("selectHistoryJobsByExecutionId", executionId);
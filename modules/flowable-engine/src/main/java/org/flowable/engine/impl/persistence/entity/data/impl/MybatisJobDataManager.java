@@ -12,12 +12,14 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.impl.Page;
+import org.flowable.engine.common.impl.db.ListQueryParameterObject;
 import org.flowable.engine.impl.JobQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.CachedEntityMatcher;
@@ -26,6 +28,7 @@ import org.flowable.engine.impl.persistence.entity.JobEntityImpl;
 import org.flowable.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.flowable.engine.impl.persistence.entity.data.JobDataManager;
 import org.flowable.engine.impl.persistence.entity.data.impl.cachematcher.JobsByExecutionIdMatcher;
+import org.flowable.engine.impl.persistence.entity.data.impl.util.BulkJobLocker;
 import org.flowable.engine.runtime.Job;
 
 /**
@@ -34,6 +37,8 @@ import org.flowable.engine.runtime.Job;
  */
 public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implements JobDataManager {
 
+    protected BulkJobLocker<JobEntity> bulkJobLocker = new BulkJobLocker<JobEntity>("selectJobsToExecuteForBulkLock", "bulkLockJobs", "selectJobsByIdsAndLockOwner");
+
     protected CachedEntityMatcher<JobEntity> jobsByExecutionIdMatcher = new JobsByExecutionIdMatcher();
 
     public MybatisJobDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -51,9 +56,24 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<JobEntity> findJobsToExecute(Page page) {
-        return getDbSqlSession().selectList("selectJobsToExecute", null, page);
+        return findJobsToExecute(null, page);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsToExecute(List<Integer> partitions, Page page) {
+        return getDbSqlSession().selectList("selectJobsToExecute", partitions, page);
+    }
+
+    @Override
+    public List<JobEntity> lockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        return lockJobsToExecute(null, page, lockOwner, lockExpirationTime);
+    }
+
+    @Override
+    public List<JobEntity> lockJobsToExecute(List<Integer> partitions, Page page, String lockOwner, Date lockExpirationTime) {
+        return bulkJobLocker.lockJobs(getDbSqlSession(), new ListQueryParameterObject(partitions, page.getFirstResult(), page.getMaxResults()), lockOwner, lockExpirationTime);
     }
 
     @Override
@@ -106,4 +126,24 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
         getDbSqlSession().update("resetExpiredJob", params);
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteJobsByProcessInstanceIds", processInstanceIds, JobEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<JobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectJobsByProcessInstanceIds", processInstanceIds);
+    }
+
+    @Override
+    public void deleteUnlockedJobs(String processInstanceId, String jobHandlerType, String jobHandlerConfiguration) {
+        Map<String, Object> params = new HashMap<String, Object>(3);
+        params.put("processInstanceId", processInstanceId);
+        params.put("handlerType", jobHandlerType);
+        params.put("handlerConfiguration", jobHandlerConfiguration);
+        getDbSqlSession().delete("deleteUnlockedJobs", params, JobEntityImpl.class);
+    }
+
 }
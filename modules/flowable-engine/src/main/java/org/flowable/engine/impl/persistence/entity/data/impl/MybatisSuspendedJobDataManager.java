@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -77,4 +78,15 @@ public class MybatisSuspendedJobDataManager extends AbstractDataManager<Suspende
         getDbSqlSession().update("updateSuspendedJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteSuspendedJobsByProcessInstanceIds", processInstanceIds, SuspendedJobEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SuspendedJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectSuspendedJobsByProcessInstanceIds", processInstanceIds);
+    }
+
 }
@@ -12,6 +12,7 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -137,4 +138,21 @@ public class MybatisTaskDataManager extends AbstractDataManager<TaskEntity> impl
         getDbSqlSession().update("updateTaskRelatedEntityCountEnabled", newValue);
     }
 
+    @Override
+    public void deleteTasksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteTasksByProcessInstanceIds", processInstanceIds, TaskEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskEntity> findTasksByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectTasksByProcessInstanceIds", processInstanceIds);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> findProcessInstanceIdsWithSubTasks(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectListNoCacheCheck("selectProcessInstanceIdsWithSubTasks", processInstanceIds);
+    }
+
 }
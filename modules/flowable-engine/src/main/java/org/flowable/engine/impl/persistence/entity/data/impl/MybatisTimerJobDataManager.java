@@ -12,12 +12,14 @@
  */
 package org.flowable.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.flowable.engine.common.impl.Page;
+import org.flowable.engine.common.impl.db.ListQueryParameterObject;
 import org.flowable.engine.impl.TimerJobQueryImpl;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.flowable.engine.impl.persistence.CachedEntityMatcher;
@@ -26,6 +28,7 @@ import org.flowable.engine.impl.persistence.entity.TimerJobEntityImpl;
 import org.flowable.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.flowable.engine.impl.persistence.entity.data.TimerJobDataManager;
 import org.flowable.engine.impl.persistence.entity.data.impl.cachematcher.TimerJobsByExecutionIdMatcher;
+import org.flowable.engine.impl.persistence.entity.data.impl.util.BulkJobLocker;
 import org.flowable.engine.runtime.Job;
 
 /**
@@ -34,6 +37,8 @@ import org.flowable.engine.runtime.Job;
  */
 public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEntity> implements TimerJobDataManager {
 
+    protected BulkJobLocker<TimerJobEntity> bulkJobLocker = new BulkJobLocker<TimerJobEntity>("selectTimerJobsToExecuteForBulkLock", "bulkLockTimerJobs", "selectTimerJobsByIdsAndLockOwner");
+
     protected CachedEntityMatcher<TimerJobEntity> timerJobsByExecutionIdMatcher = new TimerJobsByExecutionIdMatcher();
 
     public MybatisTimerJobDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
@@ -69,6 +74,12 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
     }
 
+    @Override
+    public List<TimerJobEntity> lockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+        Date now = getClock().getCurrentTime();
+        return bulkJobLocker.lockJobs(getDbSqlSession(), new ListQueryParameterObject(now, page.getFirstResult(), page.getMaxResults()), lockOwner, lockExpirationTime);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
@@ -117,4 +128,15 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
         getDbSqlSession().update("updateTimerJobTenantIdForDeployment", params);
     }
 
+    @Override
+    public void deleteJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteTimerJobsByProcessInstanceIds", processInstanceIds, TimerJobEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TimerJobEntity> findJobsByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectTimerJobsByProcessInstanceIds", processInstanceIds);
+    }
+
 }
@@ -106,4 +106,15 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
         return getDbSqlSession().selectList("selectVariableInstancesByTaskAndNames", params);
     }
 
+    @Override
+    public void deleteVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        getDbSqlSession().delete("deleteVariableInstancesByProcessInstanceIds", processInstanceIds, VariableInstanceEntityImpl.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<VariableInstanceEntity> findVariableInstancesByProcessInstanceIds(Collection<String> processInstanceIds) {
+        return getDbSqlSession().selectList("selectVariableInstancesByProcessInstanceIds", processInstanceIds);
+    }
+
 }
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.persistence.entity.data.impl.util;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.impl.db.DbSqlSession;
+import org.flowable.engine.common.impl.db.ListQueryParameterObject;
+import org.flowable.engine.impl.persistence.entity.LockableJobEntity;
+
+/**
+ * Locks a page of jobs with one set-based update instead of an optimistically locked update per job, shared by the job data managers.
+ *
+ * The jobs are selected first, then locked with an update that only locks the jobs that are not locked yet.
+ * When another executor locked some of them concurrently, the jobs locked by this lock owner are selected again.
+ */
+public class BulkJobLocker<T extends LockableJobEntity> {
+
+    protected String selectJobsStatement;
+    protected String lockJobsStatement;
+    protected String selectLockedJobsStatement;
+
+    public BulkJobLocker(String selectJobsStatement, String lockJobsStatement, String selectLockedJobsStatement) {
+        this.selectJobsStatement = selectJobsStatement;
+        this.lockJobsStatement = lockJobsStatement;
+        this.selectLockedJobsStatement = selectLockedJobsStatement;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> lockJobs(DbSqlSession dbSqlSession, ListQueryParameterObject selectParameter, String lockOwner, Date lockExpirationTime) {
+        List<T> jobs = dbSqlSession.selectListWithRawParameterNoCacheCheck(selectJobsStatement, selectParameter);
+        if (jobs.isEmpty()) {
+            return jobs;
+        }
+
+        List<String> jobIds = new ArrayList<String>(jobs.size());
+        for (T job : jobs) {
+            jobIds.add(job.getId());
+        }
+
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("jobIds", jobIds);
+        params.put("lockOwner", lockOwner);
+        params.put("lockExpirationTime", lockExpirationTime);
+        int nrOfLockedJobs = dbSqlSession.update(lockJobsStatement, params);
+
+        if (nrOfLockedJobs == jobs.size()) {
+            // The entities are not in the entity cache, so updating them here doesn't trigger a regular update on flush
+            for (T job : jobs) {
+                setLock(job, lockOwner, lockExpirationTime);
+                job.setRevision(job.getRevisionNext());
+            }
+            return jobs;
+        }
+
+        // Some of the jobs were locked concurrently by another executor, only return the ones locked by this one
+        return dbSqlSession.selectListWithRawParameterNoCacheCheck(selectLockedJobsStatement, params);
+    }
+
+    protected void setLock(T job, String lockOwner, Date lockExpirationTime) {
+        job.setLockOwner(lockOwner);
+        job.setLockExpirationTime(lockExpirationTime);
+    }
+
+}
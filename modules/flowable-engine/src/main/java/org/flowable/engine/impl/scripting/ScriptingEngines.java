@@ -12,11 +12,18 @@
  */
 package org.flowable.engine.impl.scripting;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -42,6 +49,18 @@ public class ScriptingEngines {
     protected boolean cacheScriptingEngines = true;
     protected Map<String, ScriptEngine> cachedEngines;
 
+    /**
+     * When the (cached) script engine of a language implements {@link Compilable}, scripts are compiled once
+     * and the compiled script is reused for every evaluation of the same script text.
+     */
+    protected boolean cacheCompiledScripts = true;
+    protected int compiledScriptCacheLimit = 1000;
+    protected ConcurrentMap<CompiledScriptKey, CachedCompiledScript> compiledScripts;
+    protected ReentrantLock compiledScriptEvictionLock = new ReentrantLock();
+    protected AtomicLong compiledScriptAccessCounter = new AtomicLong();
+    protected AtomicLong compiledScriptCacheHits = new AtomicLong();
+    protected AtomicLong compiledScriptCacheMisses = new AtomicLong();
+
     public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
         this(new ScriptEngineManager());
         this.scriptBindingsFactory = scriptBindingsFactory;
@@ -50,6 +69,11 @@ public class ScriptingEngines {
     public ScriptingEngines(ScriptEngineManager scriptEngineManager) {
         this.scriptEngineManager = scriptEngineManager;
         cachedEngines = new HashMap<String, ScriptEngine>();
+        initCompiledScriptCache();
+    }
+
+    protected void initCompiledScriptCache() {
+        compiledScripts = new ConcurrentHashMap<CompiledScriptKey, CachedCompiledScript>();
     }
 
     public ScriptingEngines addScriptEngineFactory(ScriptEngineFactory scriptEngineFactory) {
@@ -81,15 +105,129 @@ public class ScriptingEngines {
         return cacheScriptingEngines;
     }
 
+    public void setCacheCompiledScripts(boolean cacheCompiledScripts) {
+        this.cacheCompiledScripts = cacheCompiledScripts;
+    }
+
+    public boolean isCacheCompiledScripts() {
+        return cacheCompiledScripts;
+    }
+
+    public void setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+        this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    }
+
+    public int getCompiledScriptCacheLimit() {
+        return compiledScriptCacheLimit;
+    }
+
+    public long getCompiledScriptCacheHits() {
+        return compiledScriptCacheHits.get();
+    }
+
+    public long getCompiledScriptCacheMisses() {
+        return compiledScriptCacheMisses.get();
+    }
+
+    public int getCompiledScriptCacheSize() {
+        return compiledScripts.size();
+    }
+
+    public void clearCompiledScriptCache() {
+        compiledScripts.clear();
+    }
+
     protected Object evaluate(String script, String language, Bindings bindings) {
         ScriptEngine scriptEngine = getEngineByName(language);
         try {
+            CompiledScript compiledScript = getCompiledScript(script, language, scriptEngine);
+            if (compiledScript != null) {
+                return compiledScript.eval(bindings);
+            }
             return scriptEngine.eval(script, bindings);
         } catch (ScriptException e) {
             throw new FlowableException("problem evaluating script: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Returns the compiled version of the script, or null when the script can't be compiled and cached.
+     * A compiled script is bound to the engine instance that compiled it and is used by many threads at the same time,
+     * so only scripts of cached engines whose factory declares a THREADING parameter are compiled. Nashorn declares none,
+     * so its scripts are never compiled. A MULTITHREADED engine, like Groovy, doesn't isolate the threads: every evaluation
+     * gets its own bindings, but state that a script leaves in the engine itself is shared, just as with the cached engine.
+     */
+    protected CompiledScript getCompiledScript(String script, String language, ScriptEngine scriptEngine) throws ScriptException {
+        if (!cacheCompiledScripts || compiledScriptCacheLimit <= 0 || !(scriptEngine instanceof Compilable)
+                || !cacheScriptingEngines || cachedEngines.get(language) != scriptEngine
+                || scriptEngine.getFactory().getParameter("THREADING") == null) {
+            return null;
+        }
+
+        // JUEL resolves the variables when parsing, so a compiled JUEL script can't be reused with other bindings
+        if (scriptEngine instanceof JuelScriptEngine) {
+            return null;
+        }
+
+        CompiledScriptKey key = new CompiledScriptKey(language, script);
+        CachedCompiledScript cachedCompiledScript = compiledScripts.get(key);
+        if (cachedCompiledScript != null) {
+            compiledScriptCacheHits.incrementAndGet();
+            cachedCompiledScript.lastAccess = compiledScriptAccessCounter.incrementAndGet();
+            return cachedCompiledScript.compiledScript;
+        }
+
+        // Compiling the same script concurrently is harmless, the last one ends up in the cache
+        compiledScriptCacheMisses.incrementAndGet();
+        CompiledScript compiledScript = ((Compilable) scriptEngine).compile(script);
+        compiledScripts.put(key, new CachedCompiledScript(compiledScript, compiledScriptAccessCounter.incrementAndGet()));
+        if (compiledScripts.size() > compiledScriptCacheLimit) {
+            evictCompiledScripts();
+        }
+        return compiledScript;
+    }
+
+    /**
+     * Removes the least recently used compiled scripts, until the cache is a tenth below its limit so not every new script triggers an eviction.
+     * Only one thread evicts at a time, the other threads don't wait for it. Scripts used during the eviction might be removed, which only means they're compiled again.
+     */
+    protected void evictCompiledScripts() {
+        if (!compiledScriptEvictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int targetSize = compiledScriptCacheLimit - compiledScriptCacheLimit / 10;
+            int nrOfScriptsToEvict = compiledScripts.size() - targetSize;
+            if (nrOfScriptsToEvict <= 0) {
+                return;
+            }
+
+            // The access stamps are copied first, they keep changing while other threads use the cached scripts
+            long[] lastAccesses = new long[compiledScripts.size()];
+            int nrOfLastAccesses = 0;
+            for (CachedCompiledScript cachedCompiledScript : compiledScripts.values()) {
+                if (nrOfLastAccesses == lastAccesses.length) {
+                    break;
+                }
+                lastAccesses[nrOfLastAccesses++] = cachedCompiledScript.lastAccess;
+            }
+            if (nrOfLastAccesses == 0) {
+                return;
+            }
+            Arrays.sort(lastAccesses, 0, nrOfLastAccesses);
+            long evictionThreshold = lastAccesses[Math.min(nrOfScriptsToEvict, nrOfLastAccesses) - 1];
+
+            for (Map.Entry<CompiledScriptKey, CachedCompiledScript> entry : compiledScripts.entrySet()) {
+                if (entry.getValue().lastAccess <= evictionThreshold) {
+                    compiledScripts.remove(entry.getKey(), entry.getValue());
+                }
+            }
+
+        } finally {
+            compiledScriptEvictionLock.unlock();
+        }
+    }
+
     protected ScriptEngine getEngineByName(String language) {
         ScriptEngine scriptEngine = null;
 
@@ -146,4 +284,45 @@ public class ScriptingEngines {
     public void setScriptBindingsFactory(ScriptBindingsFactory scriptBindingsFactory) {
         this.scriptBindingsFactory = scriptBindingsFactory;
     }
+
+    protected static class CachedCompiledScript {
+
+        protected final CompiledScript compiledScript;
+
+        // Only approximately ordered between threads, which is enough to evict the scripts that aren't used anymore
+        protected volatile long lastAccess;
+
+        public CachedCompiledScript(CompiledScript compiledScript, long lastAccess) {
+            this.compiledScript = compiledScript;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    protected static class CompiledScriptKey {
+
+        protected final String language;
+        protected final String script;
+
+        public CompiledScriptKey(String language, String script) {
+            this.language = language;
+            this.script = script;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * language.hashCode() + script.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CompiledScriptKey)) {
+                return false;
+            }
+            CompiledScriptKey other = (CompiledScriptKey) obj;
+            return language.equals(other.language) && script.equals(other.script);
+        }
+    }
 }
@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Frederik Heremans
  */
-public class BooleanType implements VariableType {
+public class BooleanType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -53,4 +53,8 @@ public class BooleanType implements VariableType {
         }
         return Boolean.class.isAssignableFrom(value.getClass()) || boolean.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Boolean.class.isAssignableFrom(valueClass) || boolean.class.isAssignableFrom(valueClass);
+    }
 }
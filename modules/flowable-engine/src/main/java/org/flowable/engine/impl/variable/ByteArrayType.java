@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Tom Baeyens
  */
-public class ByteArrayType implements VariableType {
+public class ByteArrayType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -41,4 +41,8 @@ public class ByteArrayType implements VariableType {
         }
         return byte[].class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return byte[].class.isAssignableFrom(valueClass);
+    }
 }
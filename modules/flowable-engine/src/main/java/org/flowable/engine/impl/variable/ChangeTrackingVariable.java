@@ -0,0 +1,25 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+/**
+ * Can be implemented by serializable variable values that keep track of their own changes.
+ *
+ * When a deserialized value reports that it is not changed, the {@link SerializableType} skips serializing it again at the end of the command to check if it was changed.
+ * Typically, the value keeps a transient flag that is set by its mutators: the flag is then reset every time the value is deserialized.
+ * When a value reports that it is changed, its serialized form is compared with the stored bytes as for any other serializable value.
+ */
+public interface ChangeTrackingVariable {
+
+    boolean isChanged();
+}
@@ -0,0 +1,28 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+/**
+ * Can be implemented by a {@link VariableType} that is only able to store values of certain classes, so that {@link DefaultVariableTypes} doesn't need to ask
+ * the type whether it is able to store values of other classes.
+ *
+ * The result is cached per class of the value. Types of which {@link #isAbleToStore(Object)} also depends on the value itself (like the length of a string)
+ * return true here for all classes of the values they might be able to store.
+ */
+public interface ClassAwareVariableType extends VariableType {
+
+    /**
+     * @return false when {@link #isAbleToStore(Object)} returns false for any (not null) value of the given class.
+     */
+    boolean isAbleToStoreValuesOf(Class<?> valueClass);
+}
@@ -17,7 +17,7 @@ package org.flowable.engine.impl.variable;
  * 
  * @author Esteban Robles Luna
  */
-public class CustomObjectType implements VariableType {
+public class CustomObjectType implements ClassAwareVariableType {
 
     protected String typeName;
     protected Class<?> theClass;
@@ -42,6 +42,10 @@ public class CustomObjectType implements VariableType {
         return this.theClass.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return this.theClass.isAssignableFrom(valueClass);
+    }
+
     public boolean isCachable() {
         return true;
     }
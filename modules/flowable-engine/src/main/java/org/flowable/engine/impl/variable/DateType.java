@@ -17,7 +17,7 @@ import java.util.Date;
 /**
  * @author Tom Baeyens
  */
-public class DateType implements VariableType {
+public class DateType implements ClassAwareVariableType {
 
     public String getTypeName() {
         return "date";
@@ -34,6 +34,10 @@ public class DateType implements VariableType {
         return Date.class.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Date.class.isAssignableFrom(valueClass);
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
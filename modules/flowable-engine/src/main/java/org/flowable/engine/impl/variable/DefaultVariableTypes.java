@@ -30,6 +30,11 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     private final List<VariableType> typesList = new ArrayList<VariableType>();
     private final Map<String, VariableType> typesMap = new HashMap<String, VariableType>();
 
+    // The types that might be able to store values of a class, in the order of the types list.
+    // A class value is read without locking and is stored with the value class, so it doesn't keep the class loader
+    // of an undeployed application in memory.
+    private transient volatile ClassValue<List<VariableType>> candidateTypesByValueClass;
+
     public DefaultVariableTypes addType(VariableType type) {
         return addType(type, typesList.size());
     }
@@ -37,6 +42,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     public DefaultVariableTypes addType(VariableType type, int index) {
         typesList.add(index, type);
         typesMap.put(type.getTypeName(), type);
+        candidateTypesByValueClass = null;
         return this;
     }
 
@@ -47,6 +53,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
         for (VariableType type : typesList) {
             typesMap.put(type.getTypeName(), type);
         }
+        candidateTypesByValueClass = null;
     }
 
     public VariableType getVariableType(String typeName) {
@@ -54,7 +61,8 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     }
 
     public VariableType findVariableType(Object value) {
-        for (VariableType type : typesList) {
+        List<VariableType> candidateTypes = value != null ? getCandidateTypes(value.getClass()) : typesList;
+        for (VariableType type : candidateTypes) {
             if (type.isAbleToStore(value)) {
                 return type;
             }
@@ -62,6 +70,48 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
         throw new FlowableException("couldn't find a variable type that is able to serialize " + value);
     }
 
+    protected List<VariableType> getCandidateTypes(Class<?> valueClass) {
+        ClassValue<List<VariableType>> candidateTypesByValueClass = this.candidateTypesByValueClass;
+        if (candidateTypesByValueClass == null) {
+            candidateTypesByValueClass = new ClassValue<List<VariableType>>() {
+
+                @Override
+                protected List<VariableType> computeValue(Class<?> valueClass) {
+                    return findCandidateTypes(valueClass);
+                }
+            };
+            this.candidateTypesByValueClass = candidateTypesByValueClass;
+        }
+        return candidateTypesByValueClass.get(valueClass);
+    }
+
+    protected List<VariableType> findCandidateTypes(Class<?> valueClass) {
+        List<VariableType> candidateTypes = new ArrayList<VariableType>();
+        for (VariableType type : typesList) {
+            if (!isClassAware(type) || ((ClassAwareVariableType) type).isAbleToStoreValuesOf(valueClass)) {
+                candidateTypes.add(type);
+            }
+        }
+        return candidateTypes;
+    }
+
+    /**
+     * A subclass of a {@link ClassAwareVariableType} that changes {@link VariableType#isAbleToStore(Object)}, without changing
+     * {@link ClassAwareVariableType#isAbleToStoreValuesOf(Class)} accordingly, is always asked whether it is able to store a value.
+     */
+    protected boolean isClassAware(VariableType type) {
+        if (!(type instanceof ClassAwareVariableType)) {
+            return false;
+        }
+        try {
+            Class<?> isAbleToStoreClass = type.getClass().getMethod("isAbleToStore", Object.class).getDeclaringClass();
+            Class<?> isAbleToStoreValuesOfClass = type.getClass().getMethod("isAbleToStoreValuesOf", Class.class).getDeclaringClass();
+            return isAbleToStoreClass.isAssignableFrom(isAbleToStoreValuesOfClass);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     public int getTypeIndex(VariableType type) {
         return typesList.indexOf(type);
     }
@@ -78,6 +128,7 @@ public class DefaultVariableTypes implements VariableTypes, Serializable {
     public VariableTypes removeType(VariableType type) {
         typesList.remove(type);
         typesMap.remove(type.getTypeName());
+        candidateTypesByValueClass = null;
         return this;
     }
 }
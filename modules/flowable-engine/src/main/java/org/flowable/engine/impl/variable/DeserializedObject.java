@@ -37,6 +37,17 @@ public class DeserializedObject {
     public void verifyIfBytesOfSerializedObjectChanged() {
         // this first check verifies if the variable value was not overwritten with another object
         if (deserializedObject == variableInstanceEntity.getCachedValue() && !variableInstanceEntity.isDeleted()) {
+
+            // Values that track their own changes don't need to be serialized again when they weren't changed
+            if (deserializedObject instanceof ChangeTrackingVariable && !((ChangeTrackingVariable) deserializedObject).isChanged()) {
+                return;
+            }
+
+            // Compares while serializing, so no byte array is created for the (most common) case where nothing was changed
+            if (type.isSerializedFormEqual(deserializedObject, originalBytes, variableInstanceEntity)) {
+                return;
+            }
+
             byte[] bytes = type.serialize(deserializedObject, variableInstanceEntity);
             if (!Arrays.equals(originalBytes, bytes)) {
 
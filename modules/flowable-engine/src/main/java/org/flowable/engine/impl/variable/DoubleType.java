@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Tom Baeyens
  */
-public class DoubleType implements VariableType {
+public class DoubleType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -41,4 +41,8 @@ public class DoubleType implements VariableType {
         }
         return Double.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Double.class.isAssignableFrom(valueClass);
+    }
 }
@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Joram Barrez
  */
-public class IntegerType implements VariableType {
+public class IntegerType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -50,4 +50,8 @@ public class IntegerType implements VariableType {
         }
         return Integer.class.isAssignableFrom(value.getClass()) || int.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Integer.class.isAssignableFrom(valueClass) || int.class.isAssignableFrom(valueClass);
+    }
 }
@@ -17,7 +17,7 @@ import org.joda.time.DateTime;
 /**
  * @author Tijs Rademakers
  */
-public class JodaDateTimeType implements VariableType {
+public class JodaDateTimeType implements ClassAwareVariableType {
 
     public String getTypeName() {
         return "jodadatetime";
@@ -34,6 +34,10 @@ public class JodaDateTimeType implements VariableType {
         return DateTime.class.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return DateTime.class.isAssignableFrom(valueClass);
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
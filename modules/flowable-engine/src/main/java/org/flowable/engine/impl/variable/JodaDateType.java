@@ -17,7 +17,7 @@ import org.joda.time.LocalDate;
 /**
  * @author Tijs Rademakers
  */
-public class JodaDateType implements VariableType {
+public class JodaDateType implements ClassAwareVariableType {
 
     public String getTypeName() {
         return "jodadate";
@@ -34,6 +34,10 @@ public class JodaDateType implements VariableType {
         return LocalDate.class.isAssignableFrom(value.getClass());
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return LocalDate.class.isAssignableFrom(valueClass);
+    }
+
     public Object getValue(ValueFields valueFields) {
         Long longValue = valueFields.getLongValue();
         if (longValue != null) {
@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.variable;
+
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Keeps the serialized form of the json value that is being stored in the current command context, so the {@link JsonType} and {@link LongJsonType} serialize a value only once.
+ *
+ * When a variable is set, {@link JsonType#isAbleToStore(Object)} is called first when finding the type of the value and it always serializes the value,
+ * as the value could have been changed since it was serialized before. The {@link LongJsonType} (which comes after the {@link JsonType} in the type checking chain)
+ * and the type that will store the value reuse that serialized form. Storing the value removes it from the cache again.
+ *
+ * The serialized form is kept as an attribute of the command context, so it is gone with the command context when the value is not stored
+ * (for example when the type of a query variable value is looked up). Outside of a command context nothing is kept.
+ */
+public class JsonNodeSerializationCache {
+
+    protected static final String ATTRIBUTE_NAME = JsonNodeSerializationCache.class.getName();
+
+    protected JsonNode jsonNode;
+    protected String serializedJsonNode;
+
+    protected JsonNodeSerializationCache(JsonNode jsonNode, String serializedJsonNode) {
+        this.jsonNode = jsonNode;
+        this.serializedJsonNode = serializedJsonNode;
+    }
+
+    /**
+     * Serializes the json node and keeps the result in the current command context.
+     */
+    public static String serialize(JsonNode jsonNode) {
+        String serializedJsonNode = jsonNode.toString();
+        CommandContext commandContext = Context.getCommandContext();
+        if (commandContext != null) {
+            commandContext.addAttribute(ATTRIBUTE_NAME, new JsonNodeSerializationCache(jsonNode, serializedJsonNode));
+        }
+        return serializedJsonNode;
+    }
+
+    /**
+     * Returns the kept serialized form when it belongs to this very json node, or serializes the json node otherwise.
+     */
+    public static String getSerialized(JsonNode jsonNode) {
+        JsonNodeSerializationCache cache = getCurrent();
+        if (cache != null && cache.jsonNode == jsonNode) {
+            return cache.serializedJsonNode;
+        }
+        return serialize(jsonNode);
+    }
+
+    /**
+     * Same as {@link #getSerialized(JsonNode)}, but nothing is kept in the current command context afterwards: to be used when the value is stored.
+     */
+    public static String getSerializedAndClear(JsonNode jsonNode) {
+        JsonNodeSerializationCache cache = getCurrent();
+        if (cache != null) {
+            Context.getCommandContext().addAttribute(ATTRIBUTE_NAME, null);
+        }
+        if (cache != null && cache.jsonNode == jsonNode) {
+            return cache.serializedJsonNode;
+        }
+        return jsonNode.toString();
+    }
+
+    protected static JsonNodeSerializationCache getCurrent() {
+        CommandContext commandContext = Context.getCommandContext();
+        return commandContext != null ? (JsonNodeSerializationCache) commandContext.getAttribute(ATTRIBUTE_NAME) : null;
+    }
+
+}
@@ -21,7 +21,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 /**
  * @author Tijs Rademakers
  */
-public class JsonType implements VariableType {
+public class JsonType implements ClassAwareVariableType {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonType.class);
 
@@ -54,7 +54,11 @@ public class JsonType implements VariableType {
     }
 
     public void setValue(Object value, ValueFields valueFields) {
-        valueFields.setTextValue(value != null ? value.toString() : null);
+        if (value instanceof JsonNode) {
+            valueFields.setTextValue(JsonNodeSerializationCache.getSerializedAndClear((JsonNode) value));
+        } else {
+            valueFields.setTextValue(value != null ? value.toString() : null);
+        }
     }
 
     public boolean isAbleToStore(Object value) {
@@ -63,8 +67,12 @@ public class JsonType implements VariableType {
         }
         if (JsonNode.class.isAssignableFrom(value.getClass())) {
             JsonNode jsonValue = (JsonNode) value;
-            return jsonValue.toString().length() <= maxLength;
+            return JsonNodeSerializationCache.serialize(jsonValue).length() <= maxLength;
         }
         return false;
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return JsonNode.class.isAssignableFrom(valueClass);
+    }
 }
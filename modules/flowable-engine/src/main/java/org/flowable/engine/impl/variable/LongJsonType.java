@@ -12,6 +12,8 @@
  */
 package org.flowable.engine.impl.variable;
 
+import java.nio.charset.StandardCharsets;
+
 import org.flowable.engine.common.api.FlowableException;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -40,18 +42,22 @@ public class LongJsonType extends SerializableType {
         }
         if (JsonNode.class.isAssignableFrom(value.getClass())) {
             JsonNode jsonValue = (JsonNode) value;
-            return jsonValue.toString().length() >= minLength;
+            return JsonNodeSerializationCache.getSerialized(jsonValue).length() >= minLength;
         }
         return false;
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return JsonNode.class.isAssignableFrom(valueClass);
+    }
+
     public byte[] serialize(Object value, ValueFields valueFields) {
         if (value == null) {
             return null;
         }
         JsonNode valueNode = (JsonNode) value;
         try {
-            return valueNode.toString().getBytes("utf-8");
+            return JsonNodeSerializationCache.getSerializedAndClear(valueNode).getBytes(StandardCharsets.UTF_8);
         } catch (Exception e) {
             throw new FlowableException("Error getting bytes from json variable", e);
         }
@@ -37,4 +37,8 @@ public class LongStringType extends SerializableType {
         }
         return false;
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return String.class.isAssignableFrom(valueClass);
+    }
 }
@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Tom Baeyens
  */
-public class LongType implements VariableType {
+public class LongType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -46,4 +46,8 @@ public class LongType implements VariableType {
         }
         return Long.class.isAssignableFrom(value.getClass()) || long.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Long.class.isAssignableFrom(valueClass) || long.class.isAssignableFrom(valueClass);
+    }
 }
@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Tom Baeyens
  */
-public class NullType implements VariableType {
+public class NullType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -35,6 +35,11 @@ public class NullType implements VariableType {
         return (value == null);
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        // Only null values are stored by this type
+        return false;
+    }
+
     public void setValue(Object value, ValueFields valueFields) {
     }
 }
@@ -102,6 +102,30 @@ public class SerializableType extends ByteArrayType {
         return baos.toByteArray();
     }
 
+    /**
+     * Returns whether the given value serializes to exactly the given bytes. The serialized form of the value is compared
+     * while it is written, without creating a byte array, and the serialization is stopped at the first difference.
+     */
+    public boolean isSerializedFormEqual(Object value, byte[] bytes, ValueFields valueFields) {
+        if (value == null || bytes == null) {
+            return value == null && bytes == null;
+        }
+        ComparingOutputStream comparingOutputStream = new ComparingOutputStream(bytes);
+        ObjectOutputStream oos = null;
+        try {
+            oos = createObjectOutputStream(comparingOutputStream);
+            oos.writeObject(value);
+            oos.flush();
+        } catch (DifferentBytesException e) {
+            return false;
+        } catch (Exception e) {
+            throw new FlowableException("Couldn't serialize value '" + value + "' in variable '" + valueFields.getName() + "'", e);
+        } finally {
+            IoUtil.closeSilently(oos);
+        }
+        return comparingOutputStream.isEqual();
+    }
+
     public Object deserialize(byte[] bytes, ValueFields valueFields) {
         ByteArrayInputStream bais = new ByteArrayInputStream(bytes);
         try {
@@ -121,6 +145,10 @@ public class SerializableType extends ByteArrayType {
         return value instanceof Serializable;
     }
 
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Serializable.class.isAssignableFrom(valueClass);
+    }
+
     protected ObjectInputStream createObjectInputStream(InputStream is) throws IOException {
         return new ObjectInputStream(is) {
             protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
@@ -132,4 +160,57 @@ public class SerializableType extends ByteArrayType {
     protected ObjectOutputStream createObjectOutputStream(OutputStream os) throws IOException {
         return new ObjectOutputStream(os);
     }
+
+    /**
+     * Compares the written bytes with the expected bytes, failing with a {@link DifferentBytesException} at the first difference.
+     */
+    protected static class ComparingOutputStream extends OutputStream {
+
+        protected byte[] expectedBytes;
+        protected int position;
+
+        public ComparingOutputStream(byte[] expectedBytes) {
+            this.expectedBytes = expectedBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position >= expectedBytes.length || expectedBytes[position] != (byte) b) {
+                throw new DifferentBytesException();
+            }
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len > expectedBytes.length - position) {
+                throw new DifferentBytesException();
+            }
+            for (int i = 0; i < len; i++) {
+                if (expectedBytes[position + i] != b[off + i]) {
+                    throw new DifferentBytesException();
+                }
+            }
+            position += len;
+        }
+
+        public boolean isEqual() {
+            return position == expectedBytes.length;
+        }
+    }
+
+    protected static class DifferentBytesException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public DifferentBytesException() {
+            // No stack trace needed: only used to stop the serialization
+            super(null, null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
 }
@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Joram Barrez
  */
-public class ShortType implements VariableType {
+public class ShortType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -50,4 +50,8 @@ public class ShortType implements VariableType {
         }
         return Short.class.isAssignableFrom(value.getClass()) || short.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return Short.class.isAssignableFrom(valueClass) || short.class.isAssignableFrom(valueClass);
+    }
 }
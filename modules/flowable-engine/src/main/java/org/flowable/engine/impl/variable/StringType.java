@@ -15,7 +15,7 @@ package org.flowable.engine.impl.variable;
 /**
  * @author Tom Baeyens
  */
-public class StringType implements VariableType {
+public class StringType implements ClassAwareVariableType {
 
     private final int maxLength;
 
@@ -49,4 +49,8 @@ public class StringType implements VariableType {
         }
         return false;
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return String.class.isAssignableFrom(valueClass);
+    }
 }
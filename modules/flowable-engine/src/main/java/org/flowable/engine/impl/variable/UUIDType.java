@@ -17,7 +17,7 @@ import java.util.UUID;
 /**
  * @author Birger Zimmermann
  */
-public class UUIDType implements VariableType {
+public class UUIDType implements ClassAwareVariableType {
 
     private static final long serialVersionUID = 1L;
 
@@ -50,4 +50,8 @@ public class UUIDType implements VariableType {
         }
         return UUID.class.isAssignableFrom(value.getClass());
     }
+
+    public boolean isAbleToStoreValuesOf(Class<?> valueClass) {
+        return UUID.class.isAssignableFrom(valueClass);
+    }
 }
\ No newline at end of file
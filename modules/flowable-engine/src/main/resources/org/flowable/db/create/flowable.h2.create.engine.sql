@@ -14,6 +14,9 @@ values ('schema.history', 'create(6.1.1.0)', 1);
 insert into ACT_GE_PROPERTY
 values ('next.dbid', '1', 1);
 
+insert into ACT_GE_PROPERTY
+values ('cache.procdef.version', '1', 1);
+
 create table ACT_GE_BYTEARRAY (
     ID_ varchar(64),
     REV_ integer,
@@ -105,6 +108,7 @@ create table ACT_RU_JOB (
     HANDLER_TYPE_ varchar(255),
     HANDLER_CFG_ varchar(4000),
     CREATE_TIME_ timestamp,
+    PARTITION_ integer,
     TENANT_ID_ varchar(255) default '',
     primary key (ID_)
 );
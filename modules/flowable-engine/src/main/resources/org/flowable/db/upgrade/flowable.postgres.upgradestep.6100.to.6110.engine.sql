@@ -5,8 +5,13 @@ alter table ACT_RU_TIMER_JOB add column CREATE_TIME_ timestamp;
 alter table ACT_RU_SUSPENDED_JOB add column CREATE_TIME_ timestamp;
 alter table ACT_RU_DEADLETTER_JOB add column CREATE_TIME_ timestamp;
 
+alter table ACT_RU_JOB add column PARTITION_ integer;
+
 update ACT_RU_JOB set CREATE_TIME_=CURRENT_TIMESTAMP;
 update ACT_RU_TIMER_JOB set CREATE_TIME_=CURRENT_TIMESTAMP;
 update ACT_RU_SUSPENDED_JOB set CREATE_TIME_=CURRENT_TIMESTAMP;
 update ACT_RU_DEADLETTER_JOB set CREATE_TIME_=CURRENT_TIMESTAMP;
 
+
+insert into ACT_GE_PROPERTY
+values ('cache.procdef.version', '1', 1);
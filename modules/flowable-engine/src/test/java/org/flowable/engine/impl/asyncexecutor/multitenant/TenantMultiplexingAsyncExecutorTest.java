@@ -0,0 +1,210 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.impl.asyncexecutor.multitenant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flowable.engine.impl.asyncexecutor.multitenant.TenantMultiplexingAsyncExecutor.TenantAcquisitionTask;
+import org.flowable.engine.impl.asyncexecutor.multitenant.TenantMultiplexingAsyncExecutor.TenantJobAcquisition;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.test.cfg.multitenant.DummyTenantInfoHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the scheduling of the acquisition tasks of the {@link TenantMultiplexingAsyncExecutor}, without starting the acquisition threads.
+ */
+public class TenantMultiplexingAsyncExecutorTest {
+
+    private TenantMultiplexingAsyncExecutor asyncExecutor;
+    private List<TenantAcquisitionTask> executedTasks;
+    private int remainingCapacity;
+
+    @Before
+    public void setup() {
+        executedTasks = new ArrayList<TenantAcquisitionTask>();
+        remainingCapacity = 100;
+
+        asyncExecutor = new TenantMultiplexingAsyncExecutor(new DummyTenantInfoHolder()) {
+
+            @Override
+            public int getRemainingCapacity() {
+                return remainingCapacity;
+            }
+
+            @Override
+            protected void executeAcquisitionTask(TenantAcquisitionTask task) {
+                if (task.getType() == TenantAcquisitionTask.ASYNC_JOBS && remainingCapacity > 0) {
+                    // Recorded instead of acquiring, there is no database
+                    executedTasks.add(task);
+                } else {
+                    super.executeAcquisitionTask(task);
+                }
+            }
+        };
+
+        // Not built, the tenant runnables only need it to look up the (null) job managers
+        asyncExecutor.setProcessEngineConfiguration(new StandaloneInMemProcessEngineConfiguration());
+        asyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(10000);
+        asyncExecutor.setTenantIdleMaxWaitTimeInMillis(60000);
+        asyncExecutor.acquisitionActive = true;
+    }
+
+    @Test
+    public void testIdleTenantBackOff() {
+        TenantAcquisitionTask task = createTask("acme");
+
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 1, 10000);
+
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 2, 20000);
+
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 3, 40000);
+
+        // Capped at the tenant idle max wait time
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 4, 60000);
+
+        scheduleIdle(task, 30);
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, TenantMultiplexingAsyncExecutor.MAX_IDLE_COUNT, 60000);
+    }
+
+    @Test
+    public void testIdleTenantNeverWaitsLessThanRequested() {
+        TenantAcquisitionTask task = createTask("acme");
+
+        asyncExecutor.scheduleAfterAcquisition(task, 120000, false);
+        assertScheduled(task, 1, 120000);
+
+        asyncExecutor.scheduleAfterAcquisition(task, 120000, false);
+        assertScheduled(task, 2, 120000);
+    }
+
+    @Test
+    public void testResetAfterAcquisition() {
+        TenantAcquisitionTask task = createTask("acme");
+        scheduleIdle(task, 4);
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 5, 60000);
+
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, true);
+        assertScheduled(task, 0, 10000);
+
+        // Back to doubling from the default wait time
+        asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        assertScheduled(task, 1, 10000);
+    }
+
+    @Test
+    public void testResetWhenNoWaitIsNeeded() {
+        TenantAcquisitionTask task = createTask("acme");
+        scheduleIdle(task, 5);
+
+        // A full page of jobs was found, so the next acquisition is done right away
+        asyncExecutor.scheduleAfterAcquisition(task, 0, false);
+        assertScheduled(task, 0, 0);
+    }
+
+    @Test
+    public void testFullQueueIsNotIdle() {
+        TenantAcquisitionTask task = createTask("acme");
+        scheduleIdle(task, 3);
+
+        remainingCapacity = 0;
+        asyncExecutor.executeAcquisitionTask(task);
+
+        Assert.assertTrue(executedTasks.isEmpty());
+        assertScheduled(task, 3, 10000);
+    }
+
+    @Test
+    public void testRemoveTenantAsyncExecutor() {
+        asyncExecutor.addTenantAsyncExecutor("acme", false);
+        asyncExecutor.addTenantAsyncExecutor("starkindustries", false);
+        asyncExecutor.acquisitionTasks.clear();
+
+        TenantAcquisitionTask removedTenantTask = new TenantAcquisitionTask(TenantAcquisitionTask.ASYNC_JOBS,
+                asyncExecutor.tenantJobAcquisitions.get("acme"));
+        TenantAcquisitionTask keptTenantTask = new TenantAcquisitionTask(TenantAcquisitionTask.ASYNC_JOBS,
+                asyncExecutor.tenantJobAcquisitions.get("starkindustries"));
+
+        asyncExecutor.removeTenantAsyncExecutor("acme");
+        Assert.assertEquals(1, asyncExecutor.getTenantIds().size());
+        Assert.assertTrue(asyncExecutor.getTenantIds().contains("starkindustries"));
+
+        // Removing a tenant that isn't there is a no-op
+        asyncExecutor.removeTenantAsyncExecutor("acme");
+
+        // Due before the stop task, so both are taken before the acquisition loop ends
+        long now = System.nanoTime();
+        removedTenantTask.setDueTime(now - TimeUnit.DAYS.toNanos(3));
+        keptTenantTask.setDueTime(now - TimeUnit.DAYS.toNanos(2));
+        asyncExecutor.acquisitionTasks.offer(removedTenantTask);
+        asyncExecutor.acquisitionTasks.offer(keptTenantTask);
+        asyncExecutor.acquisitionTasks.offer(TenantAcquisitionTask.createStopTask());
+
+        asyncExecutor.new AcquireJobsOfTenantsRunnable().run();
+
+        Assert.assertEquals(1, executedTasks.size());
+        Assert.assertSame(keptTenantTask, executedTasks.get(0));
+        Assert.assertTrue(asyncExecutor.acquisitionTasks.isEmpty());
+    }
+
+    @Test
+    public void testReaddedTenantDropsTasksOfRemovedTenant() {
+        asyncExecutor.addTenantAsyncExecutor("acme", false);
+        asyncExecutor.acquisitionTasks.clear();
+        TenantAcquisitionTask oldTask = new TenantAcquisitionTask(TenantAcquisitionTask.ASYNC_JOBS,
+                asyncExecutor.tenantJobAcquisitions.get("acme"));
+
+        asyncExecutor.removeTenantAsyncExecutor("acme");
+        asyncExecutor.addTenantAsyncExecutor("acme", false);
+        asyncExecutor.acquisitionTasks.clear();
+
+        oldTask.setDueTime(System.nanoTime() - TimeUnit.DAYS.toNanos(2));
+        asyncExecutor.acquisitionTasks.offer(oldTask);
+        asyncExecutor.acquisitionTasks.offer(TenantAcquisitionTask.createStopTask());
+
+        asyncExecutor.new AcquireJobsOfTenantsRunnable().run();
+
+        // The task belongs to the acquisition of the removed tenant, not to the one added again
+        Assert.assertTrue(executedTasks.isEmpty());
+    }
+
+    protected TenantAcquisitionTask createTask(String tenantId) {
+        return new TenantAcquisitionTask(TenantAcquisitionTask.ASYNC_JOBS, new TenantJobAcquisition(tenantId, null, null, null));
+    }
+
+    protected void scheduleIdle(TenantAcquisitionTask task, int times) {
+        for (int i = 0; i < times; i++) {
+            asyncExecutor.scheduleAfterAcquisition(task, 10000, false);
+        }
+        asyncExecutor.acquisitionTasks.clear();
+    }
+
+    protected void assertScheduled(TenantAcquisitionTask task, int expectedIdleCount, long expectedMillisToWait) {
+        Assert.assertEquals(expectedIdleCount, task.getIdleCount());
+        Assert.assertTrue(asyncExecutor.acquisitionTasks.remove(task));
+
+        long delay = task.getDelay(TimeUnit.MILLISECONDS);
+        Assert.assertTrue("expected a delay of about " + expectedMillisToWait + " ms, but was " + delay + " ms",
+                delay <= expectedMillisToWait && delay > expectedMillisToWait - 1000);
+    }
+
+}
@@ -0,0 +1,291 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.api.delegate.event.FlowableBatchEventListener;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.impl.event.BatchingEventQueue;
+import org.flowable.engine.common.impl.event.BatchingEventQueue.OverflowPolicy;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class BatchEventListenerTest extends PluggableFlowableTestCase {
+
+    protected CollectingBatchEventListener listener;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        listener = new CollectingBatchEventListener();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getEventDispatcher().removeEventListener(listener);
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/runtime/oneTaskProcess.bpmn20.xml")
+    public void testEventsDeliveredAfterCommit() throws Exception {
+        processEngineConfiguration.getEventDispatcher().addEventListener(listener, FlowableEngineEventType.TASK_CREATED, FlowableEngineEventType.TASK_COMPLETED);
+
+        runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        Task task = taskService.createTaskQuery().singleResult();
+        taskService.complete(task.getId());
+
+        listener.waitForEvents(2);
+        assertEquals(FlowableEngineEventType.TASK_CREATED, listener.getEvents().get(0).getType());
+        assertEquals(FlowableEngineEventType.TASK_COMPLETED, listener.getEvents().get(1).getType());
+        assertFalse(listener.getThreadNames().contains(Thread.currentThread().getName()));
+        assertEquals(0, listener.getSynchronousEventCount());
+    }
+
+    public void testEventsOfRolledBackTransactionAreNotDelivered() throws Exception {
+        processEngineConfiguration.getEventDispatcher().addEventListener(listener, FlowableEngineEventType.CUSTOM);
+
+        try {
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+                    throw new FlowableException("rollback");
+                }
+            });
+            fail("Exception expected");
+
+        } catch (FlowableException e) {
+            assertEquals("rollback", e.getMessage());
+        }
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                processEngineConfiguration.getEventDispatcher().dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+                return null;
+            }
+        });
+
+        listener.waitForEvents(1);
+        Thread.sleep(200L);
+        assertEquals(1, listener.getEvents().size());
+    }
+
+    public void testDropNewestWhenQueueIsFull() throws Exception {
+        BlockingBatchEventListener blockingListener = new BlockingBatchEventListener();
+        BatchingEventQueue eventQueue = new BatchingEventQueue(2, 10, 1, OverflowPolicy.DROP_NEWEST);
+        try {
+            fillQueue(eventQueue, blockingListener);
+            eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM), blockingListener);
+
+            assertEquals(2, eventQueue.getQueueDepth());
+            assertEquals(1, eventQueue.getDroppedEventCount());
+
+            blockingListener.release();
+            waitForDelivery(eventQueue, 3);
+            assertEquals(FlowableEngineEventType.ENGINE_CREATED, blockingListener.getEvents().get(1).getType());
+            assertEquals(FlowableEngineEventType.ENGINE_CREATED, blockingListener.getEvents().get(2).getType());
+
+        } finally {
+            blockingListener.release();
+            eventQueue.shutdown();
+        }
+    }
+
+    public void testDropOldestWhenQueueIsFull() throws Exception {
+        BlockingBatchEventListener blockingListener = new BlockingBatchEventListener();
+        BatchingEventQueue eventQueue = new BatchingEventQueue(2, 10, 1, OverflowPolicy.DROP_OLDEST);
+        try {
+            fillQueue(eventQueue, blockingListener);
+            eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM), blockingListener);
+
+            assertEquals(2, eventQueue.getQueueDepth());
+            assertEquals(1, eventQueue.getDroppedEventCount());
+
+            blockingListener.release();
+            waitForDelivery(eventQueue, 3);
+            assertEquals(FlowableEngineEventType.ENGINE_CREATED, blockingListener.getEvents().get(1).getType());
+            assertEquals(FlowableEngineEventType.CUSTOM, blockingListener.getEvents().get(2).getType());
+
+        } finally {
+            blockingListener.release();
+            eventQueue.shutdown();
+        }
+    }
+
+    public void testCallerRunsWhenQueueIsFull() throws Exception {
+        BlockingBatchEventListener blockingListener = new BlockingBatchEventListener();
+        CollectingBatchEventListener callerRunsListener = new CollectingBatchEventListener();
+        BatchingEventQueue eventQueue = new BatchingEventQueue(2, 10, 1, OverflowPolicy.CALLER_RUNS);
+        try {
+            fillQueue(eventQueue, blockingListener);
+            eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM), callerRunsListener);
+
+            assertEquals(0, eventQueue.getDroppedEventCount());
+            assertEquals(1, callerRunsListener.getEvents().size());
+            assertEquals(Thread.currentThread().getName(), callerRunsListener.getThreadNames().get(0));
+
+        } finally {
+            blockingListener.release();
+            eventQueue.shutdown();
+        }
+    }
+
+    public void testQueuedEventsAreDeliveredOnShutdown() throws Exception {
+        CollectingBatchEventListener collectingListener = new CollectingBatchEventListener();
+        BatchingEventQueue eventQueue = new BatchingEventQueue(100, 10, 2, OverflowPolicy.BLOCK);
+        for (int i = 0; i < 50; i++) {
+            eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM), collectingListener);
+        }
+        eventQueue.shutdown();
+
+        assertEquals(50, eventQueue.getDeliveredEventCount());
+        assertEquals(50, collectingListener.getEvents().size());
+        assertEquals(0, eventQueue.getQueueDepth());
+    }
+
+    public void testNoEventsAreLostWhenAddingDuringShutdown() throws Exception {
+        final CollectingBatchEventListener collectingListener = new CollectingBatchEventListener();
+        final BatchingEventQueue eventQueue = new BatchingEventQueue(100, 10, 2, OverflowPolicy.BLOCK);
+        final AtomicInteger addedEventCount = new AtomicInteger();
+        final CountDownLatch producersStarted = new CountDownLatch(4);
+
+        List<Thread> producers = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            Thread producer = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    producersStarted.countDown();
+                    for (int j = 0; j < 2000; j++) {
+                        eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM), collectingListener);
+                        addedEventCount.incrementAndGet();
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        producersStarted.await();
+        eventQueue.shutdown();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(8000, addedEventCount.get());
+        assertEquals(0, eventQueue.getDroppedEventCount());
+        assertEquals(8000, eventQueue.getDeliveredEventCount());
+        assertEquals(8000, collectingListener.getEvents().size());
+    }
+
+    /**
+     * Blocks the consumer thread with a first event, and fills the queue with two more events.
+     */
+    protected void fillQueue(BatchingEventQueue eventQueue, BlockingBatchEventListener blockingListener) throws Exception {
+        eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CREATED), blockingListener);
+        assertTrue(blockingListener.waitUntilBlocked());
+        eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CREATED), blockingListener);
+        eventQueue.add(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CREATED), blockingListener);
+    }
+
+    protected void waitForDelivery(BatchingEventQueue eventQueue, long eventCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (eventQueue.getDeliveredEventCount() < eventCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+        assertEquals(eventCount, eventQueue.getDeliveredEventCount());
+    }
+
+    public static class CollectingBatchEventListener implements FlowableBatchEventListener {
+
+        protected List<FlowableEvent> events = new ArrayList<FlowableEvent>();
+        protected List<String> threadNames = new ArrayList<String>();
+        protected int synchronousEventCount;
+
+        @Override
+        public synchronized void onEvents(List<FlowableEvent> events) {
+            this.events.addAll(events);
+            threadNames.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public synchronized void onEvent(FlowableEvent event) {
+            synchronousEventCount++;
+        }
+
+        @Override
+        public boolean isFailOnException() {
+            return false;
+        }
+
+        public synchronized void waitForEvents(int eventCount) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (events.size() < eventCount && System.currentTimeMillis() < deadline) {
+                wait(20L);
+            }
+            assertEquals(eventCount, events.size());
+        }
+
+        public synchronized List<FlowableEvent> getEvents() {
+            return new ArrayList<FlowableEvent>(events);
+        }
+
+        public synchronized List<String> getThreadNames() {
+            return new ArrayList<String>(threadNames);
+        }
+
+        public synchronized int getSynchronousEventCount() {
+            return synchronousEventCount;
+        }
+    }
+
+    public static class BlockingBatchEventListener extends CollectingBatchEventListener {
+
+        protected CountDownLatch blocked = new CountDownLatch(1);
+        protected CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void onEvents(List<FlowableEvent> events) {
+            super.onEvents(events);
+            blocked.countDown();
+            try {
+                released.await(10L, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public boolean waitUntilBlocked() throws InterruptedException {
+            return blocked.await(5L, TimeUnit.SECONDS);
+        }
+
+        public void release() {
+            released.countDown();
+        }
+    }
+
+}
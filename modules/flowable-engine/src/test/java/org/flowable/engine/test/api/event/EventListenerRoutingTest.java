@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.event;
+
+import java.util.List;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEventDispatcher;
+import org.flowable.engine.common.impl.event.EventDispatchAction;
+import org.flowable.engine.common.impl.event.FlowableEventDispatcherImpl;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.util.CollectionUtil;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.delegate.event.FlowableVariableEvent;
+import org.flowable.engine.delegate.event.impl.BpmnModelEventDispatchAction;
+import org.flowable.engine.delegate.event.impl.FlowableEventBuilder;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.test.Deployment;
+
+public class EventListenerRoutingTest extends PluggableFlowableTestCase {
+
+    public void testHasListeners() {
+        FlowableEventDispatcherImpl dispatcher = new FlowableEventDispatcherImpl();
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+
+        TestFlowableEventListener typedListener = new TestFlowableEventListener();
+        dispatcher.addEventListener(typedListener, FlowableEngineEventType.ENTITY_CREATED);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED));
+
+        TestFlowableEventListener globalListener = new TestFlowableEventListener();
+        dispatcher.addEventListener(globalListener);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED));
+
+        dispatcher.removeEventListener(globalListener);
+        assertTrue(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_DELETED));
+
+        dispatcher.removeEventListener(typedListener);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+
+        // No listeners are notified when the dispatcher is disabled
+        dispatcher.addEventListener(globalListener);
+        dispatcher.setEnabled(false);
+        assertFalse(dispatcher.hasListeners(FlowableEngineEventType.ENTITY_CREATED));
+    }
+
+    public void testGlobalListenersAreNotifiedBeforeTypedListeners() {
+        FlowableEventDispatcher dispatcher = new FlowableEventDispatcherImpl();
+        TestFlowableEventListener typedListener = new TestFlowableEventListener();
+        TestFlowableEventListener globalListener = new TestFlowableEventListener();
+        dispatcher.addEventListener(typedListener, FlowableEngineEventType.CUSTOM);
+        dispatcher.addEventListener(globalListener);
+
+        final StringBuilder notifiedListeners = new StringBuilder();
+        dispatcher.addEventListener(new TestFlowableEventListener() {
+
+            @Override
+            public void onEvent(FlowableEvent event) {
+                notifiedListeners.append("typed");
+            }
+        }, FlowableEngineEventType.CUSTOM);
+        dispatcher.addEventListener(new TestFlowableEventListener() {
+
+            @Override
+            public void onEvent(FlowableEvent event) {
+                notifiedListeners.append("global,");
+            }
+        });
+
+        dispatcher.dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.CUSTOM));
+        assertEquals("global,typed", notifiedListeners.toString());
+        assertEquals(1, typedListener.getEventsReceived().size());
+        assertEquals(1, globalListener.getEventsReceived().size());
+
+        dispatcher.dispatchEvent(FlowableEventBuilder.createGlobalEvent(FlowableEngineEventType.ENGINE_CREATED));
+        assertEquals(1, typedListener.getEventsReceived().size());
+        assertEquals(2, globalListener.getEventsReceived().size());
+    }
+
+    @Deployment
+    public void testProcessDefinitionScopedListener() {
+        StaticTestFlowableEventListener.clearEventsReceived();
+        try {
+            boolean hasListeners = managementService.executeCommand(new Command<Boolean>() {
+
+                @Override
+                public Boolean execute(CommandContext commandContext) {
+                    return FlowableEventDispatcherImpl.hasListeners(CommandContextUtil.getProcessEngineConfiguration(commandContext).getEventDispatcher(), FlowableEngineEventType.VARIABLE_CREATED);
+                }
+            });
+            assertTrue(hasListeners);
+
+            runtimeService.startProcessInstanceByKey("processDefinitionScopedListener", CollectionUtil.singletonMap("var", "value"));
+            assertEquals(1, StaticTestFlowableEventListener.getEventsReceived().size());
+            assertEquals("var", ((FlowableVariableEvent) StaticTestFlowableEventListener.getEventsReceived().get(0)).getVariableName());
+
+        } finally {
+            StaticTestFlowableEventListener.clearEventsReceived();
+        }
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/event/EventListenerRoutingTest.testProcessDefinitionScopedListener.bpmn20.xml")
+    public void testProcessDefinitionScopedListenerNotParsedYet() {
+        StaticTestFlowableEventListener.clearEventsReceived();
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("processDefinitionScopedListener");
+
+        // As if the engine was restarted, without having parsed the deployed process definition since
+        List<EventDispatchAction> eventDispatchActions = processEngineConfiguration.getAdditionalEventDispatchActions();
+        int index = -1;
+        for (int i = 0; i < eventDispatchActions.size(); i++) {
+            if (eventDispatchActions.get(i) instanceof BpmnModelEventDispatchAction) {
+                index = i;
+            }
+        }
+        EventDispatchAction originalEventDispatchAction = eventDispatchActions.set(index, new BpmnModelEventDispatchAction());
+        processEngineConfiguration.getProcessDefinitionCache().clear();
+        try {
+            // The listeners of a process definition that isn't in the cache aren't notified, so there are none to create events for
+            assertFalse(hasVariableCreatedListeners());
+
+            // Parsing the process definition again registers its listeners
+            repositoryService.getBpmnModel(processInstance.getProcessDefinitionId());
+            assertTrue(hasVariableCreatedListeners());
+
+            runtimeService.setVariable(processInstance.getId(), "var", "value");
+            assertEquals(1, StaticTestFlowableEventListener.getEventsReceived().size());
+            assertEquals("var", ((FlowableVariableEvent) StaticTestFlowableEventListener.getEventsReceived().get(0)).getVariableName());
+
+        } finally {
+            eventDispatchActions.set(index, originalEventDispatchAction);
+            processEngineConfiguration.getProcessDefinitionCache().clear();
+            StaticTestFlowableEventListener.clearEventsReceived();
+        }
+    }
+
+    protected boolean hasVariableCreatedListeners() {
+        return managementService.executeCommand(new Command<Boolean>() {
+
+            @Override
+            public Boolean execute(CommandContext commandContext) {
+                return FlowableEventDispatcherImpl.hasListeners(CommandContextUtil.getProcessEngineConfiguration(commandContext).getEventDispatcher(), FlowableEngineEventType.VARIABLE_CREATED);
+            }
+        });
+    }
+
+}
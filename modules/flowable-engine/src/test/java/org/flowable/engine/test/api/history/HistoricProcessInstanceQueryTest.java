@@ -12,9 +12,12 @@
  */
 package org.flowable.engine.test.api.history;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.flowable.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
@@ -95,4 +98,35 @@ public class HistoricProcessInstanceQueryTest extends PluggableFlowableTestCase
         }
     }
     
+    public void testQueryPagingBySeeking() {
+        deployOneTaskTestProcess();
+        Date startTime = new Date(1000000000000L);
+        for (int i = 0; i < 7; i++) {
+            // instances started at the same time are ordered by id
+            processEngineConfiguration.getClock().setCurrentTime(new Date(startTime.getTime() + (i % 3) * 1000L));
+            runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        }
+
+        if (HistoryTestHelper.isHistoryLevelAtLeast(HistoryLevel.ACTIVITY, processEngineConfiguration)) {
+            List<String> expectedIds = new ArrayList<String>();
+            for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery()
+                    .orderByProcessInstanceStartTime().desc().orderByProcessInstanceId().desc().list()) {
+                expectedIds.add(historicProcessInstance.getId());
+            }
+
+            HistoricProcessInstanceQueryImpl query = (HistoricProcessInstanceQueryImpl) historyService.createHistoricProcessInstanceQuery()
+                    .orderByProcessInstanceStartTime().desc();
+            List<String> ids = new ArrayList<String>();
+            List<HistoricProcessInstance> page = query.listPageAfter(null, 3);
+            while (!page.isEmpty()) {
+                for (HistoricProcessInstance historicProcessInstance : page) {
+                    ids.add(historicProcessInstance.getId());
+                }
+                page = query.listPageAfter(query.getSeekKey(page.get(page.size() - 1)), 3);
+            }
+            assertEquals(7, ids.size());
+            assertEquals(expectedIds, ids);
+        }
+    }
+
 }
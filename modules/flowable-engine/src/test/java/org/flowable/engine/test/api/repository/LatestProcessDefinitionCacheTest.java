@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.repository;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.persistence.deploy.DbLatestProcessDefinitionCacheInvalidator;
+import org.flowable.engine.impl.persistence.deploy.DeploymentManager;
+import org.flowable.engine.impl.persistence.deploy.LatestProcessDefinitionCache;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.repository.ProcessDefinition;
+import org.flowable.engine.runtime.ProcessInstance;
+
+public class LatestProcessDefinitionCacheTest extends PluggableFlowableTestCase {
+
+    protected static final String ONE_TASK_PROCESS = "org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+    protected LatestProcessDefinitionCache latestProcessDefinitionCache;
+    protected DbLatestProcessDefinitionCacheInvalidator invalidator;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // The cache is disabled by default, it's enabled on the deployment manager of the shared engine for these tests only
+        latestProcessDefinitionCache = new LatestProcessDefinitionCache();
+        invalidator = new DbLatestProcessDefinitionCacheInvalidator(5000L);
+        DeploymentManager deploymentManager = processEngineConfiguration.getDeploymentManager();
+        deploymentManager.setLatestProcessDefinitionCache(latestProcessDefinitionCache);
+        deploymentManager.setLatestProcessDefinitionCacheInvalidator(invalidator);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        DeploymentManager deploymentManager = processEngineConfiguration.getDeploymentManager();
+        deploymentManager.setLatestProcessDefinitionCache(processEngineConfiguration.getLatestProcessDefinitionCache());
+        deploymentManager.setLatestProcessDefinitionCacheInvalidator(processEngineConfiguration.getLatestProcessDefinitionCacheInvalidator());
+
+        for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+        super.tearDown();
+    }
+
+    public void testCacheIsDisabledByDefault() {
+        assertFalse(new StandaloneInMemProcessEngineConfiguration().isEnableLatestProcessDefinitionCache());
+    }
+
+    public void testLatestVersionIsCachedAndInvalidated() {
+        String firstDeploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).deploy().getId();
+        ProcessDefinition firstVersion = repositoryService.createProcessDefinitionQuery().deploymentId(firstDeploymentId).singleResult();
+
+        assertEquals(firstVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+        assertEquals(firstVersion.getId(), latestProcessDefinitionCache.get("oneTaskProcess", null));
+        assertEquals(firstVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+
+        // A new version clears the cache
+        String secondDeploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).deploy().getId();
+        ProcessDefinition secondVersion = repositoryService.createProcessDefinitionQuery().deploymentId(secondDeploymentId).singleResult();
+        assertNull(latestProcessDefinitionCache.get("oneTaskProcess", null));
+        assertEquals(secondVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+        assertEquals(secondVersion.getId(), latestProcessDefinitionCache.get("oneTaskProcess", null));
+
+        // Deleting the latest version clears the cache too
+        repositoryService.deleteDeployment(secondDeploymentId, true);
+        assertNull(latestProcessDefinitionCache.get("oneTaskProcess", null));
+        assertEquals(firstVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+    }
+
+    public void testLatestVersionIsCachedPerTenant() {
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).tenantId("tenantA").deploy().getId();
+        ProcessDefinition tenantAVersion = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+        deploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).tenantId("tenantB").deploy().getId();
+        ProcessDefinition tenantBVersion = repositoryService.createProcessDefinitionQuery().deploymentId(deploymentId).singleResult();
+
+        assertEquals(tenantAVersion.getId(), runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "tenantA").getProcessDefinitionId());
+        assertEquals(tenantBVersion.getId(), runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "tenantB").getProcessDefinitionId());
+        assertEquals(tenantAVersion.getId(), latestProcessDefinitionCache.get("oneTaskProcess", "tenantA"));
+        assertEquals(tenantBVersion.getId(), latestProcessDefinitionCache.get("oneTaskProcess", "tenantB"));
+        assertNull(latestProcessDefinitionCache.get("oneTaskProcess", null));
+
+        // Moving a deployment to another tenant changes the latest versions
+        repositoryService.changeDeploymentTenantId(deploymentId, "tenantC");
+        assertNull(latestProcessDefinitionCache.get("oneTaskProcess", "tenantB"));
+        assertEquals(tenantBVersion.getId(), runtimeService.startProcessInstanceByKeyAndTenantId("oneTaskProcess", "tenantC").getProcessDefinitionId());
+    }
+
+    public void testCacheIsInvalidatedByVersionStamp() {
+        invalidator.setPollInterval(0);
+
+        String firstDeploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).deploy().getId();
+        ProcessDefinition firstVersion = repositoryService.createProcessDefinitionQuery().deploymentId(firstDeploymentId).singleResult();
+        String secondDeploymentId = repositoryService.createDeployment().addClasspathResource(ONE_TASK_PROCESS).deploy().getId();
+        ProcessDefinition secondVersion = repositoryService.createProcessDefinitionQuery().deploymentId(secondDeploymentId).singleResult();
+        assertEquals(secondVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+
+        // The version stamp is only checked on a cache hit
+        assertEquals(secondVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+
+        // An outdated entry, as if another engine deployed a version this engine doesn't know about yet, is used until the stamp changes
+        latestProcessDefinitionCache.put("oneTaskProcess", null, firstVersion.getId(), latestProcessDefinitionCache.getGeneration());
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+        assertEquals(firstVersion.getId(), processInstance.getProcessDefinitionId());
+
+        // The other engine increments the version stamp when deploying
+        final DbLatestProcessDefinitionCacheInvalidator otherEngineInvalidator = new DbLatestProcessDefinitionCacheInvalidator(0);
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                otherEngineInvalidator.latestProcessDefinitionsChanged(commandContext);
+                return null;
+            }
+        });
+
+        assertEquals(secondVersion.getId(), runtimeService.startProcessInstanceByKey("oneTaskProcess").getProcessDefinitionId());
+    }
+
+}
@@ -0,0 +1,255 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.common.api.delegate.event.FlowableEntityEvent;
+import org.flowable.engine.common.api.delegate.event.FlowableEvent;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.delegate.DelegateTask;
+import org.flowable.engine.delegate.TaskListener;
+import org.flowable.engine.delegate.event.FlowableEngineEventType;
+import org.flowable.engine.impl.cfg.PerformanceSettings;
+import org.flowable.engine.impl.delegate.event.FlowableEngineEvent;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.repository.Deployment;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.api.event.TestFlowableEventListener;
+
+public class BulkDeleteProcessInstancesTest extends PluggableFlowableTestCase {
+
+    protected static final String BULK_DELETE_PROCESS = "org/flowable/engine/test/api/runtime/BulkDeleteProcessInstancesTest.bulkDeleteProcess.bpmn20.xml";
+    protected static final String CALLING_PROCESS = "org/flowable/engine/test/api/runtime/BulkDeleteProcessInstancesTest.callingProcess.bpmn20.xml";
+    protected static final String TASK_DELETE_LISTENER_PROCESS = "org/flowable/engine/test/api/runtime/BulkDeleteProcessInstancesTest.taskDeleteListenerProcess.bpmn20.xml";
+
+    protected boolean originalEnableBulkDelete;
+    protected int originalBatchSize;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PerformanceSettings performanceSettings = processEngineConfiguration.getPerformanceSettings();
+        originalEnableBulkDelete = performanceSettings.isEnableBulkProcessInstanceDelete();
+        originalBatchSize = performanceSettings.getBulkProcessInstanceDeleteBatchSize();
+        performanceSettings.setEnableBulkProcessInstanceDelete(true);
+        CountingTaskDeleteListener.COUNTER.set(0);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        PerformanceSettings performanceSettings = processEngineConfiguration.getPerformanceSettings();
+        performanceSettings.setBulkProcessInstanceDeleteBatchSize(originalBatchSize);
+        performanceSettings.setEnableBulkProcessInstanceDelete(originalEnableBulkDelete);
+
+        for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+            repositoryService.deleteDeployment(deployment.getId(), true);
+        }
+        super.tearDown();
+    }
+
+    public void testDeleteDeploymentWithProcessInstances() {
+        // A small batch size, so the process instances are deleted in several batches
+        processEngineConfiguration.getPerformanceSettings().setBulkProcessInstanceDeleteBatchSize(7);
+
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(BULK_DELETE_PROCESS).deploy().getId();
+        List<String> processInstanceIds = startProcessInstances("bulkDeleteProcess", 30);
+        assertEquals(30, taskService.createTaskQuery().count());
+        assertEquals(30, managementService.createTimerJobQuery().count());
+        assertEquals(30, managementService.createJobQuery().count());
+
+        // Jobs in the suspended and dead letter job tables
+        runtimeService.suspendProcessInstanceById(processInstanceIds.get(0));
+        Job job = managementService.createJobQuery().processInstanceId(processInstanceIds.get(1)).singleResult();
+        managementService.moveJobToDeadLetterJob(job.getId());
+
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+        processEngineConfiguration.getEventDispatcher().addEventListener(listener, FlowableEngineEventType.PROCESS_CANCELLED);
+        try {
+            repositoryService.deleteDeployment(deploymentId, true);
+
+            List<String> cancelledProcessInstanceIds = new ArrayList<String>();
+            for (FlowableEvent event : listener.getEventsReceived()) {
+                cancelledProcessInstanceIds.add(((FlowableEngineEvent) event).getProcessInstanceId());
+            }
+            assertEquals(30, cancelledProcessInstanceIds.size());
+            assertTrue(cancelledProcessInstanceIds.containsAll(processInstanceIds));
+
+        } finally {
+            processEngineConfiguration.getEventDispatcher().removeEventListener(listener);
+        }
+
+        assertNoRuntimeData();
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+        assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+        assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    }
+
+    public void testDeleteDeploymentWithCallActivityAndSubTask() {
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(BULK_DELETE_PROCESS).addClasspathResource(CALLING_PROCESS).deploy().getId();
+        List<String> processInstanceIds = startProcessInstances("bulkDeleteProcess", 5);
+        runtimeService.startProcessInstanceByKey("callingProcess");
+        assertEquals(7, runtimeService.createProcessInstanceQuery().count());
+
+        // A sub task without process instance reference, only deleted through its parent task
+        Task task = taskService.createTaskQuery().processInstanceId(processInstanceIds.get(0)).singleResult();
+        Task subTask = taskService.newTask();
+        subTask.setParentTaskId(task.getId());
+        taskService.saveTask(subTask);
+
+        repositoryService.deleteDeployment(deploymentId, true);
+
+        assertNoRuntimeData();
+        assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    }
+
+    public void testTaskDeleteListenersAreCalled() {
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(TASK_DELETE_LISTENER_PROCESS).deploy().getId();
+        startProcessInstances("taskDeleteListenerProcess", 5);
+
+        repositoryService.deleteDeployment(deploymentId, true);
+
+        assertEquals(5, CountingTaskDeleteListener.COUNTER.get());
+        assertNoRuntimeData();
+    }
+
+    public void testDeleteDeploymentDispatchesDeleteEvents() {
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(BULK_DELETE_PROCESS).deploy().getId();
+        startProcessInstances("bulkDeleteProcess", 5);
+
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+        processEngineConfiguration.getEventDispatcher().addEventListener(listener, FlowableEngineEventType.ENTITY_DELETED, FlowableEngineEventType.JOB_CANCELED,
+                FlowableEngineEventType.VARIABLE_DELETED, FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED);
+        try {
+            repositoryService.deleteDeployment(deploymentId, true);
+
+            Map<FlowableEngineEventType, Integer> eventCounts = new HashMap<FlowableEngineEventType, Integer>();
+            int deletedTasks = 0;
+            for (FlowableEvent event : listener.getEventsReceived()) {
+                FlowableEngineEventType type = (FlowableEngineEventType) event.getType();
+                eventCounts.put(type, eventCounts.containsKey(type) ? eventCounts.get(type) + 1 : 1);
+                if (type == FlowableEngineEventType.ENTITY_DELETED && ((FlowableEntityEvent) event).getEntity() instanceof Task) {
+                    deletedTasks++;
+                }
+            }
+
+            // One timer job and one async job per process instance
+            assertEquals(Integer.valueOf(10), eventCounts.get(FlowableEngineEventType.JOB_CANCELED));
+            assertEquals(Integer.valueOf(10), eventCounts.get(FlowableEngineEventType.VARIABLE_DELETED));
+            assertEquals(Integer.valueOf(5), eventCounts.get(FlowableEngineEventType.ACTIVITY_MESSAGE_CANCELLED));
+            assertEquals(5, deletedTasks);
+
+        } finally {
+            processEngineConfiguration.getEventDispatcher().removeEventListener(listener);
+        }
+
+        assertNoRuntimeData();
+    }
+
+    public void testDeleteProcessInstances() {
+        repositoryService.createDeployment().addClasspathResource(BULK_DELETE_PROCESS).deploy();
+        final List<String> processInstanceIds = startProcessInstances("bulkDeleteProcess", 10);
+        String remainingProcessInstanceId = processInstanceIds.remove(9);
+
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                CommandContextUtil.getExecutionEntityManager(commandContext).deleteProcessInstances(processInstanceIds, "test", true);
+                return null;
+            }
+        });
+
+        assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+        assertEquals(remainingProcessInstanceId, runtimeService.createProcessInstanceQuery().singleResult().getId());
+        assertEquals(1, taskService.createTaskQuery().count());
+        assertEquals(1, managementService.createTimerJobQuery().count());
+        assertEquals(1, managementService.createJobQuery().count());
+        assertEquals(2, runtimeService.getVariables(remainingProcessInstanceId).size());
+        assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    }
+
+    public void testDeleteDeploymentWithBulkDeleteDisabled() {
+        processEngineConfiguration.getPerformanceSettings().setEnableBulkProcessInstanceDelete(false);
+
+        String deploymentId = repositoryService.createDeployment().addClasspathResource(BULK_DELETE_PROCESS).deploy().getId();
+        startProcessInstances("bulkDeleteProcess", 5);
+
+        TestFlowableEventListener listener = new TestFlowableEventListener();
+        processEngineConfiguration.getEventDispatcher().addEventListener(listener, FlowableEngineEventType.JOB_CANCELED);
+        try {
+            repositoryService.deleteDeployment(deploymentId, true);
+
+            // One timer job and one async job per process instance
+            assertEquals(10, listener.getEventsReceived().size());
+
+        } finally {
+            processEngineConfiguration.getEventDispatcher().removeEventListener(listener);
+        }
+
+        assertNoRuntimeData();
+    }
+
+    public void testBulkDeleteDisabledByDefault() {
+        assertFalse(new PerformanceSettings().isEnableBulkProcessInstanceDelete());
+    }
+
+    protected List<String> startProcessInstances(String processDefinitionKey, int count) {
+        List<String> processInstanceIds = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> variables = new HashMap<String, Object>();
+            variables.put("name", "instance " + i);
+            variables.put("serializable", new DummySerializable());
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(processDefinitionKey, variables);
+            processInstanceIds.add(processInstance.getId());
+        }
+        return processInstanceIds;
+    }
+
+    protected void assertNoRuntimeData() {
+        assertEquals(0, runtimeService.createExecutionQuery().count());
+        assertEquals(0, taskService.createTaskQuery().count());
+        assertEquals(0, managementService.createJobQuery().count());
+        assertEquals(0, managementService.createTimerJobQuery().count());
+        assertEquals(0, managementService.createSuspendedJobQuery().count());
+        assertEquals(0, managementService.createDeadLetterJobQuery().count());
+        assertEquals(0, runtimeService.createEventSubscriptionQuery().count());
+
+        Map<String, Long> tableCount = managementService.getTableCount();
+        String tablePrefix = processEngineConfiguration.getDatabaseTablePrefix();
+        assertEquals(Long.valueOf(0), tableCount.get(tablePrefix + "ACT_RU_VARIABLE"));
+        assertEquals(Long.valueOf(0), tableCount.get(tablePrefix + "ACT_RU_IDENTITYLINK"));
+        assertEquals(Long.valueOf(0), tableCount.get(tablePrefix + "ACT_GE_BYTEARRAY"));
+    }
+
+    public static class CountingTaskDeleteListener implements TaskListener {
+
+        private static final long serialVersionUID = 1L;
+
+        public static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public void notify(DelegateTask delegateTask) {
+            COUNTER.incrementAndGet();
+        }
+    }
+
+}
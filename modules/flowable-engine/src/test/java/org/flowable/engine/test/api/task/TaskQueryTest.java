@@ -24,6 +24,7 @@ import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.api.FlowableIllegalArgumentException;
+import org.flowable.engine.impl.TaskQueryImpl;
 import org.flowable.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.persistence.entity.TaskEntity;
 import org.flowable.engine.impl.persistence.entity.VariableInstanceEntity;
@@ -2208,6 +2209,53 @@ public class TaskQueryTest extends PluggableFlowableTestCase {
                                                         // tasks
     }
 
+    public void testQueryPagingBySeeking() {
+        // the test tasks share their create times and priorities, so their ids decide the order
+        assertPagesBySeeking((TaskQueryImpl) taskService.createTaskQuery().taskCandidateUser("kermit"),
+                taskService.createTaskQuery().taskCandidateUser("kermit").orderByTaskId().asc().list());
+        assertPagesBySeeking((TaskQueryImpl) taskService.createTaskQuery().orderByTaskCreateTime().asc(),
+                taskService.createTaskQuery().orderByTaskCreateTime().asc().orderByTaskId().asc().list());
+        assertPagesBySeeking((TaskQueryImpl) taskService.createTaskQuery().orderByTaskPriority().desc(),
+                taskService.createTaskQuery().orderByTaskPriority().desc().orderByTaskId().desc().list());
+
+        TaskQueryImpl query = (TaskQueryImpl) taskService.createTaskQuery().orderByTaskPriority().asc();
+        String seekKey = query.getSeekKey(query.listPageAfter(null, 1).get(0));
+        assertEquals(11, query.listPageAfter(seekKey, 20).size());
+        assertEquals(11, query.listPageAfter(seekKey, 20).size());
+        assertEquals(12, query.listPageAfter(null, 20).size());
+
+        try {
+            ((TaskQueryImpl) taskService.createTaskQuery().orderByTaskPriority().desc()).listPageAfter(seekKey, 20);
+            fail("expected exception");
+        } catch (FlowableIllegalArgumentException e) {
+            // OK, the seek key belongs to the ascending order
+        }
+
+        try {
+            ((TaskQueryImpl) taskService.createTaskQuery().orderByTaskName().asc()).listPageAfter(null, 20);
+            fail("expected exception");
+        } catch (FlowableIllegalArgumentException e) {
+            // OK, tasks without a name can't be sought
+        }
+    }
+
+    protected void assertPagesBySeeking(TaskQueryImpl query, List<Task> expectedTasks) {
+        List<String> expectedTaskIds = new ArrayList<String>();
+        for (Task task : expectedTasks) {
+            expectedTaskIds.add(task.getId());
+        }
+
+        List<String> taskIds = new ArrayList<String>();
+        List<Task> page = query.listPageAfter(null, 5);
+        while (!page.isEmpty()) {
+            for (Task task : page) {
+                taskIds.add(task.getId());
+            }
+            page = query.listPageAfter(query.getSeekKey(page.get(page.size() - 1)), 5);
+        }
+        assertEquals(expectedTaskIds, taskIds);
+    }
+
     public void testQuerySorting() {
         assertEquals(12, taskService.createTaskQuery().orderByTaskId().asc().list().size());
         assertEquals(12, taskService.createTaskQuery().orderByTaskName().asc().list().size());
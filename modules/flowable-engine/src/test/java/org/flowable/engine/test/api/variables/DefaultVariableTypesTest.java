@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.api.variables;
+
+import java.util.Date;
+
+import org.flowable.engine.impl.variable.DateType;
+import org.flowable.engine.impl.variable.DefaultVariableTypes;
+import org.flowable.engine.impl.variable.IntegerType;
+import org.flowable.engine.impl.variable.LongStringType;
+import org.flowable.engine.impl.variable.NullType;
+import org.flowable.engine.impl.variable.SerializableType;
+import org.flowable.engine.impl.variable.StringType;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for finding the type of a variable value, which is cached per class of the value.
+ */
+public class DefaultVariableTypesTest {
+
+    @Test
+    public void testFindVariableTypeDependingOnValue() {
+        DefaultVariableTypes variableTypes = createVariableTypes();
+
+        Assert.assertEquals("string", variableTypes.findVariableType("short").getTypeName());
+        Assert.assertEquals("longString", variableTypes.findVariableType("too long for a string").getTypeName());
+        Assert.assertEquals("string", variableTypes.findVariableType("short").getTypeName());
+        Assert.assertEquals("null", variableTypes.findVariableType(null).getTypeName());
+        Assert.assertEquals("integer", variableTypes.findVariableType(1).getTypeName());
+        Assert.assertEquals("serializable", variableTypes.findVariableType(1L).getTypeName());
+    }
+
+    @Test
+    public void testAddedTypeIsFound() {
+        DefaultVariableTypes variableTypes = createVariableTypes();
+        Assert.assertEquals("serializable", variableTypes.findVariableType(new Date()).getTypeName());
+
+        variableTypes.addType(new DateType(), 1);
+        Assert.assertEquals("date", variableTypes.findVariableType(new Date()).getTypeName());
+    }
+
+    @Test
+    public void testSubclassChangingIsAbleToStore() {
+        DefaultVariableTypes variableTypes = createVariableTypes();
+        variableTypes.addType(new SerializableType() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getTypeName() {
+                return "custom";
+            }
+
+            @Override
+            public boolean isAbleToStore(Object value) {
+                return value instanceof StringBuilder || value instanceof Thread;
+            }
+        });
+
+        // Not serializable, but the type doesn't say which classes it is able to store anymore
+        Assert.assertEquals("custom", variableTypes.findVariableType(Thread.currentThread()).getTypeName());
+    }
+
+    protected DefaultVariableTypes createVariableTypes() {
+        DefaultVariableTypes variableTypes = new DefaultVariableTypes();
+        variableTypes.addType(new NullType());
+        variableTypes.addType(new StringType(10));
+        variableTypes.addType(new LongStringType(11));
+        variableTypes.addType(new IntegerType());
+        variableTypes.addType(new SerializableType());
+        return variableTypes;
+    }
+
+}
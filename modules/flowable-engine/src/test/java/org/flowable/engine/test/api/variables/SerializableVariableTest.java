@@ -12,12 +12,16 @@
  */
 package org.flowable.engine.test.api.variables;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
+import org.flowable.engine.impl.variable.ChangeTrackingVariable;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
@@ -43,6 +47,32 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
         assertEquals(2, testSerializableVariable.getNumber());
     }
 
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testUpdateChangeTrackingSerializableInServiceTask() {
+        Map<String, Object> vars = new HashMap<String, Object>();
+        vars.put("myVar", new TestChangeTrackingSerializableVariable(1));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        taskService.complete(task.getId());
+
+        TestSerializableVariable testSerializableVariable = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+        assertEquals(2, testSerializableVariable.getNumber());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/api/variables/SerializableVariableTest.testUpdateSerializableInServiceTask.bpmn20.xml")
+    public void testReadUnchangedChangeTrackingSerializable() {
+        Map<String, Object> vars = new HashMap<String, Object>();
+        vars.put("myVar", new TestChangeTrackingSerializableVariable(1));
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testUpdateSerializableInServiceTask", vars);
+
+        // Reading the variable doesn't serialize it again to check for changes
+        TestChangeTrackingSerializableVariable.SERIALIZATION_COUNT.set(0);
+        TestSerializableVariable testSerializableVariable = (TestSerializableVariable) runtimeService.getVariable(processInstance.getId(), "myVar");
+        assertEquals(1, testSerializableVariable.getNumber());
+        assertEquals(0, TestChangeTrackingSerializableVariable.SERIALIZATION_COUNT.get());
+    }
+
     public static class TestUpdateSerializableVariableDelegate implements JavaDelegate {
 
         public void execute(DelegateExecution execution) {
@@ -71,4 +101,33 @@ public class SerializableVariableTest extends PluggableFlowableTestCase {
 
     }
 
+    public static class TestChangeTrackingSerializableVariable extends TestSerializableVariable implements ChangeTrackingVariable {
+
+        private static final long serialVersionUID = 1L;
+        static final AtomicInteger SERIALIZATION_COUNT = new AtomicInteger();
+
+        private transient boolean changed;
+
+        public TestChangeTrackingSerializableVariable(int number) {
+            super(number);
+        }
+
+        @Override
+        public void setNumber(int number) {
+            super.setNumber(number);
+            changed = true;
+        }
+
+        @Override
+        public boolean isChanged() {
+            return changed;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            SERIALIZATION_COUNT.incrementAndGet();
+            out.defaultWriteObject();
+        }
+
+    }
+
 }
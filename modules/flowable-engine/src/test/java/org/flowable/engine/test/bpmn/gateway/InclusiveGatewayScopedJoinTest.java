@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.gateway;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class InclusiveGatewayScopedJoinTest extends PluggableFlowableTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        processEngineConfiguration.getPerformanceSettings().setEnableInclusiveGatewayScopedJoin(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getPerformanceSettings().setEnableInclusiveGatewayScopedJoin(false);
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayScopedJoinTest.testJoin.bpmn20.xml")
+    public void testJoinOfAllIncomingFlows() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("inclusiveJoin", createVariables(true, true, true));
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(3, tasks.size());
+
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+        assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+        assertEquals(3, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count());
+
+        taskService.complete(tasks.get(2).getId());
+        Task afterJoinTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("afterJoin", afterJoinTask.getTaskDefinitionKey());
+        assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count());
+
+        taskService.complete(afterJoinTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/gateway/InclusiveGatewayScopedJoinTest.testJoin.bpmn20.xml")
+    public void testJoinOfSomeIncomingFlows() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("inclusiveJoin", createVariables(true, false, true));
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(2, tasks.size());
+
+        // Not every incoming flow is taken, the join activates when no other execution can reach it
+        taskService.complete(tasks.get(0).getId());
+        assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+
+        taskService.complete(tasks.get(1).getId());
+        Task afterJoinTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("afterJoin", afterJoinTask.getTaskDefinitionKey());
+
+        taskService.complete(afterJoinTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment
+    public void testTwoExecutionsThroughOneFlow() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("inclusiveJoinTwoExecutionsThroughOneFlow");
+
+        // As many executions wait in the join as it has incoming flows, but task B can still reach it
+        completeTask(processInstance, "taskA1");
+        completeTask(processInstance, "taskA2");
+        assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+        assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskB").count());
+
+        completeTask(processInstance, "taskB");
+        Task afterJoinTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("afterJoin", afterJoinTask.getTaskDefinitionKey());
+        assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count());
+
+        taskService.complete(afterJoinTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment
+    public void testJoinInMultiInstanceSubProcess() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("inclusiveJoinInMultiInstanceSubProcess");
+        Task taskB = taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskB").singleResult();
+        String subProcessExecutionId = getParentId(taskB);
+
+        // Task B of one instance of the sub process doesn't block the join in the other instances
+        Task taskAOfSameSubProcess = null;
+        for (Task taskA : taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskA").list()) {
+            if (subProcessExecutionId.equals(getParentId(taskA))) {
+                taskAOfSameSubProcess = taskA;
+            } else {
+                taskService.complete(taskA.getId());
+            }
+        }
+        assertEquals(2, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+
+        taskService.complete(taskAOfSameSubProcess.getId());
+        assertEquals(2, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+
+        taskService.complete(taskB.getId());
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(3, tasks.size());
+        for (Task task : tasks) {
+            assertEquals("afterJoin", task.getTaskDefinitionKey());
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstance.getId());
+    }
+
+    protected Map<String, Object> createVariables(boolean a, boolean b, boolean c) {
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("a", a);
+        variables.put("b", b);
+        variables.put("c", c);
+        return variables;
+    }
+
+    protected void completeTask(ProcessInstance processInstance, String taskDefinitionKey) {
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey(taskDefinitionKey).singleResult();
+        taskService.complete(task.getId());
+    }
+
+    protected String getParentId(Task task) {
+        return runtimeService.createExecutionQuery().executionId(task.getExecutionId()).singleResult().getParentId();
+    }
+
+}
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.gateway;
+
+import java.util.List;
+
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class ParallelGatewayArrivalCountJoinTest extends PluggableFlowableTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        processEngineConfiguration.getPerformanceSettings().setEnableParallelGatewayArrivalCountJoin(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getPerformanceSettings().setEnableParallelGatewayArrivalCountJoin(false);
+        super.tearDown();
+    }
+
+    @Deployment
+    public void testWideJoin() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("wideJoin");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(10, tasks.size());
+
+        for (int i = 0; i < 9; i++) {
+            taskService.complete(tasks.get(i).getId());
+        }
+
+        // The executions waiting in the join are kept
+        assertEquals(10, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count());
+        assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstance.getId()).count());
+
+        taskService.complete(tasks.get(9).getId());
+        Task afterJoinTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("afterJoin", afterJoinTask.getTaskDefinitionKey());
+        assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).onlyChildExecutions().count());
+
+        taskService.complete(afterJoinTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment
+    public void testJoinInMultiInstanceSubProcess() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("joinInMultiInstanceSubProcess");
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskA").list();
+        assertEquals(3, tasks.size());
+
+        // Arrivals in one instance of the sub process don't count for the join in the other instances
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+        assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+
+        for (Task task : taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskB").list()) {
+            taskService.complete(task.getId());
+        }
+        tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).list();
+        assertEquals(3, tasks.size());
+        for (Task task : tasks) {
+            assertEquals("afterJoin", task.getTaskDefinitionKey());
+            taskService.complete(task.getId());
+        }
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment
+    public void testJoinAfterSubProcess() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("joinAfterSubProcess");
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskA").singleResult().getId());
+        assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("afterJoin").count());
+
+        taskService.complete(taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskDefinitionKey("taskB").singleResult().getId());
+        Task afterJoinTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("afterJoin", afterJoinTask.getTaskDefinitionKey());
+
+        taskService.complete(afterJoinTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+}
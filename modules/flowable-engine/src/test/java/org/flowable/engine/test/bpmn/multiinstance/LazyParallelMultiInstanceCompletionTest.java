@@ -0,0 +1,175 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.bpmn.multiinstance;
+
+import java.util.List;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.util.CollectionUtil;
+import org.flowable.engine.impl.jobexecutor.ParallelMultiInstanceCompletionJobHandler;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class LazyParallelMultiInstanceCompletionTest extends PluggableFlowableTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        processEngineConfiguration.getPerformanceSettings().setEnableLazyParallelMultiInstanceCompletion(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getPerformanceSettings().setEnableLazyParallelMultiInstanceCompletion(false);
+        super.tearDown();
+    }
+
+    @Deployment
+    public void testParallelUserTasks() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelUserTasks", CollectionUtil.singletonMap("nrOfTasks", 3)).getId();
+
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+        assertEquals(3, tasks.size());
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+
+        // The loop variables on the multi-instance root execution are only updated when the activity is left
+        assertEquals(0, runtimeService.getVariable(tasks.get(2).getExecutionId(), "nrOfCompletedInstances"));
+        assertEquals(3, runtimeService.getVariable(tasks.get(2).getExecutionId(), "nrOfActiveInstances"));
+        assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstanceId).count());
+
+        taskService.complete(tasks.get(2).getId());
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+        assertEquals(0, managementService.createJobQuery().count());
+
+        taskService.complete(afterTask.getId());
+        assertProcessEnded(processInstanceId);
+    }
+
+    @Deployment
+    public void testParallelUserTasksWithCompletionCondition() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelUserTasksWithCompletionCondition").getId();
+
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+        assertEquals(4, tasks.size());
+        taskService.complete(tasks.get(0).getId());
+        assertEquals(3, taskService.createTaskQuery().processInstanceId(processInstanceId).count());
+
+        // The completion condition sees the counted instances
+        taskService.complete(tasks.get(1).getId());
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+    }
+
+    @Deployment
+    public void testParallelServiceTasks() {
+        // All instances complete in the same transaction
+        String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelServiceTasks").getId();
+
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+        assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).onlyChildExecutions().count());
+    }
+
+    @Deployment
+    public void testParallelAsyncServiceTasks() {
+        String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelAsyncServiceTasks").getId();
+        assertEquals(10, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+
+        waitForJobExecutorToProcessAllJobs(10000L, 200L);
+
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/LazyParallelMultiInstanceCompletionTest.testParallelUserTasks.bpmn20.xml")
+    public void testCompletionJobAfterConcurrentCompletion() {
+        final String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelUserTasks", CollectionUtil.singletonMap("nrOfTasks", 3)).getId();
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+
+        // Every transaction completing instances without leaving the activity schedules a completion job
+        taskService.complete(tasks.get(0).getId());
+        taskService.complete(tasks.get(1).getId());
+        List<Job> jobs = managementService.createJobQuery().processInstanceId(processInstanceId).list();
+        assertEquals(2, jobs.size());
+        for (Job job : jobs) {
+            assertEquals(ParallelMultiInstanceCompletionJobHandler.TYPE, ((JobEntity) job).getJobHandlerType());
+            assertTrue(job.isExclusive());
+        }
+
+        // As if the last instance completed concurrently with the others, without seeing their completion
+        final String lastExecutionId = tasks.get(2).getExecutionId();
+        managementService.executeCommand(new Command<Void>() {
+
+            @Override
+            public Void execute(CommandContext commandContext) {
+                CommandContextUtil.getExecutionEntityManager(commandContext).findById(lastExecutionId).inactivate();
+                return null;
+            }
+        });
+        assertEquals(1, taskService.createTaskQuery().processInstanceId(processInstanceId).count());
+
+        // One job leaves the multi-instance activity and removes the other pending job
+        managementService.executeJob(jobs.get(0).getId());
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+    }
+
+    @Deployment(resources = "org/flowable/engine/test/bpmn/multiinstance/LazyParallelMultiInstanceCompletionTest.testParallelUserTasks.bpmn20.xml")
+    public void testCompletionJobWithActiveAsyncExecutor() {
+        final String processInstanceId = runtimeService.startProcessInstanceByKey("lazyParallelUserTasks", CollectionUtil.singletonMap("nrOfTasks", 3)).getId();
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstanceId).list();
+
+        processEngineConfiguration.getAsyncExecutor().start();
+        try {
+            taskService.complete(tasks.get(0).getId());
+            taskService.complete(tasks.get(1).getId());
+
+            // As if the last instance completed concurrently with the others, without seeing their completion
+            final String lastExecutionId = tasks.get(2).getExecutionId();
+            managementService.executeCommand(new Command<Void>() {
+
+                @Override
+                public Void execute(CommandContext commandContext) {
+                    ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(lastExecutionId);
+                    execution.inactivate();
+                    JobEntity job = ParallelMultiInstanceCompletionJobHandler.schedule(execution.getParent(), commandContext);
+
+                    // The job must not be locked by the active async executor, otherwise other jobs can't remove it
+                    assertNull(job.getLockOwner());
+                    assertNull(job.getLockExpirationTime());
+                    return null;
+                }
+            });
+
+            waitForJobExecutorToProcessAllJobs(10000L, 200L);
+
+        } finally {
+            processEngineConfiguration.getAsyncExecutor().shutdown();
+        }
+
+        assertEquals(0, managementService.createJobQuery().processInstanceId(processInstanceId).count());
+        Task afterTask = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+        assertEquals("afterTasks", afterTask.getTaskDefinitionKey());
+    }
+
+}
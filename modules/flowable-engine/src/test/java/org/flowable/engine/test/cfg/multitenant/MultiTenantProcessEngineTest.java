@@ -21,8 +21,10 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.ExecutorPerTenantAsyncExecutor;
 import org.flowable.engine.impl.asyncexecutor.multitenant.SharedExecutorServiceAsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.multitenant.TenantMultiplexingAsyncExecutor;
 import org.flowable.engine.impl.cfg.multitenant.MultiSchemaMultiTenantProcessEngineConfiguration;
 import org.flowable.engine.repository.Deployment;
 import org.flowable.engine.runtime.ProcessInstance;
@@ -72,6 +74,14 @@ public class MultiTenantProcessEngineTest {
     }
 
     private void setupProcessEngine(boolean sharedExecutor) {
+        if (sharedExecutor) {
+            setupProcessEngine(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
+        } else {
+            setupProcessEngine(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
+        }
+    }
+
+    private void setupProcessEngine(AsyncExecutor asyncExecutor) {
         config = new MultiSchemaMultiTenantProcessEngineConfiguration(tenantInfoHolder);
 
         config.setDatabaseType(MultiSchemaMultiTenantProcessEngineConfiguration.DATABASE_TYPE_H2);
@@ -80,11 +90,7 @@ public class MultiTenantProcessEngineTest {
         config.setAsyncExecutorActivate(true);
         config.setDisableIdmEngine(true);
 
-        if (sharedExecutor) {
-            config.setAsyncExecutor(new SharedExecutorServiceAsyncExecutor(tenantInfoHolder));
-        } else {
-            config.setAsyncExecutor(new ExecutorPerTenantAsyncExecutor(tenantInfoHolder));
-        }
+        config.setAsyncExecutor(asyncExecutor);
 
         config.registerTenant("alfresco", createDataSource("jdbc:h2:mem:activiti-mt-alfresco;DB_CLOSE_DELAY=1000", "sa", ""));
         config.registerTenant("acme", createDataSource("jdbc:h2:mem:activiti-mt-acme;DB_CLOSE_DELAY=1000", "sa", ""));
@@ -105,6 +111,23 @@ public class MultiTenantProcessEngineTest {
         runProcessInstanceTest();
     }
 
+    @Test
+    public void testStartProcessInstancesWithTenantMultiplexingAsyncExecutor() throws Exception {
+        TenantMultiplexingAsyncExecutor asyncExecutor = new TenantMultiplexingAsyncExecutor(tenantInfoHolder);
+        // Tenants without jobs wait longer between acquisitions, but not longer than the test waits for the timers
+        asyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(1000);
+        asyncExecutor.setTenantIdleMaxWaitTimeInMillis(5000);
+        setupProcessEngine(asyncExecutor);
+        runProcessInstanceTest();
+
+        Assert.assertEquals(4, asyncExecutor.getTenantIds().size());
+
+        // Removing a tenant releases its job partitions on the running engine
+        asyncExecutor.removeTenantAsyncExecutor("acme");
+        Assert.assertEquals(3, asyncExecutor.getTenantIds().size());
+        Assert.assertFalse(asyncExecutor.getTenantIds().contains("acme"));
+    }
+
     protected void runProcessInstanceTest() throws InterruptedException {
         // Generate data
         startProcessInstances("joram");
@@ -0,0 +1,110 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.db;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.flowable.engine.common.api.FlowableOptimisticLockingException;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.persistence.entity.TaskEntity;
+import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class BatchFlushTest extends PluggableFlowableTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchFlushEnabled(true);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        processEngineConfiguration.getDbSqlSessionFactory().setBatchFlushEnabled(false);
+        super.tearDown();
+    }
+
+    @Deployment(resources = "org/flowable/examples/bpmn/gateway/ParallelGatewayTest.testForkJoin.bpmn20.xml")
+    public void testProcessWithBatchFlush() {
+        Map<String, Object> variables = new HashMap<String, Object>();
+        variables.put("stringVar", "test");
+        variables.put("intVar", 123);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("forkJoin", variables);
+
+        List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+        assertEquals(2, tasks.size());
+
+        // Updates multiple variables and executions in one flush
+        runtimeService.setVariable(processInstance.getId(), "stringVar", "updated");
+        runtimeService.setVariable(processInstance.getId(), "intVar", 456);
+        for (Task task : tasks) {
+            taskService.complete(task.getId());
+        }
+
+        Task archiveTask = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("archiveOrder", archiveTask.getTaskDefinitionKey());
+        assertEquals("updated", runtimeService.getVariable(processInstance.getId(), "stringVar"));
+        assertEquals(456, runtimeService.getVariable(processInstance.getId(), "intVar"));
+
+        taskService.complete(archiveTask.getId());
+        assertProcessEnded(processInstance.getId());
+    }
+
+    @Deployment(resources = "org/flowable/examples/bpmn/gateway/ParallelGatewayTest.testForkJoin.bpmn20.xml")
+    public void testOptimisticLockingDetectedInBatch() {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("forkJoin");
+        final List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+        assertEquals(2, tasks.size());
+
+        final CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+        try {
+            commandExecutor.execute(new Command<Void>() {
+
+                public Void execute(CommandContext commandContext) {
+                    TaskEntity firstTask = CommandContextUtil.getTaskEntityManager(commandContext).findById(tasks.get(0).getId());
+                    TaskEntity secondTask = CommandContextUtil.getTaskEntityManager(commandContext).findById(tasks.get(1).getId());
+
+                    // Concurrent change of the second task, in a separate transaction
+                    commandExecutor.execute(new CommandConfig(false), new Command<Void>() {
+
+                        public Void execute(CommandContext commandContext) {
+                            TaskEntity task = CommandContextUtil.getTaskEntityManager(commandContext).findById(tasks.get(1).getId());
+                            task.setDescription("concurrent change");
+                            return null;
+                        }
+                    });
+
+                    firstTask.setDescription("first");
+                    secondTask.setDescription("second");
+                    return null;
+                }
+            });
+            fail("Expected optimistic locking exception");
+
+        } catch (FlowableOptimisticLockingException e) {
+            assertTextPresent(tasks.get(1).getId(), e.getMessage());
+        }
+
+        assertNull(taskService.createTaskQuery().taskId(tasks.get(0).getId()).singleResult().getDescription());
+        assertEquals("concurrent change", taskService.createTaskQuery().taskId(tasks.get(1).getId()).singleResult().getDescription());
+    }
+
+}
@@ -0,0 +1,225 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.impl.asyncexecutor.AcquireAsyncJobsDueRunnable;
+import org.flowable.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
+import org.flowable.engine.impl.asyncexecutor.ExecuteAsyncRunnableFactory;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntityImpl;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Job;
+import org.flowable.engine.runtime.JobInfo;
+
+public class AsyncJobReadyQueueTest extends JobExecutorTestCase {
+
+    protected static final String LOCK_OWNER = "readyQueueTestOwner";
+
+    protected ReadyQueueTestAsyncExecutor asyncExecutor;
+    protected BlockingRunnableFactory runnableFactory;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        runnableFactory = new BlockingRunnableFactory();
+
+        asyncExecutor = new ReadyQueueTestAsyncExecutor();
+        asyncExecutor.setProcessEngineConfiguration(processEngineConfiguration);
+        asyncExecutor.setLockOwner(LOCK_OWNER);
+        asyncExecutor.setCorePoolSize(1);
+        asyncExecutor.setMaxPoolSize(1);
+        asyncExecutor.setQueueSize(1);
+        asyncExecutor.setExecuteAsyncRunnableFactory(runnableFactory);
+    }
+
+    public void tearDown() throws Exception {
+        runnableFactory.release();
+        asyncExecutor.stopThreadPool();
+
+        for (Job job : managementService.createJobQuery().list()) {
+            managementService.deleteJob(job.getId());
+        }
+        super.tearDown();
+    }
+
+    public void testLockedJobsWaitInReadyQueue() throws Exception {
+        asyncExecutor.setReadyQueueSize(3);
+        asyncExecutor.startThreadPool();
+        long now = System.currentTimeMillis();
+
+        // The first job blocks the only thread, the second one fills the thread pool queue
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job1", now)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job2", now)));
+        assertEquals(0, asyncExecutor.getRemainingCapacity());
+
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job3", now + 3000)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job4", now + 1000)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job5", now + 2000)));
+        assertEquals(3, asyncExecutor.getReadyQueue().size());
+
+        runnableFactory.release();
+        runnableFactory.waitForExecutedJobs(5);
+
+        // The jobs of which the lock expires first are executed first
+        assertEquals(Arrays.asList("job1", "job2", "job4", "job5", "job3"), runnableFactory.getExecutedJobIds());
+        assertEquals(0, asyncExecutor.getReadyQueue().size());
+        assertEquals(0, asyncExecutor.getWakeUpCount());
+    }
+
+    public void testJobsAreUnacquiredWhenReadyQueueIsFull() throws Exception {
+        asyncExecutor.setReadyQueueSize(1);
+        asyncExecutor.startThreadPool();
+        long now = System.currentTimeMillis();
+
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job1", now)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job2", now)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job3", now)));
+
+        JobEntity job = createPersistentJob();
+        job.setLockOwner(LOCK_OWNER);
+        job.setLockExpirationTime(new Date(now));
+        assertFalse(asyncExecutor.executeAsyncJob(job));
+
+        // The job is unacquired, so it can be acquired again when there's capacity
+        Job unacquiredJob = managementService.createJobQuery().singleResult();
+        assertNotSame(job.getId(), unacquiredJob.getId());
+        assertNull(((JobEntity) unacquiredJob).getLockOwner());
+
+        runnableFactory.release();
+        runnableFactory.waitForExecutedJobs(3);
+        waitForWakeUp();
+        assertEquals(1, asyncExecutor.getWakeUpCount());
+    }
+
+    public void testJobsLockedByOtherOwnerAreNotKept() throws Exception {
+        asyncExecutor.setReadyQueueSize(5);
+        asyncExecutor.startThreadPool();
+        long now = System.currentTimeMillis();
+
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job1", now)));
+        assertTrue(asyncExecutor.executeAsyncJob(createLockedJob("job2", now)));
+
+        JobEntity job = createPersistentJob();
+        assertFalse(asyncExecutor.executeAsyncJob(job));
+        assertEquals(0, asyncExecutor.getReadyQueue().size());
+    }
+
+    protected JobEntity createLockedJob(String id, long lockExpirationTime) {
+        JobEntity job = new JobEntityImpl();
+        job.setId(id);
+        job.setLockOwner(LOCK_OWNER);
+        job.setLockExpirationTime(new Date(lockExpirationTime));
+        return job;
+    }
+
+    protected JobEntity createPersistentJob() {
+        processEngineConfiguration.getCommandExecutor().execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(createTweetMessage("ready queue"));
+                return null;
+            }
+        });
+        return (JobEntity) managementService.createJobQuery().singleResult();
+    }
+
+    protected void waitForWakeUp() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (asyncExecutor.getWakeUpCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20L);
+        }
+    }
+
+    protected static class ReadyQueueTestAsyncExecutor extends DefaultAsyncJobExecutor {
+
+        protected AtomicInteger wakeUpCount = new AtomicInteger();
+
+        /**
+         * Only starts the thread pool, so jobs are not acquired from the database.
+         */
+        public void startThreadPool() {
+            isActive = true;
+            asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable("test", this, processEngineConfiguration.getJobEntityManager()) {
+
+                @Override
+                public void wakeUp() {
+                    wakeUpCount.incrementAndGet();
+                }
+            };
+            initAsyncJobExecutionThreadPool();
+        }
+
+        public void stopThreadPool() {
+            if (isActive) {
+                stopExecutingAsyncJobs();
+                isActive = false;
+            }
+        }
+
+        public int getWakeUpCount() {
+            return wakeUpCount.get();
+        }
+    }
+
+    protected static class BlockingRunnableFactory implements ExecuteAsyncRunnableFactory {
+
+        protected CountDownLatch latch = new CountDownLatch(1);
+        protected List<String> executedJobIds = new ArrayList<String>();
+
+        @Override
+        public Runnable createExecuteAsyncRunnable(final JobInfo job, ProcessEngineConfigurationImpl processEngineConfiguration) {
+            return new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        latch.await(10L, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    synchronized (BlockingRunnableFactory.this) {
+                        executedJobIds.add(job.getId());
+                        BlockingRunnableFactory.this.notifyAll();
+                    }
+                }
+            };
+        }
+
+        public void release() {
+            latch.countDown();
+        }
+
+        public synchronized void waitForExecutedJobs(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (executedJobIds.size() < count && System.currentTimeMillis() < deadline) {
+                wait(20L);
+            }
+            assertEquals(count, executedJobIds.size());
+        }
+
+        public synchronized List<String> getExecutedJobIds() {
+            return new ArrayList<String>(executedJobIds);
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.Date;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.flowable.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.cmd.AcquireJobsCmd;
+import org.flowable.engine.impl.cmd.AcquireTimerJobsCmd;
+import org.flowable.engine.impl.cmd.ExecuteAsyncJobCmd;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Job;
+
+public class BulkJobLockingTest extends JobExecutorTestCase {
+
+    protected AsyncExecutor asyncExecutor;
+    protected boolean originalBulkJobLocking;
+    protected int originalMaxAsyncJobsDuePerAcquisition;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        originalBulkJobLocking = asyncExecutor.isBulkJobLocking();
+        originalMaxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+        asyncExecutor.setBulkJobLocking(true);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(5);
+    }
+
+    public void tearDown() throws Exception {
+        asyncExecutor.setBulkJobLocking(originalBulkJobLocking);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(originalMaxAsyncJobsDuePerAcquisition);
+        super.tearDown();
+    }
+
+    public void testBulkLockAsyncJobs() {
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                for (int i = 0; i < 3; i++) {
+                    CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(createTweetMessage("message " + i));
+                }
+                return null;
+            }
+        });
+
+        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        assertEquals(3, acquiredJobs.size());
+        assertEquals(3, managementService.createJobQuery().lockOwner(asyncExecutor.getLockOwner()).count());
+
+        // The returned entities must reflect the state in the database, including the revision
+        for (final JobInfoEntity acquiredJob : acquiredJobs.getJobs()) {
+            assertEquals(asyncExecutor.getLockOwner(), acquiredJob.getLockOwner());
+            assertNotNull(acquiredJob.getLockExpirationTime());
+
+            JobEntity jobEntity = commandExecutor.execute(new Command<JobEntity>() {
+
+                public JobEntity execute(CommandContext commandContext) {
+                    return CommandContextUtil.getJobEntityManager(commandContext).findById(acquiredJob.getId());
+                }
+            });
+            assertEquals(jobEntity.getRevision(), acquiredJob.getRevision());
+        }
+
+        // Already locked jobs are not acquired again
+        acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+        assertEquals(0, acquiredJobs.size());
+
+        for (Job job : managementService.createJobQuery().list()) {
+            commandExecutor.execute(new ExecuteAsyncJobCmd(job.getId()));
+        }
+        assertEquals(3, tweetHandler.getMessages().size());
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    public void testBulkLockTimerJobs() {
+        processEngineConfiguration.getClock().setCurrentTime(new Date(JobExecutorCmdHappyTest.SOME_TIME));
+        CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                for (int i = 0; i < 2; i++) {
+                    TimerJobEntity timer = createTweetTimer("timer " + i, new Date(JobExecutorCmdHappyTest.SOME_TIME + (10 * JobExecutorCmdHappyTest.SECOND)));
+                    CommandContextUtil.getJobManager(commandContext).scheduleTimerJob(timer);
+                }
+                return null;
+            }
+        });
+
+        AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        assertEquals(0, acquiredJobs.size());
+
+        processEngineConfiguration.getClock().setCurrentTime(new Date(JobExecutorCmdHappyTest.SOME_TIME + (20 * JobExecutorCmdHappyTest.SECOND)));
+
+        final AcquiredTimerJobEntities lockedJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+        assertEquals(2, lockedJobs.size());
+        assertEquals(0, commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor)).size());
+
+        // Moving the timer deletes it with a revision check, so this fails if the revision of the locked entities is not correct
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                for (TimerJobEntity job : lockedJobs.getJobs()) {
+                    CommandContextUtil.getJobManager(commandContext).moveTimerJobToExecutableJob(job);
+                }
+                return null;
+            }
+        });
+
+        assertEquals(0, managementService.createTimerJobQuery().count());
+        for (Job job : managementService.createJobQuery().list()) {
+            commandExecutor.execute(new ExecuteAsyncJobCmd(job.getId()));
+        }
+        assertEquals(2, tweetHandler.getMessages().size());
+    }
+
+}
@@ -0,0 +1,206 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.engine.test.jobexecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
+import org.flowable.engine.impl.asyncexecutor.AcquiredJobEntities;
+import org.flowable.engine.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.engine.impl.asyncexecutor.JobPartitionLeaseManager;
+import org.flowable.engine.impl.cmd.AcquireJobsCmd;
+import org.flowable.engine.impl.cmd.ReleaseJobPartitionLeasesCmd;
+import org.flowable.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntityManager;
+import org.flowable.engine.impl.persistence.entity.JobInfoEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntity;
+import org.flowable.engine.impl.persistence.entity.PropertyEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
+import org.flowable.engine.runtime.Job;
+
+public class JobPartitioningTest extends JobExecutorTestCase {
+
+    protected AsyncExecutor asyncExecutor;
+    protected CommandExecutor commandExecutor;
+    protected boolean originalBulkJobLocking;
+    protected int originalMaxAsyncJobsDuePerAcquisition;
+
+    public void setUp() throws Exception {
+        super.setUp();
+        asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+        commandExecutor = processEngineConfiguration.getCommandExecutor();
+        originalBulkJobLocking = asyncExecutor.isBulkJobLocking();
+        originalMaxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(10);
+        asyncExecutor.setJobPartitionCount(4);
+    }
+
+    public void tearDown() throws Exception {
+        asyncExecutor.setJobPartitionCount(0);
+        asyncExecutor.setBulkJobLocking(originalBulkJobLocking);
+        asyncExecutor.setMaxAsyncJobsDuePerAcquisition(originalMaxAsyncJobsDuePerAcquisition);
+        processEngineConfiguration.getClock().reset();
+
+        final List<Job> jobs = managementService.createJobQuery().list();
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                // Deleted directly, as some of the jobs are locked
+                JobEntityManager jobEntityManager = CommandContextUtil.getJobEntityManager(commandContext);
+                for (Job job : jobs) {
+                    jobEntityManager.delete(job.getId());
+                }
+
+                PropertyEntityManager propertyEntityManager = CommandContextUtil.getPropertyEntityManager(commandContext);
+                for (PropertyEntity property : propertyEntityManager.findAll()) {
+                    if (property.getName().startsWith(RenewJobPartitionLeasesCmd.LEASE_PROPERTY_PREFIX)
+                            || property.getName().startsWith(RenewJobPartitionLeasesCmd.NODE_PROPERTY_PREFIX)) {
+                        propertyEntityManager.delete(property);
+                    }
+                }
+                return null;
+            }
+        });
+        super.tearDown();
+    }
+
+    public void testPartitionIsAssignedToNewJobs() {
+        scheduleJobs(null, null, null, null, null, 2);
+
+        for (Job job : managementService.createJobQuery().list()) {
+            Integer partition = ((JobEntity) job).getPartition();
+            assertNotNull(partition);
+            assertTrue(partition >= 0 && partition < 4);
+        }
+        assertEquals(Integer.valueOf(2), getPartitionOfJob("partition 2"));
+    }
+
+    public void testNoPartitionWhenPartitioningIsDisabled() {
+        asyncExecutor.setJobPartitionCount(0);
+        scheduleJobs((Integer) null);
+
+        assertNull(((JobEntity) managementService.createJobQuery().singleResult()).getPartition());
+    }
+
+    public void testAcquireJobsOfPartitions() {
+        scheduleJobs(0, 1, 2, 3);
+        asyncExecutor.setJobPartitionCount(0);
+        scheduleJobs((Integer) null);
+
+        // Jobs without partition are acquired by any executor
+        assertEquals(3, acquireJobs(Arrays.asList(1, 2)).size());
+        assertEquals(0, acquireJobs(Collections.<Integer> emptyList()).size());
+        assertEquals(1, acquireJobs(Arrays.asList(0, 1)).size());
+        assertEquals(1, acquireJobs(null).size());
+    }
+
+    public void testBulkLockJobsOfPartitions() {
+        asyncExecutor.setBulkJobLocking(true);
+        scheduleJobs(0, 1, 2, 3);
+        asyncExecutor.setJobPartitionCount(0);
+        scheduleJobs((Integer) null);
+
+        AcquiredJobEntities acquiredJobs = acquireJobs(Arrays.asList(3));
+        assertEquals(2, acquiredJobs.size());
+        for (JobInfoEntity job : acquiredJobs.getJobs()) {
+            assertEquals(asyncExecutor.getLockOwner(), job.getLockOwner());
+        }
+        assertEquals(0, acquireJobs(Collections.<Integer> emptyList()).size());
+        assertEquals(3, acquireJobs(null).size());
+    }
+
+    public void testLeasesAreDividedOverNodes() {
+        assertEquals(Arrays.asList(0, 1, 2, 3), renewLeases("nodeA"));
+
+        // A new node only gets partitions when the other nodes release them
+        assertEquals(Collections.emptyList(), renewLeases("nodeB"));
+        assertEquals(Arrays.asList(0, 1), renewLeases("nodeA"));
+        assertEquals(Arrays.asList(2, 3), renewLeases("nodeB"));
+
+        // Uneven division: the first node gets the extra partition
+        assertEquals(Collections.emptyList(), renewLeases("nodeC"));
+        assertEquals(Arrays.asList(0, 1), renewLeases("nodeA"));
+        assertEquals(Arrays.asList(2), renewLeases("nodeB"));
+        assertEquals(Arrays.asList(3), renewLeases("nodeC"));
+
+        // Released partitions are taken over immediately
+        commandExecutor.execute(new ReleaseJobPartitionLeasesCmd("nodeC"));
+        assertEquals(Arrays.asList(2, 3), renewLeases("nodeB"));
+        assertEquals(Arrays.asList(0, 1), renewLeases("nodeA"));
+    }
+
+    public void testExpiredLeasesAreTakenOver() {
+        processEngineConfiguration.getClock().setCurrentTime(new Date(JobExecutorCmdHappyTest.SOME_TIME));
+        assertEquals(Arrays.asList(0, 1, 2, 3), renewLeases("nodeA"));
+        assertEquals(Collections.emptyList(), renewLeases("nodeB"));
+
+        // nodeA stopped without releasing its leases
+        processEngineConfiguration.getClock().setCurrentTime(new Date(JobExecutorCmdHappyTest.SOME_TIME + 2 * asyncExecutor.getJobPartitionLeaseTimeInMillis()));
+        assertEquals(Arrays.asList(0, 1, 2, 3), renewLeases("nodeB"));
+    }
+
+    public void testLeaseManager() {
+        JobPartitionLeaseManager leaseManager = new JobPartitionLeaseManager(asyncExecutor);
+        assertEquals(Arrays.asList(0, 1, 2, 3), leaseManager.getOwnedPartitions(commandExecutor));
+
+        // Another node joins, the leases are only rebalanced on the next renewal
+        assertEquals(Collections.emptyList(), renewLeases("otherNode"));
+        assertEquals(Arrays.asList(0, 1, 2, 3), leaseManager.getOwnedPartitions(commandExecutor));
+
+        processEngineConfiguration.getClock().setCurrentTime(new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + asyncExecutor.getJobPartitionLeaseTimeInMillis() / 2));
+        List<Integer> ownedPartitions = leaseManager.getOwnedPartitions(commandExecutor);
+        assertEquals(2, ownedPartitions.size());
+
+        leaseManager.releaseLeases(commandExecutor);
+        assertEquals(Arrays.asList(0, 1, 2, 3), renewLeases("otherNode"));
+    }
+
+    protected void scheduleJobs(final Integer... partitions) {
+        commandExecutor.execute(new Command<Void>() {
+
+            public Void execute(CommandContext commandContext) {
+                for (Integer partition : partitions) {
+                    JobEntity job = createTweetMessage("partition " + partition);
+                    job.setPartition(partition);
+                    CommandContextUtil.getJobManager(commandContext).scheduleAsyncJob(job);
+                }
+                return null;
+            }
+        });
+    }
+
+    protected AcquiredJobEntities acquireJobs(List<Integer> partitions) {
+        return commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, Integer.MAX_VALUE, processEngineConfiguration.getJobEntityManager(), partitions));
+    }
+
+    protected List<Integer> renewLeases(String nodeId) {
+        return commandExecutor.execute(new RenewJobPartitionLeasesCmd(nodeId, 4, asyncExecutor.getJobPartitionLeaseTimeInMillis()));
+    }
+
+    protected Integer getPartitionOfJob(String jobHandlerConfiguration) {
+        for (Job job : managementService.createJobQuery().list()) {
+            JobEntity jobEntity = (JobEntity) job;
+            if (jobHandlerConfiguration.equals(jobEntity.getJobHandlerConfiguration())) {
+                return jobEntity.getPartition();
+            }
+        }
+        return null;
+    }
+
+}
@@ -17,10 +17,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
 import org.flowable.engine.history.HistoricVariableInstance;
 import org.flowable.engine.impl.history.HistoryLevel;
 import org.flowable.engine.impl.test.HistoryTestHelper;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
+import org.flowable.engine.impl.variable.JsonNodeSerializationCache;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.task.Task;
 import org.flowable.engine.test.Deployment;
@@ -122,6 +125,58 @@ public class JsonTest extends PluggableFlowableTestCase {
         assertNull(runtimeService.getVariable(processInstance.getId(), BIG_JSON_OBJ));
     }
 
+    @Deployment(resources = "org/flowable/engine/test/json/JsonTest.testJsonObjectAvailable.bpmn20.xml")
+    public void testUpdateChangedJsonObject() {
+        ObjectNode varNode = objectMapper.createObjectNode();
+        varNode.put("var", "myValue");
+        Map<String, Object> vars = new HashMap<String, Object>();
+        vars.put(MY_JSON_OBJ, varNode);
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testJsonAvailableProcess", vars);
+
+        // The same json object, changed such that it needs to be stored as a long json variable
+        varNode.setAll(createBigJsonObject());
+        runtimeService.setVariable(processInstance.getId(), MY_JSON_OBJ, varNode);
+        ObjectNode value = (ObjectNode) runtimeService.getVariable(processInstance.getId(), MY_JSON_OBJ);
+        assertEquals(varNode.toString(), value.toString());
+        assertEquals("longJson", runtimeService.getVariableInstance(processInstance.getId(), MY_JSON_OBJ).getTypeName());
+
+        // And changed back to a small json object
+        varNode.removeAll();
+        varNode.put("var", "myOtherValue");
+        runtimeService.setVariable(processInstance.getId(), MY_JSON_OBJ, varNode);
+        value = (ObjectNode) runtimeService.getVariable(processInstance.getId(), MY_JSON_OBJ);
+        assertEquals("myOtherValue", value.get("var").asText());
+        assertEquals(1, value.size());
+        assertEquals("json", runtimeService.getVariableInstance(processInstance.getId(), MY_JSON_OBJ).getTypeName());
+    }
+
+    public void testSerializedJsonIsOnlyKeptInCommandContext() {
+        final ObjectNode varNode = objectMapper.createObjectNode();
+        varNode.put("var", "myValue");
+
+        // Looking up the type without storing the value, like for a query variable value
+        assertTrue(managementService.executeCommand(new Command<Boolean>() {
+
+            @Override
+            public Boolean execute(CommandContext commandContext) {
+                processEngineConfiguration.getVariableTypes().findVariableType(varNode);
+                return commandContext.getAttribute(JsonNodeSerializationCache.class.getName()) != null;
+            }
+        }));
+
+        assertTrue(managementService.executeCommand(new Command<Boolean>() {
+
+            @Override
+            public Boolean execute(CommandContext commandContext) {
+                return commandContext.getAttribute(JsonNodeSerializationCache.class.getName()) == null;
+            }
+        }));
+
+        // Nothing is kept outside of a command context
+        assertEquals(varNode.toString(), JsonNodeSerializationCache.serialize(varNode));
+        assertEquals(varNode.toString(), JsonNodeSerializationCache.getSerializedAndClear(varNode));
+    }
+
     @Deployment
     public void testDirectJsonPropertyAccess() {
         Map<String, Object> vars = new HashMap<String, Object>();
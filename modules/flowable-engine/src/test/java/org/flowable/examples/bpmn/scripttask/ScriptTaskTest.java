@@ -17,6 +17,7 @@ import java.util.Map;
 
 import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.common.impl.util.CollectionUtil;
+import org.flowable.engine.impl.scripting.ScriptingEngines;
 import org.flowable.engine.impl.test.PluggableFlowableTestCase;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.engine.test.Deployment;
@@ -104,6 +105,25 @@ public class ScriptTaskTest extends PluggableFlowableTestCase {
         assertProcessEnded(processInstance.getId());
     }
 
+    @Deployment
+    public void testCompiledScriptCache() {
+        ScriptingEngines scriptingEngines = processEngineConfiguration.getScriptingEngines();
+        scriptingEngines.clearCompiledScriptCache();
+        long misses = scriptingEngines.getCompiledScriptCacheMisses();
+        long hits = scriptingEngines.getCompiledScriptCacheHits();
+
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("compiledScriptCache", CollectionUtil.map("a", 20, "b", 22));
+        assertEquals(42, ((Number) runtimeService.getVariable(processInstance.getId(), "sum")).intValue());
+        assertEquals(misses + 1, scriptingEngines.getCompiledScriptCacheMisses());
+        assertEquals(1, scriptingEngines.getCompiledScriptCacheSize());
+
+        // The compiled script is reused with the variables of the other process instance
+        processInstance = runtimeService.startProcessInstanceByKey("compiledScriptCache", CollectionUtil.map("a", 1, "b", 2));
+        assertEquals(3, ((Number) runtimeService.getVariable(processInstance.getId(), "sum")).intValue());
+        assertEquals(misses + 1, scriptingEngines.getCompiledScriptCacheMisses());
+        assertEquals(hits + 1, scriptingEngines.getCompiledScriptCacheHits());
+    }
+
     protected void verifyExceptionInStacktrace(Exception rootException, Class<?> expectedExceptionClass) {
         Throwable expectedException = rootException;
         boolean found = false;
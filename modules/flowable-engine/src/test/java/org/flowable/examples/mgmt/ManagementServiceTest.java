@@ -50,7 +50,7 @@ public class ManagementServiceTest extends PluggableFlowableTestCase {
             
         });
 
-        assertEquals(new Long(5), tableCount.get(tablePrefix + "ACT_GE_PROPERTY"));
+        assertEquals(new Long(6), tableCount.get(tablePrefix + "ACT_GE_PROPERTY"));
         assertEquals(new Long(0), tableCount.get(tablePrefix + "ACT_GE_BYTEARRAY"));
         assertEquals(new Long(0), tableCount.get(tablePrefix + "ACT_RE_DEPLOYMENT"));
         assertEquals(new Long(0), tableCount.get(tablePrefix + "ACT_RU_EXECUTION"));
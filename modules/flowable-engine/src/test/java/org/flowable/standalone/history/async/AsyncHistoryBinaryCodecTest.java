@@ -0,0 +1,214 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.history.async.AsyncHistoryBinaryCodec;
+import org.flowable.engine.impl.history.async.AsyncHistoryDateUtil;
+import org.flowable.engine.impl.history.async.AsyncHistoryJobBinaryHandler;
+import org.flowable.engine.impl.history.async.HistoryJsonConstants;
+import org.flowable.engine.impl.test.HistoryTestHelper;
+import org.flowable.engine.runtime.HistoryJob;
+import org.flowable.engine.task.Task;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Tests for the binary encoding of async history data.
+ */
+public class AsyncHistoryBinaryCodecTest {
+
+    protected ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testRoundTrip() {
+        List<ObjectNode> historyNodes = createTransactionHistoryNodes();
+
+        ObjectNode specialValues = createHistoryNode(HistoryJsonConstants.TYPE_VARIABLE_CREATED);
+        ObjectNode data = (ObjectNode) specialValues.get(HistoryJsonConstants.DATA);
+        data.put("leadingZero", "007");
+        data.put("minusZero", "-0");
+        data.put("minLong", Long.toString(Long.MIN_VALUE));
+        data.put("tooLarge", "9999999999999999999");
+        data.put("negative", "-42");
+        data.put("notADate", "2017-01-01T10:00:00Z");
+        data.put("unicode", "héllo ✓");
+        data.put("empty", "");
+        data.putNull("nullValue");
+        data.put("number", 12.5);
+        historyNodes.add(specialValues);
+
+        AsyncHistoryBinaryCodec codec = new AsyncHistoryBinaryCodec(objectMapper);
+        Assert.assertEquals(historyNodes, codec.decode(codec.encode(historyNodes)));
+
+        codec.setCompressionEnabled(true);
+        Assert.assertEquals(historyNodes, codec.decode(codec.encode(historyNodes)));
+
+        codec.setValueDictionaryEnabled(false);
+        Assert.assertEquals(historyNodes, codec.decode(codec.encode(historyNodes)));
+    }
+
+    @Test
+    public void testEncodingSize() throws Exception {
+        List<ObjectNode> historyNodes = createTransactionHistoryNodes();
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        arrayNode.addAll(historyNodes);
+        byte[] json = objectMapper.writeValueAsBytes(arrayNode);
+        byte[] gzippedJson = gzip(json);
+
+        AsyncHistoryBinaryCodec codec = new AsyncHistoryBinaryCodec(objectMapper);
+        byte[] binary = codec.encode(historyNodes);
+        codec.setCompressionEnabled(true);
+        byte[] compressedBinary = codec.encode(historyNodes);
+        codec.setCompressionEnabled(false);
+        codec.setValueDictionaryEnabled(false);
+        byte[] binaryWithoutValueDictionary = codec.encode(historyNodes);
+
+        // Without compression, the binary encoding is already smaller than the gzipped json
+        Assert.assertTrue(binaryWithoutValueDictionary.length < json.length / 3);
+        Assert.assertTrue(binary.length < binaryWithoutValueDictionary.length);
+        Assert.assertTrue(binary.length < gzippedJson.length);
+        Assert.assertTrue(compressedBinary.length < binary.length);
+    }
+
+    @Test
+    public void testOneTaskProcessWithBinaryEncoding() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncHistoryBinaryCodecTest;DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryBinaryEncodingEnabled(true);
+        processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(100); // Jobs that aren't applicable yet are unacquired and retried
+        ProcessEngine processEngine = processEngineConfiguration.buildProcessEngine();
+
+        try {
+            processEngine.getRepositoryService().createDeployment().addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+            String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            processEngine.getTaskService().complete(task.getId());
+
+            // One job per transaction
+            List<HistoryJob> historyJobs = processEngine.getManagementService().createHistoryJobQuery().list();
+            Assert.assertEquals(2, historyJobs.size());
+            for (HistoryJob historyJob : historyJobs) {
+                Assert.assertEquals(AsyncHistoryJobBinaryHandler.JOB_TYPE, historyJob.getJobHandlerType());
+            }
+
+            HistoryTestHelper.waitForJobExecutorToProcessAllHistoryJobs(processEngineConfiguration, processEngine.getManagementService(), 10000L, 100L);
+
+            Assert.assertNotNull(processEngine.getHistoryService().createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getEndTime());
+            Assert.assertEquals(1, processEngine.getHistoryService().createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).finished().count());
+            Assert.assertEquals(3, processEngine.getHistoryService().createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).finished().count());
+
+        } finally {
+            for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+                processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+            }
+            for (HistoryJob historyJob : processEngine.getManagementService().createHistoryJobQuery().list()) {
+                processEngine.getManagementService().deleteHistoryJob(historyJob.getId());
+            }
+            processEngine.close();
+        }
+    }
+
+    /**
+     * Historic data like the data of a transaction starting a process instance with a few activities and a task.
+     */
+    protected List<ObjectNode> createTransactionHistoryNodes() {
+        List<ObjectNode> historyNodes = new ArrayList<ObjectNode>();
+        String processInstanceId = "12501";
+        String processDefinitionId = "oneTaskProcess:1:12504";
+        long time = System.currentTimeMillis();
+
+        ObjectNode processInstanceStart = createHistoryNode(HistoryJsonConstants.TYPE_PROCESS_INSTANCE_START);
+        ObjectNode data = (ObjectNode) processInstanceStart.get(HistoryJsonConstants.DATA);
+        data.put(HistoryJsonConstants.ID, processInstanceId);
+        data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_KEY, "oneTaskProcess");
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_NAME, "The One Task Process");
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_VERSION, "1");
+        data.putNull(HistoryJsonConstants.BUSINESS_KEY);
+        data.put(HistoryJsonConstants.START_TIME, AsyncHistoryDateUtil.formatDate(new Date(time)));
+        data.put(HistoryJsonConstants.START_ACTIVITY_ID, "theStart");
+        data.put(HistoryJsonConstants.TENANT_ID, "");
+        data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time)));
+        historyNodes.add(processInstanceStart);
+
+        String[] activityIds = { "theStart", "flow1", "theTask" };
+        String[] activityTypes = { "startEvent", "sequenceFlow", "userTask" };
+        for (int i = 0; i < activityIds.length; i++) {
+            ObjectNode activity = createHistoryNode(i < 2 ? HistoryJsonConstants.TYPE_ACTIVITY_FULL : HistoryJsonConstants.TYPE_ACTIVITY_START);
+            data = (ObjectNode) activity.get(HistoryJsonConstants.DATA);
+            data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+            data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+            data.put(HistoryJsonConstants.EXECUTION_ID, "12505");
+            data.put(HistoryJsonConstants.ACTIVITY_ID, activityIds[i]);
+            data.put(HistoryJsonConstants.ACTIVITY_NAME, activityIds[i]);
+            data.put(HistoryJsonConstants.ACTIVITY_TYPE, activityTypes[i]);
+            data.put(HistoryJsonConstants.START_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            if (i < 2) {
+                data.put(HistoryJsonConstants.END_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            }
+            data.put(HistoryJsonConstants.TENANT_ID, "");
+            data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time + i)));
+            historyNodes.add(activity);
+        }
+
+        ObjectNode taskCreated = createHistoryNode(HistoryJsonConstants.TYPE_TASK_CREATED);
+        data = (ObjectNode) taskCreated.get(HistoryJsonConstants.DATA);
+        data.put(HistoryJsonConstants.ID, "12508");
+        data.put(HistoryJsonConstants.NAME, "my task");
+        data.put(HistoryJsonConstants.PROCESS_INSTANCE_ID, processInstanceId);
+        data.put(HistoryJsonConstants.PROCESS_DEFINITION_ID, processDefinitionId);
+        data.put(HistoryJsonConstants.EXECUTION_ID, "12505");
+        data.put(HistoryJsonConstants.TASK_DEFINITION_KEY, "theTask");
+        data.put(HistoryJsonConstants.PRIORITY, "50");
+        data.put(HistoryJsonConstants.CREATE_TIME, AsyncHistoryDateUtil.formatDate(new Date(time + 3)));
+        data.putNull(HistoryJsonConstants.ASSIGNEE);
+        data.put(HistoryJsonConstants.TENANT_ID, "");
+        data.put(HistoryJsonConstants.TIMESTAMP, AsyncHistoryDateUtil.formatDate(new Date(time + 3)));
+        historyNodes.add(taskCreated);
+
+        return historyNodes;
+    }
+
+    protected ObjectNode createHistoryNode(String type) {
+        ObjectNode historyNode = objectMapper.createObjectNode();
+        historyNode.put(HistoryJsonConstants.TYPE, type);
+        historyNode.putObject(HistoryJsonConstants.DATA);
+        return historyNode;
+    }
+
+    protected byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(bytes);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
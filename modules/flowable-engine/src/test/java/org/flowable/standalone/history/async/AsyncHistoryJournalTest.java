@@ -0,0 +1,398 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.history.async;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournal;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalConsumer;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalListener;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalPosition;
+import org.flowable.engine.impl.history.async.AsyncHistoryJournalRecord;
+import org.flowable.engine.task.Task;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the async history journal, which writes historic data to a journal on the local disk instead of to history jobs.
+ */
+public class AsyncHistoryJournalTest {
+
+    protected File journalDirectory;
+
+    @Before
+    public void createJournalDirectory() throws IOException {
+        journalDirectory = Files.createTempDirectory("flowable-async-history-journal").toFile();
+    }
+
+    @After
+    public void deleteJournalDirectory() {
+        delete(journalDirectory);
+    }
+
+    protected void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Test
+    public void testHistoryIsAppliedFromJournal() throws Exception {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            processEngine.getRepositoryService().createDeployment().addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+            String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            processEngine.getTaskService().complete(task.getId());
+
+            // No history jobs are created
+            Assert.assertEquals(0, processEngine.getManagementService().createHistoryJobQuery().count());
+
+            HistoricProcessInstance historicProcessInstance = waitForEndedHistoricProcessInstance(processEngine, processInstanceId);
+            Assert.assertNotNull(historicProcessInstance.getEndTime());
+            Assert.assertEquals(1, processEngine.getHistoryService().createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).finished().count());
+            Assert.assertEquals(3, processEngine.getHistoryService().createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testJournalIsNotAppliedTwiceAfterRestart() throws Exception {
+        ProcessEngine processEngine = createProcessEngine();
+        String processInstanceId;
+        try {
+            processEngine.getRepositoryService().createDeployment().addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+            processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            processEngine.getTaskService().complete(task.getId());
+            waitForEndedHistoricProcessInstance(processEngine, processInstanceId);
+
+        } finally {
+            processEngine.close();
+        }
+
+        processEngine = createProcessEngine();
+        try {
+            AsyncHistoryJournalConsumer consumer = ((AsyncHistoryJournalListener) ((ProcessEngineConfigurationImpl) processEngine
+                    .getProcessEngineConfiguration()).getAsyncHistoryListener()).getConsumer();
+            Assert.assertEquals(consumer.getWaitTimeInMillis(), consumer.applyNextRecords());
+
+            Assert.assertEquals(1, processEngine.getHistoryService().createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).count());
+            Assert.assertEquals(3, processEngine.getHistoryService().createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testFailingRecordIsMovedToDeadLetterJournal() throws Exception {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            AsyncHistoryJournalListener listener = getJournalListener(processEngine);
+            AsyncHistoryJournalConsumer consumer = listener.getConsumer();
+            consumer.stop();
+            consumer.setNumberOfRetries(0);
+
+            listener.getJournal().append("not json".getBytes(StandardCharsets.UTF_8));
+
+            // The batch fails, then the record fails on its own and is moved
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(consumer.getWaitTimeInMillis(), consumer.applyNextRecords());
+
+            List<AsyncHistoryJournalRecord> deadLetterRecords = consumer.getDeadLetterRecords(10);
+            Assert.assertEquals(1, deadLetterRecords.size());
+            Assert.assertEquals("not json", new String(deadLetterRecords.get(0).getData(), StandardCharsets.UTF_8));
+
+            try {
+                consumer.replayDeadLetterRecords();
+                Assert.fail("Expected an exception for the invalid record");
+            } catch (FlowableException e) {
+                // expected
+            }
+            Assert.assertEquals(1, consumer.getDeadLetterRecords(10).size());
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testRecordsOfFailedBatchAreAppliedOneByOne() throws Exception {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            AsyncHistoryJournalListener listener = getJournalListener(processEngine);
+            AsyncHistoryJournalConsumer consumer = listener.getConsumer();
+            consumer.stop();
+            consumer.setNumberOfRetries(0);
+            consumer.setMaxBatchSize(3);
+
+            // Empty records apply without changing the history
+            for (String data : new String[] { "[]", "not json", "[]", "[]", "[]" }) {
+                listener.getJournal().append(data.getBytes(StandardCharsets.UTF_8));
+            }
+            List<AsyncHistoryJournalRecord> records = listener.getJournal().read(AsyncHistoryJournalPosition.START, 10);
+
+            // The first batch fails, its records are applied one by one, also after the first record succeeds
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(records.get(0).getNextPosition(), getAppliedPosition(processEngine, consumer));
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(records.get(1).getNextPosition(), getAppliedPosition(processEngine, consumer));
+            Assert.assertEquals(1, consumer.getDeadLetterRecords(10).size());
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(records.get(2).getNextPosition(), getAppliedPosition(processEngine, consumer));
+
+            // Past the failed batch, the remaining records are applied in one batch
+            Assert.assertEquals(0L, consumer.applyNextRecords());
+            Assert.assertEquals(records.get(4).getNextPosition(), getAppliedPosition(processEngine, consumer));
+            Assert.assertEquals(consumer.getWaitTimeInMillis(), consumer.applyNextRecords());
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testDeadLetterRecordsAreReplayed() throws Exception {
+        ProcessEngine processEngine = createProcessEngine();
+        try {
+            AsyncHistoryJournalListener listener = getJournalListener(processEngine);
+            AsyncHistoryJournalConsumer consumer = listener.getConsumer();
+            consumer.stop();
+
+            processEngine.getRepositoryService().createDeployment().addClasspathResource("org/flowable/engine/test/api/oneTaskProcess.bpmn20.xml").deploy();
+            String processInstanceId = processEngine.getRuntimeService().startProcessInstanceByKey("oneTaskProcess").getId();
+            Task task = processEngine.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+            processEngine.getTaskService().complete(task.getId());
+            Assert.assertEquals(0, processEngine.getHistoryService().createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).count());
+
+            // Move the records of the process instance to the dead letter journal, as if they had failed
+            List<AsyncHistoryJournalRecord> records = listener.getJournal().read(AsyncHistoryJournalPosition.START, 100);
+            for (AsyncHistoryJournalRecord record : records) {
+                consumer.getDeadLetterJournal().append(record.getData());
+            }
+
+            Assert.assertEquals(records.size(), consumer.replayDeadLetterRecords());
+            Assert.assertEquals(0, consumer.getDeadLetterRecords(10).size());
+            Assert.assertEquals(0, consumer.replayDeadLetterRecords());
+
+            HistoricProcessInstance historicProcessInstance = processEngine.getHistoryService().createHistoricProcessInstanceQuery()
+                    .processInstanceId(processInstanceId).singleResult();
+            Assert.assertNotNull(historicProcessInstance.getEndTime());
+
+        } finally {
+            cleanup(processEngine);
+        }
+    }
+
+    @Test
+    public void testPartiallyWrittenRecordIsTruncated() throws Exception {
+        AsyncHistoryJournal journal = new AsyncHistoryJournal(journalDirectory);
+        journal.open();
+        journal.append("first".getBytes(StandardCharsets.UTF_8));
+        AsyncHistoryJournalPosition secondPosition = journal.append("second".getBytes(StandardCharsets.UTF_8));
+        journal.close();
+
+        // Simulate a crash while writing a record: only the length of the record was written
+        File segmentFile = journalDirectory.listFiles()[0];
+        try (FileOutputStream outputStream = new FileOutputStream(segmentFile, true)) {
+            outputStream.write(new byte[] { 0, 0, 0, 10, 1, 2 });
+        }
+
+        List<AsyncHistoryJournalRecord> records = journal.read(AsyncHistoryJournalPosition.START, 10);
+        Assert.assertEquals(2, records.size());
+        Assert.assertEquals(secondPosition, records.get(1).getPosition());
+
+        journal.open();
+        AsyncHistoryJournalPosition thirdPosition = journal.append("third".getBytes(StandardCharsets.UTF_8));
+        journal.close();
+
+        Assert.assertEquals(records.get(1).getNextPosition(), thirdPosition);
+        records = journal.read(AsyncHistoryJournalPosition.START, 10);
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("third", new String(records.get(2).getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testSegmentsAreRolledOverAndDeleted() throws Exception {
+        AsyncHistoryJournal journal = new AsyncHistoryJournal(journalDirectory);
+        journal.setMaxSegmentSize(20L);
+        journal.open();
+        for (int i = 0; i < 5; i++) {
+            journal.append(("record" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        journal.close();
+        Assert.assertEquals(5, journal.getSegments().size());
+
+        List<AsyncHistoryJournalRecord> records = journal.read(AsyncHistoryJournalPosition.START, 3);
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("record2", new String(records.get(2).getData(), StandardCharsets.UTF_8));
+
+        records = journal.read(records.get(2).getNextPosition(), 10);
+        Assert.assertEquals(2, records.size());
+        Assert.assertEquals("record4", new String(records.get(1).getData(), StandardCharsets.UTF_8));
+
+        journal.deleteSegmentsBefore(records.get(1).getPosition().getSegment());
+        Assert.assertEquals(1, journal.getSegments().size());
+    }
+
+    @Test
+    public void testJournalNameIsRequired() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = createProcessEngineConfiguration();
+        processEngineConfiguration.setAsyncHistoryJournalName(null);
+        try {
+            processEngineConfiguration.buildProcessEngine().close();
+            Assert.fail("Expected an exception for the missing journal name");
+        } catch (FlowableException e) {
+            Assert.assertTrue(e.getMessage().contains("asyncHistoryJournalName"));
+        }
+    }
+
+    @Test
+    public void testJournalIsSyncedOnAppendByDefault() {
+        Assert.assertTrue(new AsyncHistoryJournal(journalDirectory).isSyncOnAppend());
+    }
+
+    @Test
+    public void testConcurrentAppendsShareForce() throws Exception {
+        final AtomicInteger forceCount = new AtomicInteger();
+        final AsyncHistoryJournal journal = new AsyncHistoryJournal(journalDirectory) {
+
+            @Override
+            protected void force(FileChannel channel) throws IOException {
+                forceCount.incrementAndGet();
+                try {
+                    // A slow disk, so the other threads append while the segment is forced
+                    Thread.sleep(5L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.force(channel);
+            }
+        };
+        journal.setMaxSegmentSize(1000L);
+        journal.open();
+
+        int nrOfThreads = 10;
+        final int nrOfRecordsPerThread = 20;
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(nrOfThreads);
+        for (int i = 0; i < nrOfThreads; i++) {
+            final int threadNr = i;
+            executorService.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int j = 0; j < nrOfRecordsPerThread; j++) {
+                        journal.append(("record" + threadNr + "-" + j).getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            });
+        }
+        startLatch.countDown();
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        journal.close();
+
+        int nrOfRecords = nrOfThreads * nrOfRecordsPerThread;
+        Assert.assertTrue("expected less forces than records, but was " + forceCount.get(), forceCount.get() < nrOfRecords);
+
+        Set<String> records = new HashSet<String>();
+        for (AsyncHistoryJournalRecord record : journal.read(AsyncHistoryJournalPosition.START, nrOfRecords + 1)) {
+            records.add(new String(record.getData(), StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals(nrOfRecords, records.size());
+    }
+
+    protected ProcessEngine createProcessEngine() {
+        ProcessEngine processEngine = createProcessEngineConfiguration().buildProcessEngine();
+        Assert.assertEquals(AsyncHistoryJournalConsumer.POSITION_PROPERTY_PREFIX + "node1", ((AsyncHistoryJournalListener) ((ProcessEngineConfigurationImpl) processEngine
+                .getProcessEngineConfiguration()).getAsyncHistoryListener()).getConsumer().getPositionPropertyName());
+        return processEngine;
+    }
+
+    protected AsyncHistoryJournalListener getJournalListener(ProcessEngine processEngine) {
+        return (AsyncHistoryJournalListener) ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getAsyncHistoryListener();
+    }
+
+    protected AsyncHistoryJournalPosition getAppliedPosition(ProcessEngine processEngine, AsyncHistoryJournalConsumer consumer) {
+        return AsyncHistoryJournalPosition.parse(processEngine.getManagementService().getProperties().get(consumer.getPositionPropertyName()));
+    }
+
+    protected ProcessEngineConfigurationImpl createProcessEngineConfiguration() {
+        ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        // A database per journal directory, as the position in the journal is stored in the database
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-AsyncHistoryJournalTest-" + journalDirectory.getName() + ";DB_CLOSE_DELAY=1000");
+        processEngineConfiguration.setDatabaseSchemaUpdate("true");
+        processEngineConfiguration.setAsyncHistoryEnabled(true);
+        processEngineConfiguration.setAsyncHistoryJournalDirectory(journalDirectory.getAbsolutePath());
+        processEngineConfiguration.setAsyncHistoryJournalName("node1");
+        return processEngineConfiguration;
+    }
+
+    protected HistoricProcessInstance waitForEndedHistoricProcessInstance(ProcessEngine processEngine, String processInstanceId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000L;
+        while (System.currentTimeMillis() < deadline) {
+            HistoricProcessInstance historicProcessInstance = processEngine.getHistoryService().createHistoricProcessInstanceQuery()
+                    .processInstanceId(processInstanceId).singleResult();
+            if (historicProcessInstance != null && historicProcessInstance.getEndTime() != null) {
+                return historicProcessInstance;
+            }
+            Thread.sleep(50L);
+        }
+        Assert.fail("Historic data was not applied from the async history journal");
+        return null;
+    }
+
+    protected void cleanup(ProcessEngine processEngine) {
+        for (org.flowable.engine.repository.Deployment deployment : processEngine.getRepositoryService().createDeploymentQuery().list()) {
+            processEngine.getRepositoryService().deleteDeployment(deployment.getId(), true);
+        }
+        processEngine.close();
+    }
+
+}
@@ -0,0 +1,188 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.standalone.idgenerator;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.flowable.engine.common.impl.cfg.IdGenerator;
+import org.flowable.engine.common.impl.db.IdBlock;
+import org.flowable.engine.impl.db.PrefetchingDbIdGenerator;
+import org.flowable.engine.impl.test.ResourceFlowableTestCase;
+import org.flowable.engine.task.Task;
+import org.flowable.engine.test.Deployment;
+
+public class PrefetchingDbIdGeneratorTest extends ResourceFlowableTestCase {
+
+    public PrefetchingDbIdGeneratorTest() throws Exception {
+        super("org/flowable/standalone/idgenerator/prefetchingdbidgenerator.test.flowable.cfg.xml");
+    }
+
+    public void testConcurrentIdGeneration() throws Exception {
+        final IdGenerator idGenerator = processEngineConfiguration.getIdGenerator();
+        assertTrue(idGenerator instanceof PrefetchingDbIdGenerator);
+
+        final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+        final AtomicBoolean duplicateFound = new AtomicBoolean();
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < 10; i++) {
+            executorService.execute(new Runnable() {
+
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        if (!ids.add(idGenerator.getNextId())) {
+                            duplicateFound.set(true);
+                        }
+                    }
+                }
+            });
+        }
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        assertFalse(duplicateFound.get());
+        assertEquals(10000, ids.size());
+    }
+
+    public void testDefaultPrefetchExecutor() throws Exception {
+        final Set<String> fetchingThreads = Collections.synchronizedSet(new HashSet<String>());
+        PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+
+            @Override
+            protected IdBlock fetchBlock(int blockSize) {
+                fetchingThreads.add(Thread.currentThread().getName());
+                return super.fetchBlock(blockSize);
+            }
+        };
+        idGenerator.setIdBlockSize(4);
+        idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+        idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+
+        try {
+            // the first block is fetched by the caller, crossing the threshold of the first block prefetches the second one
+            Set<String> ids = new HashSet<String>();
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ids.add(idGenerator.getNextId()));
+            }
+
+            // the switch would run the prefetch itself when the prefetch thread hasn't started it yet
+            long waitUntil = System.currentTimeMillis() + 10000;
+            while (fetchingThreads.size() < 2 && System.currentTimeMillis() < waitUntil) {
+                Thread.sleep(10);
+            }
+
+            for (int i = 0; i < 2; i++) {
+                assertTrue(ids.add(idGenerator.getNextId()));
+            }
+            assertEquals(2, fetchingThreads.size());
+            assertTrue(fetchingThreads.contains(Thread.currentThread().getName()));
+            fetchingThreads.remove(Thread.currentThread().getName());
+            assertTrue(fetchingThreads.iterator().next().startsWith("flowable-id-block-prefetch-thread-"));
+
+        } finally {
+            idGenerator.shutdown();
+        }
+    }
+
+    public void testConcurrentPrefetchAndBlockSwitch() throws Exception {
+        for (int run = 0; run < 5; run++) {
+            final PrefetchingDbIdGenerator idGenerator = new PrefetchingDbIdGenerator() {
+
+                @Override
+                protected Executor getOrCreatePrefetchExecutor() {
+                    // Other threads use up the block and switch while the prefetch task is published, but not submitted yet
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.getOrCreatePrefetchExecutor();
+                }
+            };
+            idGenerator.setIdBlockSize(2);
+            idGenerator.setMaxIdBlockSize(2);
+            idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutor());
+            idGenerator.setCommandConfig(processEngineConfiguration.getDefaultCommandConfig().transactionRequiresNew());
+
+            final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+            final AtomicBoolean duplicateFound = new AtomicBoolean();
+            final CountDownLatch startLatch = new CountDownLatch(1);
+            ExecutorService executorService = Executors.newFixedThreadPool(20);
+            try {
+                for (int i = 0; i < 20; i++) {
+                    executorService.execute(new Runnable() {
+
+                        public void run() {
+                            try {
+                                startLatch.await();
+                            } catch (InterruptedException e) {
+                                return;
+                            }
+                            for (int j = 0; j < 50; j++) {
+                                if (!ids.add(idGenerator.getNextId())) {
+                                    duplicateFound.set(true);
+                                }
+                            }
+                        }
+                    });
+                }
+
+                startLatch.countDown();
+                executorService.shutdown();
+                assertTrue("id generation deadlocked", executorService.awaitTermination(1, TimeUnit.MINUTES));
+                assertFalse(duplicateFound.get());
+                assertEquals(1000, ids.size());
+
+            } finally {
+                executorService.shutdownNow();
+                idGenerator.shutdown();
+            }
+        }
+    }
+
+    @Deployment(resources = "org/flowable/standalone/idgenerator/UuidGeneratorTest.testUuidGeneratorUsage.bpmn20.xml")
+    public void testPrefetchingDbIdGeneratorUsage() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < 50; i++) {
+            executorService.execute(new Runnable() {
+
+                public void run() {
+                    runtimeService.startProcessInstanceByKey("simpleProcess");
+                }
+            });
+        }
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(50, runtimeService.createProcessInstanceQuery().count());
+
+        List<Task> tasks = taskService.createTaskQuery().list();
+        while (!tasks.isEmpty()) {
+            for (Task task : tasks) {
+                taskService.complete(task.getId());
+            }
+            tasks = taskService.createTaskQuery().list();
+        }
+
+        assertEquals(50, historyService.createHistoricProcessInstanceQuery().finished().count());
+    }
+
+}
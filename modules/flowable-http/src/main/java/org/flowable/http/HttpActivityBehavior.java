@@ -12,8 +12,10 @@
  */
 package org.flowable.http;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,10 +27,17 @@ import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.Expression;
 import org.flowable.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
 import org.flowable.engine.impl.bpmn.helper.ErrorPropagation;
+import org.flowable.engine.impl.jobexecutor.AsyncTriggerJobHandler;
 import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntityManager;
+import org.flowable.engine.impl.util.CommandContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
 /**
  * An activity behavior for HTTP requests.
  *
@@ -48,6 +57,17 @@ public abstract class HttpActivityBehavior extends AbstractBpmnActivityBehavior
     public static final String HTTP_TASK_REQUEST_HEADERS_INVALID = "requestHeaders are invalid";
     public static final String HTTP_TASK_REQUEST_FIELD_INVALID = "request fields are invalid";
 
+    // Local variables of the waiting execution holding an asynchronous request and its result as json until the execution is triggered with it
+    public static final String HTTP_TASK_ASYNC_REQUEST = "_httpTaskAsyncRequest";
+    public static final String HTTP_TASK_ASYNC_RESPONSE = "_httpTaskAsyncResponse";
+    public static final String HTTP_TASK_ASYNC_EXCEPTION = "_httpTaskAsyncException";
+    // Local variable with the date the asynchronous request fails when its response hasn't arrived
+    public static final String HTTP_TASK_ASYNC_TIMEOUT_DATE = "_httpTaskAsyncTimeoutDate";
+
+    // Fields of the failure of an asynchronous request, the message and the error code the exception is mapped to
+    protected static final String ASYNC_FAILURE_MESSAGE = "message";
+    protected static final String ASYNC_FAILURE_ERROR_CODE = "errorCode";
+
     // HttpRequest method (GET,POST,PUT etc)
     protected Expression requestMethod;
     // HttpRequest URL (http://flowable.org)
@@ -74,6 +94,8 @@ public abstract class HttpActivityBehavior extends AbstractBpmnActivityBehavior
     protected Expression responseVariableName;
     // Prefix for the execution variable names (Optional)
     protected Expression resultVariablePrefix;
+    // Flag to send the request after the transaction is committed and continue the execution when the response arrives (Optional)
+    protected Expression asyncResponse;
     // Exception mapping
     protected List<MapExceptionEntry> mapExceptions;
 
@@ -134,76 +156,184 @@ public abstract class HttpActivityBehavior extends AbstractBpmnActivityBehavior
         }
 
         try {
+            if (getBooleanFromField(asyncResponse, execution)) {
+                // The execution waits until it's triggered with the response, see trigger()
+                performAsync(execution, request);
+                return;
+            }
+
             HttpResponse response = perform(execution, request);
-            // Save response fields
-            if (response != null) {
-                // Save response body only by default
-                if (request.isSaveResponse()) {
-                    execution.setVariable(request.getPrefix() + ".responseProtocol", response.getProtocol());
-                    execution.setVariable(request.getPrefix() + ".responseStatusCode", response.getStatusCode());
-                    execution.setVariable(request.getPrefix() + ".responseReason", response.getReason());
-                    execution.setVariable(request.getPrefix() + ".responseHeaders", response.getHeaders());
+            if (!handleResponse(execution, request, response)) {
+                return;
+            }
+
+        } catch (Exception e) {
+            if (!handleException(execution, request, e)) {
+                return;
+            }
+        }
+
+        leave(execution);
+    }
+
+    /**
+     * Continues the execution with the response of an asynchronous request, see {@link #performAsync(DelegateExecution, HttpRequest)}.
+     * When the timeout job of the request fires before the response arrived, the request fails. When triggered otherwise before the response
+     * arrived, the execution just leaves the activity and the response is ignored when it arrives.
+     */
+    @Override
+    public void trigger(DelegateExecution execution, String signalName, Object signalData) {
+        HttpRequest request = getAsyncVariable(execution, HTTP_TASK_ASYNC_REQUEST, HttpRequest.class);
+        HttpResponse response = getAsyncVariable(execution, HTTP_TASK_ASYNC_RESPONSE, HttpResponse.class);
+        JsonNode failure = (JsonNode) execution.getVariableLocal(HTTP_TASK_ASYNC_EXCEPTION);
+        Date timeoutDate = (Date) execution.getVariableLocal(HTTP_TASK_ASYNC_TIMEOUT_DATE);
+        execution.removeVariablesLocal(Arrays.asList(HTTP_TASK_ASYNC_REQUEST, HTTP_TASK_ASYNC_RESPONSE, HTTP_TASK_ASYNC_EXCEPTION, HTTP_TASK_ASYNC_TIMEOUT_DATE));
+
+        // When triggered by the timeout job, it's not a timer job anymore
+        TimerJobEntityManager timerJobEntityManager = CommandContextUtil.getTimerJobEntityManager();
+        for (TimerJobEntity timeoutJob : findAsyncTimeoutJobs(execution)) {
+            timerJobEntityManager.delete(timeoutJob);
+        }
+
+        boolean timedOut = timeoutDate != null && !CommandContextUtil.getProcessEngineConfiguration().getClock().getCurrentTime().before(timeoutDate);
+        if (request == null || (response == null && failure == null && !timedOut)) {
+            leave(execution);
+            return;
+        }
+
+        try {
+            if (failure != null) {
+                String errorCode = failure.path(ASYNC_FAILURE_ERROR_CODE).textValue();
+                if (errorCode != null && !request.isIgnoreErrors()) {
+                    ErrorPropagation.propagateError(errorCode, execution);
+                    return;
                 }
-                
-                if (!response.isBodyResponseHandled()) {
-                    String responseVariableValue = getStringFromField(responseVariableName, execution);
-                    if (StringUtils.isNotEmpty(responseVariableValue)) {
-                        execution.setVariable(responseVariableValue, response.getBody());
-                    } else {
-                        execution.setVariable(request.getPrefix() + ".responseBody", response.getBody());
-                    }
+                throw new FlowableException(failure.path(ASYNC_FAILURE_MESSAGE).textValue());
+            }
+
+            if (response == null) {
+                throw new FlowableException("No response for the http request of execution " + execution.getId() + " before " + timeoutDate);
+            }
+
+            if (!handleResponse(execution, request, processAsyncResponse(execution, request, response))) {
+                return;
+            }
+
+        } catch (Exception e) {
+            if (!handleException(execution, request, e)) {
+                return;
+            }
+        }
+
+        leave(execution);
+    }
+
+    /**
+     * Returns the {@link AsyncTriggerJobHandler} timer jobs of the execution, which fail an asynchronous request when its response doesn't arrive in time.
+     */
+    protected List<TimerJobEntity> findAsyncTimeoutJobs(DelegateExecution execution) {
+        List<TimerJobEntity> timeoutJobs = new ArrayList<>();
+        for (TimerJobEntity timerJob : CommandContextUtil.getTimerJobEntityManager().findJobsByExecutionId(execution.getId())) {
+            if (AsyncTriggerJobHandler.TYPE.equals(timerJob.getJobHandlerType())) {
+                timeoutJobs.add(timerJob);
+            }
+        }
+        return timeoutJobs;
+    }
+
+    /**
+     * Returns the request or response stored as json local variable of the execution, see {@link #HTTP_TASK_ASYNC_REQUEST}.
+     */
+    protected <T> T getAsyncVariable(DelegateExecution execution, String variableName, Class<T> type) {
+        JsonNode value = (JsonNode) execution.getVariableLocal(variableName);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return CommandContextUtil.getProcessEngineConfiguration().getObjectMapper().treeToValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new FlowableException("Could not read variable " + variableName + " of execution " + execution.getId(), e);
+        }
+    }
+
+    /**
+     * Saves the response variables and handles the status codes of the response. Returns false when an error is propagated, in which case the execution must not leave the activity.
+     */
+    protected boolean handleResponse(DelegateExecution execution, HttpRequest request, HttpResponse response) {
+        // Save response fields
+        if (response != null) {
+            // Save response body only by default
+            if (request.isSaveResponse()) {
+                execution.setVariable(request.getPrefix() + ".responseProtocol", response.getProtocol());
+                execution.setVariable(request.getPrefix() + ".responseStatusCode", response.getStatusCode());
+                execution.setVariable(request.getPrefix() + ".responseReason", response.getReason());
+                execution.setVariable(request.getPrefix() + ".responseHeaders", response.getHeaders());
+            }
+            
+            if (!response.isBodyResponseHandled()) {
+                String responseVariableValue = getStringFromField(responseVariableName, execution);
+                if (StringUtils.isNotEmpty(responseVariableValue)) {
+                    execution.setVariable(responseVariableValue, response.getBody());
+                } else {
+                    execution.setVariable(request.getPrefix() + ".responseBody", response.getBody());
                 }
+            }
 
-                // Handle http status codes
-                if ((request.isNoRedirects() && response.getStatusCode() >= 300) || response.getStatusCode() >= 400) {
-
-                    String code = Integer.toString(response.statusCode);
-
-                    Set<String> handleCodes = request.getHandleCodes();
-                    if (handleCodes != null && !handleCodes.isEmpty()) {
-                        if (handleCodes.contains(code)
-                                || (code.startsWith("5") && handleCodes.contains("5XX"))
-                                || (code.startsWith("4") && handleCodes.contains("4XX"))
-                                || (code.startsWith("3") && handleCodes.contains("3XX"))) {
-                            
-                            ErrorPropagation.propagateError("HTTP" + code, execution);
-                            return;
-                        }
+            // Handle http status codes
+            if ((request.isNoRedirects() && response.getStatusCode() >= 300) || response.getStatusCode() >= 400) {
+
+                String code = Integer.toString(response.statusCode);
+
+                Set<String> handleCodes = request.getHandleCodes();
+                if (handleCodes != null && !handleCodes.isEmpty()) {
+                    if (handleCodes.contains(code)
+                            || (code.startsWith("5") && handleCodes.contains("5XX"))
+                            || (code.startsWith("4") && handleCodes.contains("4XX"))
+                            || (code.startsWith("3") && handleCodes.contains("3XX"))) {
+                        
+                        ErrorPropagation.propagateError("HTTP" + code, execution);
+                        return false;
                     }
+                }
 
-                    Set<String> failCodes = request.getFailCodes();
-                    if (failCodes != null && !failCodes.isEmpty()) {
-                        if (failCodes.contains(code)
-                                || (code.startsWith("5") && failCodes.contains("5XX"))
-                                || (code.startsWith("4") && failCodes.contains("4XX"))
-                                || (code.startsWith("3") && failCodes.contains("3XX"))) {
-                            
-                            throw new FlowableException("HTTP" + code);
-                        }
+                Set<String> failCodes = request.getFailCodes();
+                if (failCodes != null && !failCodes.isEmpty()) {
+                    if (failCodes.contains(code)
+                            || (code.startsWith("5") && failCodes.contains("5XX"))
+                            || (code.startsWith("4") && failCodes.contains("4XX"))
+                            || (code.startsWith("3") && failCodes.contains("3XX"))) {
+                        
+                        throw new FlowableException("HTTP" + code);
                     }
                 }
             }
+        }
+
+        return true;
+    }
+
+    /**
+     * Handles an exception of the request. Returns true when the exception is ignored, false when it's mapped to an error, in which case the execution must not leave the activity.
+     */
+    protected boolean handleException(DelegateExecution execution, HttpRequest request, Exception e) {
+        if (request.isIgnoreErrors()) {
+            LOGGER.info("Error ignored while processing http task in execution {}", execution.getId(), e);
+            execution.setVariable(request.getPrefix() + ".errorMessage", e.getMessage());
+            return true;
             
-        } catch (Exception e) {
-            if (request.isIgnoreErrors()) {
-                LOGGER.info("Error ignored while processing http task in execution {}", execution.getId(), e);
-                execution.setVariable(request.getPrefix() + ".errorMessage", e.getMessage());
+        } else {
+            if (ErrorPropagation.mapException(e, (ExecutionEntity) execution, mapExceptions)) {
+                return false;
                 
             } else {
-                if (ErrorPropagation.mapException(e, (ExecutionEntity) execution, mapExceptions)) {
-                    return;
-                    
+                if (e instanceof FlowableException) {
+                    throw (FlowableException) e;
                 } else {
-                    if (e instanceof FlowableException) {
-                        throw (FlowableException) e;
-                    } else {
-                        throw new FlowableException("Error occurred while processing http task in execution " + execution.getId(), e);
-                    }
+                    throw new FlowableException("Error occurred while processing http task in execution " + execution.getId(), e);
                 }
             }
         }
-
-        leave(execution);
     }
 
     /**
@@ -214,6 +344,23 @@ public abstract class HttpActivityBehavior extends AbstractBpmnActivityBehavior
      * @return
      */
     protected abstract HttpResponse perform(final DelegateExecution execution, final HttpRequest request);
+
+    /**
+     * Sends the request without waiting for the response. Implementations must store the request as json in the {@link #HTTP_TASK_ASYNC_REQUEST} local variable
+     * of the execution, together with a {@link AsyncTriggerJobHandler} timer job due at the {@link #HTTP_TASK_ASYNC_TIMEOUT_DATE}, so the request fails
+     * when the response is lost. When the response arrives, they must store the response or the failure as json in the {@link #HTTP_TASK_ASYNC_RESPONSE}
+     * or {@link #HTTP_TASK_ASYNC_EXCEPTION} local variable and trigger the execution.
+     */
+    protected void performAsync(final DelegateExecution execution, final HttpRequest request) {
+        throw new FlowableException(getClass().getName() + " does not support asynchronous responses");
+    }
+
+    /**
+     * Called when the execution is triggered with the response of an asynchronous request, before the response variables are saved.
+     */
+    protected HttpResponse processAsyncResponse(final DelegateExecution execution, final HttpRequest request, final HttpResponse response) {
+        return response;
+    }
     
     protected int getIntFromField(Expression expression, DelegateExecution execution) {
         if (expression != null) {
@@ -370,6 +517,14 @@ public abstract class HttpActivityBehavior extends AbstractBpmnActivityBehavior
         this.resultVariablePrefix = resultVariablePrefix;
     }
 
+    public Expression getAsyncResponse() {
+        return asyncResponse;
+    }
+
+    public void setAsyncResponse(Expression asyncResponse) {
+        this.asyncResponse = asyncResponse;
+    }
+
     public List<MapExceptionEntry> getMapExceptions() {
         return mapExceptions;
     }
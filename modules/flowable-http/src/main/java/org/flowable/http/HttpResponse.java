@@ -12,6 +12,8 @@
  */
 package org.flowable.http;
 
+import java.nio.charset.Charset;
+
 /**
  * @author Harsha Teja Kanna.
  */
@@ -22,6 +24,9 @@ public class HttpResponse {
     protected String reason;
     protected String headers;
     protected String body;
+    // body as read from the response, only decoded when the body is needed
+    protected byte[] bodyBytes;
+    protected String bodyCharset;
     protected boolean bodyResponseHandled;
 
     public HttpResponse() {
@@ -69,11 +74,25 @@ public class HttpResponse {
     }
 
     public String getBody() {
+        if (body == null && bodyBytes != null) {
+            body = new String(bodyBytes, Charset.forName(bodyCharset));
+            bodyBytes = null;
+        }
         return body;
     }
 
     public void setBody(String body) {
         this.body = body;
+        this.bodyBytes = null;
+    }
+
+    /**
+     * Sets the body as read from the response, it's decoded with the given charset when {@link #getBody()} is called.
+     */
+    public void setBodyBytes(byte[] bodyBytes, String bodyCharset) {
+        this.body = null;
+        this.bodyBytes = bodyBytes;
+        this.bodyCharset = bodyCharset;
     }
 
     public boolean isBodyResponseHandled() {
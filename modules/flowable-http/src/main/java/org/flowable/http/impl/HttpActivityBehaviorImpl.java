@@ -13,19 +13,25 @@
 package org.flowable.http.impl;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.Executor;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSession;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpMessage;
 import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.config.RequestConfig;
@@ -38,12 +44,13 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
+import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.protocol.HTTP;
 import org.apache.http.ssl.SSLContextBuilder;
-import org.apache.http.util.EntityUtils;
 import org.flowable.bpmn.model.FieldExtension;
 import org.flowable.bpmn.model.FlowableHttpRequestHandler;
 import org.flowable.bpmn.model.FlowableHttpResponseHandler;
@@ -52,11 +59,25 @@ import org.flowable.bpmn.model.ImplementationType;
 import org.flowable.bpmn.model.ServiceTask;
 import org.flowable.engine.cfg.HttpClientConfig;
 import org.flowable.engine.common.api.FlowableException;
+import org.flowable.engine.common.impl.cfg.TransactionListener;
+import org.flowable.engine.common.impl.cfg.TransactionPropagation;
+import org.flowable.engine.common.impl.cfg.TransactionState;
+import org.flowable.engine.common.impl.context.Context;
+import org.flowable.engine.common.impl.interceptor.Command;
+import org.flowable.engine.common.impl.interceptor.CommandConfig;
+import org.flowable.engine.common.impl.interceptor.CommandContext;
+import org.flowable.engine.common.impl.interceptor.CommandExecutor;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.Expression;
+import org.flowable.engine.impl.bpmn.helper.ErrorPropagation;
 import org.flowable.engine.impl.bpmn.parser.FieldDeclaration;
 import org.flowable.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.flowable.engine.impl.asyncexecutor.JobManager;
 import org.flowable.engine.impl.el.FixedValue;
+import org.flowable.engine.impl.jobexecutor.AsyncTriggerJobHandler;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.JobEntity;
+import org.flowable.engine.impl.persistence.entity.TimerJobEntity;
 import org.flowable.engine.impl.util.CommandContextUtil;
 import org.flowable.http.HttpActivityBehavior;
 import org.flowable.http.HttpRequest;
@@ -68,6 +89,9 @@ import org.flowable.http.impl.handler.DelegateExpressionHttpHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 /**
  * Implementation of HttpActivityBehavior using Apache HTTP Client
  *
@@ -78,13 +102,19 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpActivityBehaviorImpl.class);
     
+    // attempts to store the result of an asynchronous request before giving up on it
+    protected static final int ASYNC_RESULT_STORE_ATTEMPTS = 3;
+    protected static final long ASYNC_RESULT_STORE_RETRY_WAIT_TIME = 1000L;
+
     protected HttpServiceTask httpServiceTask;
 
     protected final Timer timer = new Timer(true);
     protected final CloseableHttpClient client;
+    protected final HttpClientConfig httpClientConfig;
 
     public HttpActivityBehaviorImpl() {  
         HttpClientConfig config = CommandContextUtil.getProcessEngineConfiguration().getHttpClientConfig();
+        httpClientConfig = config;
         HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
 
         // https settings
@@ -133,12 +163,77 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
 
     @Override
     public HttpResponse perform(final DelegateExecution execution, final HttpRequest requestInfo) {
+        ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
 
-        HttpRequestBase request = null;
-        CloseableHttpResponse response = null;
-        
+        HttpRequestBase request = createRequest(execution, requestInfo, processEngineConfiguration);
+        HttpResponse responseInfo = executeRequest(request, requestInfo);
+        invokeHttpResponseHandler(execution, responseInfo, processEngineConfiguration);
+        return responseInfo;
+    }
+
+    @Override
+    protected void performAsync(final DelegateExecution execution, final HttpRequest requestInfo) {
         ProcessEngineConfigurationImpl processEngineConfiguration = CommandContextUtil.getProcessEngineConfiguration();
-        
+
+        HttpRequestBase request = createRequest(execution, requestInfo, processEngineConfiguration);
+
+        // Stored with the waiting execution, so the job that triggers the execution with the response has it,
+        // together with a timeout job failing the request when the response is lost, for example when this node goes down
+        execution.setVariableLocal(HTTP_TASK_ASYNC_REQUEST, processEngineConfiguration.getObjectMapper().valueToTree(requestInfo));
+        scheduleAsyncTimeoutJob((ExecutionEntity) execution, requestInfo, processEngineConfiguration);
+
+        final AsyncRequestTask asyncRequestTask = new AsyncRequestTask(execution.getId(), execution.getCurrentActivityId(),
+                request, requestInfo, processEngineConfiguration.getCommandExecutor());
+        final Executor executor = processEngineConfiguration.getHttpClientConfig().getOrCreateAsyncRequestExecutor();
+
+        // The request is only sent once the execution waiting for the response is committed,
+        // so no database connection or transaction is held while waiting for the response
+        Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+
+            public void execute(CommandContext commandContext) {
+                try {
+                    executor.execute(asyncRequestTask);
+                } catch (RuntimeException e) {
+                    // for example when all threads and queue slots of the executor are used, the execution fails through the trigger job instead of waiting forever
+                    asyncRequestTask.storeResult(null, new FlowableException("Could not send the http request of execution " + asyncRequestTask.executionId, e));
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedules the {@link AsyncTriggerJobHandler} timer job triggering the execution when the response of the request doesn't arrive
+     * within the request timeout and the {@link HttpClientConfig#getAsyncResponseTimeout()}. It's moved to the executable jobs when the response arrives.
+     */
+    protected void scheduleAsyncTimeoutJob(ExecutionEntity execution, HttpRequest requestInfo, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        long timeout = Math.max(requestInfo.getTimeout(), 0) + processEngineConfiguration.getHttpClientConfig().getAsyncResponseTimeout();
+        Date timeoutDate = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + timeout);
+        execution.setVariableLocal(HTTP_TASK_ASYNC_TIMEOUT_DATE, timeoutDate);
+
+        TimerJobEntity timeoutJob = CommandContextUtil.getTimerJobEntityManager().create();
+        timeoutJob.setJobType(JobEntity.JOB_TYPE_TIMER);
+        timeoutJob.setRevision(1);
+        timeoutJob.setJobHandlerType(AsyncTriggerJobHandler.TYPE);
+        timeoutJob.setJobHandlerConfiguration(execution.getCurrentActivityId());
+        timeoutJob.setExclusive(true);
+        timeoutJob.setRetries(processEngineConfiguration.getAsyncExecutorNumberOfRetries());
+        timeoutJob.setDuedate(timeoutDate);
+        timeoutJob.setExecution(execution);
+        timeoutJob.setProcessDefinitionId(execution.getProcessDefinitionId());
+        timeoutJob.setProcessInstanceId(execution.getProcessInstanceId());
+        if (execution.getTenantId() != null) {
+            timeoutJob.setTenantId(execution.getTenantId());
+        }
+        CommandContextUtil.getJobManager().scheduleTimerJob(timeoutJob);
+    }
+
+    @Override
+    protected HttpResponse processAsyncResponse(DelegateExecution execution, HttpRequest request, HttpResponse response) {
+        invokeHttpResponseHandler(execution, response, CommandContextUtil.getProcessEngineConfiguration());
+        return response;
+    }
+
+    protected HttpRequestBase createRequest(DelegateExecution execution, HttpRequest requestInfo, ProcessEngineConfigurationImpl processEngineConfiguration) {
         try {
             if (httpServiceTask.getHttpRequestHandler() != null) {
                 HttpRequestHandler httpRequestHandler = createHttpRequestHandler(httpServiceTask.getHttpRequestHandler(), processEngineConfiguration);
@@ -147,8 +242,9 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
         } catch (Exception e) {
             throw new FlowableException("Exception while invoking HttpRequestHandler: " + e.getMessage(), e);
         }
-        
+
         try {
+            HttpRequestBase request = null;
             URIBuilder uri = new URIBuilder(requestInfo.getUrl());
             switch (requestInfo.getMethod()) {
                 case "GET": {
@@ -181,10 +277,27 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
                 setHeaders(request, requestInfo.getHeaders());
             }
 
-            setConfig(request, requestInfo, CommandContextUtil.getProcessEngineConfiguration().getHttpClientConfig());
+            setConfig(request, requestInfo, processEngineConfiguration.getHttpClientConfig());
+            return request;
 
+        } catch (final IOException e) {
+            throw new FlowableException("IO exception occurred", e);
+        } catch (final URISyntaxException e) {
+            throw new FlowableException("Invalid URL exception occurred", e);
+        }
+    }
+
+    /**
+     * Executes the request and reads the response. Doesn't need a command context, so it can be used outside of a transaction.
+     */
+    protected HttpResponse executeRequest(HttpRequestBase request, HttpRequest requestInfo) {
+        CloseableHttpResponse response = null;
+        TimeoutTask timeoutTask = null;
+
+        try {
             if (requestInfo.getTimeout() > 0) {
-                timer.schedule(new TimeoutTask(request), requestInfo.getTimeout());
+                timeoutTask = new TimeoutTask(request);
+                timer.schedule(timeoutTask, requestInfo.getTimeout());
             }
 
             response = client.execute(request);
@@ -202,16 +315,7 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
             }
 
             if (response.getEntity() != null) {
-                responseInfo.setBody(EntityUtils.toString(response.getEntity()));
-            }
-            
-            try {
-                if (httpServiceTask.getHttpResponseHandler() != null) {
-                    HttpResponseHandler httpResponseHandler = createHttpResponseHandler(httpServiceTask.getHttpResponseHandler(), processEngineConfiguration);
-                    httpResponseHandler.handleHttpResponse(execution, responseInfo);
-                }
-            } catch (Exception e) {
-                throw new FlowableException("Exception while invoking HttpResponseHandler: " + e.getMessage(), e);
+                readResponseBody(response.getEntity(), responseInfo);
             }
 
             return responseInfo;
@@ -220,11 +324,11 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
             throw new FlowableException("HTTP exception occurred", e);
         } catch (final IOException e) {
             throw new FlowableException("IO exception occurred", e);
-        } catch (final URISyntaxException e) {
-            throw new FlowableException("Invalid URL exception occurred", e);
-        } catch (final FlowableException e) {
-            throw e;
         } finally {
+            if (timeoutTask != null) {
+                timeoutTask.cancel();
+            }
+
             if (response != null) {
                 try {
                     response.close();
@@ -234,7 +338,67 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
             }
         }
     }
-    
+
+    /**
+     * Reads the response body into the bytes of the response, which are only decoded when the body is used.
+     * Fails as soon as the body exceeds the max response body size of the {@link HttpClientConfig}, instead of reading it completely.
+     */
+    protected void readResponseBody(HttpEntity entity, HttpResponse responseInfo) throws IOException {
+        long maxResponseBodySize = httpClientConfig.getMaxResponseBodySize();
+        long contentLength = entity.getContentLength();
+        if (maxResponseBodySize > 0 && contentLength > maxResponseBodySize) {
+            throw new FlowableException("Response body of " + contentLength + " bytes exceeds the max response body size of " + maxResponseBodySize + " bytes");
+        }
+
+        try (InputStream content = entity.getContent()) {
+            if (content == null) {
+                return;
+            }
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream(contentLength > 0 && contentLength < 1048576 ? (int) contentLength : 4096);
+            byte[] buffer = new byte[4096];
+            long bodySize = 0;
+            int read = content.read(buffer);
+            while (read != -1) {
+                bodySize += read;
+                if (maxResponseBodySize > 0 && bodySize > maxResponseBodySize) {
+                    throw new FlowableException("Response body exceeds the max response body size of " + maxResponseBodySize + " bytes");
+                }
+                body.write(buffer, 0, read);
+                read = content.read(buffer);
+            }
+
+            responseInfo.setBodyBytes(body.toByteArray(), getResponseCharset(entity).name());
+        }
+    }
+
+    /**
+     * Returns the charset of the response body, the same way the http client does when reading a body as a string.
+     */
+    protected Charset getResponseCharset(HttpEntity entity) {
+        Charset charset = null;
+        ContentType contentType = ContentType.get(entity);
+        if (contentType != null) {
+            charset = contentType.getCharset();
+            if (charset == null) {
+                ContentType defaultContentType = ContentType.getByMimeType(contentType.getMimeType());
+                charset = defaultContentType != null ? defaultContentType.getCharset() : null;
+            }
+        }
+        return charset != null ? charset : HTTP.DEF_CONTENT_CHARSET;
+    }
+
+    protected void invokeHttpResponseHandler(DelegateExecution execution, HttpResponse responseInfo, ProcessEngineConfigurationImpl processEngineConfiguration) {
+        try {
+            if (httpServiceTask.getHttpResponseHandler() != null) {
+                HttpResponseHandler httpResponseHandler = createHttpResponseHandler(httpServiceTask.getHttpResponseHandler(), processEngineConfiguration);
+                httpResponseHandler.handleHttpResponse(execution, responseInfo);
+            }
+        } catch (Exception e) {
+            throw new FlowableException("Exception while invoking HttpResponseHandler: " + e.getMessage(), e);
+        }
+    }
+
     protected void setConfig(final HttpRequestBase base, final HttpRequest requestInfo, final HttpClientConfig config) {
         base.setConfig(RequestConfig.custom()
                 .setRedirectsEnabled(!requestInfo.isNoRedirects())
@@ -313,6 +477,111 @@ public class HttpActivityBehaviorImpl extends HttpActivityBehavior {
         return fieldDeclarations;
     }
 
+    /**
+     * Executes the request of an http task outside of a transaction. The response or the failure is stored with the waiting execution
+     * together with an {@link AsyncTriggerJobHandler} job, which continues the execution with the retry handling of the async executor.
+     */
+    protected class AsyncRequestTask implements Runnable {
+
+        protected String executionId;
+        protected String activityId;
+        protected HttpRequestBase request;
+        protected HttpRequest requestInfo;
+        protected CommandExecutor commandExecutor;
+
+        public AsyncRequestTask(String executionId, String activityId, HttpRequestBase request, HttpRequest requestInfo, CommandExecutor commandExecutor) {
+            this.executionId = executionId;
+            this.activityId = activityId;
+            this.request = request;
+            this.requestInfo = requestInfo;
+            this.commandExecutor = commandExecutor;
+        }
+
+        @Override
+        public void run() {
+            HttpResponse response = null;
+            Exception exception = null;
+            try {
+                response = executeRequest(request, requestInfo);
+            } catch (Exception e) {
+                exception = e;
+            }
+            storeResult(response, exception);
+        }
+
+        public void storeResult(final HttpResponse response, final Exception exception) {
+            // A new transaction, also when called from a transaction listener of the transaction that sent the request
+            CommandConfig commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW);
+            for (int attempt = 1; attempt <= ASYNC_RESULT_STORE_ATTEMPTS; attempt++) {
+                try {
+                    commandExecutor.execute(commandConfig, new Command<Void>() {
+
+                        public Void execute(CommandContext commandContext) {
+                            storeResult(commandContext, response, exception);
+                            return null;
+                        }
+                    });
+                    return;
+
+                } catch (RuntimeException e) {
+                    if (attempt == ASYNC_RESULT_STORE_ATTEMPTS) {
+                        LOGGER.error("Could not store the http response of execution {}", executionId, e);
+                        return;
+                    }
+                    LOGGER.warn("Could not store the http response of execution {}, retrying", executionId, e);
+                    try {
+                        Thread.sleep(ASYNC_RESULT_STORE_RETRY_WAIT_TIME);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        LOGGER.error("Interrupted while storing the http response of execution {}", executionId, e);
+                        return;
+                    }
+                }
+            }
+        }
+
+        protected void storeResult(CommandContext commandContext, HttpResponse response, Exception exception) {
+            ExecutionEntity execution = CommandContextUtil.getExecutionEntityManager(commandContext).findById(executionId);
+            if (execution == null || !activityId.equals(execution.getCurrentActivityId()) || !execution.hasVariableLocal(HTTP_TASK_ASYNC_REQUEST)) {
+                LOGGER.info("Execution {} is not waiting for the http response anymore, ignoring it", executionId);
+                return;
+            }
+
+            ObjectMapper objectMapper = CommandContextUtil.getProcessEngineConfiguration(commandContext).getObjectMapper();
+            if (response != null) {
+                execution.setVariableLocal(HTTP_TASK_ASYNC_RESPONSE, objectMapper.valueToTree(response));
+            } else {
+                execution.setVariableLocal(HTTP_TASK_ASYNC_EXCEPTION, createFailureNode(exception, objectMapper));
+            }
+
+            // The timeout job triggers the execution right away, a new job is only needed when it's already being executed
+            JobManager jobManager = CommandContextUtil.getJobManager(commandContext);
+            for (TimerJobEntity timeoutJob : findAsyncTimeoutJobs(execution)) {
+                if (jobManager.moveTimerJobToExecutableJob(timeoutJob) != null) {
+                    return;
+                }
+            }
+
+            JobEntity job = jobManager.createAsyncJob(execution, true);
+            job.setJobHandlerType(AsyncTriggerJobHandler.TYPE);
+            job.setJobHandlerConfiguration(activityId);
+            jobManager.scheduleAsyncJob(job);
+        }
+
+        /**
+         * Returns the failure to store with the execution, the message of the exception and the error code it's mapped to, if any.
+         * The exception itself isn't stored, it can't always be serialized.
+         */
+        protected ObjectNode createFailureNode(Exception exception, ObjectMapper objectMapper) {
+            ObjectNode failureNode = objectMapper.createObjectNode();
+            failureNode.put(ASYNC_FAILURE_MESSAGE, exception.getMessage() != null ? exception.getMessage() : exception.toString());
+            if (mapExceptions != null) {
+                failureNode.put(ASYNC_FAILURE_ERROR_CODE, ErrorPropagation.findMatchingExceptionMapping(exception, mapExceptions));
+            }
+            return failureNode;
+        }
+    }
+
     protected static class TimeoutTask extends TimerTask {
         private HttpRequestBase request;
 
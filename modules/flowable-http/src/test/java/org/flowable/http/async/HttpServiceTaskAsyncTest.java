@@ -12,11 +12,17 @@
  */
 package org.flowable.http.async;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import org.flowable.engine.cfg.HttpClientConfig;
+import org.flowable.engine.common.api.FlowableException;
 import org.flowable.engine.runtime.Job;
 import org.flowable.engine.runtime.ProcessInstance;
+import org.flowable.engine.task.Task;
 import org.flowable.engine.test.Deployment;
+import org.flowable.http.HttpActivityBehavior;
 import org.flowable.http.HttpServiceTaskTestCase;
 
 /**
@@ -34,6 +40,131 @@ public class HttpServiceTaskAsyncTest extends HttpServiceTaskTestCase {
         assertEquals(0, managementService.createJobQuery().count());
     }
 
+    @Deployment
+    public void testAsyncResponse() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                "asyncResponse", Collections.<String, Object>singletonMap("code", 200));
+
+        // The execution waits for the response with a timeout job
+        String executionId = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("httpGet").singleResult().getId();
+        assertEquals("json", runtimeService.getVariableInstanceLocal(executionId, HttpActivityBehavior.HTTP_TASK_ASYNC_REQUEST).getTypeName());
+        assertEquals(1, managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count());
+
+        // The response is stored and the timeout job is moved to the executable jobs to trigger the execution
+        Job job = waitForJob(processInstance.getId());
+        assertEquals(0, managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count());
+        assertEquals("json", runtimeService.getVariableInstanceLocal(executionId, HttpActivityBehavior.HTTP_TASK_ASYNC_RESPONSE).getTypeName());
+        managementService.executeJob(job.getId());
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("waitTask", task.getTaskDefinitionKey());
+        assertEquals(200, runtimeService.getVariable(processInstance.getId(), "httpGet.responseStatusCode"));
+        assertTrue(((String) runtimeService.getVariable(processInstance.getId(), "httpGet.responseBody")).contains("\"code\":200"));
+        assertEquals(0, managementService.createJobQuery().count());
+    }
+
+    @Deployment(resources = "org/flowable/http/async/HttpServiceTaskAsyncTest.testAsyncResponse.bpmn20.xml")
+    public void testAsyncResponseErrorCode() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                "asyncResponse", Collections.<String, Object>singletonMap("code", 404));
+
+        Job job = waitForJob(processInstance.getId());
+        managementService.executeJob(job.getId());
+
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("errorTask", task.getTaskDefinitionKey());
+        assertEquals(404, runtimeService.getVariable(processInstance.getId(), "httpGet.responseStatusCode"));
+    }
+
+    @Deployment
+    public void testAsyncResponseFailure() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                "asyncResponseFailure", Collections.<String, Object>singletonMap("code", 500));
+
+        Job job = waitForJob(processInstance.getId());
+        try {
+            managementService.executeJob(job.getId());
+            fail("Expected the failure of the http task");
+        } catch (FlowableException e) {
+            assertEquals("HTTP500", e.getMessage());
+        }
+
+        // The failure is retried by the async executor like any failed job, the response is kept for the retries
+        Job timerJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals(2, timerJob.getRetries());
+        assertEquals("HTTP500", timerJob.getExceptionMessage());
+
+        assertEquals("httpGet", runtimeService.createExecutionQuery().executionId(timerJob.getExecutionId()).singleResult().getActivityId());
+        assertNotNull(runtimeService.getVariableLocal(timerJob.getExecutionId(), HttpActivityBehavior.HTTP_TASK_ASYNC_RESPONSE));
+    }
+
+    @Deployment(resources = "org/flowable/http/async/HttpServiceTaskAsyncTest.testAsyncResponse.bpmn20.xml")
+    public void testResponseIgnoredWhenTriggeredBefore() throws Exception {
+        ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                "asyncResponse", Collections.<String, Object>singletonMap("code", 404));
+
+        String executionId = runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("httpGet").singleResult().getId();
+        runtimeService.trigger(executionId);
+        Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+        assertEquals("waitTask", task.getTaskDefinitionKey());
+        assertEquals(0, managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).count());
+
+        // The response of the request arrives later and doesn't continue the execution anymore
+        Thread.sleep(1500L);
+        assertEquals(0, managementService.createJobQuery().count());
+        assertEquals("waitTask", taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey());
+    }
+
+    @Deployment(resources = "org/flowable/http/async/HttpServiceTaskAsyncTest.testAsyncResponse.bpmn20.xml")
+    public void testAsyncResponseTimeout() throws Exception {
+        HttpClientConfig httpClientConfig = processEngineConfiguration.getHttpClientConfig();
+        Executor asyncRequestExecutor = httpClientConfig.getAsyncRequestExecutor();
+
+        // The request is lost, like when the node sending it goes down
+        httpClientConfig.setAsyncRequestExecutor(new Executor() {
+
+            public void execute(Runnable command) {
+            }
+        });
+
+        try {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey(
+                    "asyncResponse", Collections.<String, Object>singletonMap("code", 200));
+
+            Job timerJob = managementService.createTimerJobQuery().processInstanceId(processInstance.getId()).singleResult();
+            assertEquals(httpClientConfig.getAsyncResponseTimeout(), timerJob.getDuedate().getTime() - processEngineConfiguration.getClock().getCurrentTime().getTime(), 1000L);
+
+            processEngineConfiguration.getClock().setCurrentTime(timerJob.getDuedate());
+            Job job = managementService.moveTimerToExecutableJob(timerJob.getId());
+            try {
+                managementService.executeJob(job.getId());
+                fail("Expected the timeout of the http task");
+            } catch (FlowableException e) {
+                assertTrue(e.getMessage().startsWith("No response for the http request of execution"));
+            }
+
+            // The execution keeps waiting, the timeout is retried like any failed job
+            assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstance.getId()).activityId("httpGet").count());
+
+        } finally {
+            httpClientConfig.setAsyncRequestExecutor(asyncRequestExecutor);
+            processEngineConfiguration.getClock().reset();
+        }
+    }
+
+    protected Job waitForJob(String processInstanceId) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000L;
+        while (System.currentTimeMillis() < end) {
+            Job job = managementService.createJobQuery().processInstanceId(processInstanceId).singleResult();
+            if (job != null) {
+                return job;
+            }
+            Thread.sleep(100L);
+        }
+        fail("No job found for process instance " + processInstanceId);
+        return null;
+    }
+
     @Deployment
     public void testFailedJobRetryTimeCycle() {
         ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("asyncFailedJobRetryTimeCycle");
@@ -12,6 +12,8 @@
  */
 package org.flowable.ldap;
 
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineLifecycleListener;
 import org.flowable.engine.cfg.AbstractProcessEngineConfigurator;
 import org.flowable.engine.cfg.ProcessEngineConfigurator;
 import org.flowable.engine.common.api.FlowableException;
@@ -48,6 +50,7 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
         if (ldapConfiguration.getGroupCacheSize() > 0) {
             ldapGroupCache = new LDAPGroupCache(ldapConfiguration.getGroupCacheSize(), 
                     ldapConfiguration.getGroupCacheExpirationTime(), processEngineConfiguration.getClock());
+            ldapGroupCache.setRefreshExecutor(ldapConfiguration.getGroupCacheRefreshExecutor());
             
             if (ldapConfiguration.getGroupCacheListener() != null) {
                 ldapGroupCache.setLdapCacheListener(ldapConfiguration.getGroupCacheListener());
@@ -56,6 +59,43 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
 
         EngineServiceUtil.getIdmEngineConfiguration(processEngineConfiguration)
                 .setIdmIdentityService(new LDAPIdentityServiceImpl(ldapConfiguration, ldapGroupCache));
+
+        if (ldapConfiguration.isConnectionPoolEnabled()) {
+            processEngineConfiguration.setProcessEngineLifecycleListener(
+                    new ConnectionPoolClosingLifecycleListener(ldapConfiguration, processEngineConfiguration.getProcessEngineLifecycleListener()));
+        }
+    }
+
+    /**
+     * Closes the LDAP connection pool when the process engine is closed, after notifying the lifecycle listener that was configured before.
+     */
+    protected static class ConnectionPoolClosingLifecycleListener implements ProcessEngineLifecycleListener {
+
+        protected LDAPConfiguration ldapConfiguration;
+        protected ProcessEngineLifecycleListener delegate;
+
+        public ConnectionPoolClosingLifecycleListener(LDAPConfiguration ldapConfiguration, ProcessEngineLifecycleListener delegate) {
+            this.ldapConfiguration = ldapConfiguration;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onProcessEngineBuilt(ProcessEngine processEngine) {
+            if (delegate != null) {
+                delegate.onProcessEngineBuilt(processEngine);
+            }
+        }
+
+        @Override
+        public void onProcessEngineClosed(ProcessEngine processEngine) {
+            try {
+                if (delegate != null) {
+                    delegate.onProcessEngineClosed(processEngine);
+                }
+            } finally {
+                ldapConfiguration.closeConnectionPool();
+            }
+        }
     }
 
     // Getters and Setters //////////////////////////////////////////////////
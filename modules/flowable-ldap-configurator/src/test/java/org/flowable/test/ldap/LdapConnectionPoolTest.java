@@ -0,0 +1,123 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.test.ldap;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Resource;
+
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.cfg.ProcessEngineConfigurator;
+import org.flowable.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.flowable.ldap.LDAPConfiguration;
+import org.flowable.ldap.LDAPConfigurator;
+import org.flowable.ldap.LDAPConnectionPool;
+import org.springframework.test.context.ContextConfiguration;
+
+@ContextConfiguration("classpath:flowable-context-ldap-connection-pool.xml")
+public class LdapConnectionPoolTest extends LDAPTestCase {
+
+    @Resource
+    protected LDAPConfiguration ldapConfiguration;
+
+    public void testConnectionsAreReused() {
+        LDAPConnectionPool connectionPool = ldapConfiguration.getConnectionPool();
+        assertNotNull(connectionPool);
+        long createdConnections = connectionPool.getCreatedConnectionCount();
+        long borrowCount = connectionPool.getBorrowCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("kermit", identityService.createUserQuery().userId("kermit").singleResult().getId());
+            assertTrue(identityService.checkPassword("kermit", "pass"));
+        }
+
+        assertEquals(borrowCount + 20, connectionPool.getBorrowCount());
+        assertTrue(connectionPool.getCreatedConnectionCount() - createdConnections <= 1);
+        assertTrue(connectionPool.getIdleConnectionCount() >= 1);
+        assertTrue(connectionPool.getMaxBorrowWaitTime() >= 0);
+    }
+
+    public void testConcurrentQueries() throws Exception {
+        LDAPConnectionPool connectionPool = ldapConfiguration.getConnectionPool();
+        final AtomicInteger failures = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 100; i++) {
+            executorService.execute(new Runnable() {
+
+                public void run() {
+                    try {
+                        if (identityService.createGroupQuery().groupMember("pepe").list().isEmpty()) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(0, failures.get());
+
+        // at most max active connections are used at the same time, and at most max idle connections are kept
+        assertTrue(connectionPool.getIdleConnectionCount() <= ldapConfiguration.getConnectionPoolMaxIdle());
+        assertTrue(connectionPool.getCreatedConnectionCount() - connectionPool.getClosedConnectionCount() <= ldapConfiguration.getConnectionPoolMaxActive());
+    }
+
+    public void testConnectionPoolIsClosedWithProcessEngine() {
+        LDAPConfiguration poolConfiguration = new LDAPConfiguration();
+        poolConfiguration.setServer(ldapConfiguration.getServer());
+        poolConfiguration.setPort(ldapConfiguration.getPort());
+        poolConfiguration.setUser(ldapConfiguration.getUser());
+        poolConfiguration.setPassword(ldapConfiguration.getPassword());
+        poolConfiguration.setConnectionPoolEnabled(true);
+        poolConfiguration.setConnectionPoolInitialSize(1);
+
+        ProcessEngine processEngine = buildProcessEngine(poolConfiguration);
+
+        LDAPConnectionPool connectionPool = poolConfiguration.getConnectionPool();
+        assertEquals(1, connectionPool.getIdleConnectionCount());
+        assertFalse(connectionPool.isClosed());
+
+        processEngine.close();
+        assertTrue(connectionPool.isClosed());
+        assertEquals(0, connectionPool.getIdleConnectionCount());
+        assertEquals(connectionPool.getCreatedConnectionCount(), connectionPool.getClosedConnectionCount());
+
+        // A process engine built again with the configuration gets a new pool
+        processEngine = buildProcessEngine(poolConfiguration);
+        LDAPConnectionPool newConnectionPool = poolConfiguration.getConnectionPool();
+        assertNotSame(connectionPool, newConnectionPool);
+        assertFalse(newConnectionPool.isClosed());
+        assertEquals(1, newConnectionPool.getIdleConnectionCount());
+
+        processEngine.close();
+        assertTrue(newConnectionPool.isClosed());
+    }
+
+    protected ProcessEngine buildProcessEngine(LDAPConfiguration poolConfiguration) {
+        LDAPConfigurator ldapConfigurator = new LDAPConfigurator();
+        ldapConfigurator.setLdapConfiguration(poolConfiguration);
+        StandaloneInMemProcessEngineConfiguration processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+        processEngineConfiguration.setEngineName("ldap-connection-pool-close-test");
+        processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:flowable-ldap-connection-pool-close-test");
+        processEngineConfiguration.setConfigurators(Collections.<ProcessEngineConfigurator> singletonList(ldapConfigurator));
+        return processEngineConfiguration.buildProcessEngine();
+    }
+
+}
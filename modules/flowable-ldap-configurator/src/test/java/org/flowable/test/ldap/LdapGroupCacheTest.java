@@ -13,6 +13,7 @@
 package org.flowable.test.ldap;
 
 import java.util.Date;
+import java.util.concurrent.Executor;
 
 import org.flowable.engine.impl.util.EngineServiceUtil;
 import org.flowable.engine.test.Deployment;
@@ -93,6 +94,45 @@ public class LdapGroupCacheTest extends LDAPTestCase {
         assertEquals("fozzie", cacheListener.getLastCacheMiss());
     }
 
+    public void testLdapGroupCacheRefresh() {
+        LDAPGroupCache ldapGroupCache = ((LDAPIdentityServiceImpl) 
+                        EngineServiceUtil.getIdmIdentityService(processEngineConfiguration)).getLdapGroupCache();
+        ldapGroupCache.setRefreshExecutor(new Executor() {
+
+            public void execute(Runnable command) {
+                command.run();
+            }
+        });
+
+        try {
+            Date now = new Date();
+            processEngineConfiguration.getClock().setCurrentTime(now);
+
+            assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+            assertEquals("kermit", cacheListener.getLastCacheMiss());
+            cacheListener.setLastCacheMiss(null);
+
+            // Expired groups are returned while they are refreshed, without a cache miss
+            processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() + (45 * 60 * 1000)));
+            assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+            assertEquals("kermit", cacheListener.getLastCacheExpiration());
+            assertEquals("kermit", cacheListener.getLastCacheHit());
+            assertNull(cacheListener.getLastCacheMiss());
+            assertNull(cacheListener.getLastCacheEviction());
+
+            // The refreshed groups are not expired
+            cacheListener.setLastCacheExpiration(null);
+            assertEquals(0, taskService.createTaskQuery().taskCandidateUser("kermit").count());
+            assertEquals("kermit", cacheListener.getLastCacheHit());
+            assertNull(cacheListener.getLastCacheExpiration());
+            assertNull(cacheListener.getLastCacheMiss());
+
+        } finally {
+            ldapGroupCache.setRefreshExecutor(null);
+            processEngineConfiguration.getClock().reset();
+        }
+    }
+
     // Test cache listener
     static class TestLDAPGroupCacheListener implements LDAPGroupCacheListener {
 
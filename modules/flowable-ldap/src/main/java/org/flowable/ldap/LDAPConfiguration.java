@@ -15,6 +15,7 @@ package org.flowable.ldap;
 import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.naming.directory.InitialDirContext;
 import javax.naming.spi.InitialContextFactory;
@@ -47,6 +48,16 @@ public class LDAPConfiguration {
     // For parameters like connection pooling settings, etc.
     protected Map<String, String> customConnectionParameters = new HashMap<String, String>();
 
+    // Connection pooling
+    protected boolean connectionPoolEnabled;
+    protected int connectionPoolInitialSize;
+    protected int connectionPoolMaxIdle = 8;
+    protected int connectionPoolMaxActive = 8;
+    protected long connectionPoolMaxWait = -1L; // Default '-1' == wait forever
+    protected boolean connectionPoolValidateOnBorrow = true;
+    protected long connectionPoolMaxLifetime = 1800000L; // default: 30 minutes
+    protected volatile LDAPConnectionPool connectionPool;
+
     // Query configuration
     protected String baseDn;
     protected String userBaseDn;
@@ -75,6 +86,7 @@ public class LDAPConfiguration {
     // Group caching
     protected int groupCacheSize = -1;
     protected long groupCacheExpirationTime = 3600000L; // default: one hour
+    protected Executor groupCacheRefreshExecutor;
 
     // Cache listener (experimental)
     protected LDAPGroupCacheListener groupCacheListener;
@@ -165,6 +177,131 @@ public class LDAPConfiguration {
         this.customConnectionParameters = customConnectionParameters;
     }
 
+    public boolean isConnectionPoolEnabled() {
+        return connectionPoolEnabled;
+    }
+
+    /**
+     * Enables the {@link LDAPConnectionPool}, so that connections to the LDAP system are reused for queries instead of opening and binding a new connection for every query.
+     * Connections to verify the password of a user are never pooled.
+     * 
+     * By default disabled.
+     */
+    public void setConnectionPoolEnabled(boolean connectionPoolEnabled) {
+        this.connectionPoolEnabled = connectionPoolEnabled;
+    }
+
+    public int getConnectionPoolInitialSize() {
+        return connectionPoolInitialSize;
+    }
+
+    /**
+     * The number of idle connections that are opened when the connection pool is created (at most the max idle connections). By default 0.
+     * The pool doesn't open new connections afterwards to keep this number of idle connections, connections are only opened when they are borrowed.
+     */
+    public void setConnectionPoolInitialSize(int connectionPoolInitialSize) {
+        this.connectionPoolInitialSize = connectionPoolInitialSize;
+    }
+
+    public int getConnectionPoolMaxIdle() {
+        return connectionPoolMaxIdle;
+    }
+
+    /**
+     * The maximum number of idle connections kept in the connection pool. Connections that are given back to a pool that has this number of idle connections are closed. By default 8.
+     */
+    public void setConnectionPoolMaxIdle(int connectionPoolMaxIdle) {
+        this.connectionPoolMaxIdle = connectionPoolMaxIdle;
+    }
+
+    public int getConnectionPoolMaxActive() {
+        return connectionPoolMaxActive;
+    }
+
+    /**
+     * The maximum number of connections that can be used at the same time. Queries wait for a connection when this number is reached (see {@link #setConnectionPoolMaxWait(long)}).
+     * A value of zero or less means no limit. By default 8.
+     */
+    public void setConnectionPoolMaxActive(int connectionPoolMaxActive) {
+        this.connectionPoolMaxActive = connectionPoolMaxActive;
+    }
+
+    public long getConnectionPoolMaxWait() {
+        return connectionPoolMaxWait;
+    }
+
+    /**
+     * The maximum time in milliseconds to wait for a connection when all connections are in use, after which the query fails. By default -1, meaning the query waits until a connection is available.
+     */
+    public void setConnectionPoolMaxWait(long connectionPoolMaxWait) {
+        this.connectionPoolMaxWait = connectionPoolMaxWait;
+    }
+
+    public boolean isConnectionPoolValidateOnBorrow() {
+        return connectionPoolValidateOnBorrow;
+    }
+
+    /**
+     * Whether idle connections are checked to still be usable before they are used for a query. By default true.
+     */
+    public void setConnectionPoolValidateOnBorrow(boolean connectionPoolValidateOnBorrow) {
+        this.connectionPoolValidateOnBorrow = connectionPoolValidateOnBorrow;
+    }
+
+    public long getConnectionPoolMaxLifetime() {
+        return connectionPoolMaxLifetime;
+    }
+
+    /**
+     * The time in milliseconds after which a pooled connection is closed instead of being reused, so that for example changes in the LDAP system setup are picked up.
+     * A value of zero or less means connections are reused forever. By default 30 minutes.
+     */
+    public void setConnectionPoolMaxLifetime(long connectionPoolMaxLifetime) {
+        this.connectionPoolMaxLifetime = connectionPoolMaxLifetime;
+    }
+
+    /**
+     * Returns the {@link LDAPConnectionPool}, which is created when it's first needed. A closed pool is replaced by a new one,
+     * for example when a process engine is built again with this configuration. Returns null when connection pooling is not enabled.
+     */
+    public LDAPConnectionPool getConnectionPool() {
+        if (!connectionPoolEnabled) {
+            return null;
+        }
+
+        LDAPConnectionPool pool = connectionPool;
+        if (pool == null || pool.isClosed()) {
+            synchronized (this) {
+                pool = connectionPool;
+                if (pool == null || pool.isClosed()) {
+                    pool = new LDAPConnectionPool(this);
+                    connectionPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    public void setConnectionPool(LDAPConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Closes the {@link LDAPConnectionPool} when it was created, which happens when the process engine using this configuration is closed.
+     * A new pool is created when the configuration is used again.
+     */
+    public void closeConnectionPool() {
+        LDAPConnectionPool pool = null;
+        synchronized (this) {
+            pool = connectionPool;
+            connectionPool = null;
+        }
+
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
     public String getBaseDn() {
         return baseDn;
     }
@@ -425,6 +562,20 @@ public class LDAPConfiguration {
         this.groupCacheExpirationTime = groupCacheExpirationTime;
     }
 
+    public Executor getGroupCacheRefreshExecutor() {
+        return groupCacheRefreshExecutor;
+    }
+
+    /**
+     * Sets the executor used to refresh expired entries of the {@link LDAPGroupCache} in the background. When set, fetching the groups of a user with expired cached groups
+     * returns the expired groups and fetches the groups again from the LDAP system on this executor, so the caller doesn't wait for the LDAP system.
+     * 
+     * By default not set, so expired groups are fetched again from the LDAP system by the caller.
+     */
+    public void setGroupCacheRefreshExecutor(Executor groupCacheRefreshExecutor) {
+        this.groupCacheRefreshExecutor = groupCacheRefreshExecutor;
+    }
+
     public LDAPGroupCacheListener getGroupCacheListener() {
         return groupCacheListener;
     }
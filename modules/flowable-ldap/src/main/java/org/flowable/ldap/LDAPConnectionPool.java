@@ -0,0 +1,227 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.flowable.ldap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.naming.NamingException;
+import javax.naming.directory.InitialDirContext;
+
+import org.flowable.engine.common.api.FlowableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of LDAP connections that are bound with the user of the {@link LDAPConfiguration}, used by the {@link LDAPTemplate} when
+ * connection pooling is enabled (see {@link LDAPConfiguration#setConnectionPoolEnabled(boolean)}).
+ *
+ * Idle connections are reused in last-in first-out order, so connections that aren't needed anymore become idle for longer.
+ * A connection is closed instead of reused when it's older than the max lifetime, when it fails validation on borrow,
+ * when it was used for a failed LDAP call or when there are already max idle connections in the pool.
+ *
+ * The time spent waiting for a connection (including opening and validating it) is tracked, see {@link #getAverageBorrowWaitTime()} and {@link #getMaxBorrowWaitTime()}.
+ */
+public class LDAPConnectionPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LDAPConnectionPool.class);
+
+    protected LDAPConfiguration ldapConfigurator;
+
+    protected LinkedBlockingDeque<InitialDirContext> idleConnections = new LinkedBlockingDeque<InitialDirContext>();
+    protected Map<InitialDirContext, Long> connectionCreationTimes = new ConcurrentHashMap<InitialDirContext, Long>();
+    protected Semaphore activeConnectionPermits;
+
+    protected AtomicLong borrowCount = new AtomicLong();
+    protected AtomicLong totalBorrowWaitTime = new AtomicLong();
+    protected AtomicLong maxBorrowWaitTime = new AtomicLong();
+    protected AtomicLong createdConnectionCount = new AtomicLong();
+    protected AtomicLong closedConnectionCount = new AtomicLong();
+
+    protected volatile boolean closed;
+
+    public LDAPConnectionPool(LDAPConfiguration ldapConfigurator) {
+        this.ldapConfigurator = ldapConfigurator;
+        this.activeConnectionPermits = new Semaphore(ldapConfigurator.getConnectionPoolMaxActive() > 0 ? ldapConfigurator.getConnectionPoolMaxActive() : Integer.MAX_VALUE, true);
+
+        int initialSize = Math.min(ldapConfigurator.getConnectionPoolInitialSize(), ldapConfigurator.getConnectionPoolMaxIdle());
+        for (int i = 0; i < initialSize; i++) {
+            try {
+                idleConnections.offerLast(createConnection());
+            } catch (FlowableException e) {
+                LOGGER.warn("Could not open the idle LDAP connections of the pool : {}", e.getMessage());
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns a connection of the pool, which needs to be given back with {@link #returnConnection(InitialDirContext, boolean)}.
+     * Waits for the configured max wait time when the max number of active connections is reached.
+     */
+    public InitialDirContext borrowConnection() {
+        if (closed) {
+            throw new FlowableException("LDAP connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        acquirePermit();
+
+        try {
+            InitialDirContext connection = idleConnections.pollFirst();
+            while (connection != null) {
+                if (!isExpired(connection) && (!ldapConfigurator.isConnectionPoolValidateOnBorrow() || validateConnection(connection))) {
+                    break;
+                }
+                closeConnection(connection);
+                connection = idleConnections.pollFirst();
+            }
+
+            if (connection == null) {
+                connection = createConnection();
+            }
+
+            registerBorrowWaitTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return connection;
+
+        } catch (RuntimeException e) {
+            activeConnectionPermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back a connection obtained with {@link #borrowConnection()}. Broken connections, for example connections used for an LDAP call that failed, are closed.
+     */
+    public void returnConnection(InitialDirContext connection, boolean broken) {
+        try {
+            if (broken || closed || isExpired(connection) || idleConnections.size() >= ldapConfigurator.getConnectionPoolMaxIdle()) {
+                closeConnection(connection);
+            } else {
+                idleConnections.offerFirst(connection);
+            }
+        } finally {
+            activeConnectionPermits.release();
+        }
+    }
+
+    /**
+     * Closes all idle connections. Connections that are borrowed at that time are closed when they are returned.
+     */
+    public void close() {
+        closed = true;
+        InitialDirContext connection = idleConnections.pollFirst();
+        while (connection != null) {
+            closeConnection(connection);
+            connection = idleConnections.pollFirst();
+        }
+    }
+
+    protected void acquirePermit() {
+        try {
+            long maxWait = ldapConfigurator.getConnectionPoolMaxWait();
+            if (maxWait < 0) {
+                activeConnectionPermits.acquire();
+            } else if (!activeConnectionPermits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                throw new FlowableException("Could not get an LDAP connection from the pool within " + maxWait + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FlowableException("Interrupted while waiting for an LDAP connection from the pool", e);
+        }
+    }
+
+    protected InitialDirContext createConnection() {
+        InitialDirContext connection = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+        connectionCreationTimes.put(connection, System.currentTimeMillis());
+        createdConnectionCount.incrementAndGet();
+        return connection;
+    }
+
+    protected void closeConnection(InitialDirContext connection) {
+        connectionCreationTimes.remove(connection);
+        closedConnectionCount.incrementAndGet();
+        LDAPConnectionUtil.closeDirectoryContext(connection);
+    }
+
+    protected boolean isExpired(InitialDirContext connection) {
+        long maxLifetime = ldapConfigurator.getConnectionPoolMaxLifetime();
+        if (maxLifetime <= 0) {
+            return false;
+        }
+
+        Long creationTime = connectionCreationTimes.get(connection);
+        return creationTime == null || System.currentTimeMillis() - creationTime >= maxLifetime;
+    }
+
+    /**
+     * Checks that the connection can still be used, by reading the root entry of the LDAP server.
+     */
+    protected boolean validateConnection(InitialDirContext connection) {
+        try {
+            connection.getAttributes("", new String[] { "objectClass" });
+            return true;
+        } catch (NamingException e) {
+            LOGGER.debug("Closing invalid LDAP connection : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    protected void registerBorrowWaitTime(long waitTime) {
+        borrowCount.incrementAndGet();
+        totalBorrowWaitTime.addAndGet(waitTime);
+
+        long currentMax = maxBorrowWaitTime.get();
+        while (waitTime > currentMax && !maxBorrowWaitTime.compareAndSet(currentMax, waitTime)) {
+            currentMax = maxBorrowWaitTime.get();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getIdleConnectionCount() {
+        return idleConnections.size();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getTotalBorrowWaitTime() {
+        return totalBorrowWaitTime.get();
+    }
+
+    public long getMaxBorrowWaitTime() {
+        return maxBorrowWaitTime.get();
+    }
+
+    public double getAverageBorrowWaitTime() {
+        long count = borrowCount.get();
+        return count > 0 ? (double) totalBorrowWaitTime.get() / count : 0;
+    }
+
+    public long getCreatedConnectionCount() {
+        return createdConnectionCount.get();
+    }
+
+    public long getClosedConnectionCount() {
+        return closedConnectionCount.get();
+    }
+
+}
@@ -13,12 +13,17 @@
 package org.flowable.ldap;
 
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.flowable.engine.common.runtime.ClockReader;
 import org.flowable.idm.api.Group;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Simple cache for groups a user belongs to, which avoid hitting the LDAP system too much. Groups are fetched internally by the engine for example when doing queries, eg when fetching tasks for a
@@ -26,48 +31,60 @@ import org.flowable.idm.api.Group;
  * 
  * Cached entries have an expiration time. For example when set to one hour, changes to the ldap system around the groups of a user will be visible after that hour.
  * 
+ * The cache can be used concurrently. When the cache is full, the least recently used entry is evicted.
+ * 
+ * When a refresh executor is set (see {@link LDAPConfiguration#setGroupCacheRefreshExecutor(Executor)}), an expired entry is refreshed in the background
+ * and the expired groups are returned until the refresh is done, instead of fetching the groups again from the LDAP system in the calling thread.
+ * 
  * Experimental: can have a listener for cache events, and instance of {@link LDAPGroupCacheListener}.
  * 
  * @author Joram Barrez
  */
 public class LDAPGroupCache {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(LDAPGroupCache.class);
+
     private final ClockReader clockReader;
     protected Map<String, LDAPGroupCacheEntry> groupCache;
+    protected int cacheSize;
     protected long expirationTime;
+    protected Executor refreshExecutor;
+
+    // Used to keep track of the order in which the entries are used, as the clock can't be trusted for that (it can be fixed in tests for example)
+    protected AtomicLong accessCounter = new AtomicLong();
 
     protected LDAPGroupCacheListener ldapCacheListener;
 
     public LDAPGroupCache(final int cacheSize, final long expirationTime, final ClockReader clockReader) {
         this.clockReader = clockReader;
-
-        // From
-        // http://stackoverflow.com/questions/224868/easy-simple-to-use-lru-cache-in-java
-        this.groupCache = new LinkedHashMap<String, LDAPGroupCache.LDAPGroupCacheEntry>(cacheSize + 1, 0.75f, true) {
-
-            private static final long serialVersionUID = 5207574193173514579L;
-
-            protected boolean removeEldestEntry(Map.Entry<String, LDAPGroupCacheEntry> eldest) {
-                boolean removeEldest = size() > cacheSize;
-
-                if (removeEldest && ldapCacheListener != null) {
-                    ldapCacheListener.cacheEviction(eldest.getKey());
-                }
-
-                return removeEldest;
-            }
-
-        };
+        this.cacheSize = cacheSize;
+        this.groupCache = new ConcurrentHashMap<String, LDAPGroupCacheEntry>(cacheSize + 1);
         this.expirationTime = expirationTime;
     }
 
     public void add(String userId, List<Group> groups) {
-        this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups));
+        LDAPGroupCacheEntry cacheEntry = new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups);
+        cacheEntry.setLastAccess(accessCounter.incrementAndGet());
+        this.groupCache.put(userId, cacheEntry);
+
+        evictLeastRecentlyUsedEntries();
     }
 
     public List<Group> get(String userId) {
+        return get(userId, null);
+    }
+
+    /**
+     * Returns the cached groups of the user, or null when the groups need to be fetched from the LDAP system.
+     * 
+     * When the cached groups are expired, a refresh executor is set and a loader is passed, the expired groups are returned and
+     * the loader is called on the refresh executor to put the current groups in the cache. Only one refresh is done at a time for a user.
+     */
+    public List<Group> get(String userId, LDAPGroupLoader groupLoader) {
         LDAPGroupCacheEntry cacheEntry = groupCache.get(userId);
         if (cacheEntry != null) {
+            cacheEntry.setLastAccess(accessCounter.incrementAndGet());
+
             if ((clockReader.getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) < expirationTime) {
 
                 if (ldapCacheListener != null) {
@@ -76,11 +93,24 @@ public class LDAPGroupCache {
 
                 return cacheEntry.getGroups();
 
-            } else {
+            } else if (refreshExecutor != null && groupLoader != null) {
 
-                this.groupCache.remove(userId);
+                if (cacheEntry.startRefresh()) {
+                    if (ldapCacheListener != null) {
+                        ldapCacheListener.cacheExpired(userId);
+                    }
+                    refresh(userId, cacheEntry, groupLoader);
+                }
 
                 if (ldapCacheListener != null) {
+                    ldapCacheListener.cacheHit(userId);
+                }
+
+                return cacheEntry.getGroups();
+
+            } else {
+
+                if (this.groupCache.remove(userId, cacheEntry) && ldapCacheListener != null) {
                     ldapCacheListener.cacheExpired(userId);
                     ldapCacheListener.cacheEviction(userId);
                 }
@@ -95,6 +125,59 @@ public class LDAPGroupCache {
         return null;
     }
 
+    protected void refresh(final String userId, final LDAPGroupCacheEntry cacheEntry, final LDAPGroupLoader groupLoader) {
+        try {
+            refreshExecutor.execute(new Runnable() {
+
+                public void run() {
+                    try {
+                        List<Group> groups = groupLoader.loadGroups(userId);
+                        if (groupCache.containsKey(userId)) {
+                            add(userId, groups);
+                        }
+
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Could not refresh the cached groups of user {}", userId, e);
+
+                        // the groups will be fetched again by the next caller, which gets the error if it happens again
+                        if (groupCache.remove(userId, cacheEntry) && ldapCacheListener != null) {
+                            ldapCacheListener.cacheEviction(userId);
+                        }
+                    }
+                }
+            });
+
+        } catch (RuntimeException e) {
+            LOGGER.debug("Could not schedule the refresh of the cached groups of user {}", userId, e);
+            if (groupCache.remove(userId, cacheEntry) && ldapCacheListener != null) {
+                ldapCacheListener.cacheEviction(userId);
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used entries when the cache is larger than its size.
+     * This is only done when groups are added to the cache, which happens after a round-trip to the LDAP system, so looking up the entry to evict is cheap in comparison.
+     */
+    protected void evictLeastRecentlyUsedEntries() {
+        while (groupCache.size() > cacheSize) {
+            Map.Entry<String, LDAPGroupCacheEntry> eldest = null;
+            for (Map.Entry<String, LDAPGroupCacheEntry> entry : groupCache.entrySet()) {
+                if (eldest == null || entry.getValue().getLastAccess() < eldest.getValue().getLastAccess()) {
+                    eldest = entry;
+                }
+            }
+
+            if (eldest == null) {
+                return;
+            }
+
+            if (groupCache.remove(eldest.getKey(), eldest.getValue()) && ldapCacheListener != null) {
+                ldapCacheListener.cacheEviction(eldest.getKey());
+            }
+        }
+    }
+
     public void clear() {
         groupCache.clear();
     }
@@ -107,6 +190,14 @@ public class LDAPGroupCache {
         this.groupCache = groupCache;
     }
 
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
     public long getExpirationTime() {
         return expirationTime;
     }
@@ -115,6 +206,14 @@ public class LDAPGroupCache {
         this.expirationTime = expirationTime;
     }
 
+    public Executor getRefreshExecutor() {
+        return refreshExecutor;
+    }
+
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
+
     public LDAPGroupCacheListener getLdapCacheListener() {
         return ldapCacheListener;
     }
@@ -129,6 +228,8 @@ public class LDAPGroupCache {
 
         protected Date timestamp;
         protected List<Group> groups;
+        protected volatile long lastAccess;
+        protected AtomicBoolean refreshing = new AtomicBoolean();
 
         public LDAPGroupCacheEntry() {
 
@@ -155,6 +256,27 @@ public class LDAPGroupCache {
             this.groups = groups;
         }
 
+        public long getLastAccess() {
+            return lastAccess;
+        }
+
+        public void setLastAccess(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+
+        public boolean startRefresh() {
+            return refreshing.compareAndSet(false, true);
+        }
+
+    }
+
+    /**
+     * Fetches the groups of a user from the LDAP system, used to refresh expired cache entries.
+     */
+    public static interface LDAPGroupLoader {
+
+        List<Group> loadGroups(String userId);
+
     }
 
     // Cache listeners. Currently not yet exposed (only programmatically for the
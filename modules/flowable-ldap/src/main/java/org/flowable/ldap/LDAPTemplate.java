@@ -33,6 +33,11 @@ public class LDAPTemplate {
     }
 
     public <T> T execute(LDAPCallBack<T> ldapCallBack) {
+        LDAPConnectionPool connectionPool = ldapConfigurator.getConnectionPool();
+        if (connectionPool != null) {
+            return executeWithPooledConnection(ldapCallBack, connectionPool);
+        }
+
         InitialDirContext initialDirContext = null;
         try {
             initialDirContext = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
@@ -44,6 +49,19 @@ public class LDAPTemplate {
         return result;
     }
 
+    protected <T> T executeWithPooledConnection(LDAPCallBack<T> ldapCallBack, LDAPConnectionPool connectionPool) {
+        InitialDirContext initialDirContext = connectionPool.borrowConnection();
+        boolean broken = true;
+        try {
+            T result = ldapCallBack.executeInContext(initialDirContext);
+            broken = false;
+            return result;
+        } finally {
+            // a connection used for a failed call could be broken, so it is not reused
+            connectionPool.returnConnection(initialDirContext, broken);
+        }
+    }
+
     public LDAPConfiguration getLdapConfigurator() {
         return ldapConfigurator;
     }
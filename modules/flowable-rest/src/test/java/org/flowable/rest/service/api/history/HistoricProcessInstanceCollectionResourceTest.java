@@ -17,6 +17,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -101,6 +102,41 @@ public class HistoricProcessInstanceCollectionResourceTest extends BaseSpringRes
         assertEquals(processInstance3.getId(), dataNode.get(2).get("id").asText());
     }
 
+    /**
+     * Test paging historic process instances with a continuation token. GET history/historic-process-instances
+     */
+    @Deployment(resources = { "org/flowable/rest/service/api/history/HistoricProcessInstanceCollectionResourceTest.testQueryProcessInstances.bpmn20.xml" })
+    public void testQueryProcessInstancesWithContinuationToken() throws Exception {
+        List<String> processInstanceIds = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            processInstanceIds.add(runtimeService.startProcessInstanceByKey("oneTaskProcess").getId());
+        }
+        // ordered by process instance id by default
+        Collections.sort(processInstanceIds);
+
+        String url = SERVER_URL_PREFIX + RestUrls.createRelativeResourceUrl(RestUrls.URL_HISTORIC_PROCESS_INSTANCES) + "?size=2&continuationToken=";
+        List<String> ids = new ArrayList<String>();
+        String continuationToken = "";
+        int pages = 0;
+        while (continuationToken != null) {
+            CloseableHttpResponse response = executeRequest(new HttpGet(url + continuationToken + (pages == 0 ? "&includeTotal=true" : "")), HttpStatus.SC_OK);
+            JsonNode responseNode = objectMapper.readTree(response.getEntity().getContent());
+            closeResponse(response);
+
+            // the total is only counted when asked for
+            assertEquals(pages == 0 ? 5 : -1, responseNode.get("total").asLong());
+            for (JsonNode processInstanceNode : responseNode.get("data")) {
+                ids.add(processInstanceNode.get("id").asText());
+            }
+            continuationToken = responseNode.has("continuationToken") ? responseNode.get("continuationToken").asText() : null;
+            pages++;
+        }
+        assertEquals(3, pages);
+        assertEquals(processInstanceIds, ids);
+
+        closeResponse(executeRequest(new HttpGet(url + "invalid"), HttpStatus.SC_BAD_REQUEST));
+    }
+
     protected void assertResultsPresentInDataResponse(String url, String... expectedResourceIds) throws JsonProcessingException, IOException {
         int numberOfResultsExpected = expectedResourceIds.length;
 